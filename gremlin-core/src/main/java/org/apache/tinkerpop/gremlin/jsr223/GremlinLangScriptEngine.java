@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.jsr223;
 
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParser;
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -32,6 +33,10 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A {@link GremlinScriptEngine} implementation that evaluates Gremlin scripts using {@code gremlin-language}. As it
@@ -40,6 +45,10 @@ import java.io.Reader;
  * to the capabilities of the ANTLR grammar so therefore syntax that includes things like lambdas are not supported.
  * For bytecode evaluation it simply uses the {@link JavaTranslator}.
  * <p/>
+ * Parsing a script costs more than visiting the resulting tree, so the trees of the most recently evaluated scripts are
+ * kept and a script that was seen before is only visited again against the current "g". As the grammar has no
+ * variables the literals of a script are part of it, so scripts that differ by a literal are cached separately.
+ * <p/>
  * As an internal note, technically, this is an incomplete implementation of the {@link GremlinScriptEngine} in the
  * traditional sense as a drop-in replacement for something like the {@code GremlinGroovyScriptEngine}. As a result,
  * this {@link GremlinScriptEngine} cannot pass the {@code GremlinScriptEngineSuite} tests in full. On the other hand,
@@ -49,8 +58,19 @@ import java.io.Reader;
  * into the existing internals of Gremlin Server or more specifically the {@code GremlinExecutor}.
  */
 public class GremlinLangScriptEngine extends AbstractScriptEngine implements GremlinScriptEngine {
+
+    /**
+     * The default number of parsed scripts to keep.
+     */
+    public static final int DEFAULT_QUERY_CACHE_SIZE = 1000;
+
     private volatile GremlinScriptEngineFactory factory;
 
+    private final Map<String, GremlinParser.QueryListContext> queryCache;
+    private final LongAdder queryCacheHits = new LongAdder();
+    private final LongAdder queryCacheMisses = new LongAdder();
+    private final LongAdder queryCacheEvictions = new LongAdder();
+
     /**
      * Creates a new instance using no {@link Customizer}.
      */
@@ -59,6 +79,23 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
     }
 
     public GremlinLangScriptEngine(final Customizer... customizers) {
+        this(DEFAULT_QUERY_CACHE_SIZE, customizers);
+    }
+
+    /**
+     * Creates a new instance that keeps the parsed form of up to {@code queryCacheSize} scripts, where a size of zero
+     * disables the cache.
+     */
+    public GremlinLangScriptEngine(final int queryCacheSize, final Customizer... customizers) {
+        this.queryCache = queryCacheSize <= 0 ? null : Collections.synchronizedMap(
+                new LinkedHashMap<String, GremlinParser.QueryListContext>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, GremlinParser.QueryListContext> eldest) {
+                        if (size() <= queryCacheSize) return false;
+                        queryCacheEvictions.increment();
+                        return true;
+                    }
+                });
     }
 
     @Override
@@ -107,12 +144,56 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
         final GremlinAntlrToJava antlr = new GremlinAntlrToJava((GraphTraversalSource) o);
 
         try {
-            return GremlinQueryParser.parse(script, antlr);
+            return GremlinQueryParser.visit(parse(script), antlr);
         } catch (Exception ex) {
             throw new ScriptException(ex);
         }
     }
 
+    private GremlinParser.QueryListContext parse(final String script) {
+        if (null == queryCache)
+            return GremlinQueryParser.parseQueryList(script);
+
+        GremlinParser.QueryListContext query = queryCache.get(script);
+        if (null == query) {
+            queryCacheMisses.increment();
+            // scripts that fail to parse throw here and are not cached
+            query = GremlinQueryParser.parseQueryList(script);
+            queryCache.put(script, query);
+        } else {
+            queryCacheHits.increment();
+        }
+        return query;
+    }
+
+    /**
+     * Gets the number of parsed scripts currently kept.
+     */
+    public long getQueryCacheEstimatedSize() {
+        return null == queryCache ? 0 : queryCache.size();
+    }
+
+    /**
+     * Gets the number of evaluated scripts that were already parsed.
+     */
+    public long getQueryCacheHitCount() {
+        return queryCacheHits.longValue();
+    }
+
+    /**
+     * Gets the number of evaluated scripts that had to be parsed.
+     */
+    public long getQueryCacheMissCount() {
+        return queryCacheMisses.longValue();
+    }
+
+    /**
+     * Gets the number of parsed scripts dropped to keep the cache within its size.
+     */
+    public long getQueryCacheEvictionCount() {
+        return queryCacheEvictions.longValue();
+    }
+
     @Override
     public Object eval(final Reader reader, final ScriptContext context) throws ScriptException {
         return eval(readFully(reader), context);
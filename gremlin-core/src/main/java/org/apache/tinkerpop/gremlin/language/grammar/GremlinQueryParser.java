@@ -34,6 +34,14 @@ public class GremlinQueryParser {
     }
 
     public static Object parse(final String query, final GremlinVisitor<Object> visitor)  {
+        return visit(parseQueryList(query), visitor);
+    }
+
+    /**
+     * Parses the query without visiting it. The returned tree is not modified by visiting it, so it may be kept and
+     * visited again, including by several threads at once, to avoid parsing the same query twice.
+     */
+    public static GremlinParser.QueryListContext parseQueryList(final String query) {
         final CharStream in = CharStreams.fromString(query);
         final GremlinLexer lexer = new GremlinLexer(in);
         lexer.removeErrorListeners();
@@ -69,6 +77,13 @@ public class GremlinQueryParser {
             }        
         }
 
+        return queryContext;
+    }
+
+    /**
+     * Visits a tree returned from {@link #parseQueryList(String)}.
+     */
+    public static Object visit(final GremlinParser.QueryListContext queryContext, final GremlinVisitor<Object> visitor) {
         try {
             return visitor.visit(queryContext);
         } catch (ClassCastException ex) {
@@ -20,9 +20,12 @@ package org.apache.tinkerpop.gremlin.language.grammar;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.MemoryLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.AbstractWarningVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
@@ -62,6 +65,12 @@ public class TraversalStrategyVisitor extends DefaultGremlinBaseVisitor<Traversa
                 return getSubgraphStrategy(ctx.traversalStrategyArgs_SubgraphStrategy());
             else if (strategyName.equals(SeedStrategy.class.getSimpleName()))
                 return new SeedStrategy(Long.parseLong(ctx.integerLiteral().getText()));
+            else if (strategyName.equals(SpillStrategy.class.getSimpleName()))
+                return getSpillStrategy(ctx.traversalStrategyArgs_SpillStrategy());
+            else if (strategyName.equals(MemoryLimitStrategy.class.getSimpleName()))
+                return getMemoryLimitStrategy(ctx.traversalStrategyArgs_MemoryLimitStrategy());
+            else if (strategyName.equals(BatchStrategy.class.getSimpleName()))
+                return getBatchStrategy(ctx.traversalStrategyArgs_BatchStrategy());
             else if (strategyName.equals(ProductiveByStrategy.class.getSimpleName()))
                 return getProductiveByStrategy(ctx.traversalStrategyArgs_ProductiveByStrategy());
         }
@@ -153,6 +162,27 @@ public class TraversalStrategyVisitor extends DefaultGremlinBaseVisitor<Traversa
         return builder.create();
     }
 
+    private static SpillStrategy getSpillStrategy(final GremlinParser.TraversalStrategyArgs_SpillStrategyContext ctx) {
+        final SpillStrategy.Builder builder = SpillStrategy.build();
+        if (null != ctx)
+            builder.maxMemory(((Number) GenericLiteralVisitor.instance().visitIntegerLiteral(ctx.integerLiteral())).longValue());
+        return builder.create();
+    }
+
+    private static MemoryLimitStrategy getMemoryLimitStrategy(final GremlinParser.TraversalStrategyArgs_MemoryLimitStrategyContext ctx) {
+        final MemoryLimitStrategy.Builder builder = MemoryLimitStrategy.build();
+        if (null != ctx)
+            builder.memoryLimit(((Number) GenericLiteralVisitor.instance().visitIntegerLiteral(ctx.integerLiteral())).longValue());
+        return builder.create();
+    }
+
+    private static BatchStrategy getBatchStrategy(final GremlinParser.TraversalStrategyArgs_BatchStrategyContext ctx) {
+        final BatchStrategy.Builder builder = BatchStrategy.build();
+        if (null != ctx)
+            builder.batchSize(((Number) GenericLiteralVisitor.instance().visitIntegerLiteral(ctx.integerLiteral())).intValue());
+        return builder.create();
+    }
+
     private static ProductiveByStrategy getProductiveByStrategy(final GremlinParser.TraversalStrategyArgs_ProductiveByStrategyContext ctx) {
         final ProductiveByStrategy.Builder builder = ProductiveByStrategy.build();
         builder.productiveKeys(Arrays.asList(GenericLiteralVisitor.getStringLiteralList(ctx.stringLiteralList())));
@@ -52,7 +52,11 @@ import java.util.Set;
 
 /**
  * Identifies "Connected Component" instances in a graph by assigning a component identifier (the lexicographically
- * least string value of the vertex in the component) to each vertex.
+ * least string value of the vertex in the component) to each vertex. Only vertices that learn of a lesser component
+ * message their neighbors after the first iteration. With {@link Builder#warmStart(boolean)} the components that an
+ * earlier run left on the graph are the starting point, so that only the vertices reached by a lesser component,
+ * like those joined to it by edges added since, change and message on. Warm starting expects that vertices and edges
+ * were only added since that run, as a removal that splits a component is not picked up.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -63,12 +67,14 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
     private static final String PROPERTY = "gremlin.connectedComponentVertexProgram.property";
     private static final String EDGE_TRAVERSAL = "gremlin.pageRankVertexProgram.edgeTraversal";
     private static final String VOTE_TO_HALT = "gremlin.connectedComponentVertexProgram.voteToHalt";
+    private static final String WARM_START = "gremlin.connectedComponentVertexProgram.warmStart";
 
     private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
 
     private MessageScope.Local<?> scope = MessageScope.Local.of(__::bothE);
     private Set<MessageScope> scopes;
     private String property = COMPONENT;
+    private boolean warmStart = false;
     private PureTraversal<Vertex, Edge> edgeTraversal = null;
     private Configuration configuration;
     private TraverserSet<Vertex> haltedTraversers;
@@ -91,6 +97,7 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
         scopes = new HashSet<>(Collections.singletonList(scope));
 
         this.property = configuration.getString(PROPERTY, COMPONENT);
+        this.warmStart = configuration.getBoolean(WARM_START, false);
 
         this.haltedTraversers = TraversalVertexProgram.loadHaltedTraversers(configuration);
         this.haltedTraversersIndex = new IndexedTraverserSet<>(v -> v);
@@ -117,16 +124,19 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
         if (memory.isInitialIteration()) {
             copyHaltedTraversersFromMemory(vertex);
 
-            // on the first pass, just initialize the component to its own id then pass it to all adjacent vertices
-            // for evaluation
-            vertex.property(VertexProperty.Cardinality.single, property, vertex.id().toString());
+            // on the first pass, just initialize the component to its own id, or the one found by an earlier run
+            // when warm started, then pass it to all adjacent vertices for evaluation
+            final String component = warmStart ?
+                    vertex.<String>property(property).orElse(vertex.id().toString()) :
+                    vertex.id().toString();
+            vertex.property(VertexProperty.Cardinality.single, property, component);
 
             // vertices that have no edges remain in their own component - nothing to message pass here
             if (vertex.edges(Direction.BOTH).hasNext()) {
                 // since there was message passing we don't want to halt on the first round. this should only trigger
                 // a single pass finish if the graph is completely disconnected (technically, it won't even really
                 // work in cases where halted traversers come into play
-                messenger.sendMessage(scope, vertex.id().toString());
+                messenger.sendMessage(scope, component);
                 memory.add(VOTE_TO_HALT, false);
             }
         } else {
@@ -249,5 +259,14 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
             this.configuration.setProperty(PROPERTY, key);
             return this;
         }
+
+        /**
+         * Starts each vertex from the component that an earlier run stored in the {@link #property(String)} key
+         * rather than from its own id.
+         */
+        public ConnectedComponentVertexProgram.Builder warmStart(final boolean warmStart) {
+            this.configuration.setProperty(WARM_START, warmStart);
+            return this;
+        }
     }
 }
@@ -48,6 +48,12 @@ import java.util.Optional;
 import java.util.Set;
 
 /**
+ * Computes the PageRank of each vertex. With {@link Builder#delta(double)} a vertex only messages its neighbors once
+ * its rank has moved more than the tolerance away from the rank it last told them about, and then only sends the
+ * difference, so that iterations after the first ones mostly touch the vertices whose rank is still changing. With
+ * {@link Builder#warmStart(boolean)} the ranks left on the graph by an earlier run are used as the starting point, so
+ * that a graph that changed little since then converges in a few iterations.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class PageRankVertexProgram implements VertexProgram<Double> {
@@ -64,6 +70,10 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private static final String INITIAL_RANK_TRAVERSAL = "gremlin.pageRankVertexProgram.initialRankTraversal";
     private static final String TELEPORTATION_ENERGY = "gremlin.pageRankVertexProgram.teleportationEnergy";
     private static final String CONVERGENCE_ERROR = "gremlin.pageRankVertexProgram.convergenceError";
+    private static final String DELTA = "gremlin.pageRankVertexProgram.delta";
+    private static final String WARM_START = "gremlin.pageRankVertexProgram.warmStart";
+    private static final String INCOMING_RANK = "gremlin.pageRankVertexProgram.incomingRank";
+    private static final String SENT_RANK = "gremlin.pageRankVertexProgram.sentRank";
 
     private MessageScope.Local<Double> incidentMessageScope = MessageScope.Local.of(__::outE);
     private MessageScope.Local<Double> countMessageScope = MessageScope.Local.of(new MessageScope.Local.ReverseTraversalSupplier(this.incidentMessageScope));
@@ -72,6 +82,8 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private double alpha = 0.85d;
     private double epsilon = 0.00001d;
     private int maxIterations = 20;
+    private double delta = 0.0d;
+    private boolean warmStart = false;
     private String property = PAGE_RANK;
     private Set<VertexComputeKey> vertexComputeKeys;
     private Set<MemoryComputeKey> memoryComputeKeys;
@@ -93,9 +105,15 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         this.epsilon = configuration.getDouble(EPSILON, this.epsilon);
         this.maxIterations = configuration.getInt(MAX_ITERATIONS, 20);
         this.property = configuration.getString(PROPERTY, PAGE_RANK);
+        this.delta = configuration.getDouble(DELTA, 0.0d);
+        this.warmStart = configuration.getBoolean(WARM_START, false);
         this.vertexComputeKeys = new HashSet<>(Arrays.asList(
                 VertexComputeKey.of(this.property, false),
                 VertexComputeKey.of(EDGE_COUNT, true)));
+        if (this.delta > 0.0d) {
+            this.vertexComputeKeys.add(VertexComputeKey.of(INCOMING_RANK, true));
+            this.vertexComputeKeys.add(VertexComputeKey.of(SENT_RANK, true));
+        }
         this.memoryComputeKeys = new HashSet<>(Arrays.asList(
                 MemoryComputeKey.of(TELEPORTATION_ENERGY, Operator.sum, true, true),
                 MemoryComputeKey.of(VERTEX_COUNT, Operator.sum, true, true),
@@ -109,6 +127,8 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         configuration.setProperty(EPSILON, this.epsilon);
         configuration.setProperty(PROPERTY, this.property);
         configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        configuration.setProperty(DELTA, this.delta);
+        configuration.setProperty(WARM_START, this.warmStart);
         if (null != this.edgeTraversal)
             this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         if (null != this.initialRankTraversal)
@@ -171,6 +191,9 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         if (memory.isInitialIteration()) {
             messenger.sendMessage(this.countMessageScope, 1.0d);
             memory.add(VERTEX_COUNT, 1.0d);
+            // the rank of a warm started vertex is taken from the energy that is teleported to all vertices at first
+            if (this.warmStart && null == this.initialRankTraversal)
+                vertex.<Double>property(this.property).ifPresent(rank -> memory.add(TELEPORTATION_ENERGY, -rank));
         } else {
             final double vertexCount = memory.<Double>get(VERTEX_COUNT);
             final double edgeCount;
@@ -178,35 +201,63 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             if (1 == memory.getIteration()) {
                 edgeCount = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
                 vertex.property(VertexProperty.Cardinality.single, EDGE_COUNT, edgeCount);
-                pageRank = null == this.initialRankTraversal ?
-                        0.0d :
-                        TraversalUtil.apply(vertex, this.initialRankTraversal.get()).doubleValue();
+                final VertexProperty<Double> previousRun = this.warmStart ? vertex.property(this.property) : VertexProperty.empty();
+                pageRank = previousRun.isPresent() ?
+                        previousRun.value() :
+                        null == this.initialRankTraversal ?
+                                0.0d :
+                                TraversalUtil.apply(vertex, this.initialRankTraversal.get()).doubleValue();
             } else {
                 edgeCount = vertex.value(EDGE_COUNT);
                 pageRank = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
+                if (this.delta > 0.0d) {
+                    // messages only carry the change of the neighbors' ranks so they are added to what came before
+                    if (0.0d != pageRank) {
+                        pageRank = pageRank + vertex.<Double>property(INCOMING_RANK).orElse(0.0d);
+                        vertex.property(VertexProperty.Cardinality.single, INCOMING_RANK, pageRank);
+                    } else
+                        pageRank = vertex.<Double>property(INCOMING_RANK).orElse(0.0d);
+                }
             }
             //////////////////////////
+            // after the first iteration of delta mode the teleportation energy is a running total that is kept up to
+            // date with the change of each rank rather than taken apart and collected again by every iteration
+            final boolean deltaIteration = this.delta > 0.0d && memory.getIteration() > 1;
             final double teleporationEnergy = memory.get(TELEPORTATION_ENERGY);
             if (teleporationEnergy > 0.0d) {
                 final double localTerminalEnergy = teleporationEnergy / vertexCount;
                 pageRank = pageRank + localTerminalEnergy;
-                memory.add(TELEPORTATION_ENERGY, -localTerminalEnergy);
+                if (!deltaIteration)
+                    memory.add(TELEPORTATION_ENERGY, -localTerminalEnergy);
             }
             final double previousPageRank = vertex.<Double>property(this.property).orElse(0.0d);
             memory.add(CONVERGENCE_ERROR, Math.abs(pageRank - previousPageRank));
             vertex.property(VertexProperty.Cardinality.single, this.property, pageRank);
-            memory.add(TELEPORTATION_ENERGY, (1.0d - this.alpha) * pageRank);
-            pageRank = this.alpha * pageRank;
-            if (edgeCount > 0.0d)
-                messenger.sendMessage(this.incidentMessageScope, pageRank / edgeCount);
-            else
-                memory.add(TELEPORTATION_ENERGY, pageRank);
+            if (this.delta > 0.0d) {
+                final double teleportedShare = edgeCount > 0.0d ? 1.0d - this.alpha : 1.0d;
+                memory.add(TELEPORTATION_ENERGY, teleportedShare * (deltaIteration ? pageRank - previousPageRank : pageRank));
+                final double sentRank = vertex.<Double>property(SENT_RANK).orElse(0.0d);
+                if (edgeCount > 0.0d && Math.abs(pageRank - sentRank) > this.delta) {
+                    messenger.sendMessage(this.incidentMessageScope, this.alpha * (pageRank - sentRank) / edgeCount);
+                    vertex.property(VertexProperty.Cardinality.single, SENT_RANK, pageRank);
+                }
+            } else {
+                memory.add(TELEPORTATION_ENERGY, (1.0d - this.alpha) * pageRank);
+                pageRank = this.alpha * pageRank;
+                if (edgeCount > 0.0d)
+                    messenger.sendMessage(this.incidentMessageScope, pageRank / edgeCount);
+                else
+                    memory.add(TELEPORTATION_ENERGY, pageRank);
+            }
         }
     }
 
     @Override
     public boolean terminate(final Memory memory) {
-        boolean terminate = memory.<Double>get(CONVERGENCE_ERROR) < this.epsilon || memory.getIteration() >= this.maxIterations;
+        // the first iteration only sets the ranks to start from, which for a warm start are those of the last run, so
+        // convergence can only be judged once ranks have been passed along the edges
+        boolean terminate = (memory.getIteration() > 1 && memory.<Double>get(CONVERGENCE_ERROR) < this.epsilon) ||
+                memory.getIteration() >= this.maxIterations;
         memory.set(CONVERGENCE_ERROR, 0.0d);
         return terminate;
     }
@@ -257,6 +308,26 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             PureTraversal.storeState(this.configuration, INITIAL_RANK_TRAVERSAL, initialRankTraversal);
             return this;
         }
+
+        /**
+         * Runs in delta mode where a vertex only sends its neighbors the change of its rank and only once that change
+         * is larger than the tolerance. A tolerance of zero, which is the default, turns delta mode off. The ranks
+         * differ from those of a full run by about the tolerance per vertex.
+         */
+        public Builder delta(final double tolerance) {
+            this.configuration.setProperty(DELTA, tolerance);
+            return this;
+        }
+
+        /**
+         * Starts each vertex from the rank that an earlier run stored in the {@link #property(String)} key. Vertices
+         * without one, like those added since, start from the {@link #initialRank(Traversal.Admin)} or share the rank
+         * that the others do not hold.
+         */
+        public Builder warmStart(final boolean warmStart) {
+            this.configuration.setProperty(WARM_START, warmStart);
+            return this;
+        }
     }
 
     ////////////////////////////
@@ -81,6 +81,26 @@ public final class ShortestPathVertexProgramStep extends VertexProgramStep imple
         this.includeEdges = includeEdges;
     }
 
+    public Traversal.Admin<Vertex, ?> getTargetVertexFilter() {
+        return this.targetVertexFilter.getPure();
+    }
+
+    public Traversal.Admin<Vertex, Edge> getEdgeTraversal() {
+        return this.edgeTraversal.getPure();
+    }
+
+    public Traversal.Admin<Edge, Number> getDistanceTraversal() {
+        return this.distanceTraversal.getPure();
+    }
+
+    public Number getMaxDistance() {
+        return this.maxDistance;
+    }
+
+    public boolean getIncludeEdges() {
+        return this.includeEdges;
+    }
+
     @Override
     public void configure(final Object... keyValues) {
         if (!ShortestPath.configure(this, (String) keyValues[0], keyValues[1])) {
@@ -264,8 +264,9 @@ public interface Path extends Cloneable, Iterable<Object> {
             final int size = this.size();
             int fromIndex = -1;
             int toIndex = -1;
+            final List<Set<String>> pathLabels = this.labels();
             for (int i = size - 1; i >= 0; i--) {
-                final Set<String> labels = this.labels().get(i);
+                final Set<String> labels = pathLabels.get(i);
                 if (-1 == fromIndex && labels.contains(fromLabel))
                     fromIndex = i;
                 if (-1 == toIndex && labels.contains(toLabel))
@@ -282,9 +283,9 @@ public interface Path extends Cloneable, Iterable<Object> {
                 toIndex = size-1;
             if (fromIndex > toIndex)
                 throw Path.Exceptions.couldNotIsolatedSubPath(fromLabel, toLabel);
+            final List<Object> pathObjects = this.objects();
             for (int i = fromIndex; i <= toIndex; i++) {
-                final Set<String> labels = this.labels().get(i);
-                subPath.extend(this.get(i), labels);
+                subPath.extend(pathObjects.get(i), pathLabels.get(i));
             }
             return subPath;
         }
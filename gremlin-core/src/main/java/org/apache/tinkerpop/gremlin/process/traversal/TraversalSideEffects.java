@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal;
 
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 import org.apache.tinkerpop.gremlin.util.function.ConstantSupplier;
 
 import java.io.Serializable;
@@ -191,6 +192,27 @@ public interface TraversalSideEffects extends Cloneable, Serializable, AutoClose
      */
     public <S> BinaryOperator<S> getSackMerger();
 
+    /**
+     * Set the {@link MemoryTracker} that the barriers and side-effects of the traversal account for the memory they
+     * hold with, which fails the traversal once it holds more than the limit of the tracker. A {@code null} tracker
+     * turns the accounting off and side-effects that do not support it ignore the tracker.
+     *
+     * @param memoryTracker the tracker for the memory held by the traversal
+     */
+    public default void setMemoryTracker(final MemoryTracker memoryTracker) {
+        // do nothing
+    }
+
+    /**
+     * If memory is tracked, get the {@link MemoryTracker} of the traversal. If it is not, then <code>null</code> is
+     * returned.
+     *
+     * @return the tracker for the memory held by the traversal
+     */
+    public default MemoryTracker getMemoryTracker() {
+        return null;
+    }
+
     ////////////
 
     public default <V> void forEach(final BiConsumer<String, V> biConsumer) {
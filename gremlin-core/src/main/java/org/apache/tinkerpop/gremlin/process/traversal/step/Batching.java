@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
+
+/**
+ * An interface implemented by steps that can take an array of traversers from their previous step at once and
+ * process the whole batch in a single loop rather than pulling and processing one traverser per call. A previous
+ * step that does not batch is read one traverser at a time to fill the array, so batching steps can follow any step.
+ * Batching is off until a batch size is set, which is usually done by {@link BatchStrategy}.
+ *
+ * @see BatchStrategy
+ */
+public interface Batching {
+
+    /**
+     * @param batchSize the number of traversers to take at once or 0 to take them one at a time
+     */
+    public void setBatchSize(final int batchSize);
+
+    public int getBatchSize();
+}
@@ -220,7 +220,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         final Traverser.Admin<S> start = this.starts.next();
         if (doUntil(start, true)) {
             start.setStepId(this.getNextStep().getId());
-            start.addLabels(this.labels);
+            start.addLabels(this.getLabels());
             return IteratorUtils.of(start);
         } else {
             start.setStepId(this.repeatTraversal.getStartStep().getId());
@@ -320,7 +320,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             if (repeatStep.doUntil(start, false)) {
                 start.resetLoops();
                 start.setStepId(repeatStep.getNextStep().getId());
-                start.addLabels(repeatStep.labels);
+                start.addLabels(repeatStep.getLabels());
                 return IteratorUtils.of(start);
             } else {
                 start.setStepId(repeatStep.getId());
@@ -328,7 +328,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
                     final Traverser.Admin<S> emitSplit = start.split();
                     emitSplit.resetLoops();
                     emitSplit.setStepId(repeatStep.getNextStep().getId());
-                    emitSplit.addLabels(repeatStep.labels);
+                    emitSplit.addLabels(repeatStep.getLabels());
                     return IteratorUtils.of(start, emitSplit);
                 }
                 return IteratorUtils.of(start);
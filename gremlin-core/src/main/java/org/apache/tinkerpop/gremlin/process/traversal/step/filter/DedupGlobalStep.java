@@ -28,16 +28,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.DedupSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.PartitionedSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -49,20 +57,51 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
 
 /**
+ * When given a memory limit with {@link Spillable#setSpill(long, File)}, an exact {@code dedup()} without labels keeps
+ * the objects it has seen in a {@code HashSet} and writes them to a {@link PartitionedSpill} once they are estimated to
+ * take more memory than the limit. From then on it holds back every traverser, writing its object to the partition of
+ * what it is deduplicated by, and once its starts are exhausted it reads back one partition at a time to let through
+ * the first traverser of each object that was not seen before. Traversers that are let through this way come out
+ * grouped by partition rather than in the order they arrived.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, Spillable {
+
+    /**
+     * The {@code with()} option that makes {@code dedup()} approximate, given as the number of distinct objects its
+     * Bloom filter is sized for. An approximate {@code dedup()} never lets a duplicate pass but may filter a small
+     * fraction of distinct objects.
+     */
+    public static final String BLOOM_FILTER = "dedupBloomFilter";
+
+    /**
+     * The {@code with()} option for the rate of distinct objects an approximate {@code dedup()} may filter, which
+     * defaults to 0.01.
+     */
+    public static final String FALSE_POSITIVE_RATE = "dedupFalsePositiveRate";
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
-    private Set<Object> duplicateSet = new HashSet<>();
+    private DedupSet duplicateSet = null;
     private boolean onGraphComputer = false;
     private final Set<String> dedupLabels;
     private Set<String> keepLabels;
     private boolean executingAtMaster = false;
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
+    private long maxMemory = Long.MAX_VALUE;
+    private File spillDirectory = null;
+    private transient Boolean spillable = null;
+    private transient boolean keptInMemory = false;
+    private transient Set<Object> seen = null;
+    private transient long held = 0L;
+    private transient PartitionedSpill spill = null;
+    private transient boolean holding = false;
+    private transient Traverser.Admin<S> prototype = null;
+    private transient Iterator<Traverser.Admin<S>> spilled = null;
 
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
@@ -75,7 +114,9 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         traverser.setBulk(1L);
         if (null == this.dedupLabels) {
             final TraversalProduct product = TraversalUtil.produce(traverser, this.dedupTraversal);
-            return product.isProductive() && this.duplicateSet.add(product.get());
+            if (!product.isProductive())
+                return false;
+            return this.isSpillable() ? this.hold(product.get(), traverser) : this.getDuplicateSet().add(product.get());
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             for (String label : dedupLabels) {
@@ -85,10 +126,23 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             }
 
             // the object sizes must be equal or else it means a by() wasn't productive and that path will be filtered
-            return objects.size() == dedupLabels.size() && duplicateSet.add(objects);
+            return objects.size() == dedupLabels.size() && this.getDuplicateSet().add(objects);
         }
     }
 
+    private DedupSet getDuplicateSet() {
+        if (null == this.duplicateSet) {
+            final Map<String, Object> options = this.getTraversal().getStrategies().getStrategy(OptionsStrategy.class).
+                    map(OptionsStrategy::getOptions).orElse(Collections.emptyMap());
+            final Object expectedDistinct = options.get(BLOOM_FILTER);
+            this.duplicateSet = expectedDistinct instanceof Number ?
+                    DedupSet.approximate(((Number) expectedDistinct).longValue(),
+                            ((Number) options.getOrDefault(FALSE_POSITIVE_RATE, 0.01d)).doubleValue()) :
+                    DedupSet.exact();
+        }
+        return this.duplicateSet;
+    }
+
     @Override
     public void atMaster(final boolean atMaster) {
         this.executingAtMaster = atMaster;
@@ -109,12 +163,138 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             if (null == this.barrierIterator)
                 this.barrierIterator = this.barrier.entrySet().iterator();
             final Map.Entry<Object, Traverser.Admin<S>> entry = this.barrierIterator.next();
-            if (this.duplicateSet.add(entry.getKey()))
+            if (this.getDuplicateSet().add(entry.getKey()))
                 return PathProcessor.processTraverserPathLabels(entry.getValue(), this.keepLabels);
         }
+        while (null != this.spill || null != this.spilled) {
+            if (null != this.spilled) {
+                if (this.spilled.hasNext())
+                    return PathProcessor.processTraverserPathLabels(this.spilled.next(), this.keepLabels);
+                this.spilled = null;
+            } else if (this.starts.hasNext()) {
+                final Traverser.Admin<S> traverser = this.starts.next();
+                if (this.test(traverser))
+                    return PathProcessor.processTraverserPathLabels(traverser, this.keepLabels);
+            } else if (this.holding) {
+                this.spilled = this.readSpilled();
+            } else
+                break;
+        }
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    @Override
+    public void setSpill(final long maxMemory, final File directory) {
+        this.maxMemory = maxMemory;
+        this.spillDirectory = directory;
+        this.spillable = null;
+    }
+
+    /**
+     * Determines if the objects that were seen are kept where they can be spilled, which is only the case for an exact
+     * {@code dedup()} without labels in a traversal whose traversers carry nothing but what a spill can write.
+     */
+    private boolean isSpillable() {
+        if (null == this.spillable)
+            this.spillable = Long.MAX_VALUE != this.maxMemory && null == this.dedupLabels && !this.onGraphComputer &&
+                    !this.getDuplicateSet().isApproximate() && TraverserSpill.isSpillable(this);
+        return this.spillable;
+    }
+
+    /**
+     * Determines if the object was not seen before or, once the objects seen were spilled, holds back the traverser
+     * in the partition of the object until it can be told whether it was.
+     */
+    private boolean hold(final Object object, final Traverser.Admin<S> traverser) {
+        if (null != this.spill) {
+            final List<Object> value = Collections.singletonList(traverser.get());
+            if (this.spill.canSpill(object, value) && this.spill.spill(object, value)) {
+                if (null == this.prototype)
+                    this.prototype = traverser.split();
+                this.holding = true;
+                return false;
+            }
+            this.readSpilledIntoMemory();
+        }
+
+        if (null == this.seen)
+            this.seen = new HashSet<>();
+        final long growth = MemoryTracker.estimateGrowth(this.seen, object);
+        if (0L == growth)
+            return false;
+        this.seen.add(object);
+        this.held = this.held + growth;
+        if (this.held > this.maxMemory && !this.keptInMemory)
+            this.spillSeen();
+        return true;
+    }
+
+    /**
+     * Writes the objects that were seen to the spill, each to its partition with no traverser, unless any of them
+     * can not be written in which case they are all kept in memory from then on.
+     */
+    private void spillSeen() {
+        this.spill = new PartitionedSpill(this, this.spillDirectory);
+        for (final Object object : this.seen) {
+            if (!this.spill.canSpill(object, null) || !this.spill.spill(object, null)) {
+                this.spill.close();
+                this.spill = null;
+                this.keptInMemory = true;
+                return;
+            }
+        }
+        this.seen = null;
+        this.held = 0L;
+    }
+
+    /**
+     * Reads back one partition at a time, letting through the first traverser held back for each object that was not
+     * seen before and writing every object seen back to the partition for the traversers that may still come.
+     */
+    private Iterator<Traverser.Admin<S>> readSpilled() {
+        this.holding = false;
+        return IteratorUtils.flatMap(IntStream.range(0, this.spill.partitions()).iterator(), p -> {
+            final Set<Object> partition = new HashSet<>();
+            return IteratorUtils.map(IteratorUtils.filter(this.spill.read(p), entry -> {
+                if (!partition.add(entry.getKey()))
+                    return false;
+                this.spill.spill(entry.getKey(), null);
+                return null != entry.getValue();
+            }), entry -> this.release(entry.getValue()));
+        });
+    }
+
+    /**
+     * Reads back all of the spill at once when a traverser can not be held back in it, keeping the objects seen in
+     * memory and queueing the traversers let through.
+     */
+    private void readSpilledIntoMemory() {
+        this.seen = new HashSet<>();
+        final List<Traverser.Admin<S>> passed = new ArrayList<>();
+        for (int p = 0; p < this.spill.partitions(); p++) {
+            this.spill.read(p).forEachRemaining(entry -> {
+                if (this.seen.add(entry.getKey()) && null != entry.getValue())
+                    passed.add(this.release(entry.getValue()));
+            });
+        }
+        this.closeSpill();
+        this.keptInMemory = true;
+        this.spilled = passed.iterator();
+    }
+
+    private Traverser.Admin<S> release(final Object value) {
+        final Traverser.Admin<S> traverser = this.prototype.split((S) ((List<?>) value).get(0), this);
+        traverser.setBulk(1L);
+        return traverser;
+    }
+
+    private void closeSpill() {
+        if (null != this.spill)
+            this.spill.close();
+        this.spill = null;
+        this.holding = false;
+    }
+
     @Override
     public List<Traversal<S, Object>> getLocalChildren() {
         return null == this.dedupTraversal ? Collections.emptyList() : Collections.singletonList(this.dedupTraversal);
@@ -134,7 +314,15 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
-        clone.duplicateSet = new HashSet<>();
+        clone.duplicateSet = null;
+        clone.spillable = null;
+        clone.keptInMemory = false;
+        clone.seen = null;
+        clone.held = 0L;
+        clone.spill = null;
+        clone.holding = false;
+        clone.prototype = null;
+        clone.spilled = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -159,9 +347,21 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public void reset() {
         super.reset();
-        this.duplicateSet.clear();
+        if (null != this.duplicateSet) this.duplicateSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
+        this.keptInMemory = false;
+        this.seen = null;
+        this.held = 0L;
+        this.prototype = null;
+        this.spilled = null;
+        this.closeSpill();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.closeSpill();
+        TraversalParent.super.close();
     }
 
     @Override
@@ -21,13 +21,22 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+
+import java.util.Arrays;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public abstract class FilterStep<S> extends AbstractStep<S, S> {
+public abstract class FilterStep<S> extends AbstractStep<S, S> implements Batching {
+
+    private int batchSize = 0;
+    private Traverser.Admin<S>[] batch = null;
+    private int batchIndex = 0;
+    private int batchEnd = 0;
 
     public FilterStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -35,6 +44,8 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
 
     @Override
     protected Traverser.Admin<S> processNextStart() {
+        if (this.batchSize > 0)
+            return this.processNextBatchedStart();
         while (true) {
             try {
                 final Traverser.Admin<S> traverser = this.starts.next();
@@ -55,5 +66,75 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
         }
     }
 
+    private Traverser.Admin<S> processNextBatchedStart() {
+        while (this.batchIndex == this.batchEnd) {
+            if (null == this.batch)
+                this.batch = new Traverser.Admin[this.batchSize];
+            this.batchIndex = 0;
+            this.batchEnd = 0;
+            final int size = this.nextStarts(this.batch);
+            if (0 == size)
+                throw FastNoSuchElementException.instance();
+            this.batchEnd = this.filter(this.batch, size);
+            Arrays.fill(this.batch, this.batchEnd, size, null);
+        }
+        final Traverser.Admin<S> traverser = this.batch[this.batchIndex];
+        this.batch[this.batchIndex++] = null;
+        return traverser;
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
+
+    /**
+     * Moves the traversers that pass the filter to the front of the first {@code size} elements of the batch, keeping
+     * their order, and returns how many passed. By default this calls {@link #filter(Traverser.Admin)} for each
+     * traverser in turn, but a step may override it to test the whole batch at once.
+     */
+    protected int filter(final Traverser.Admin<S>[] batch, final int size) {
+        int passed = 0;
+        for (int i = 0; i < size; i++) {
+            if (this.test(batch[i]))
+                batch[passed++] = batch[i];
+        }
+        return passed;
+    }
+
+    /**
+     * Applies {@link #filter(Traverser.Admin)} with the same handling of a {@link GremlinTypeErrorException} as when
+     * traversers are filtered one at a time.
+     */
+    protected boolean test(final Traverser.Admin<S> traverser) {
+        try {
+            return this.filter(traverser);
+        } catch (GremlinTypeErrorException ex) {
+            if (this instanceof BinaryReductionStep || getTraversal().isRoot())
+                return false;
+            throw ex;
+        }
+    }
+
+    @Override
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+        this.batch = null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.batchIndex = 0;
+        this.batchEnd = 0;
+    }
+
+    @Override
+    public FilterStep<S> clone() {
+        final FilterStep<S> clone = (FilterStep<S>) super.clone();
+        clone.batch = null;
+        return clone;
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
+import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Configuring;
@@ -73,6 +74,45 @@ public class HasStep<S extends Element> extends FilterStep<S> implements HasCont
                     traverser.get().getClass().getName()));
     }
 
+    /**
+     * Tests one {@link HasContainer} at a time against the whole batch so that each predicate runs in a tight loop
+     * and later containers only see the traversers that passed the earlier ones. Subclasses that override
+     * {@link #filter(Traverser.Admin)} keep having it called for each traverser.
+     */
+    @Override
+    protected int filter(final Traverser.Admin<S>[] batch, final int size) {
+        if (this.hasContainers.isEmpty() || this.getClass() != HasStep.class)
+            return super.filter(batch, size);
+        int passed = size;
+        for (final HasContainer hasContainer : this.hasContainers) {
+            int kept = 0;
+            for (int i = 0; i < passed; i++) {
+                if (this.test(hasContainer, batch[i]))
+                    batch[kept++] = batch[i];
+            }
+            passed = kept;
+        }
+        return passed;
+    }
+
+    private boolean test(final HasContainer hasContainer, final Traverser.Admin<S> traverser) {
+        final Object object = traverser.get();
+        try {
+            if (object instanceof Property)
+                return hasContainer.test((Property) object);
+            else if (object instanceof Element)
+                return hasContainer.test((Element) object);
+            else
+                throw new IllegalStateException(String.format(
+                        "Traverser to has() must be of type Property or Element, not %s",
+                        object.getClass().getName()));
+        } catch (GremlinTypeErrorException ex) {
+            if (getTraversal().isRoot())
+                return false;
+            throw ex;
+        }
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.hasContainers);
@@ -20,7 +20,10 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
@@ -29,17 +32,25 @@ import java.util.Iterator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
+public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> implements Batching {
 
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
 
+    private int batchSize = 0;
+    private Traverser.Admin<S>[] batch = null;
+    private Iterator<E>[] batchIterators = null;
+    private int batchIndex = 0;
+    private int batchEnd = 0;
+
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
     }
 
     @Override
     protected Traverser.Admin<E> processNextStart() {
+        if (this.batchSize > 0)
+            return this.processNextBatchedStart();
         while (true) {
             if (this.iterator.hasNext()) {
                 return this.head.split(this.iterator.next(), this);
@@ -51,8 +62,65 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    private Traverser.Admin<E> processNextBatchedStart() {
+        while (true) {
+            if (this.iterator.hasNext()) {
+                return this.head.split(this.iterator.next(), this);
+            } else {
+                CloseableIterator.closeIterator(this.iterator);
+                this.iterator = EmptyIterator.instance();
+                if (this.batchIndex == this.batchEnd) {
+                    if (null == this.batch) {
+                        this.batch = new Traverser.Admin[this.batchSize];
+                        this.batchIterators = new Iterator[this.batchSize];
+                    }
+                    this.batchIndex = 0;
+                    this.batchEnd = 0;
+                    final int size = this.nextStarts(this.batch);
+                    if (0 == size)
+                        throw FastNoSuchElementException.instance();
+                    this.flatMap(this.batch, size, this.batchIterators);
+                    this.batchEnd = size;
+                }
+                this.head = this.batch[this.batchIndex];
+                this.iterator = null == this.batchIterators[this.batchIndex] ?
+                        this.flatMap(this.head) : this.batchIterators[this.batchIndex];
+                this.batch[this.batchIndex] = null;
+                this.batchIterators[this.batchIndex++] = null;
+            }
+        }
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
+    /**
+     * Sets an iterator over the objects each of the first {@code size} traversers of the batch maps to at the same
+     * index of {@code iterators}, which are then read in order. A traverser whose iterator is left {@code null} is
+     * given to {@link #flatMap(Traverser.Admin)} when its turn comes. By default this calls
+     * {@link #flatMap(Traverser.Admin)} for each traverser in turn, except for steps with child traversals, which
+     * reuse their children for every traverser and so leave them all {@code null}. A step backed by storage may
+     * override it to fetch what the whole batch needs at once, such as the adjacency of all of its vertices.
+     */
+    protected void flatMap(final Traverser.Admin<S>[] batch, final int size, final Iterator<E>[] iterators) {
+        if (this instanceof TraversalParent)
+            return;
+        for (int i = 0; i < size; i++) {
+            iterators[i] = this.flatMap(batch[i]);
+        }
+    }
+
+    @Override
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+        this.batch = null;
+        this.batchIterators = null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
     @Override
     public void reset() {
         super.reset();
@@ -60,7 +128,22 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         this.iterator = EmptyIterator.instance();
     }
 
+    @Override
+    public FlatMapStep<S, E> clone() {
+        final FlatMapStep<S, E> clone = (FlatMapStep<S, E>) super.clone();
+        clone.batch = null;
+        clone.batchIterators = null;
+        return clone;
+    }
+
     protected void closeIterator() {
         CloseableIterator.closeIterator(iterator);
+        if (null != this.batchIterators) {
+            for (int i = this.batchIndex; i < this.batchEnd; i++) {
+                CloseableIterator.closeIterator(this.batchIterators[i]);
+            }
+        }
+        this.batchIndex = 0;
+        this.batchEnd = 0;
     }
 }
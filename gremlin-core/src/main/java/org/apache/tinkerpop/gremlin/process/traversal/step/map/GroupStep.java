@@ -25,35 +25,51 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Grouping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ProfilingAware;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.PartitionedSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
+ * When given a memory limit with {@link Spillable#setSpill(long, File)}, the step writes the keys it has grouped and
+ * their partial values to a {@link PartitionedSpill} each time they are estimated to take more memory than the limit.
+ * The final result is then reduced one partition of keys at a time, so that only the partial values of the keys of a
+ * single partition are brought back into memory at once.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
-        implements ByModulating, TraversalParent, ProfilingAware, Grouping<S, K, V> {
+        implements ByModulating, TraversalParent, ProfilingAware, Grouping<S, K, V>, Spillable {
 
     private char state = 'k';
     private Traversal.Admin<S, K> keyTraversal;
     private Traversal.Admin<S, V> valueTraversal;
     private Barrier barrierStep;
     private boolean resetBarrierForProfiling = false;
+    private long maxMemory = Long.MAX_VALUE;
+    private File spillDirectory = null;
+    private transient long held = 0L;
+    private transient boolean unspillable = false;
+    private transient PartitionedSpill spill = null;
 
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -162,6 +178,9 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
         clone.barrierStep = determineBarrierStep(clone.valueTraversal);
+        clone.held = 0L;
+        clone.unspillable = false;
+        clone.spill = null;
         return clone;
     }
 
@@ -182,7 +201,129 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     @Override
     public Map<K, V> generateFinalResult(final Map<K, V> object) {
-        return doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        if (null == this.spill || this.spill.isEmpty())
+            return doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+
+        // equal keys share a partition so each partition is reduced and finalized on its own
+        final List<Map<K, V>> partitions = this.partition(object);
+        final Map<K, V> result = new HashMap<>();
+        for (int p = 0; p < partitions.size(); p++) {
+            final Map<K, V> partition = this.reduceSpilled(p);
+            this.reducingBiOperator.apply(partition, partitions.set(p, null));
+            result.putAll(doFinalReduction((Map<K, Object>) partition, this.valueTraversal));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<K, V> nextBarrier() {
+        final Map<K, V> barrier = super.nextBarrier();
+        if (null == this.spill || this.spill.isEmpty())
+            return barrier;
+
+        final Map<K, V> merged = new HashMap<>();
+        for (int p = 0; p < this.spill.partitions(); p++) {
+            merged.putAll(this.reduceSpilled(p));
+        }
+        return this.reducingBiOperator.apply(merged, barrier);
+    }
+
+    @Override
+    public void setSpill(final long maxMemory, final File directory) {
+        this.maxMemory = maxMemory;
+        this.spillDirectory = directory;
+    }
+
+    /**
+     * Reduces the projection into the seed and spills the seed once what it holds is estimated to take more memory
+     * than the step is allowed.
+     */
+    @Override
+    protected Map<K, V> reduce(final Map<K, V> seed, final Map<K, V> projection) {
+        if (Long.MAX_VALUE == this.maxMemory || this.unspillable)
+            return super.reduce(seed, projection);
+
+        if (seed.isEmpty())
+            this.held = 0L;
+        this.held = this.held + MemoryTracker.estimateGrowth(seed, projection);
+        final Map<K, V> reduced = super.reduce(seed, projection);
+        if (this.held > this.maxMemory)
+            this.spill(reduced);
+        return reduced;
+    }
+
+    /**
+     * Moves the keys and partial values of the seed to the spill. Partial values are later reduced into what the seed
+     * holds again for their key, so the step stops spilling once a pair can not be written or would not be read back
+     * as it is held, leaving the rest of the seed in memory.
+     */
+    private void spill(final Map<K, V> seed) {
+        if (null == this.spill)
+            this.spill = new PartitionedSpill(this, this.spillDirectory);
+
+        if (!this.spill.restores(seed.values().iterator().next())) {
+            this.unspillable = true;
+            return;
+        }
+
+        long released = this.held;
+        for (final Iterator<Map.Entry<K, V>> itty = seed.entrySet().iterator(); itty.hasNext(); ) {
+            final Map.Entry<K, V> entry = itty.next();
+            if (!this.spill.canSpill(entry.getKey(), entry.getValue()) || !this.spill.spill(entry.getKey(), entry.getValue())) {
+                this.unspillable = true;
+                released = 0L;
+                break;
+            }
+            itty.remove();
+        }
+
+        this.held = 0L;
+        final MemoryTracker.Account account = MemoryTracker.getAccount(this);
+        if (null != account)
+            account.release(released);
+    }
+
+    /**
+     * Splits what the seed holds by the partition of its keys, leaving the seed empty.
+     */
+    private List<Map<K, V>> partition(final Map<K, V> seed) {
+        final List<Map<K, V>> partitions = new ArrayList<>(this.spill.partitions());
+        for (int p = 0; p < this.spill.partitions(); p++) {
+            partitions.add(new HashMap<>());
+        }
+        seed.forEach((k, v) -> partitions.get(this.spill.partition(k)).put(k, v));
+        seed.clear();
+        return partitions;
+    }
+
+    /**
+     * Reduces the partial values spilled to the partition, in the order they were spilled, into a new map.
+     */
+    private Map<K, V> reduceSpilled(final int p) {
+        final Map<K, V> partition = new HashMap<>();
+        this.spill.read(p).forEachRemaining(entry ->
+                this.reducingBiOperator.apply(partition, Collections.singletonMap((K) entry.getKey(), (V) entry.getValue())));
+        return partition;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSpill();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.closeSpill();
+        TraversalParent.super.close();
+    }
+
+    private void closeSpill() {
+        if (null != this.spill)
+            this.spill.close();
+        this.spill = null;
+        this.held = 0L;
+        this.unspillable = false;
     }
 
     ///////////////////////
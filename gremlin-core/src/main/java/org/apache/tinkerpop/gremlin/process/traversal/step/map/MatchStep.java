@@ -431,7 +431,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             if (!this.isDuplicate(traverser)) {
                 if (hasMatched(this.connective, traverser)) {
                     traverser.setStepId(this.getNextStep().getId());
-                    traverser.addLabels(this.labels);
+                    traverser.addLabels(this.getLabels());
                     return IteratorUtils.of(traverser.split(this.getBindings(traverser), this));
                 }
                 if (this.connective == ConnectiveStep.Connective.AND) {
@@ -26,17 +26,23 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -44,21 +50,48 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
+ * When a limit is set, typically by {@link OrderLimitStrategy}, the step does not hold on to every traverser it
+ * is given. It keeps only those needed to fill the limit with a bounded heap whose root is the worst of the kept
+ * traversers, so that ordering {@code N} traversers to emit the first {@code K} of them takes {@code O(K)} memory
+ * and {@code O(N log K)} time. Traversers that compare as equal keep the order they arrived in, just as they would
+ * with a full sort. A shuffle has no worst traverser and is never bounded this way.
+ * <p/>
+ * Without a limit, the step may be allowed only so much memory for its traversers by
+ * {@link Spillable#setSpill(long, File)}, in which case it sorts them and writes them to a run on disk each time they
+ * are estimated to take more, merging the runs with the traversers still in memory as the sorted traversers are
+ * emitted.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable, Spillable, AutoCloseable {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
     private final Random random = new Random();
 
+    /**
+     * The traversers of the {@code traverserSet} ordered worst first when there is a limit to fill. It is dropped
+     * whenever the {@code traverserSet} changes other than through {@link #offer(Traverser.Admin)} and rebuilt on
+     * the next call to {@link #processAllStarts()}.
+     */
+    private transient PriorityQueue<Ranked<S>> kept = null;
+    private transient long keptBulk = 0L;
+    private transient long sequence = 0L;
+
+    private long maxMemory = Long.MAX_VALUE;
+    private File spillDirectory = null;
+    private transient long held = 0L;
+    private transient TraverserSpill<S> spill = null;
+    private transient Iterator<Traverser.Admin<S>> spilled = null;
+
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -76,13 +109,137 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
             traverserSet.shuffle(random);
         else
             traverserSet.sort((Comparator) this.multiComparator);
+        // the sorted set is drained from here on
+        this.kept = null;
     }
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext()) {
-            // only add the traverser if the comparator traversal was productive
-            this.createProjectedTraverser(this.starts.next()).ifPresent(traverserSet::add);
+        if (!this.starts.hasNext())
+            return;
+
+        MemoryTracker.track(this, this.traverserSet);
+        if (!this.isBounded()) {
+            while (this.starts.hasNext()) {
+                // only add the traverser if the comparator traversal was productive
+                this.createProjectedTraverser(this.starts.next()).ifPresent(this::hold);
+            }
+        } else {
+            if (null == this.kept)
+                this.rank();
+            while (this.starts.hasNext()) {
+                this.createProjectedTraverser(this.starts.next()).ifPresent(this::offer);
+            }
+        }
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (null != this.spilled) {
+            if (this.spilled.hasNext())
+                return ProjectedTraverser.tryUnwrap(this.spilled.next());
+            this.spilled = null;
+        }
+
+        if (this.traverserSet.isEmpty() && this.starts.hasNext()) {
+            this.processAllStarts();
+            this.barrierConsumed = false;
+        }
+        if (null == this.spill || this.spill.isEmpty())
+            return super.processNextStart();
+
+        // the runs on disk are each sorted so the traversers left in memory are sorted and merged with them
+        this.barrierConsumer(this.traverserSet);
+        this.barrierConsumed = true;
+        this.spilled = this.spill.merge(IteratorUtils.removeOnNext(this.traverserSet.iterator()), (Comparator) this.multiComparator);
+        return ProjectedTraverser.tryUnwrap(this.spilled.next());
+    }
+
+    @Override
+    public void setSpill(final long maxMemory, final File directory) {
+        this.maxMemory = maxMemory;
+        this.spillDirectory = directory;
+    }
+
+    /**
+     * Adds the traverser to the set and spills the set once its traversers are estimated to take more memory than the
+     * step is allowed.
+     */
+    private void hold(final Traverser.Admin<S> traverser) {
+        if (this.traverserSet.isEmpty())
+            this.held = 0L;
+        if (this.traverserSet.add(traverser) && Long.MAX_VALUE != this.maxMemory) {
+            this.held = this.held + MemoryTracker.estimate(traverser);
+            if (this.held > this.maxMemory)
+                this.spill();
+        }
+    }
+
+    private void spill() {
+        if (null == this.spill)
+            this.spill = new TraverserSpill<>(this, this.spillDirectory);
+        if (this.multiComparator.isShuffle() || !this.spill.isSpillable())
+            return;
+
+        this.traverserSet.sort((Comparator) this.multiComparator);
+        if (this.spill.spill(this.traverserSet))
+            this.traverserSet.clear();
+    }
+
+    @Override
+    public TraverserSet<S> nextBarrier() {
+        this.kept = null;
+        return super.nextBarrier();
+    }
+
+    @Override
+    public void addBarrier(final TraverserSet<S> barrier) {
+        this.kept = null;
+        super.addBarrier(barrier);
+    }
+
+    private boolean isBounded() {
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        return this.limit >= 0 && this.limit < Long.MAX_VALUE && !this.multiComparator.isShuffle();
+    }
+
+    /**
+     * Builds the heap of kept traversers from whatever is already in the {@code traverserSet}.
+     */
+    private void rank() {
+        this.kept = new PriorityQueue<>((a, b) -> {
+            final int comparison = this.multiComparator.compare((C) b.traverser, (C) a.traverser);
+            return 0 != comparison ? comparison : Long.compare(b.sequence, a.sequence);
+        });
+        this.keptBulk = 0L;
+        for (final Traverser.Admin<S> traverser : this.traverserSet) {
+            this.kept.add(new Ranked<>(traverser, this.sequence++));
+            this.keptBulk = this.keptBulk + traverser.bulk();
+        }
+    }
+
+    /**
+     * Adds the traverser if it is among the first {@code limit} in order, evicting the kept traversers that it
+     * pushes past the limit.
+     */
+    private void offer(final Traverser.Admin<S> traverser) {
+        if (null != this.traverserSet.get(traverser)) {
+            // merged with a kept traverser, so its position in the heap is unchanged
+            this.traverserSet.add(traverser);
+        } else {
+            // a traverser that ties with the worst kept one arrived after it and so comes after it in order
+            if (this.keptBulk >= this.limit && (this.kept.isEmpty() ||
+                    this.multiComparator.compare((C) traverser, (C) this.kept.peek().traverser) >= 0))
+                return;
+            this.traverserSet.add(traverser);
+            this.kept.add(new Ranked<>(traverser, this.sequence++));
+        }
+        this.keptBulk = this.keptBulk + traverser.bulk();
+
+        while (!this.kept.isEmpty() && this.keptBulk - this.kept.peek().traverser.bulk() >= this.limit) {
+            final Traverser.Admin<S> worst = this.kept.poll().traverser;
+            this.traverserSet.remove(worst);
+            this.keptBulk = this.keptBulk - worst.bulk();
         }
     }
 
@@ -158,6 +315,9 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
+        clone.kept = null;
+        clone.spill = null;
+        clone.spilled = null;
         return clone;
     }
 
@@ -197,6 +357,30 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         return new MultiComparator<>(list);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.kept = null;
+        this.close();
+    }
+
+    @Override
+    public void close() {
+        if (null != this.spill)
+            this.spill.close();
+        this.spilled = null;
+    }
+
+    private static final class Ranked<S> {
+        private final Traverser.Admin<S> traverser;
+        private final long sequence;
+
+        private Ranked(final Traverser.Admin<S> traverser, final long sequence) {
+            this.traverser = traverser;
+            this.sequence = sequence;
+        }
+    }
+
     ////////////////
 
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
@@ -20,25 +20,97 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+
+import java.util.Arrays;
 
 /**
  * A type of {@link MapStep} class which will transform the object of one {@link Traverser} into another. This class
  * simply requires the implementation of the {@link #map(Traverser.Admin)} method to extract the object of the given
- * {@link Traverser} and return the transformation of that object as {@code E}.
+ * {@link Traverser} and return the transformation of that object as {@code E}. When a batch size is set, the step
+ * maps an array of traversers at a time with {@link #map(Traverser.Admin[], int, Traverser.Admin[])}.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public abstract class ScalarMapStep<S, E> extends MapStep<S,E> {
+public abstract class ScalarMapStep<S, E> extends MapStep<S,E> implements Batching {
+
+    private int batchSize = 0;
+    private Traverser.Admin<S>[] batch = null;
+    private Traverser.Admin<E>[] mapped = null;
+    private int batchIndex = 0;
+    private int batchEnd = 0;
+
     public ScalarMapStep(final Traversal.Admin traversal) {
         super(traversal);
     }
 
     @Override
     protected Traverser.Admin<E> processNextStart() {
+        if (this.batchSize > 0)
+            return this.processNextBatchedStart();
         final Traverser.Admin<S> traverser = this.starts.next();
         return traverser.split(this.map(traverser), this);
     }
 
+    private Traverser.Admin<E> processNextBatchedStart() {
+        if (this.batchIndex == this.batchEnd) {
+            if (null == this.batch) {
+                this.batch = new Traverser.Admin[this.batchSize];
+                this.mapped = new Traverser.Admin[this.batchSize];
+            }
+            this.batchIndex = 0;
+            this.batchEnd = 0;
+            final int size = this.nextStarts(this.batch);
+            if (0 == size)
+                throw FastNoSuchElementException.instance();
+            this.map(this.batch, size, this.mapped);
+            Arrays.fill(this.batch, 0, size, null);
+            this.batchEnd = size;
+        }
+        final Traverser.Admin<E> traverser = this.mapped[this.batchIndex];
+        this.mapped[this.batchIndex++] = null;
+        return traverser;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
+
+    /**
+     * Sets the traverser each of the first {@code size} traversers of the batch maps to at the same index of
+     * {@code mapped}. By default this calls {@link #map(Traverser.Admin)} for each traverser in turn, but a step
+     * backed by storage may override it to look up what the whole batch needs at once.
+     */
+    protected void map(final Traverser.Admin<S>[] batch, final int size, final Traverser.Admin<E>[] mapped) {
+        for (int i = 0; i < size; i++) {
+            mapped[i] = batch[i].split(this.map(batch[i]), this);
+        }
+    }
+
+    @Override
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+        this.batch = null;
+        this.mapped = null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.batchIndex = 0;
+        this.batchEnd = 0;
+    }
+
+    @Override
+    public ScalarMapStep<S, E> clone() {
+        final ScalarMapStep<S, E> clone = (ScalarMapStep<S, E>) super.clone();
+        clone.batch = null;
+        clone.mapped = null;
+        return clone;
+    }
 }
@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The OLTP form of {@code shortestPath()}, which finds the same paths as {@link ShortestPathVertexProgram} does on a
+ * {@code GraphComputer}: all of the shortest paths from each incoming vertex to every vertex that passes the target
+ * filter. Instead of a path per traverser the search keeps a map of the vertices it has visited to the edges they
+ * were reached by, and the paths are only built from that map once the search is over.
+ * <p/>
+ * When distances are the number of hops, the edges are those of a single {@code outE()}, {@code inE()} or
+ * {@code bothE()} and the target filter is a {@code hasId()}, the search runs breadth-first from both ends at once,
+ * always extending the smaller of the two frontiers, and stops as soon as they meet. Otherwise it runs Dijkstra's
+ * algorithm from the incoming vertex, which requires distances not to be negative.
+ *
+ * @see ShortestPathVertexProgramStep
+ */
+public final class ShortestPathStep extends FlatMapStep<Vertex, Path> implements TraversalParent {
+
+    private PureTraversal<Vertex, ?> targetVertexFilter;
+    private PureTraversal<Vertex, Edge> edgeTraversal;
+    private PureTraversal<Edge, Number> distanceTraversal;
+    private final Number maxDistance;
+    private final boolean includeEdges;
+
+    private final boolean distanceEqualsNumberOfHops;
+    private final boolean allVerticesAreTargets;
+    private final Direction direction;
+    private final String[] edgeLabels;
+    private final Object[] targetIds;
+
+    public ShortestPathStep(final Traversal.Admin traversal, final Traversal.Admin<Vertex, ?> targetVertexFilter,
+                            final Traversal.Admin<Vertex, Edge> edgeTraversal,
+                            final Traversal.Admin<Edge, Number> distanceTraversal,
+                            final Number maxDistance, final boolean includeEdges) {
+        super(traversal);
+        this.targetVertexFilter = new PureTraversal<>(this.integrateChild(targetVertexFilter));
+        this.edgeTraversal = new PureTraversal<>(this.integrateChild(edgeTraversal));
+        this.distanceTraversal = new PureTraversal<>(this.integrateChild(distanceTraversal));
+        this.maxDistance = maxDistance;
+        this.includeEdges = includeEdges;
+
+        this.distanceEqualsNumberOfHops = this.distanceTraversal.equals(ShortestPathVertexProgram.DEFAULT_DISTANCE_TRAVERSAL);
+        this.allVerticesAreTargets = this.targetVertexFilter.equals(ShortestPathVertexProgram.DEFAULT_VERTEX_FILTER_TRAVERSAL);
+
+        // edges of a single VertexStep are read straight from the vertex, which can also be done in reverse
+        final List<Step> edgeSteps = this.edgeTraversal.getPure().getSteps();
+        if (edgeSteps.size() == 1 && edgeSteps.get(0).getClass().equals(VertexStep.class) &&
+                ((VertexStep<?>) edgeSteps.get(0)).returnsEdge()) {
+            this.direction = ((VertexStep<?>) edgeSteps.get(0)).getDirection();
+            this.edgeLabels = ((VertexStep<?>) edgeSteps.get(0)).getEdgeLabels();
+        } else {
+            this.direction = null;
+            this.edgeLabels = null;
+        }
+        this.targetIds = getTargetIds(this.targetVertexFilter.getPure());
+    }
+
+    /**
+     * Gets the identifiers of the targets if the filter is a {@code hasId()} alone.
+     */
+    private static Object[] getTargetIds(final Traversal.Admin<Vertex, ?> targetVertexFilter) {
+        final List<Step> steps = targetVertexFilter.getSteps();
+        if (steps.size() != 1 || !(steps.get(0) instanceof HasStep))
+            return null;
+        final List<HasContainer> hasContainers = ((HasStep<?>) steps.get(0)).getHasContainers();
+        if (hasContainers.size() != 1 || !T.id.getAccessor().equals(hasContainers.get(0).getKey()))
+            return null;
+
+        final HasContainer hasContainer = hasContainers.get(0);
+        if (hasContainer.getBiPredicate() == Compare.eq)
+            return new Object[]{hasContainer.getValue()};
+        else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection)
+            return ((Collection<?>) hasContainer.getValue()).toArray();
+        return null;
+    }
+
+    @Override
+    protected Iterator<Path> flatMap(final Traverser.Admin<Vertex> traverser) {
+        final Vertex source = traverser.get();
+        final List<Path> paths = new ArrayList<>();
+        if (this.distanceEqualsNumberOfHops && null != this.direction && null != this.targetIds) {
+            final Iterator<Vertex> targets = this.getTraversal().getGraph().get().vertices(this.targetIds);
+            try {
+                while (targets.hasNext()) {
+                    final Vertex target = targets.next();
+                    if (TraversalUtil.test(target, this.targetVertexFilter.get()))
+                        this.searchFromBothEnds(source, target, paths);
+                }
+            } finally {
+                CloseableIterator.closeIterator(targets);
+            }
+        } else {
+            this.search(source, paths);
+        }
+        return paths.iterator();
+    }
+
+    /**
+     * Searches breadth-first from the source and the target at once until the frontiers meet.
+     */
+    private void searchFromBothEnds(final Vertex source, final Vertex target, final List<Path> paths) {
+        if (source.equals(target)) {
+            paths.add(makePath(Collections.singletonList(source)));
+            return;
+        }
+
+        final Map<Vertex, List<Hop>> forward = new HashMap<>();
+        final Map<Vertex, List<Hop>> backward = new HashMap<>();
+        forward.put(source, Collections.emptyList());
+        backward.put(target, Collections.emptyList());
+        List<Vertex> forwardFrontier = Collections.singletonList(source);
+        List<Vertex> backwardFrontier = Collections.singletonList(target);
+        int distance = 0;
+
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            if (null != this.maxDistance && NumberHelper.compare(distance + 1, this.maxDistance) > 0)
+                return;
+            distance++;
+
+            // every vertex met on the level is at the same, shortest, distance from both ends
+            final Set<Vertex> met = new HashSet<>();
+            if (forwardFrontier.size() <= backwardFrontier.size())
+                forwardFrontier = this.expand(forwardFrontier, forward, backward, false, met);
+            else
+                backwardFrontier = this.expand(backwardFrontier, backward, forward, true, met);
+
+            if (!met.isEmpty()) {
+                for (final Vertex vertex : met) {
+                    for (final List<Element> head : chains(vertex, source, forward, new HashSet<>())) {
+                        for (final List<Element> tail : chains(vertex, target, backward, new HashSet<>())) {
+                            final List<Element> elements = new ArrayList<>(head.size() + tail.size());
+                            for (int i = head.size() - 1; i >= 0; i--) {
+                                elements.add(head.get(i));
+                            }
+                            elements.addAll(tail.subList(1, tail.size()));
+                            paths.add(makePath(elements));
+                        }
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private List<Vertex> expand(final List<Vertex> frontier, final Map<Vertex, List<Hop>> visited,
+                                final Map<Vertex, List<Hop>> other, final boolean reverse, final Set<Vertex> met) {
+        final Map<Vertex, List<Hop>> next = new LinkedHashMap<>();
+        for (final Vertex vertex : frontier) {
+            final Iterator<Edge> edges = this.edges(vertex, reverse);
+            try {
+                while (edges.hasNext()) {
+                    final Edge edge = edges.next();
+                    final Vertex adjacent = adjacent(vertex, edge);
+                    if (visited.containsKey(adjacent))
+                        continue;
+                    next.computeIfAbsent(adjacent, v -> new ArrayList<>(1)).add(new Hop(vertex, edge));
+                    if (other.containsKey(adjacent))
+                        met.add(adjacent);
+                }
+            } finally {
+                CloseableIterator.closeIterator(edges);
+            }
+        }
+        visited.putAll(next);
+        return new ArrayList<>(next.keySet());
+    }
+
+    /**
+     * Searches from the source with Dijkstra's algorithm and adds the paths to the targets in the order they are
+     * settled.
+     */
+    private void search(final Vertex source, final List<Path> paths) {
+        final Map<Vertex, Number> distances = new HashMap<>();
+        final Map<Vertex, List<Hop>> hops = new HashMap<>();
+        final Set<Vertex> settled = new HashSet<>();
+        final List<Vertex> targets = new ArrayList<>();
+        final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        long sequence = 0;
+
+        distances.put(source, 0);
+        hops.put(source, Collections.emptyList());
+        queue.add(new Candidate(source, 0, sequence++));
+
+        while (!queue.isEmpty()) {
+            final Candidate candidate = queue.poll();
+            final Vertex vertex = candidate.vertex;
+            if (!settled.add(vertex))
+                continue;
+            if (null != this.maxDistance && NumberHelper.compare(candidate.distance, this.maxDistance) > 0)
+                break;
+
+            if (this.allVerticesAreTargets || TraversalUtil.test(vertex, this.targetVertexFilter.get()))
+                targets.add(vertex);
+
+            final Iterator<Edge> edges = this.edges(vertex, false);
+            try {
+                while (edges.hasNext()) {
+                    final Edge edge = edges.next();
+                    final Number length = this.getDistance(edge);
+                    if (NumberHelper.compare(length, 0) < 0)
+                        throw new IllegalStateException(String.format(
+                                "The distance of %s is negative, which shortestPath() only allows on a GraphComputer", edge));
+
+                    final Vertex adjacent = adjacent(vertex, edge);
+                    final Number distance = NumberHelper.add(candidate.distance, length);
+                    final Number current = distances.get(adjacent);
+                    final int cmp = null == current ? -1 : NumberHelper.compare(distance, current);
+                    if (cmp < 0) {
+                        distances.put(adjacent, distance);
+                        final List<Hop> list = new ArrayList<>(1);
+                        list.add(new Hop(vertex, edge));
+                        hops.put(adjacent, list);
+                        queue.add(new Candidate(adjacent, distance, sequence++));
+                    } else if (cmp == 0 && !adjacent.equals(source)) {
+                        hops.get(adjacent).add(new Hop(vertex, edge));
+                    }
+                }
+            } finally {
+                CloseableIterator.closeIterator(edges);
+            }
+        }
+
+        // edges of no length may still add hops to settled vertices so the paths are only built at the end
+        for (final Vertex target : targets) {
+            for (final List<Element> chain : chains(target, source, hops, new HashSet<>())) {
+                Collections.reverse(chain);
+                paths.add(makePath(chain));
+            }
+        }
+    }
+
+    /**
+     * Gets every chain of elements from the vertex back to the end the hops lead to, skipping vertices that are
+     * already on the chain as zero distances may lead in circles.
+     */
+    private List<List<Element>> chains(final Vertex vertex, final Vertex end, final Map<Vertex, List<Hop>> hops,
+                                       final Set<Vertex> onChain) {
+        final List<List<Element>> chains = new ArrayList<>();
+        if (vertex.equals(end)) {
+            chains.add(new ArrayList<>(Collections.singletonList(vertex)));
+            return chains;
+        }
+
+        onChain.add(vertex);
+        for (final Hop hop : hops.get(vertex)) {
+            if (onChain.contains(hop.vertex))
+                continue;
+            for (final List<Element> rest : chains(hop.vertex, end, hops, onChain)) {
+                final List<Element> chain = new ArrayList<>(rest.size() + 2);
+                chain.add(vertex);
+                if (this.includeEdges) chain.add(hop.edge);
+                chain.addAll(rest);
+                chains.add(chain);
+            }
+        }
+        onChain.remove(vertex);
+        return chains;
+    }
+
+    private Iterator<Edge> edges(final Vertex vertex, final boolean reverse) {
+        if (null != this.direction)
+            return vertex.edges(reverse ? this.direction.opposite() : this.direction, this.edgeLabels);
+        return TraversalUtil.applyAll(vertex, this.edgeTraversal.get());
+    }
+
+    private Number getDistance(final Edge edge) {
+        if (this.distanceEqualsNumberOfHops) return 1;
+        final TraversalProduct product = TraversalUtil.produce(edge, this.distanceTraversal.get());
+        return product.isProductive() ? (Number) product.get() : 0;
+    }
+
+    private static Vertex adjacent(final Vertex vertex, final Edge edge) {
+        final Vertex inVertex = edge.inVertex();
+        return inVertex.equals(vertex) ? edge.outVertex() : inVertex;
+    }
+
+    private static Path makePath(final List<Element> elements) {
+        Path path = ImmutablePath.make();
+        for (final Element element : elements) {
+            path = path.extend(element, Collections.emptySet());
+        }
+        return path;
+    }
+
+    @Override
+    public List<Traversal.Admin<?, ?>> getLocalChildren() {
+        return Arrays.asList(this.targetVertexFilter.get(), this.edgeTraversal.get(), this.distanceTraversal.get());
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    public ShortestPathStep clone() {
+        final ShortestPathStep clone = (ShortestPathStep) super.clone();
+        clone.targetVertexFilter = this.targetVertexFilter.clone();
+        clone.edgeTraversal = this.edgeTraversal.clone();
+        clone.distanceTraversal = this.distanceTraversal.clone();
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.targetVertexFilter.get());
+        this.integrateChild(this.edgeTraversal.get());
+        this.integrateChild(this.distanceTraversal.get());
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.targetVertexFilter.get(), this.edgeTraversal.get(),
+                this.distanceTraversal.get(), this.maxDistance, this.includeEdges);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.targetVertexFilter.hashCode() ^ this.edgeTraversal.hashCode() ^
+                this.distanceTraversal.hashCode() ^ Objects.hashCode(this.maxDistance) ^ Boolean.hashCode(this.includeEdges);
+    }
+
+    /**
+     * An edge by which a vertex was reached and the vertex at its other end.
+     */
+    private static final class Hop {
+        private final Vertex vertex;
+        private final Edge edge;
+
+        private Hop(final Vertex vertex, final Edge edge) {
+            this.vertex = vertex;
+            this.edge = edge;
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        private final Vertex vertex;
+        private final Number distance;
+        private final long sequence;
+
+        private Candidate(final Vertex vertex, final Number distance, final long sequence) {
+            this.vertex = vertex;
+            this.distance = distance;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final Candidate other) {
+            final int cmp = NumberHelper.compare(this.distance, other.distance);
+            return 0 != cmp ? cmp : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
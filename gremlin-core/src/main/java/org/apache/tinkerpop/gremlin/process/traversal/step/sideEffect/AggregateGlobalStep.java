@@ -24,32 +24,47 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.BulkSetSupplier;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.Supplier;
 
 /**
+ * When allowed only so much memory for its traversers by {@link Spillable#setSpill(long, File)}, the step writes the
+ * traversers waiting behind the barrier to a run on disk each time they are estimated to take more and emits the
+ * runs in the order they were written ahead of the traversers still in memory. The aggregated side-effect is always in memory.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating, LocalBarrier<S> {
+public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating, LocalBarrier<S>, Spillable, AutoCloseable {
 
     private Traversal.Admin<S, Object> aggregateTraversal = null;
     private String sideEffectKey;
     private TraverserSet<S> barrier;
+    private long maxMemory = Long.MAX_VALUE;
+    private File spillDirectory = null;
+    private transient long held = 0L;
+    private transient TraverserSpill<S> spill = null;
+    private transient Iterator<Traverser.Admin<S>> spilled = null;
 
     public AggregateGlobalStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -93,6 +108,8 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
     public AggregateGlobalStep<S> clone() {
         final AggregateGlobalStep<S> clone = (AggregateGlobalStep<S>) super.clone();
         clone.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        clone.spill = null;
+        clone.spilled = null;
         if (null != this.aggregateTraversal)
             clone.aggregateTraversal = this.aggregateTraversal.clone();
         return clone;
@@ -114,15 +131,26 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
 
     @Override
     protected Traverser.Admin<S> processNextStart() {
+        if (null != this.spilled) {
+            if (this.spilled.hasNext())
+                return this.spilled.next();
+            this.spilled = null;
+        }
+
         if (this.barrier.isEmpty()) {
             this.processAllStarts();
         }
-        return this.barrier.remove();
+        if (null == this.spill || this.spill.isEmpty())
+            return this.barrier.remove();
+
+        this.spilled = this.spill.concat(IteratorUtils.removeOnNext(this.barrier.iterator()));
+        return this.spilled.next();
     }
 
     @Override
     public void processAllStarts() {
         if (this.starts.hasNext()) {
+            MemoryTracker.track(this, this.barrier);
             final BulkSet<Object> bulkSet = new BulkSet<>();
             while (this.starts.hasNext()) {
                 final Traverser.Admin<S> traverser = this.starts.next();
@@ -131,12 +159,39 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
                 traverser.setStepId(this.getNextStep().getId());
 
                 // when barrier is reloaded, the traversers should be at the next step
-                this.barrier.add(traverser);
+                this.hold(traverser);
             }
             this.getTraversal().getSideEffects().add(this.sideEffectKey, bulkSet);
         }
     }
 
+    @Override
+    public void setSpill(final long maxMemory, final File directory) {
+        this.maxMemory = maxMemory;
+        this.spillDirectory = directory;
+    }
+
+    /**
+     * Adds the traverser to the barrier and spills the barrier once its traversers are estimated to take more memory
+     * than the step is allowed.
+     */
+    private void hold(final Traverser.Admin<S> traverser) {
+        if (this.barrier.isEmpty())
+            this.held = 0L;
+        if (this.barrier.add(traverser) && Long.MAX_VALUE != this.maxMemory) {
+            this.held = this.held + MemoryTracker.estimate(traverser);
+            if (this.held > this.maxMemory)
+                this.spill();
+        }
+    }
+
+    private void spill() {
+        if (null == this.spill)
+            this.spill = new TraverserSpill<>(this, this.spillDirectory);
+        if (this.spill.spill(this.barrier))
+            this.barrier.clear();
+    }
+
     @Override
     public boolean hasNextBarrier() {
         if (this.barrier.isEmpty()) {
@@ -168,5 +223,13 @@ public final class AggregateGlobalStep<S> extends AbstractStep<S, S> implements
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.close();
+    }
+
+    @Override
+    public void close() {
+        if (null != this.spill)
+            this.spill.close();
+        this.spilled = null;
     }
 }
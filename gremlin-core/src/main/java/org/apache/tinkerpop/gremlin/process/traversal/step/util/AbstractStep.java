@@ -40,6 +40,7 @@ import java.util.Set;
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected Set<String> labels = new LinkedHashSet<>();
+    private Set<String> unmodifiableLabels = null;
     protected String id = Traverser.Admin.HALT;
     protected Traversal.Admin traversal;
     protected ExpandableStepIterator<S> starts;
@@ -75,9 +76,15 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         this.labels.remove(label);
     }
 
+    /**
+     * Gets a read-only view of the labels, which is created once so that the paths of traversers that pass this step
+     * can all share it.
+     */
     @Override
     public Set<String> getLabels() {
-        return Collections.unmodifiableSet(this.labels);
+        if (null == this.unmodifiableLabels)
+            this.unmodifiableLabels = Collections.unmodifiableSet(this.labels);
+        return this.unmodifiableLabels;
     }
 
     @Override
@@ -171,6 +178,19 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Fills the front of the array with as many starts as are available, up to its length, and returns how many were
+     * taken. This is how a {@link org.apache.tinkerpop.gremlin.process.traversal.step.Batching} step reads its
+     * previous step, whatever kind of step that is.
+     */
+    protected int nextStarts(final Traverser.Admin<S>[] batch) {
+        int size = 0;
+        while (size < batch.length && this.starts.hasNext()) {
+            batch[size++] = this.starts.next();
+        }
+        return size;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -187,6 +207,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             clone.nextEnd = EmptyTraverser.instance();
             clone.traversal = EmptyTraversal.instance();
             clone.labels = new LinkedHashSet<>(this.labels);
+            clone.unmodifiableLabels = null;
             clone.reset();
             return clone;
         } catch (final CloneNotSupportedException e) {
@@ -219,7 +240,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     protected Traverser.Admin<E> prepareTraversalForNextStep(final Traverser.Admin<E> traverser) {
         if (!this.traverserStepIdAndLabelsSetByChild) {
             traverser.setStepId(this.nextStep.getId());
-            traverser.addLabels(this.labels);
+            traverser.addLabels(this.getLabels());
         }
         return traverser;
     }
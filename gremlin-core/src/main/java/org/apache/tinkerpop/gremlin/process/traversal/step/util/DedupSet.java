@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Remembers the objects that {@link DedupGlobalStep} has seen so that it only lets the first of equal objects pass.
+ * <p/>
+ * By default it is exact. {@code Long} values and the {@code Long} identifiers of vertices and edges are kept in
+ * primitive sets rather than as boxed objects and element references, which takes a fraction of the memory. Vertices
+ * are equal when their identifiers are, as are edges, per {@link ElementHelper#areEqual(Element, Object)}. Anything
+ * else is kept in a {@code HashSet}.
+ * <p/>
+ * It can also be approximate, in which case it keeps a Bloom filter sized for an expected number of distinct objects
+ * and a rate of false positives. A false positive is an object that was not seen but is taken as a duplicate, so an
+ * approximate set never lets a duplicate pass but may hold back a small fraction of distinct objects. Objects other
+ * than {@code Long} values and elements with {@code Long} identifiers are hashed by their {@code hashCode()}, so objects
+ * with equal hash codes always collide.
+ */
+public final class DedupSet implements Serializable {
+
+    private static final double LN2 = Math.log(2);
+
+    private Set<Object> objects = null;
+    private transient LongHashSet longs = null;
+    private transient LongHashSet vertexIds = null;
+    private transient LongHashSet edgeIds = null;
+
+    private final long[] bloomFilter;
+    private final long bits;
+    private final int hashes;
+
+    private DedupSet(final long[] bloomFilter, final int hashes) {
+        this.bloomFilter = bloomFilter;
+        this.bits = null == bloomFilter ? 0L : (long) bloomFilter.length << 6;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Creates a set that tells every distinct object apart.
+     */
+    public static DedupSet exact() {
+        return new DedupSet(null, 0);
+    }
+
+    /**
+     * Creates a set backed by a Bloom filter that takes fewer than the given rate of distinct objects for duplicates
+     * as long as it does not see more than the expected number of them.
+     *
+     * @param expectedDistinct the number of distinct objects the filter is sized for
+     * @param falsePositiveRate the rate of distinct objects that may be taken for duplicates, between 0 and 1
+     */
+    public static DedupSet approximate(final long expectedDistinct, final double falsePositiveRate) {
+        if (expectedDistinct < 1)
+            throw new IllegalArgumentException("The expected number of distinct objects must be at least 1");
+        if (falsePositiveRate <= 0d || falsePositiveRate >= 1d)
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+
+        final double bits = Math.ceil(-expectedDistinct * Math.log(falsePositiveRate) / (LN2 * LN2));
+        final double words = Math.ceil(bits / Long.SIZE);
+        if (words > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException(String.format(
+                    "A Bloom filter for %s distinct objects at a false positive rate of %s is too large", expectedDistinct, falsePositiveRate));
+        final int hashes = Math.max(1, (int) Math.round(bits / expectedDistinct * LN2));
+        return new DedupSet(new long[(int) words], hashes);
+    }
+
+    public boolean isApproximate() {
+        return null != this.bloomFilter;
+    }
+
+    /**
+     * Adds the object and determines if it was not seen before.
+     *
+     * @return {@code true} if the object is new and {@code false} if it is, or for an approximate set may be, a duplicate
+     */
+    public boolean add(final Object object) {
+        if (null != this.bloomFilter)
+            return this.addHash(hash(object));
+
+        if (object instanceof Long) {
+            if (null == this.longs) this.longs = new LongHashSet();
+            return this.longs.add((Long) object);
+        } else if (object instanceof Vertex || object instanceof Edge) {
+            final Object id = ((Element) object).id();
+            if (id instanceof Long) {
+                if (object instanceof Vertex) {
+                    if (null == this.vertexIds) this.vertexIds = new LongHashSet();
+                    return this.vertexIds.add((Long) id);
+                } else {
+                    if (null == this.edgeIds) this.edgeIds = new LongHashSet();
+                    return this.edgeIds.add((Long) id);
+                }
+            }
+        }
+        if (null == this.objects) this.objects = new HashSet<>();
+        return this.objects.add(object);
+    }
+
+    public void clear() {
+        this.objects = null;
+        this.longs = null;
+        this.vertexIds = null;
+        this.edgeIds = null;
+        if (null != this.bloomFilter)
+            Arrays.fill(this.bloomFilter, 0L);
+    }
+
+    private boolean addHash(final long hash) {
+        // the hashes of the filter are derived from two by double hashing
+        final long second = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+        boolean added = false;
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = Math.floorMod(hash + i * second, this.bits);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if (0L == (this.bloomFilter[word] & mask)) {
+                this.bloomFilter[word] = this.bloomFilter[word] | mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    private static long hash(final Object object) {
+        if (object instanceof Long)
+            return mix((Long) object);
+        else if (object instanceof Vertex || object instanceof Edge) {
+            final Object id = ((Element) object).id();
+            if (id instanceof Long)
+                return mix(mix((Long) id) ^ (object instanceof Vertex ? 1L : 2L));
+        }
+        return mix(null == object ? 0L : (object.hashCode() & 0xFFFFFFFFL) | 3L << 32);
+    }
+
+    /**
+     * The finalizer of MurmurHash3, which spreads the bits of the value over all of the hash.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -24,14 +24,20 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
+ * A {@link Path} of linked sections where each extension points at the path it extends, so that the traversers split
+ * from one another share their common prefix and a split costs no copy. The label sets of the sections are shared with
+ * the steps that produced them and are only copied when labels are added to or removed from a section.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
@@ -93,6 +99,8 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
     public Path extend(final Set<String> labels) {
         if (labels.isEmpty() || this.currentLabels.containsAll(labels))
             return this;
+        else if (this.currentLabels.isEmpty())
+            return new ImmutablePath(this.previousPath, this.currentObject, labels);
         else {
             final Set<String> newLabels = new LinkedHashSet<>();
             newLabels.addAll(this.currentLabels);
@@ -106,35 +114,44 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (labels.isEmpty())
             return this;
 
-        // get all the immutable path sections
-        final List<ImmutablePath> immutablePaths = new ArrayList<>();
+        // get all the immutable path sections and the oldest one that changes, as the sections before it are kept
+        // as they are and can be shared with the new path
+        final ImmutablePath[] immutablePaths = new ImmutablePath[this.size()];
+        int oldest = immutablePaths.length;
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            immutablePaths.add(0, currentPath);
+        for (int i = immutablePaths.length - 1; i >= 0; i--) {
+            immutablePaths[i] = currentPath;
+            if (currentPath.currentLabels.isEmpty() || !Collections.disjoint(currentPath.currentLabels, labels))
+                oldest = i;
             currentPath = currentPath.previousPath;
         }
+        if (oldest == immutablePaths.length)
+            return this;
+
         // build a new immutable path using the respective path sections that are not to be retracted
-        Path newPath = TAIL_PATH;
-        for (final ImmutablePath immutablePath : immutablePaths) {
-            final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
-            temp.removeAll(labels);
+        Path newPath = immutablePaths[oldest].previousPath;
+        for (int i = oldest; i < immutablePaths.length; i++) {
+            Set<String> temp = immutablePaths[i].currentLabels;
+            if (!Collections.disjoint(temp, labels)) {
+                temp = new LinkedHashSet<>(temp);
+                temp.removeAll(labels);
+            }
             if (!temp.isEmpty())
-                newPath = newPath.extend(immutablePath.currentObject, temp);
+                newPath = newPath.extend(immutablePaths[i].currentObject, temp);
         }
         return newPath;
     }
 
     @Override
     public <A> A get(final int index) {
-        int counter = this.size();
+        final int size = this.size();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
         ImmutablePath currentPath = this;
-        while (true) {
-            if (index == --counter)
-                return (A) currentPath.currentObject;
+        for (int i = size - 1; i > index; i--) {
             currentPath = currentPath.previousPath;
         }
+        return (A) currentPath.currentObject;
     }
 
     @Override
@@ -149,9 +166,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
                 if (currentPath.isTail())
                     break;
                 else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
             ImmutablePath currentPath = this;
@@ -193,28 +211,37 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public List<Object> objects() {
-        final List<Object> objects = new ArrayList<>();
+        final Object[] objects = new Object[this.size()];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            objects.add(0, currentPath.currentObject);
+        for (int i = objects.length - 1; i >= 0; i--) {
+            objects[i] = currentPath.currentObject;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(objects);
+        return Collections.unmodifiableList(Arrays.asList(objects));
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labels = new ArrayList<>();
+        final Set<String>[] labels = new Set[this.size()];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            labels.add(0, currentPath.currentLabels);
+        for (int i = labels.length - 1; i >= 0; i--) {
+            labels[i] = currentPath.currentLabels;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(labels);
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    @Override
+    public void forEach(final BiConsumer<Object, Set<String>> consumer) {
+        final ImmutablePath[] immutablePaths = new ImmutablePath[this.size()];
+        ImmutablePath currentPath = this;
+        for (int i = immutablePaths.length - 1; i >= 0; i--) {
+            immutablePaths[i] = currentPath;
+            currentPath = currentPath.previousPath;
+        }
+        for (final ImmutablePath immutablePath : immutablePaths) {
+            consumer.accept(immutablePath.currentObject, immutablePath.currentLabels);
+        }
     }
 
     @Override
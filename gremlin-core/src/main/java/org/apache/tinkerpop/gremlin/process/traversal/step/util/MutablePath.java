@@ -31,6 +31,9 @@ import java.util.List;
 import java.util.Set;
 
 /**
+ * A {@link Path} backed by lists of objects and labels. A label set is never changed once it is in the path, but is
+ * replaced by a changed copy instead, so that a clone can share the label sets of the path it was cloned from.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class MutablePath implements Path, Serializable {
@@ -60,9 +63,7 @@ public class MutablePath implements Path, Serializable {
         clone.objects = new ArrayList<>();
         clone.labels = new ArrayList<>();*/
         clone.objects.addAll(this.objects);
-        for (final Set<String> labels : this.labels) {
-            clone.labels.add(new LinkedHashSet<>(labels));
-        }
+        clone.labels.addAll(this.labels);
         return clone;
     }
 
@@ -90,16 +91,25 @@ public class MutablePath implements Path, Serializable {
 
     @Override
     public Path extend(final Set<String> labels) {
-        if (!labels.isEmpty() && !this.labels.get(this.labels.size() - 1).containsAll(labels))
-            this.labels.get(this.labels.size() - 1).addAll(labels);
+        final int last = this.labels.size() - 1;
+        if (!labels.isEmpty() && !this.labels.get(last).containsAll(labels)) {
+            final Set<String> newLabels = new LinkedHashSet<>(this.labels.get(last));
+            newLabels.addAll(labels);
+            this.labels.set(last, newLabels);
+        }
         return this;
     }
 
     @Override
     public Path retract(final Set<String> removeLabels) {
         for (int i = this.labels.size() - 1; i >= 0; i--) {
-            this.labels.get(i).removeAll(removeLabels);
-            if (this.labels.get(i).isEmpty()) {
+            Set<String> labels = this.labels.get(i);
+            if (!Collections.disjoint(labels, removeLabels)) {
+                labels = new LinkedHashSet<>(labels);
+                labels.removeAll(removeLabels);
+                this.labels.set(i, labels);
+            }
+            if (labels.isEmpty()) {
                 this.labels.remove(i);
                 this.objects.remove(i);
             }
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Generating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 
 import java.io.Serializable;
 import java.util.Optional;
@@ -52,6 +53,7 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
     protected boolean hasProcessedOnce = false;
 
     private E seed = (E) NON_EMITTING_SEED;
+    private MemoryTracker.Account account = null;
 
     public ReducingBarrierStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -88,13 +90,13 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
     public void reset() {
         super.reset();
         this.hasProcessedOnce = false;
-        this.seed = (E) NON_EMITTING_SEED;
+        this.releaseSeed();
     }
 
     @Override
     public void done() {
         this.hasProcessedOnce = true;
-        this.seed = (E) NON_EMITTING_SEED;
+        this.releaseSeed();
     }
 
     @Override
@@ -103,12 +105,42 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
             return;
         this.hasProcessedOnce = true;
 
+        this.account = MemoryTracker.getAccount(this);
         if (this.seed == NON_EMITTING_SEED) {
             this.seed = getSeedSupplier().get();
+            if (null != this.account)
+                this.account.add(MemoryTracker.estimate(this.seed));
         }
 
-        while (this.starts.hasNext())
-            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+        if (null == this.account) {
+            while (this.starts.hasNext())
+                this.seed = this.reduce(this.seed, this.projectTraverser(this.starts.next()));
+        } else {
+            while (this.starts.hasNext()) {
+                final E projection = this.projectTraverser(this.starts.next());
+                // the seed tends to be reduced into in place so its growth is estimated and accounted for before it
+                // is reduced, which also leaves a step free to give some of it back as it reduces
+                this.account.add(MemoryTracker.estimateGrowth(this.seed, projection));
+                this.seed = this.reduce(this.seed, projection);
+            }
+        }
+    }
+
+    /**
+     * Reduces the projection of a traverser into the seed with the {@link #getBiOperator() reducing operator}. A step
+     * may override it to move some of what the seed holds elsewhere once it has grown too large.
+     */
+    protected E reduce(final E seed, final E projection) {
+        return this.reducingBiOperator.apply(seed, projection);
+    }
+
+    /**
+     * Gives up the seed, which is no longer held once it is emitted.
+     */
+    private void releaseSeed() {
+        this.seed = (E) NON_EMITTING_SEED;
+        if (null != this.account)
+            this.account.releaseAll();
     }
 
     @Override
@@ -123,7 +155,7 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
             throw FastNoSuchElementException.instance();
         else {
             final E temp = this.seed;
-            this.seed = (E) NON_EMITTING_SEED;
+            this.releaseSeed();
             return temp;
         }
     }
@@ -140,7 +172,7 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         this.processAllStarts();
         if (this.seed == NON_EMITTING_SEED) throw FastNoSuchElementException.instance();
         final Traverser.Admin<E> traverser = this.getTraversal().getTraverserGenerator().generate(this.generateFinalResult(this.seed), (Step<E, E>) this, 1l);
-        this.seed = (E) NON_EMITTING_SEED;
+        this.releaseSeed();
         return traverser;
     }
 
@@ -149,6 +181,7 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         final ReducingBarrierStep<S, E> clone = (ReducingBarrierStep<S, E>) super.clone();
         clone.hasProcessedOnce = false;
         clone.seed = (E) NON_EMITTING_SEED;
+        clone.account = null;
         return clone;
     }
 
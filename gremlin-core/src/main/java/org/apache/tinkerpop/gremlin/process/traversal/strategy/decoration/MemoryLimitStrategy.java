@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryLimitExceededException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A strategy that limits the number of bytes that the barriers and side-effects of a traversal are estimated to hold,
+ * as accounted for by a {@link MemoryTracker}, failing the traversal with a {@link MemoryLimitExceededException} as
+ * soon as it holds more. It guards against a single traversal holding so much of the heap that every other one
+ * running alongside it slows to a crawl in garbage collection. A lower limit already given to the traversal, such as
+ * one given to the request by Gremlin Server, is kept, and the strategy does nothing for traversals on a
+ * {@code GraphComputer}.
+ *
+ * @example <pre>
+ * g.withStrategies(MemoryLimitStrategy.build().memoryLimit(268435456).create()).V().group().by('name')
+ * </pre>
+ */
+public final class MemoryLimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy>
+        implements TraversalStrategy.DecorationStrategy {
+
+    public static final String MEMORY_LIMIT = "memoryLimit";
+
+    private final long memoryLimit;
+
+    private MemoryLimitStrategy(final Builder builder) {
+        this.memoryLimit = builder.memoryLimit;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final MemoryTracker tracker = traversal.getSideEffects().getMemoryTracker();
+        if (null == tracker || tracker.getLimit() > this.memoryLimit)
+            traversal.getSideEffects().setMemoryTracker(new MemoryTracker(this.memoryLimit));
+    }
+
+    public long getMemoryLimit() {
+        return this.memoryLimit;
+    }
+
+    public static MemoryLimitStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(MEMORY_LIMIT))
+            builder.memoryLimit(configuration.getLong(MEMORY_LIMIT));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, MemoryLimitStrategy.class.getCanonicalName());
+        map.put(MEMORY_LIMIT, this.memoryLimit);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+        private long memoryLimit = MemoryTracker.UNLIMITED;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of bytes the traversal may be estimated to hold, which defaults to no limit at all.
+         */
+        public Builder memoryLimit(final long memoryLimit) {
+            if (memoryLimit < 1)
+                throw new IllegalArgumentException("The memoryLimit must be at least 1");
+            this.memoryLimit = memoryLimit;
+            return this;
+        }
+
+        public MemoryLimitStrategy create() {
+            return new MemoryLimitStrategy(this);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.PartitionedSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A strategy that limits the memory that {@link Spillable} barrier steps such as {@code order()}, {@code aggregate()},
+ * {@code group()} and {@code dedup()} hold their state in, beyond which they write it to local temporary files and read
+ * it back when the barrier is emptied. The memory a traverser takes is estimated as {@link MemoryTracker} does it. A
+ * traversal whose barriers would otherwise exhaust the heap then runs at the speed of the disk instead. Traversers are
+ * only spilled when they carry nothing but their object, bulk and side-effects, as described in {@link TraverserSpill},
+ * while {@code group()} and {@code dedup()} spill to hashed partitions as described in {@link PartitionedSpill}. The
+ * strategy does nothing for traversals on a {@code GraphComputer}.
+ *
+ * @example <pre>
+ * g.withStrategies(SpillStrategy.build().maxMemory(64 * 1024 * 1024).create()).V().values('name').order()
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy>
+        implements TraversalStrategy.DecorationStrategy {
+
+    public static final String MAX_MEMORY = "maxMemory";
+    public static final String DIRECTORY = "directory";
+
+    private final long maxMemory;
+    private final String directory;
+
+    private SpillStrategy(final Builder builder) {
+        this.maxMemory = builder.maxMemory;
+        this.directory = builder.directory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final File dir = null == this.directory ? null : new File(this.directory);
+        for (final Spillable step : TraversalHelper.getStepsOfAssignableClass(Spillable.class, traversal)) {
+            step.setSpill(this.maxMemory, dir);
+        }
+    }
+
+    public long getMaxMemory() {
+        return this.maxMemory;
+    }
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    public static SpillStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(MAX_MEMORY))
+            builder.maxMemory(configuration.getLong(MAX_MEMORY));
+        if (configuration.containsKey(DIRECTORY))
+            builder.directory(configuration.getString(DIRECTORY));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, SpillStrategy.class.getCanonicalName());
+        map.put(MAX_MEMORY, this.maxMemory);
+        if (null != this.directory)
+            map.put(DIRECTORY, this.directory);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+        private long maxMemory = 256L * 1024 * 1024;
+        private String directory = null;
+
+        private Builder() {
+        }
+
+        /**
+         * The estimated number of bytes of traversers a barrier may hold before it spills them, which defaults to
+         * 256 megabytes.
+         */
+        public Builder maxMemory(final long maxMemory) {
+            if (maxMemory < 1)
+                throw new IllegalArgumentException("The maxMemory must be at least 1 byte");
+            this.maxMemory = maxMemory;
+            return this;
+        }
+
+        /**
+         * The directory to spill to, which defaults to the directory given by the {@code java.io.tmpdir} system
+         * property.
+         */
+        public Builder directory(final String directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TimeLimitStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A strategy that has {@link Batching} steps, which include {@code has()}, {@code out()}, {@code values()} and most
+ * other filter, map and flatMap steps, take traversers from their previous step in arrays and process each array in
+ * a single loop. A step that reads storage may then fetch what a whole batch needs at once. As a step evaluates a
+ * whole batch before it emits the first result, the strategy leaves a traversal alone if its steps could observe
+ * that change in order: when it has side-effects, {@code sideEffect()} lambdas or mutations anywhere in it, and for
+ * the steps that come before a {@code limit()}, {@code range()}, {@code tail()} or {@code timeLimit()}. It also does
+ * nothing for traversals on a {@code GraphComputer}.
+ *
+ * @example <pre>
+ * g.withStrategies(BatchStrategy.build().batchSize(1000).create()).V().out().has('age', gt(30)).values('name')
+ * </pre>
+ */
+public final class BatchStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String BATCH_SIZE = "batchSize";
+
+    /**
+     * Steps whose effects other steps may observe while the traversal runs.
+     */
+    private static final Predicate<Step> SIDE_EFFECTING = step -> !(step instanceof ProfileSideEffectStep) &&
+            (step instanceof SideEffectCapable || step instanceof Mutating ||
+                    (step instanceof SideEffectStep && step instanceof LambdaHolder));
+
+    private final int batchSize;
+
+    private BatchStrategy(final Builder builder) {
+        this.batchSize = builder.batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.anyStepRecursively(SIDE_EFFECTING, TraversalHelper.getRootTraversal(traversal)))
+            return;
+
+        // walk backwards so that a step is known to come before a limit by the time it is reached
+        boolean beforeRange = false;
+        final List<Step> steps = traversal.getSteps();
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            final Step<?, ?> step = steps.get(i);
+            if (step instanceof Ranging || step instanceof TimeLimitStep)
+                beforeRange = true;
+            else if (step instanceof Batching && !beforeRange && !(step instanceof Barrier))
+                ((Batching) step).setBatchSize(this.batchSize);
+        }
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public static BatchStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(BATCH_SIZE))
+            builder.batchSize(configuration.getInt(BATCH_SIZE));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, BatchStrategy.class.getCanonicalName());
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+        private int batchSize = 1000;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers a step takes from its previous step at once, which defaults to 1000.
+         */
+        public Builder batchSize(final int batchSize) {
+            if (batchSize < 1)
+                throw new IllegalArgumentException("The batchSize must be at least 1");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public BatchStrategy create() {
+            return new BatchStrategy(this);
+        }
+    }
+}
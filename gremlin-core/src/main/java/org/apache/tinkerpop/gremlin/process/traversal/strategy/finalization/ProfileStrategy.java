@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSid
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
@@ -47,9 +48,14 @@ public final class ProfileStrategy extends AbstractTraversalStrategy<TraversalSt
     public void apply(final Traversal.Admin<?, ?> traversal) {
         if (!traversal.getEndStep().getLabels().contains(MARKER) &&
                 (traversal.isRoot() || traversal.getParent() instanceof VertexProgramStep) &&
-                TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal))
+                TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal)) {
             TraversalHelper.applyTraversalRecursively(t -> t.getEndStep().addLabel(MARKER), traversal);
 
+            // account for the memory held by the steps so that it can be reported with their metrics
+            if (traversal.isRoot() && null == traversal.getSideEffects().getMemoryTracker())
+                traversal.getSideEffects().setMemoryTracker(new MemoryTracker());
+        }
+
         if (traversal.getEndStep().getLabels().contains(MARKER)) {
             traversal.getEndStep().removeLabel(MARKER);
             // Add .profile() step after every pre-existing step.
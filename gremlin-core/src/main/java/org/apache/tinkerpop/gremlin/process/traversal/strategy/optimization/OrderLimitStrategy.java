@@ -40,9 +40,10 @@ import java.util.List;
 import java.util.Set;
 
 /**
- * {@code OrderLimitStrategy} is an OLAP strategy that folds a {@link RangeGlobalStep} into a preceding
- * {@link OrderGlobalStep}. This helps to eliminate traversers early in the traversal and can
- * significantly reduce the amount of memory required by the OLAP execution engine.
+ * {@code OrderLimitStrategy} folds a {@link RangeGlobalStep} into a preceding {@link OrderGlobalStep}. This helps
+ * to eliminate traversers early in the traversal as the {@link OrderGlobalStep} then only keeps the traversers
+ * needed to fill the limit, which can significantly reduce the amount of memory required by both OLTP and OLAP
+ * execution.
  *
  * It's worth noting that certain steps are allowed between {@link OrderGlobalStep} and {@link RangeGlobalStep}:
  * <p/>
@@ -79,9 +80,6 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (!TraversalHelper.onGraphComputer(traversal))
-            return;
-
         final List<OrderGlobalStep> orders = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal);
         for (final OrderGlobalStep order : orders) {
             RangeGlobalStep range = null;
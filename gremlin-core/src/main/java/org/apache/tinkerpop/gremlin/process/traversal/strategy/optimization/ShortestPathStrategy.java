@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * This strategy replaces the {@link ShortestPathVertexProgramStep} of a {@code shortestPath()} that is not executed
+ * on a {@code GraphComputer} with a {@link ShortestPathStep}, which searches for the same paths without one. Where it
+ * can, that step searches from both ends at once and only keeps the vertices it visited rather than a path per
+ * traverser.
+ *
+ * @example <pre>
+ * __.shortestPath().with(ShortestPath.target, __.hasId(6)) // becomes a ShortestPathStep searching from both ends
+ * </pre>
+ */
+public final class ShortestPathStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy>
+        implements TraversalStrategy.OptimizationStrategy {
+
+    private static final ShortestPathStrategy INSTANCE = new ShortestPathStrategy();
+
+    private ShortestPathStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getStrategies().getStrategy(VertexProgramStrategy.class).isPresent() ||
+                TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final ShortestPathVertexProgramStep step : TraversalHelper.getStepsOfClass(ShortestPathVertexProgramStep.class, traversal)) {
+            final ShortestPathStep shortestPathStep = new ShortestPathStep(traversal, step.getTargetVertexFilter(),
+                    step.getEdgeTraversal(), step.getDistanceTraversal(), step.getMaxDistance(), step.getIncludeEdges());
+            TraversalHelper.replaceStep((Step) step, shortestPathStep, traversal);
+            TraversalHelper.copyLabels(step, shortestPathStep, false);
+        }
+    }
+
+    public static ShortestPathStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -88,14 +88,17 @@ public class B_LP_O_S_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
 
     @Override
     public void keepLabels(final Set<String> labels) {
-        final Set<String> retractLabels = new HashSet<>();
+        Set<String> retractLabels = null;
         for (final Set<String> stepLabels : this.path.labels()) {
             for (final String label : stepLabels) {
-                if (!labels.contains(label))
+                if (!labels.contains(label)) {
+                    if (null == retractLabels) retractLabels = new HashSet<>();
                     retractLabels.add(label);
+                }
             }
         }
-        this.path = this.path.retract(retractLabels);
+        if (null != retractLabels)
+            this.path = this.path.retract(retractLabels);
     }
 
     @Override
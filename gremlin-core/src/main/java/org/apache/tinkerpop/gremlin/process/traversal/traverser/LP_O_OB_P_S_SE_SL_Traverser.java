@@ -83,14 +83,17 @@ public class LP_O_OB_P_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
 
     @Override
     public void keepLabels(final Set<String> labels) {
-        final Set<String> retractLabels = new HashSet<>();
+        Set<String> retractLabels = null;
         for (final Set<String> stepLabels : this.path.labels()) {
             for (final String l : stepLabels) {
-                if (!labels.contains(l))
+                if (!labels.contains(l)) {
+                    if (null == retractLabels) retractLabels = new HashSet<>();
                     retractLabels.add(l);
+                }
             }
         }
-        this.path = this.path.retract(retractLabels);
+        if (null != retractLabels)
+            this.path = this.path.retract(retractLabels);
     }
 
     @Override
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable {@link Buffer} over a single byte array, which is all that is needed to write and read GraphBinary
+ * without a dependency on Netty.
+ */
+final class HeapBuffer implements Buffer {
+
+    private byte[] bytes;
+    private ByteBuffer view;
+    private int readerIndex = 0;
+    private int writerIndex = 0;
+    private int markedWriterIndex = 0;
+
+    HeapBuffer(final int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+        this.view = ByteBuffer.wrap(this.bytes);
+    }
+
+    /**
+     * Gets the array backing the buffer, which is only valid until the next write.
+     */
+    byte[] array() {
+        return this.bytes;
+    }
+
+    /**
+     * Makes room for the given number of bytes and sets the buffer up to read them once they are copied into
+     * {@link #array()}.
+     */
+    void reset(final int length) {
+        this.readerIndex = 0;
+        this.writerIndex = 0;
+        ensureWritable(length);
+        this.writerIndex = length;
+    }
+
+    private void ensureWritable(final int length) {
+        if (this.writerIndex + length <= this.bytes.length)
+            return;
+        this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length << 1, this.writerIndex + length));
+        this.view = ByteBuffer.wrap(this.bytes);
+    }
+
+    private int read(final int length) {
+        if (this.readerIndex + length > this.writerIndex)
+            throw new IndexOutOfBoundsException(String.format("Cannot read %s bytes with only %s readable", length, readableBytes()));
+        final int index = this.readerIndex;
+        this.readerIndex += length;
+        return index;
+    }
+
+    private int write(final int length) {
+        ensureWritable(length);
+        final int index = this.writerIndex;
+        this.writerIndex += length;
+        return index;
+    }
+
+    @Override
+    public int readableBytes() {
+        return this.writerIndex - this.readerIndex;
+    }
+
+    @Override
+    public int readerIndex() {
+        return this.readerIndex;
+    }
+
+    @Override
+    public Buffer readerIndex(final int readerIndex) {
+        this.readerIndex = readerIndex;
+        return this;
+    }
+
+    @Override
+    public int writerIndex() {
+        return this.writerIndex;
+    }
+
+    @Override
+    public Buffer writerIndex(final int writerIndex) {
+        this.writerIndex = writerIndex;
+        return this;
+    }
+
+    @Override
+    public Buffer markWriterIndex() {
+        this.markedWriterIndex = this.writerIndex;
+        return this;
+    }
+
+    @Override
+    public Buffer resetWriterIndex() {
+        this.writerIndex = this.markedWriterIndex;
+        return this;
+    }
+
+    @Override
+    public int capacity() {
+        return this.bytes.length;
+    }
+
+    @Override
+    public boolean isDirect() {
+        return false;
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return 0 != readByte();
+    }
+
+    @Override
+    public byte readByte() {
+        return this.bytes[read(1)];
+    }
+
+    @Override
+    public short readShort() {
+        return this.view.getShort(read(Short.BYTES));
+    }
+
+    @Override
+    public int readInt() {
+        return this.view.getInt(read(Integer.BYTES));
+    }
+
+    @Override
+    public long readLong() {
+        return this.view.getLong(read(Long.BYTES));
+    }
+
+    @Override
+    public float readFloat() {
+        return this.view.getFloat(read(Float.BYTES));
+    }
+
+    @Override
+    public double readDouble() {
+        return this.view.getDouble(read(Double.BYTES));
+    }
+
+    @Override
+    public Buffer readBytes(final byte[] destination) {
+        return readBytes(destination, 0, destination.length);
+    }
+
+    @Override
+    public Buffer readBytes(final byte[] destination, final int dstIndex, final int length) {
+        System.arraycopy(this.bytes, read(length), destination, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public Buffer readBytes(final ByteBuffer dst) {
+        final int length = dst.remaining();
+        dst.put(this.bytes, read(length), length);
+        return this;
+    }
+
+    @Override
+    public Buffer readBytes(final OutputStream out, final int length) throws IOException {
+        out.write(this.bytes, read(length), length);
+        return this;
+    }
+
+    @Override
+    public Buffer writeBoolean(final boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    @Override
+    public Buffer writeByte(final int value) {
+        this.bytes[write(1)] = (byte) value;
+        return this;
+    }
+
+    @Override
+    public Buffer writeShort(final int value) {
+        final int index = write(Short.BYTES);
+        this.view.putShort(index, (short) value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeInt(final int value) {
+        final int index = write(Integer.BYTES);
+        this.view.putInt(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeLong(final long value) {
+        final int index = write(Long.BYTES);
+        this.view.putLong(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeFloat(final float value) {
+        final int index = write(Float.BYTES);
+        this.view.putFloat(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeDouble(final double value) {
+        final int index = write(Double.BYTES);
+        this.view.putDouble(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeBytes(final byte[] src) {
+        return writeBytes(src, 0, src.length);
+    }
+
+    @Override
+    public Buffer writeBytes(final ByteBuffer src) {
+        final int length = src.remaining();
+        src.get(this.bytes, write(length), length);
+        return this;
+    }
+
+    @Override
+    public Buffer writeBytes(final byte[] src, final int srcIndex, final int length) {
+        final int index = write(length);
+        System.arraycopy(src, srcIndex, this.bytes, index, length);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return true;
+    }
+
+    @Override
+    public Buffer retain() {
+        return this;
+    }
+
+    @Override
+    public int referenceCount() {
+        return 1;
+    }
+
+    @Override
+    public int nioBufferCount() {
+        return 1;
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers() {
+        return new ByteBuffer[]{nioBuffer()};
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers(final int index, final int length) {
+        return new ByteBuffer[]{nioBuffer(index, length)};
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        return nioBuffer(this.readerIndex, readableBytes());
+    }
+
+    @Override
+    public ByteBuffer nioBuffer(final int index, final int length) {
+        return ByteBuffer.wrap(this.bytes, index, length).slice();
+    }
+
+    @Override
+    public Buffer getBytes(final int index, final byte[] dst) {
+        System.arraycopy(this.bytes, index, dst, 0, dst.length);
+        return this;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Holds the key and value pairs that a barrier step could not keep in memory in local temporary files, one for each
+ * of a fixed number of partitions that the keys are hashed to. Equal keys always land in the same partition, so a step
+ * can later bring together everything it spilled for a key by reading back one partition at a time, which only takes
+ * as much memory as the keys of that partition need. Pairs are written with GraphBinary and a partition is read back
+ * in the order its pairs were written, after which its file is deleted.
+ * <p/>
+ * As with {@link TraverserSpill}, vertices and edges are written as references and attached back to the graph when
+ * read while any other value holding a graph element, a path or a traverser can not be spilled, which the step is
+ * expected to check with {@link #canSpill(Object, Object)} before it lets go of anything.
+ */
+public final class PartitionedSpill implements AutoCloseable {
+
+    /**
+     * The number of partitions, which is also the most files that are written to at once.
+     */
+    private static final int PARTITIONS = 64;
+
+    private final Step<?, ?> step;
+    private final File directory;
+    private final GraphBinaryWriter writer = new GraphBinaryWriter();
+    private final GraphBinaryReader reader = new GraphBinaryReader();
+    private final HeapBuffer buffer = new HeapBuffer(256);
+
+    private final Partition[] partitions = new Partition[PARTITIONS];
+    private final List<Partition> reading = new ArrayList<>();
+
+    /**
+     * @param step      the step whose pairs are spilled, which is also how the graph to attach elements to is found
+     * @param directory the directory to write partitions to or {@code null} for the default temporary-file directory
+     */
+    public PartitionedSpill(final Step<?, ?> step, final File directory) {
+        this.step = step;
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the number of partitions that keys are hashed to.
+     */
+    public int partitions() {
+        return PARTITIONS;
+    }
+
+    /**
+     * Gets the partition that the key is hashed to, which is the same for keys that are equal.
+     */
+    public int partition(final Object key) {
+        final int hash = Objects.hashCode(key);
+        return Math.floorMod(hash ^ (hash >>> 16), PARTITIONS);
+    }
+
+    /**
+     * Determines if nothing is waiting to be read back.
+     */
+    public boolean isEmpty() {
+        for (final Partition partition : this.partitions) {
+            if (null != partition) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Determines if the key and value hold nothing that could not be read back as it was written.
+     */
+    public boolean canSpill(final Object key, final Object value) {
+        final boolean attachable = this.step.getTraversal().getGraph().isPresent();
+        return canWrite(key, attachable) && canWrite(value, attachable);
+    }
+
+    /**
+     * Determines if the value is read back as an object of the same class as it was written, which steps that reduce
+     * what they read back into what they hold rely on.
+     */
+    public boolean restores(final Object value) {
+        try {
+            this.buffer.writerIndex(0);
+            this.buffer.readerIndex(0);
+            this.writer.write(value, this.buffer);
+            final Object read = this.reader.read(this.buffer);
+            return null == value ? null == read : null != read && value.getClass() == read.getClass();
+        } catch (final Exception ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Appends the pair to the partition of its key unless either of them can not be written with GraphBinary.
+     *
+     * @return {@code true} if the pair was spilled
+     */
+    public boolean spill(final Object key, final Object value) {
+        try {
+            this.buffer.writerIndex(0);
+            this.buffer.readerIndex(0);
+            this.writer.write(key, this.buffer);
+            this.writer.write(value, this.buffer);
+        } catch (final Exception ex) {
+            return false;
+        }
+
+        final int p = partition(key);
+        try {
+            if (null == this.partitions[p])
+                this.partitions[p] = new Partition();
+            final Partition partition = this.partitions[p];
+            partition.out.writeInt(this.buffer.writerIndex());
+            partition.out.write(this.buffer.array(), 0, this.buffer.writerIndex());
+            partition.count++;
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        return true;
+    }
+
+    /**
+     * Reads back the pairs of the partition in the order they were spilled with the elements that they hold attached
+     * to the graph. Anything spilled to the partition afterwards is read back by the next call.
+     */
+    public Iterator<Map.Entry<Object, Object>> read(final int p) {
+        final Partition partition = this.partitions[p];
+        if (null == partition)
+            return Collections.emptyIterator();
+        this.partitions[p] = null;
+        this.reading.add(partition);
+        return partition.open();
+    }
+
+    /**
+     * Attaches the vertices and edges that the object holds, as read back, to the graph of the step.
+     */
+    public Object attach(final Object object) {
+        if (object instanceof Attachable) {
+            final Optional<Graph> graph = this.step.getTraversal().getGraph();
+            return graph.isPresent() ? ((Attachable<?>) object).attach(Attachable.Method.get(graph.get())) : object;
+        } else if (object instanceof BulkSet) {
+            final BulkSet<Object> attached = new BulkSet<>();
+            ((BulkSet<?>) object).forEach((item, bulk) -> attached.add(attach(item), bulk));
+            return attached;
+        } else if (object instanceof List) {
+            final List<Object> list = (List<Object>) object;
+            list.replaceAll(this::attach);
+            return list;
+        } else if (object instanceof Map) {
+            final Map<Object, Object> attached = new LinkedHashMap<>();
+            ((Map<?, ?>) object).forEach((k, v) -> attached.put(attach(k), attach(v)));
+            return attached;
+        }
+        return object;
+    }
+
+    /**
+     * Deletes the partitions that have not been read back completely.
+     */
+    @Override
+    public void close() {
+        for (int p = 0; p < PARTITIONS; p++) {
+            if (null != this.partitions[p]) this.partitions[p].delete();
+            this.partitions[p] = null;
+        }
+        this.reading.forEach(Partition::delete);
+        this.reading.clear();
+    }
+
+    private static boolean canWrite(final Object value, final boolean attachable) {
+        if (value instanceof Vertex || value instanceof Edge)
+            return attachable;
+        else if (value instanceof Element || value instanceof Property || value instanceof Path || value instanceof Traverser)
+            return false;
+        else if (value instanceof BulkSet) {
+            for (final Object item : ((BulkSet<?>) value).asBulk().keySet()) {
+                if (!canWrite(item, attachable)) return false;
+            }
+        } else if (value instanceof Collection) {
+            for (final Object item : (Collection<?>) value) {
+                if (!canWrite(item, attachable)) return false;
+            }
+        } else if (value instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!canWrite(entry.getKey(), attachable) || !canWrite(entry.getValue(), attachable)) return false;
+            }
+        }
+        return true;
+    }
+
+    private final class Partition {
+        private final File file;
+        private final DataOutputStream out;
+        private long count = 0L;
+        private DataInputStream in = null;
+
+        private Partition() throws IOException {
+            this.file = null == directory ?
+                    Files.createTempFile("gremlin-spill-", ".bin").toFile() :
+                    Files.createTempFile(directory.toPath(), "gremlin-spill-", ".bin").toFile();
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.file.toPath())));
+        }
+
+        private Iterator<Map.Entry<Object, Object>> open() {
+            try {
+                this.out.close();
+                this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file.toPath())));
+            } catch (final IOException ioe) {
+                delete();
+                throw new UncheckedIOException(ioe);
+            }
+            return new Iterator<Map.Entry<Object, Object>>() {
+                private long remaining = count;
+
+                @Override
+                public boolean hasNext() {
+                    return this.remaining > 0;
+                }
+
+                @Override
+                public Map.Entry<Object, Object> next() {
+                    if (this.remaining <= 0)
+                        throw new NoSuchElementException();
+                    try {
+                        final int length = in.readInt();
+                        buffer.reset(length);
+                        in.readFully(buffer.array(), 0, length);
+                        final Object key = attach(reader.read(buffer));
+                        final Object value = attach(reader.read(buffer));
+                        if (0 == --this.remaining)
+                            delete();
+                        return new AbstractMap.SimpleEntry<>(key, value);
+                    } catch (final IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                }
+            };
+        }
+
+        private void delete() {
+            try {
+                this.out.close();
+                if (null != this.in) this.in.close();
+            } catch (final IOException ignored) {
+                // the file is deleted regardless
+            }
+            this.file.delete();
+        }
+    }
+}
@@ -20,28 +20,71 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * A set of traversers that merges the bulk of a traverser that is added when an equal one is already present and
+ * that iterates traversers in the order they were first added, acting as a FIFO {@link Queue}.
+ * <p/>
+ * Traversers are kept in an array in the order they were added with removed ones left as gaps, which is indexed by an
+ * open addressing hash table. Removing the head, which is how traversers are consumed, only moves the head of the
+ * array forward and the gaps are dropped when the array fills up. The set is not thread-safe, so it must be
+ * synchronized on by code that shares it between threads.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final int MIN_CAPACITY = 4;
+
+    /**
+     * Table value of a slot that was never used, which ends a probe.
+     */
+    private static final int FREE = 0;
+
+    /**
+     * Table value of a slot whose traverser was removed, which a probe has to continue past.
+     */
+    private static final int DELETED = -1;
+
+    /**
+     * The traversers in the order they were added, with {@code null} where one was removed.
+     */
+    private Traverser.Admin<S>[] entries = null;
+    private int[] hashes;
+    private int[] slots;
+
+    /**
+     * Twice the length of {@link #entries} so that it is never more than half full. A slot holds one more than the
+     * index of its traverser in {@link #entries}, {@link #FREE} or {@link #DELETED}.
+     */
+    private int[] table;
+
+    private int head = 0;
+    private int tail = 0;
+    private int size = 0;
+    private int modCount = 0;
+
+    /**
+     * The account that the estimated size of the traversers in the set is kept in when memory is tracked.
+     */
+    private transient MemoryTracker.Account account = null;
+    private transient long bytes = 0L;
 
     public TraverserSet() {
 
@@ -49,49 +92,76 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
         if (traverser != null)
-            this.map.put(traverser, traverser);
+            this.insert(traverser, hash(traverser));
+    }
+
+    /**
+     * Accounts for the traversers in the set, and those added to it from here on, against the given account or stops
+     * accounting for them if it is {@code null}.
+     */
+    public void setMemoryAccount(final MemoryTracker.Account account) {
+        if (this.account == account)
+            return;
+        if (null != this.account)
+            this.account.release(this.bytes);
+        this.account = account;
+        this.bytes = 0L;
+        if (null != account) {
+            for (final Traverser.Admin<S> traverser : this) {
+                this.bytes = this.bytes + MemoryTracker.estimate(traverser);
+            }
+            account.add(this.bytes);
+        }
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserSetIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int index = this.indexOf(traverser, hash(traverser));
+        return index < 0 ? null : this.entries[index];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
         long bulk = 0L;
-        for (final Traverser.Admin<S> traverser : this.map.values()) {
-            bulk = bulk + traverser.bulk();
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.entries[i])
+                bulk = bulk + this.entries[i].bulk();
         }
         return bulk;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return null != traverser && this.indexOf(traverser, hash(traverser)) >= 0;
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
+        final int hash = hash(traverser);
+        final int index = this.indexOf(traverser, hash);
+        if (index < 0) {
+            this.insert(traverser, hash);
+            if (null != this.account) {
+                final long estimate = MemoryTracker.estimate(traverser);
+                this.bytes = this.bytes + estimate;
+                this.account.add(estimate);
+            }
             return true;
         } else {
-            existing.merge(traverser);
+            this.entries[index].merge(traverser);
             return false;
         }
     }
@@ -103,63 +173,225 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
+        final Traverser.Admin<S> next = this.entries[this.head];
+        this.removeAt(this.head);
         return next;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return this.isEmpty() ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.entries[this.head];
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return this.isEmpty() ? null : this.entries[this.head];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        if (null == traverser)
+            return false;
+        final int index = this.indexOf(traverser, hash(traverser));
+        if (index < 0)
+            return false;
+        this.removeAt(index);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        this.reset();
+        if (null != this.account) {
+            this.account.release(this.bytes);
+            this.bytes = 0L;
+        }
     }
 
-    @Override
-    public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
+    private void reset() {
+        this.entries = null;
+        this.hashes = null;
+        this.slots = null;
+        this.table = null;
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.modCount++;
     }
 
     @Override
-    public String toString() {
-        return this.map.values().toString();
+    public Spliterator<Traverser.Admin<S>> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
+        final List<Traverser.Admin<S>> list = this.drain();
         Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        list.forEach(traverser -> this.insert(traverser, hash(traverser)));
     }
 
     public void shuffle(final Random random) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
+        final List<Traverser.Admin<S>> list = this.drain();
         Collections.shuffle(list, random);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        list.forEach(traverser -> this.insert(traverser, hash(traverser)));
+    }
+
+    /**
+     * Empties the set without going through {@link #clear()} so that subclasses keep what they track about the
+     * traversers that are about to be put back.
+     */
+    private List<Traverser.Admin<S>> drain() {
+        final List<Traverser.Admin<S>> list = new ArrayList<>(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.entries[i])
+                list.add(this.entries[i]);
+        }
+        this.reset();
+        return list;
+    }
+
+    private static int hash(final Object traverser) {
+        final int h = traverser.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
     }
 
+    private int indexOf(final Object traverser, final int hash) {
+        if (null == this.table)
+            return -1;
+        final int mask = this.table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int value = this.table[slot];
+            if (FREE == value)
+                return -1;
+            if (DELETED != value) {
+                final int index = value - 1;
+                final Traverser.Admin<S> entry = this.entries[index];
+                if (this.hashes[index] == hash && (entry == traverser || traverser.equals(entry)))
+                    return index;
+            }
+        }
+    }
+
+    /**
+     * Adds a traverser that is known not to be in the set.
+     */
+    private void insert(final Traverser.Admin<S> traverser, final int hash) {
+        if (null == this.entries)
+            this.rebuild(MIN_CAPACITY);
+        else if (this.tail == this.entries.length)
+            // grows when at least half of the array is in use and otherwise just drops the gaps left by removals
+            this.rebuild(Math.max(MIN_CAPACITY, Integer.highestOneBit(this.size) << 2));
+
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (this.table[slot] > FREE) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = this.tail + 1;
+        this.slots[this.tail] = slot;
+        this.hashes[this.tail] = hash;
+        this.entries[this.tail++] = traverser;
+        this.size++;
+        this.modCount++;
+    }
+
+    private void removeAt(final int index) {
+        if (null != this.account) {
+            final long estimate = Math.min(this.bytes, MemoryTracker.estimate(this.entries[index]));
+            this.bytes = this.bytes - estimate;
+            this.account.release(estimate);
+        }
+        this.table[this.slots[index]] = DELETED;
+        this.entries[index] = null;
+        this.size--;
+        this.modCount++;
+        if (index == this.head) {
+            while (this.head < this.tail && null == this.entries[this.head]) {
+                this.head++;
+            }
+        }
+    }
+
+    /**
+     * Moves the traversers to the front of arrays of the given capacity, in place if the capacity does not change, and
+     * rebuilds the table without the slots of removed traversers.
+     */
+    private void rebuild(final int capacity) {
+        final Traverser.Admin<S>[] oldEntries = this.entries;
+        final int[] oldHashes = this.hashes;
+        final int oldHead = this.head;
+        final int oldTail = this.tail;
+
+        if (null != oldEntries && oldEntries.length == capacity) {
+            Arrays.fill(this.table, FREE);
+        } else {
+            this.entries = (Traverser.Admin<S>[]) new Traverser.Admin[capacity];
+            this.hashes = new int[capacity];
+            this.slots = new int[capacity];
+            this.table = new int[capacity << 1];
+        }
+        this.head = 0;
+        this.tail = 0;
+
+        final int mask = this.table.length - 1;
+        for (int i = oldHead; i < oldTail; i++) {
+            final Traverser.Admin<S> traverser = oldEntries[i];
+            if (null == traverser) continue;
+            final int hash = oldHashes[i];
+            int slot = hash & mask;
+            while (FREE != this.table[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = this.tail + 1;
+            this.slots[this.tail] = slot;
+            this.hashes[this.tail] = hash;
+            this.entries[this.tail++] = traverser;
+        }
+        if (this.entries == oldEntries)
+            Arrays.fill(this.entries, this.tail, oldTail, null);
+    }
+
+    private final class TraverserSetIterator implements Iterator<Traverser.Admin<S>> {
+        private int next = head;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < tail && null == entries[this.next]) {
+                this.next++;
+            }
+            return this.next < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            this.last = this.next++;
+            return entries[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0)
+                throw new IllegalStateException();
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = modCount;
+        }
+    }
 }
@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Holds the traversers that a barrier step could not keep in memory as runs in local temporary files. A run is
+ * written with GraphBinary in the order the traversers are given to {@link #spill(Iterable)} and the runs are read
+ * back either one after another with {@link #concat(Iterator)} or, when each run was sorted before it was written,
+ * merged into a single sorted stream with {@link #merge(Iterator, Comparator)}. The files of a run are deleted once
+ * the run is read back or the spill is closed.
+ * <p/>
+ * Only the object, the bulk and the projections of a {@link ProjectedTraverser} are written, so traversers are only
+ * spilled when the traversal does not require them to carry anything else, such as a path, sack or loop counter.
+ * Vertices and edges are written as references and attached back to the graph when read while any other value
+ * holding a graph element can not be spilled. When a traverser can not be spilled, {@link #spill(Iterable)} leaves
+ * nothing written and returns {@code false}, after which the spill is disabled and the barrier keeps its traversers
+ * in memory as it would have without it.
+ */
+public final class TraverserSpill<S> implements AutoCloseable {
+
+    private static final Set<TraverserRequirement> SPILLABLE_REQUIREMENTS = EnumSet.of(
+            TraverserRequirement.OBJECT, TraverserRequirement.BULK, TraverserRequirement.SIDE_EFFECTS);
+
+    /**
+     * The largest number of runs that are read at once, with older runs merged into one before the rest are read.
+     */
+    private static final int MAX_MERGE_WIDTH = 64;
+
+    private final Step<?, ?> step;
+    private final File directory;
+    private final GraphBinaryWriter writer = new GraphBinaryWriter();
+    private final GraphBinaryReader reader = new GraphBinaryReader();
+    private final HeapBuffer buffer = new HeapBuffer(256);
+
+    private final List<Run> runs = new ArrayList<>();
+    private final List<Run> reading = new ArrayList<>();
+    private Traverser.Admin<S> prototype = null;
+    private Boolean spillable = null;
+
+    /**
+     * @param step      the step whose traversers are spilled and which the traversers read back are at
+     * @param directory the directory to write runs to or {@code null} for the default temporary-file directory
+     */
+    public TraverserSpill(final Step<?, ?> step, final File directory) {
+        this.step = step;
+        this.directory = directory;
+    }
+
+    /**
+     * Determines if the traversers of the step may be spilled, which is decided by the requirements of the
+     * traversal the first time it is asked and becomes {@code false} after any failed call to
+     * {@link #spill(Iterable)}.
+     */
+    public boolean isSpillable() {
+        if (null == this.spillable)
+            this.spillable = isSpillable(this.step);
+        return this.spillable;
+    }
+
+    /**
+     * Determines if the traversal of the step requires its traversers to carry no more than the object, bulk and
+     * side-effects that are kept when a traverser is spilled.
+     */
+    public static boolean isSpillable(final Step<?, ?> step) {
+        final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(step.getTraversal()).getTraverserRequirements();
+        return SPILLABLE_REQUIREMENTS.containsAll(requirements);
+    }
+
+    /**
+     * Determines if there are no runs waiting to be read back.
+     */
+    public boolean isEmpty() {
+        return this.runs.isEmpty();
+    }
+
+    /**
+     * Writes the traversers to a new run. The caller is expected to let go of the traversers if this returns
+     * {@code true} and to keep them in memory otherwise.
+     */
+    public boolean spill(final Iterable<Traverser.Admin<S>> traversers) {
+        if (!isSpillable())
+            return false;
+
+        try {
+            this.runs.add(write(traversers.iterator()));
+            return true;
+        } catch (final Exception ex) {
+            // values GraphBinary can not write are kept in memory instead
+            this.spillable = false;
+            return false;
+        }
+    }
+
+    /**
+     * Reads back the runs one after another in the order they were written followed by the given traversers.
+     */
+    public Iterator<Traverser.Admin<S>> concat(final Iterator<Traverser.Admin<S>> last) {
+        final List<Run> runs = new ArrayList<>(this.runs);
+        this.reading.addAll(runs);
+        this.runs.clear();
+        return IteratorUtils.concat(IteratorUtils.flatMap(runs.iterator(), Run::open), last);
+    }
+
+    /**
+     * Merges the runs and the given traversers into a single stream ordered by the comparator, with each of them
+     * expected to be ordered by it already. Traversers that compare as equal keep the order they were spilled in,
+     * ahead of any of the given traversers.
+     */
+    public Iterator<Traverser.Admin<S>> merge(final Iterator<Traverser.Admin<S>> last, final Comparator<? super Traverser.Admin<S>> comparator) {
+        // the oldest runs are merged into one until few enough are left to have all of their files open at once
+        while (this.runs.size() > MAX_MERGE_WIDTH) {
+            final List<Run> oldest = new ArrayList<>(this.runs.subList(0, MAX_MERGE_WIDTH));
+            this.runs.subList(0, MAX_MERGE_WIDTH).clear();
+            try {
+                this.runs.add(0, write(merge(oldest, Collections.emptyIterator(), comparator)));
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        final List<Run> runs = new ArrayList<>(this.runs);
+        this.runs.clear();
+        return merge(runs, last, comparator);
+    }
+
+    private Iterator<Traverser.Admin<S>> merge(final List<Run> runs, final Iterator<Traverser.Admin<S>> last,
+                                               final Comparator<? super Traverser.Admin<S>> comparator) {
+        final List<Iterator<Traverser.Admin<S>>> sources = new ArrayList<>(runs.size() + 1);
+        for (final Run run : runs) {
+            sources.add(run.open());
+        }
+        this.reading.addAll(runs);
+        sources.add(last);
+
+        final PriorityQueue<Head<S>> heads = new PriorityQueue<>((a, b) -> {
+            final int comparison = comparator.compare(a.traverser, b.traverser);
+            return 0 != comparison ? comparison : Integer.compare(a.source, b.source);
+        });
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).hasNext())
+                heads.add(new Head<>(sources.get(i).next(), i));
+        }
+
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                final Head<S> head = heads.poll();
+                if (null == head)
+                    throw new NoSuchElementException();
+                final Iterator<Traverser.Admin<S>> source = sources.get(head.source);
+                if (source.hasNext())
+                    heads.add(new Head<>(source.next(), head.source));
+                return head.traverser;
+            }
+        };
+    }
+
+    private Run write(final Iterator<Traverser.Admin<S>> traversers) throws IOException {
+        final Graph graph = this.step.getTraversal().getGraph().orElse(null);
+        final File file = null == this.directory ?
+                Files.createTempFile("gremlin-spill-", ".bin").toFile() :
+                Files.createTempFile(this.directory.toPath(), "gremlin-spill-", ".bin").toFile();
+        long count = 0L;
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            while (traversers.hasNext()) {
+                final Traverser.Admin<S> traverser = traversers.next();
+                final Traverser.Admin<S> base = ProjectedTraverser.tryUnwrap(traverser);
+                final List<?> projections = traverser instanceof ProjectedTraverser ?
+                        ((ProjectedTraverser<S, ?>) traverser).getProjections() : null;
+                if (!canWrite(base.get(), null != graph) || (null != projections && !canWrite(projections, false)))
+                    throw new IOException("The traverser holds a value that can not be spilled");
+
+                this.buffer.writerIndex(0);
+                this.buffer.readerIndex(0);
+                this.writer.write(base.get(), this.buffer);
+                this.buffer.writeLong(base.bulk());
+                this.writer.write(projections, this.buffer);
+                out.writeInt(this.buffer.writerIndex());
+                out.write(this.buffer.array(), 0, this.buffer.writerIndex());
+
+                if (null == this.prototype)
+                    this.prototype = base.split();
+                count++;
+            }
+        } catch (final IOException | RuntimeException ex) {
+            file.delete();
+            throw ex;
+        }
+        return new Run(file, count);
+    }
+
+    /**
+     * Deletes the runs that have not been read back completely.
+     */
+    @Override
+    public void close() {
+        this.runs.forEach(Run::delete);
+        this.runs.clear();
+        this.reading.forEach(Run::delete);
+        this.reading.clear();
+    }
+
+    private static boolean canWrite(final Object value, final boolean attachable) {
+        if (value instanceof Vertex || value instanceof Edge)
+            return attachable;
+        else if (value instanceof Element || value instanceof Property || value instanceof Path)
+            return false;
+        else if (value instanceof Collection) {
+            for (final Object item : (Collection<?>) value) {
+                if (!canWrite(item, false)) return false;
+            }
+        } else if (value instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!canWrite(entry.getKey(), false) || !canWrite(entry.getValue(), false)) return false;
+            }
+        } else if (value instanceof Map.Entry) {
+            return canWrite(((Map.Entry<?, ?>) value).getKey(), false) && canWrite(((Map.Entry<?, ?>) value).getValue(), false);
+        }
+        return true;
+    }
+
+    private Traverser.Admin<S> read(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        this.buffer.reset(length);
+        in.readFully(this.buffer.array(), 0, length);
+
+        Object value = this.reader.read(this.buffer);
+        final long bulk = this.buffer.readLong();
+        final List<Object> projections = this.reader.read(this.buffer);
+
+        if (value instanceof Attachable) {
+            final Optional<Graph> graph = this.step.getTraversal().getGraph();
+            if (graph.isPresent())
+                value = ((Attachable<?>) value).attach(Attachable.Method.get(graph.get()));
+        }
+        final Traverser.Admin<S> traverser = this.prototype.split((S) value, (Step) this.step);
+        traverser.setBulk(bulk);
+        return null == projections ? traverser : new ProjectedTraverser<>(traverser, projections);
+    }
+
+    private static final class Head<S> {
+        private final Traverser.Admin<S> traverser;
+        private final int source;
+
+        private Head(final Traverser.Admin<S> traverser, final int source) {
+            this.traverser = traverser;
+            this.source = source;
+        }
+    }
+
+    private final class Run {
+        private final File file;
+        private final long count;
+        private DataInputStream in = null;
+
+        private Run(final File file, final long count) {
+            this.file = file;
+            this.count = count;
+        }
+
+        /**
+         * Reads the run back a traverser at a time, deleting its file once the last one is read.
+         */
+        private Iterator<Traverser.Admin<S>> open() {
+            try {
+                this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file.toPath())));
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+            return new Iterator<Traverser.Admin<S>>() {
+                private long remaining = count;
+
+                @Override
+                public boolean hasNext() {
+                    return this.remaining > 0;
+                }
+
+                @Override
+                public Traverser.Admin<S> next() {
+                    if (this.remaining <= 0)
+                        throw new NoSuchElementException();
+                    try {
+                        final Traverser.Admin<S> traverser = read(in);
+                        if (0 == --this.remaining)
+                            delete();
+                        return traverser;
+                    } catch (final IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                }
+            };
+        }
+
+        private void delete() {
+            try {
+                if (null != this.in) this.in.close();
+            } catch (final IOException ignored) {
+                // the file is deleted regardless
+            }
+            this.file.delete();
+        }
+    }
+}
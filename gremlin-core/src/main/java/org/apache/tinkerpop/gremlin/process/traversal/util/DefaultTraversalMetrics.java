@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.util;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.javatuples.Pair;
@@ -193,6 +194,9 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
                     prevDur = durBeforeAdjustment;
                 }
 
+                if (!onGraphComputer)
+                    annotateMemory(traversal, step.getPreviousStep(), metrics);
+
                 if (parentMetrics != null) {
                     parentMetrics.addNested(metrics);
                 }
@@ -209,6 +213,24 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
         }
     }
 
+    private static void annotateMemory(final Traversal.Admin traversal, final Step step, final MutableMetrics metrics) {
+        final MemoryTracker tracker = traversal.getSideEffects().getMemoryTracker();
+        if (null == tracker)
+            return;
+
+        long peak = 0L;
+        final MemoryTracker.Account account = tracker.getAccountIfPresent(step.getId());
+        if (null != account)
+            peak = peak + account.getPeak();
+        if (step instanceof SideEffectCapable) {
+            final MemoryTracker.Account sideEffectAccount = tracker.getAccountIfPresent(((SideEffectCapable<?, ?>) step).getSideEffectKey());
+            if (null != sideEffectAccount)
+                peak = peak + sideEffectAccount.getPeak();
+        }
+        if (peak > 0L)
+            metrics.setAnnotation(ESTIMATED_MEMORY_KEY, peak);
+    }
+
     private void appendMetrics(final Collection<? extends Metrics> metrics, final StringBuilder sb, final int indent) {
         // Append each StepMetric's row. indexToLabelMap values are ordered by index.
         for (Metrics m : metrics) {
@@ -44,6 +44,7 @@ public class DefaultTraversalSideEffects implements TraversalSideEffects {
     protected UnaryOperator sackSplitOperator = null;
     protected BinaryOperator sackMergeOperator = null;
     protected Supplier sackInitialValue = null;
+    protected MemoryTracker memoryTracker = null;
 
     public DefaultTraversalSideEffects() {
 
@@ -87,7 +88,12 @@ public class DefaultTraversalSideEffects implements TraversalSideEffects {
      */
     @Override
     public void add(final String key, final Object value) throws IllegalArgumentException {
-        this.set(key, this.getReducer(key).apply(this.get(key), value));
+        final Object current = this.get(key);
+        // reducers tend to add to the current value in place so its growth is estimated before it is reduced
+        final long growth = null == this.memoryTracker ? 0L : MemoryTracker.estimateGrowth(current, value);
+        this.set(key, this.getReducer(key).apply(current, value));
+        if (growth > 0L)
+            this.memoryTracker.getAccount(key).add(growth);
     }
 
     /**
@@ -173,6 +179,22 @@ public class DefaultTraversalSideEffects implements TraversalSideEffects {
         return this.sackMergeOperator;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMemoryTracker(final MemoryTracker memoryTracker) {
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MemoryTracker getMemoryTracker() {
+        return this.memoryTracker;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -224,6 +246,8 @@ public class DefaultTraversalSideEffects implements TraversalSideEffects {
             sideEffects.objectMap = new HashMap<>(this.objectMap);
             sideEffects.supplierMap = new HashMap<>(this.supplierMap);
             sideEffects.reducerMap = new HashMap<>(this.reducerMap);
+            if (null != this.memoryTracker)
+                sideEffects.memoryTracker = this.memoryTracker.clone();
             return sideEffects;
         } catch (final CloneNotSupportedException e) {
             throw new IllegalStateException(e.getMessage(), e);
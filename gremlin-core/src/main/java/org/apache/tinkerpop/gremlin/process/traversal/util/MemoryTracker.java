@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps an approximate count of the bytes that the barriers and side-effects of a traversal hold, which is made
+ * available from {@link TraversalSideEffects#getMemoryTracker()} when the traversal is profiled or is given a limit.
+ * Each step or side-effect has an {@link Account} that is grown as it collects objects and released once it gives
+ * them up, and a traversal whose accounts together exceed the limit fails with a
+ * {@link MemoryLimitExceededException}.
+ * <p/>
+ * The sizes are estimates based on the shape of the objects held rather than measurements of the heap. Elements are
+ * counted as references as they are held by the graph anyway, and the elements of large collections and maps are
+ * assumed to be about the size of the first one.
+ */
+public final class MemoryTracker implements Serializable, Cloneable {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static final long REFERENCE = 8L;
+    private static final long OBJECT = 16L;
+    private static final long STRING = 40L;
+    private static final long COLLECTION = 40L;
+    private static final long MAP = 48L;
+    private static final long ENTRY = 32L;
+    private static final long TRAVERSER = 48L;
+
+    private final long limit;
+    private long used = 0L;
+    private long peak = 0L;
+    private Map<String, Account> accounts = new HashMap<>();
+
+    /**
+     * Creates a tracker that only accounts for memory without limiting it.
+     */
+    public MemoryTracker() {
+        this(UNLIMITED);
+    }
+
+    /**
+     * Creates a tracker that fails the traversal once it holds more than the given number of bytes.
+     */
+    public MemoryTracker(final long limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("The memory limit must be at least 1 byte");
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the account of a step, by its identifier, or of a side-effect, by its key.
+     */
+    public Account getAccount(final String owner) {
+        return this.accounts.computeIfAbsent(owner, k -> new Account(this, k));
+    }
+
+    /**
+     * Gets the account of the owner if anything was ever accounted to it.
+     */
+    public Account getAccountIfPresent(final String owner) {
+        return this.accounts.get(owner);
+    }
+
+    public long getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * Gets the number of bytes the traversal is estimated to hold.
+     */
+    public long getUsed() {
+        return this.used;
+    }
+
+    /**
+     * Gets the most bytes the traversal was estimated to hold at once.
+     */
+    public long getPeak() {
+        return this.peak;
+    }
+
+    private void grow(final Account account, final long bytes) {
+        this.used = this.used + bytes;
+        if (this.used > this.peak)
+            this.peak = this.used;
+        if (this.used > this.limit)
+            throw new MemoryLimitExceededException(String.format(
+                    "The traversal holds an estimated %s bytes, %s of them in %s, which exceeds its limit of %s bytes",
+                    this.used, account.held, account.owner, this.limit));
+    }
+
+    /**
+     * Has the set account for the traversers it holds against the tracker of the traversal of the step, if there is
+     * one.
+     */
+    public static void track(final Step<?, ?> step, final TraverserSet<?> traverserSet) {
+        final Account account = getAccount(step);
+        if (null != account)
+            traverserSet.setMemoryAccount(account);
+    }
+
+    /**
+     * Gets the account of the step from the tracker of its traversal or {@code null} if memory is not tracked.
+     */
+    public static Account getAccount(final Step<?, ?> step) {
+        final MemoryTracker tracker = step.getTraversal().getSideEffects().getMemoryTracker();
+        return null == tracker ? null : tracker.getAccount(step.getId());
+    }
+
+    /**
+     * Estimates the number of bytes a traverser holds, which is its object along with its path and the projections of
+     * a {@link ProjectedTraverser}.
+     */
+    public static long estimate(final Traverser<?> traverser) {
+        long bytes = TRAVERSER + estimate(traverser.get());
+        final Path path = traverser.path();
+        if (path.size() > 0)
+            bytes = bytes + COLLECTION + path.size() * REFERENCE;
+        if (traverser instanceof ProjectedTraverser)
+            bytes = bytes + estimate(((ProjectedTraverser<?, ?>) traverser).getProjections());
+        return bytes;
+    }
+
+    /**
+     * Estimates the number of bytes an object holds.
+     */
+    public static long estimate(final Object object) {
+        if (null == object)
+            return 0L;
+        else if (object instanceof String)
+            return STRING + ((String) object).length();
+        else if (object instanceof Traverser)
+            return estimate((Traverser<?>) object);
+        else if (object instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) object;
+            if (map.isEmpty())
+                return MAP;
+            final Map.Entry<?, ?> first = map.entrySet().iterator().next();
+            return MAP + map.size() * (ENTRY + estimate(first.getKey()) + estimate(first.getValue()));
+        } else if (object instanceof BulkSet) {
+            final BulkSet<?> bulkSet = (BulkSet<?>) object;
+            return bulkSet.isEmpty() ? MAP : MAP + bulkSet.uniqueSize() * (ENTRY + estimate(bulkSet.iterator().next()));
+        } else if (object instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) object;
+            return collection.isEmpty() ?
+                    COLLECTION :
+                    COLLECTION + collection.size() * (REFERENCE + estimate(collection.iterator().next()));
+        } else if (object instanceof Path) {
+            return COLLECTION + ((Path) object).size() * REFERENCE;
+        } else
+            return OBJECT;
+    }
+
+    /**
+     * Estimates the number of bytes a map or collection grows by when the given object is reduced into it, which
+     * assumes that lists are appended to, that sets add what they do not already contain and that maps are merged
+     * key by key. Anything else is assumed to be replaced by an object of about the same size.
+     */
+    public static long estimateGrowth(final Object container, final Object added) {
+        if (container instanceof Map && added instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) container;
+            long bytes = 0L;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) added).entrySet()) {
+                bytes = bytes + (map.containsKey(entry.getKey()) ?
+                        estimateGrowth(map.get(entry.getKey()), entry.getValue()) :
+                        ENTRY + estimate(entry.getKey()) + estimate(entry.getValue()));
+            }
+            return bytes;
+        } else if (container instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) container;
+            final boolean set = container instanceof Set;
+            final Iterator<?> objects = added instanceof Collection ?
+                    ((Collection<?>) added).iterator() :
+                    Collections.singleton(added).iterator();
+            long bytes = 0L;
+            while (objects.hasNext()) {
+                final Object object = objects.next();
+                if (!set || !collection.contains(object))
+                    bytes = bytes + (set ? ENTRY : REFERENCE) + estimate(object);
+            }
+            return bytes;
+        }
+        return 0L;
+    }
+
+    /**
+     * Creates a tracker with the same limit that has nothing accounted to it yet.
+     */
+    @Override
+    @SuppressWarnings("CloneDoesntDeclareCloneNotSupportedException")
+    public MemoryTracker clone() {
+        try {
+            final MemoryTracker clone = (MemoryTracker) super.clone();
+            clone.used = 0L;
+            clone.peak = 0L;
+            clone.accounts = new HashMap<>();
+            return clone;
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "memoryTracker[" + this.used + (UNLIMITED == this.limit ? "" : "/" + this.limit) + "]";
+    }
+
+    /**
+     * The bytes held by a single step or side-effect.
+     */
+    public static final class Account implements Serializable {
+
+        private final MemoryTracker tracker;
+        private final String owner;
+        private long held = 0L;
+        private long peak = 0L;
+
+        private Account(final MemoryTracker tracker, final String owner) {
+            this.tracker = tracker;
+            this.owner = owner;
+        }
+
+        /**
+         * Accounts for more bytes held by the owner.
+         *
+         * @throws MemoryLimitExceededException if the traversal then holds more than its limit
+         */
+        public void add(final long bytes) {
+            if (bytes <= 0L)
+                return;
+            this.held = this.held + bytes;
+            if (this.held > this.peak)
+                this.peak = this.held;
+            this.tracker.grow(this, bytes);
+        }
+
+        /**
+         * Accounts for bytes that the owner no longer holds.
+         */
+        public void release(final long bytes) {
+            final long released = Math.min(bytes, this.held);
+            this.held = this.held - released;
+            this.tracker.used = this.tracker.used - released;
+        }
+
+        /**
+         * Accounts for the owner no longer holding anything.
+         */
+        public void releaseAll() {
+            this.release(this.held);
+        }
+
+        public long getHeld() {
+            return this.held;
+        }
+
+        /**
+         * Gets the most bytes the owner was estimated to hold at once.
+         */
+        public long getPeak() {
+            return this.peak;
+        }
+    }
+}
@@ -43,6 +43,12 @@ public interface TraversalMetrics {
      */
     public static final String PERCENT_DURATION_KEY = "percentDur";
 
+    /**
+     * The annotation key used to obtain the most bytes a step was estimated to hold at once, including its
+     * side-effect, via Metrics.getAnnotation(String key). It is only present for steps that held something.
+     */
+    public static final String ESTIMATED_MEMORY_KEY = "estimatedMemory";
+
     /**
      * Get the total duration taken by the Traversal.
      *
@@ -40,10 +40,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Connec
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ElementIdStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.MemoryLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ByModulatorOptimizationStrategy;
@@ -60,6 +63,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Path
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.LambdaRestrictionStrategy;
@@ -191,12 +195,16 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
                             SeedStrategy.class,
+                            SpillStrategy.class,
+                            MemoryLimitStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            BatchStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
                             CountStrategy.class,
+                            ShortestPathStrategy.class,
                             FilterRankingStrategy.class,
                             IdentityRemovalStrategy.class,
                             IncidentToAdjacentStrategy.class,
@@ -322,12 +330,16 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
                     SeedStrategy.class,
+                    SpillStrategy.class,
+                    MemoryLimitStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    BatchStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     ProductiveByStrategy.class,
                     CountStrategy.class,
+                    ShortestPathStrategy.class,
                     FilterRankingStrategy.class,
                     IdentityRemovalStrategy.class,
                     IncidentToAdjacentStrategy.class,
@@ -432,12 +444,16 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
                             SeedStrategy.class,
+                            SpillStrategy.class,
+                            MemoryLimitStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            BatchStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
                             CountStrategy.class,
+                            ShortestPathStrategy.class,
                             FilterRankingStrategy.class,
                             IdentityRemovalStrategy.class,
                             IncidentToAdjacentStrategy.class,
@@ -553,11 +569,15 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
                     SeedStrategy.class,
+                    SpillStrategy.class,
+                    MemoryLimitStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    BatchStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     CountStrategy.class,
+                    ShortestPathStrategy.class,
                     FilterRankingStrategy.class,
                     IdentityRemovalStrategy.class,
                     IncidentToAdjacentStrategy.class,
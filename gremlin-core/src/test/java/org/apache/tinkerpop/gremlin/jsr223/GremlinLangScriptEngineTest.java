@@ -20,15 +20,19 @@ package org.apache.tinkerpop.gremlin.jsr223;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
 import javax.script.Bindings;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class GremlinLangScriptEngineTest {
 
@@ -52,4 +56,58 @@ public class GremlinLangScriptEngineTest {
         assertThat(result, instanceOf(Traversal.Admin.class));
         assertEquals(g.V().asAdmin().getBytecode(), ((Traversal.Admin) result).getBytecode());
     }
+
+    @Test
+    public void shouldReuseParsedScriptWithCurrentTraversalSource() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        final GraphTraversalSource other = EmptyGraph.instance().traversal().withStrategies(ReadOnlyStrategy.instance());
+
+        final Bindings first = new SimpleBindings();
+        first.put("g", g);
+        final Traversal.Admin<?, ?> firstResult = (Traversal.Admin<?, ?>) engine.eval("g.V().out('knows')", first);
+        final Bindings second = new SimpleBindings();
+        second.put("g", other);
+        final Traversal.Admin<?, ?> secondResult = (Traversal.Admin<?, ?>) engine.eval("g.V().out('knows')", second);
+
+        assertEquals(1, engine.getQueryCacheMissCount());
+        assertEquals(1, engine.getQueryCacheHitCount());
+        assertEquals(g.V().out("knows").asAdmin().getBytecode(), firstResult.getBytecode());
+        assertEquals(other.V().out("knows").asAdmin().getBytecode(), secondResult.getBytecode());
+        assertThat(firstResult.getStrategies().getStrategy(ReadOnlyStrategy.class).isPresent(), is(false));
+        assertThat(secondResult.getStrategies().getStrategy(ReadOnlyStrategy.class).isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedScript() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(2);
+        engine.put("g", g);
+        engine.eval("g.V()");
+        engine.eval("g.E()");
+        engine.eval("g.V()");
+        engine.eval("g.V().count()");
+        engine.eval("g.V()");
+        engine.eval("g.E()");
+
+        assertEquals(2, engine.getQueryCacheEstimatedSize());
+        assertEquals(2, engine.getQueryCacheEvictionCount());
+        assertEquals(2, engine.getQueryCacheHitCount());
+        assertEquals(4, engine.getQueryCacheMissCount());
+    }
+
+    @Test
+    public void shouldNotCacheScriptThatFailsToParse() {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        engine.put("g", g);
+        for (int i = 0; i < 2; i++) {
+            try {
+                engine.eval("g.V().notAStep()");
+                fail("Script should not have parsed");
+            } catch (ScriptException ignored) {
+                // expected
+            }
+        }
+
+        assertEquals(0, engine.getQueryCacheEstimatedSize());
+        assertEquals(2, engine.getQueryCacheMissCount());
+    }
 }
@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -39,6 +40,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -532,6 +534,37 @@ public class PathTest {
         });
     }
 
+    @Test
+    public void shouldNotChangeClonesWhenLabelsChange() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            Path path = supplier.get();
+            path = path.extend("marko", Collections.singleton("a"));
+            path = path.extend("stephen", new LinkedHashSet<>(Arrays.asList("b", "c")));
+            final Path clone = path.clone();
+            path = path.extend(Collections.singleton("d"));
+            path = path.retract(new HashSet<>(Arrays.asList("a", "b")));
+            assertEquals(1, path.size());
+            assertEquals(new LinkedHashSet<>(Arrays.asList("c", "d")), path.labels().get(0));
+            assertEquals(2, clone.size());
+            assertEquals(Collections.singleton("a"), clone.labels().get(0));
+            assertEquals(new LinkedHashSet<>(Arrays.asList("b", "c")), clone.labels().get(1));
+        });
+    }
+
+    @Test
+    public void shouldShareUnchangedSectionsOfImmutablePaths() {
+        final Set<String> a = Collections.singleton("a");
+        final Set<String> b = Collections.singleton("b");
+        final Path path = ImmutablePath.make().extend("marko", a).extend("stephen", b).extend("matthias", Collections.singleton("c"));
+        assertSame(path, path.retract(Collections.singleton("d")));
+        final Path retracted = path.retract(Collections.singleton("c"));
+        assertEquals(Arrays.asList("marko", "stephen"), retracted.objects());
+        assertSame(a, retracted.labels().get(0));
+        assertSame(b, retracted.labels().get(1));
+        assertSame(b, path.retract(Collections.singleton("a")).labels().get(0));
+        assertSame(b, ImmutablePath.make().extend("marko", Collections.emptySet()).extend(b).labels().get(0));
+    }
+
     @Test
     public void shouldHandleNullSemanticsCorrectly() {
         PATH_SUPPLIERS.forEach(supplier -> {
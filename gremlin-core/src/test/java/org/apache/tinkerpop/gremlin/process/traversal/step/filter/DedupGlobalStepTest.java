@@ -21,9 +21,16 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -37,4 +44,18 @@ public class DedupGlobalStepTest extends StepTest {
                 __.dedup().by("name")
         );
     }
+
+    @Test
+    public void shouldDedupApproximatelyWithOptions() {
+        final List<Long> numbers = LongStream.range(0, 2000).map(i -> i % 500).boxed().collect(Collectors.toList());
+        final Traversal.Admin<?, ?> traversal = __.inject(numbers).unfold().dedup().asAdmin();
+        traversal.setStrategies(new DefaultTraversalStrategies().addStrategies(
+                OptionsStrategy.build().with(DedupGlobalStep.BLOOM_FILTER, 500).with(DedupGlobalStep.FALSE_POSITIVE_RATE, 0.001).create()));
+        final List<?> results = traversal.toList();
+
+        // no duplicates ever pass and few if any distinct numbers are filtered
+        assertEquals(results.size(), results.stream().distinct().count());
+        assertEquals(true, results.size() > 490);
+        assertEquals(500, __.inject(numbers).unfold().dedup().toList().size());
+    }
 }
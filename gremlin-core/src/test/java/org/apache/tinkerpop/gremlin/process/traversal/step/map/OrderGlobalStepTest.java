@@ -19,16 +19,27 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -64,4 +75,51 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldOrderWithLimitAsIfFullySorted() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 97);
+        }
+        Collections.shuffle(list, new Random(123456L));
+
+        for (final int limit : Arrays.asList(0, 1, 10, 96, 97, 1000, 1001)) {
+            final List<Integer> sorted = list.stream().sorted(Collections.reverseOrder()).limit(limit).collect(Collectors.toList());
+            assertEquals(sorted, __.inject(list).unfold().order().by(Order.desc).limit(limit).toList());
+            if (limit >= 3)
+                assertEquals(sorted.subList(3, sorted.size()), __.inject(list).unfold().order().by(Order.desc).range(3, limit).toList());
+        }
+    }
+
+    @Test
+    public void shouldKeepArrivalOrderOfTiesWithLimit() {
+        final List<List<Integer>> pairs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pairs.add(Arrays.asList(i % 3, i));
+        }
+        final List<Object> expected = __.inject(pairs).unfold().order().by(__.limit(Scope.local, 1)).toList().subList(0, 40);
+        assertEquals(expected, __.inject(pairs).unfold().order().by(__.limit(Scope.local, 1)).limit(40).toList());
+    }
+
+    @Test
+    public void shouldOnlyKeepTraversersNeededForLimit() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        Collections.shuffle(list, new Random(123456L));
+
+        final Traversal.Admin<?, ?> traversal = __.inject(list).unfold().order().limit(5).asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(OrderLimitStrategy.instance());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+        final OrderGlobalStep<?, ?> step = TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get();
+        assertEquals(5L, step.getLimit());
+
+        final TraverserSet<?> barrier = step.nextBarrier();
+        assertEquals(5, barrier.size());
+        assertTrue(barrier.stream().allMatch(t -> (int) t.get() < 5));
+    }
 }
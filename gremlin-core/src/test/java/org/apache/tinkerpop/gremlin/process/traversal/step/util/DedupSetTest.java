@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceEdge;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DedupSetTest {
+
+    @Test
+    public void shouldDedupExactly() {
+        final DedupSet set = DedupSet.exact();
+        assertTrue(set.add(1L));
+        assertFalse(set.add(1L));
+        assertTrue(set.add(1));
+        assertFalse(set.add(1));
+        assertTrue(set.add("1"));
+        assertTrue(set.add(null));
+        assertFalse(set.add(null));
+        assertTrue(set.add(Arrays.asList(1L, 2L)));
+        assertFalse(set.add(Arrays.asList(1L, 2L)));
+
+        set.clear();
+        assertTrue(set.add(1L));
+        assertTrue(set.add(1));
+        assertTrue(set.add(null));
+    }
+
+    @Test
+    public void shouldDedupElementsByIdAndKind() {
+        final DedupSet set = DedupSet.exact();
+        assertTrue(set.add(new ReferenceVertex(1L)));
+        assertFalse(set.add(new ReferenceVertex(1L, "person")));
+        assertTrue(set.add(new ReferenceVertex(1)));
+        assertFalse(set.add(new ReferenceVertex(1)));
+        assertTrue(set.add(new ReferenceVertex("1")));
+        assertTrue(set.add(1L));
+
+        final ReferenceEdge edge = new ReferenceEdge(1L, "knows", new ReferenceVertex(1L), new ReferenceVertex(2L));
+        assertTrue(set.add(edge));
+        assertFalse(set.add(edge));
+    }
+
+    @Test
+    public void shouldNeverLetDuplicatesPassWhenApproximate() {
+        final DedupSet set = DedupSet.approximate(10000, 0.01);
+        assertTrue(set.isApproximate());
+        int added = 0;
+        for (long i = 0; i < 10000; i++) {
+            if (set.add(i)) added++;
+        }
+        for (long i = 0; i < 10000; i++) {
+            assertFalse(set.add(i));
+        }
+        assertTrue("Too many false positives: " + (10000 - added), added > 9800);
+
+        set.clear();
+        assertTrue(set.add(1L));
+        assertTrue(set.add(new ReferenceVertex(1L)));
+        assertFalse(set.add(new ReferenceVertex(1L)));
+        assertTrue(set.add("a"));
+        assertFalse(set.add("a"));
+    }
+
+    @Test
+    public void shouldHaveFalsePositivesWhenOverfilled() {
+        final DedupSet set = DedupSet.approximate(10, 0.01);
+        int added = 0;
+        for (long i = 0; i < 10000; i++) {
+            if (set.add(i)) added++;
+        }
+        assertTrue(added < 10000);
+        assertEquals(false, DedupSet.exact().isApproximate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowZeroExpected() {
+        DedupSet.approximate(0, 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowFalsePositiveRateOfOne() {
+        DedupSet.approximate(100, 1d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowHugeFilters() {
+        DedupSet.approximate(Long.MAX_VALUE / 4, 0.0001);
+    }
+}
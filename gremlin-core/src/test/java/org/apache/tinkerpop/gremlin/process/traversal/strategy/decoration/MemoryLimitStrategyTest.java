@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryLimitExceededException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class MemoryLimitStrategyTest {
+
+    private final List<String> names = new ArrayList<>();
+
+    public MemoryLimitStrategyTest() {
+        for (int i = 0; i < 1000; i++) {
+            names.add("name-" + i);
+        }
+    }
+
+    @Test
+    public void shouldFailWhenBarriersHoldTooMuch() {
+        assertExceeded(() -> __.inject(names).unfold().order());
+        assertExceeded(() -> __.inject(names).unfold().barrier().count());
+        assertExceeded(() -> __.inject(names).unfold().fold());
+        assertExceeded(() -> __.inject(names).unfold().group().by(__.constant("x")));
+        assertExceeded(() -> __.inject(names).unfold().groupCount());
+    }
+
+    @Test
+    public void shouldFailWhenSideEffectsHoldTooMuch() {
+        assertExceeded(() -> __.inject(names).unfold().aggregate("x").cap("x"));
+        assertExceeded(() -> __.inject(names).unfold().aggregate(Scope.local, "x").cap("x"));
+        assertExceeded(() -> __.inject(names).unfold().groupCount("x").cap("x"));
+    }
+
+    @Test
+    public void shouldNotFailWhenGrowthIsSmall() {
+        assertNotExceeded(() -> __.inject(names).unfold().count());
+        assertNotExceeded(() -> __.inject(names).unfold().groupCount().by(__.constant("x")));
+        assertNotExceeded(() -> __.inject(names).unfold().group().by(__.constant("x")).by(__.count()));
+        assertNotExceeded(() -> __.inject(names).unfold().aggregate(Scope.local, "x").by(__.constant("x")).cap("x"));
+    }
+
+    @Test
+    public void shouldReleaseWhatBarriersNoLongerHold() {
+        final Traversal.Admin<?, ?> traversal = withLimit(__.inject(names).unfold().order().fold().count(Scope.local), Long.MAX_VALUE);
+        assertEquals(1000L, traversal.next());
+        final MemoryTracker tracker = traversal.getSideEffects().getMemoryTracker();
+        assertThat(tracker.getPeak(), greaterThan(0L));
+        assertEquals(0L, tracker.getUsed());
+    }
+
+    @Test
+    public void shouldKeepLowerLimit() {
+        final Traversal.Admin<?, ?> traversal = __.inject(names).unfold().order().asAdmin();
+        final MemoryTracker tracker = new MemoryTracker(100);
+        traversal.getSideEffects().setMemoryTracker(tracker);
+        withLimit(traversal, 1000000).applyStrategies();
+        assertSame(tracker, traversal.getSideEffects().getMemoryTracker());
+    }
+
+    @Test
+    public void shouldOnlyTrackWhenAsked() {
+        final Traversal.Admin<?, ?> traversal = __.inject(names).unfold().order().asAdmin();
+        traversal.iterate();
+        assertNull(traversal.getSideEffects().getMemoryTracker());
+    }
+
+    @Test
+    public void shouldReportMemoryInProfile() {
+        final Traversal.Admin<?, TraversalMetrics> traversal = __.inject(names).unfold().order().fold().profile().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ProfileStrategy.instance());
+        traversal.setStrategies(strategies);
+
+        final TraversalMetrics metrics = traversal.next();
+        final Metrics order = metrics.getMetrics(2);
+        assertThat(order.getName(), containsString("OrderGlobalStep"));
+        assertThat((Long) order.getAnnotation(TraversalMetrics.ESTIMATED_MEMORY_KEY), greaterThan(50000L));
+        assertThat((Long) metrics.getMetrics(3).getAnnotation(TraversalMetrics.ESTIMATED_MEMORY_KEY), greaterThan(50000L));
+        assertNull(metrics.getMetrics(1).getAnnotation(TraversalMetrics.ESTIMATED_MEMORY_KEY));
+    }
+
+    private void assertExceeded(final Supplier<GraphTraversal<?, ?>> supplier) {
+        assertEquals(supplier.get().toList(), withLimit(supplier.get(), 1000000).toList());
+        try {
+            withLimit(supplier.get(), 10000).iterate();
+            fail("The traversal should have exceeded its memory limit: " + supplier.get());
+        } catch (MemoryLimitExceededException ex) {
+            assertThat(ex.getMessage(), containsString("which exceeds its limit of 10000 bytes"));
+        }
+    }
+
+    private void assertNotExceeded(final Supplier<GraphTraversal<?, ?>> supplier) {
+        assertEquals(supplier.get().toList(), withLimit(supplier.get(), 10000).toList());
+    }
+
+    private Traversal.Admin<?, ?> withLimit(final Traversal<?, ?> traversal, final long memoryLimit) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(MemoryLimitStrategy.build().memoryLimit(memoryLimit).create());
+        traversal.asAdmin().setStrategies(strategies);
+        return traversal.asAdmin();
+    }
+}
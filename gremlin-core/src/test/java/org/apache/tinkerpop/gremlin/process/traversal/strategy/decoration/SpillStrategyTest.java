@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpillStrategyTest {
+
+    private File directory;
+    private final List<Integer> numbers = new ArrayList<>();
+    private int mostFiles = 0;
+
+    @Before
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("spill-strategy-test").toFile();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(i % 397);
+        }
+        Collections.shuffle(numbers, new Random(123456L));
+    }
+
+    @After
+    public void cleanup() {
+        final File[] files = this.directory.listFiles();
+        if (null != files) Arrays.stream(files).forEach(File::delete);
+        this.directory.delete();
+    }
+
+    @Test
+    public void shouldOrderWithSortedRunsOnDisk() {
+        assertSpilled(() -> __.inject(numbers).unfold().order());
+        assertSpilled(() -> __.inject(numbers).unfold().order().by(Order.desc));
+        assertSpilled(() -> __.inject(numbers).unfold().order().by(__.math("_ % 7")).by(Order.desc));
+    }
+
+    @Test
+    public void shouldKeepArrivalOrderOfTiesAcrossRuns() {
+        final List<List<Integer>> pairs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            pairs.add(Arrays.asList(i % 3, i));
+        }
+        assertSpilled(() -> __.inject(pairs).unfold().order().by(__.limit(Scope.local, 1)));
+    }
+
+    @Test
+    public void shouldAggregateWithRunsOnDisk() {
+        // equal traversers are only merged within a run so they may be emitted in a different order
+        assertSpilled(() -> __.inject(numbers).unfold().aggregate("x").map(t -> t.get()).order());
+        assertSameResults(() -> __.inject(numbers).unfold().aggregate("x").fold().order(Scope.local));
+        assertSameResults(() -> __.inject(numbers).unfold().aggregate("x").cap("x"));
+        assertSameResults(() -> __.inject(numbers).unfold().aggregate("x").by(__.math("_ * 2")).is(5).cap("x"));
+    }
+
+    @Test
+    public void shouldKeepTraversersInMemoryWhenTheyCanNotBeSpilled() {
+        assertNotSpilled(() -> __.inject(numbers).unfold().order().path());
+        assertNotSpilled(() -> __.inject(numbers).unfold().as("a").aggregate("x").select("a"));
+        assertNotSpilled(() -> __.inject(numbers).unfold().map(t -> new Object[]{t.get()}).order().by(t -> ((Object[]) t)[0], Order.asc).map(t -> ((Object[]) t.get())[0]));
+    }
+
+    @Test
+    public void shouldGroupWithPartitionsOnDisk() {
+        assertSpilledBeforeBarrier(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).group().by(__.math("_ % 97")));
+        assertSpilledBeforeBarrier(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).group().by(__.math("_ % 97")).by(__.count()));
+        assertSpilledBeforeBarrier(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).group().by(__.math("_ % 97")).by(__.sum()));
+        assertSpilledBeforeBarrier(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).group().by(__.math("_ % 97")).by(__.max()));
+    }
+
+    @Test
+    public void shouldDedupWithPartitionsOnDisk() {
+        // traversers let through after the spill come out one partition at a time
+        assertSpilledBeforeBarrier(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).dedup().fold().order(Scope.local));
+        assertSpilledBeforeBarrier(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).dedup().by(__.math("_ % 97")).fold().order(Scope.local));
+        assertSpilledBeforeBarrier(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).dedup().count());
+    }
+
+    @Test
+    public void shouldGroupAndDedupInMemoryWhenTheyCanNotBeSpilled() {
+        assertSameResults(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).group().by(__.math("_ % 97")).by(__.path().fold()));
+        assertSameResults(() -> __.inject(numbers).unfold().sideEffect(this::countFiles).group().by(__.math("_ % 97")).by(__.mean()));
+        assertSameResults(() -> __.inject(numbers).unfold().as("a").sideEffect(this::countFiles).dedup().select("a"));
+        assertEquals(0, this.mostFiles);
+    }
+
+    private void countFiles(final Traverser<?> traverser) {
+        this.mostFiles = Math.max(this.mostFiles, this.directory.list().length);
+    }
+
+    private void assertSpilledBeforeBarrier(final Supplier<GraphTraversal<?, ?>> supplier) {
+        final List<?> expected = supplier.get().toList();
+        this.mostFiles = 0;
+        final List<?> results = withSpill(supplier.get()).toList();
+        assertTrue("Expected partitions to have been written for " + supplier.get(), this.mostFiles > 0);
+        assertEquals(expected, results);
+        assertEquals(0, this.directory.list().length);
+    }
+
+    private void assertSpilled(final Supplier<GraphTraversal<?, ?>> supplier) {
+        final Traversal.Admin<?, ?> traversal = withSpill(supplier.get());
+        final List<Object> results = new ArrayList<>();
+        results.add(traversal.next());
+        assertTrue("Expected runs to have been written for " + traversal, this.directory.list().length > 0);
+        traversal.forEachRemaining(results::add);
+
+        assertEquals(supplier.get().toList(), results);
+        assertEquals(0, this.directory.list().length);
+    }
+
+    private void assertSameResults(final Supplier<GraphTraversal<?, ?>> supplier) {
+        assertEquals(supplier.get().toList(), withSpill(supplier.get()).toList());
+        assertEquals(0, this.directory.list().length);
+    }
+
+    private void assertNotSpilled(final Supplier<GraphTraversal<?, ?>> supplier) {
+        final Traversal.Admin<?, ?> traversal = withSpill(supplier.get());
+        final List<Object> results = new ArrayList<>();
+        results.add(traversal.next());
+        assertEquals(0, this.directory.list().length);
+        traversal.forEachRemaining(results::add);
+
+        assertEquals(supplier.get().toList(), results);
+    }
+
+    private Traversal.Admin<?, ?> withSpill(final GraphTraversal<?, ?> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(SpillStrategy.build().maxMemory(1024).directory(this.directory.getAbsolutePath()).create());
+        traversal.asAdmin().setStrategies(strategies);
+        return traversal.asAdmin();
+    }
+}
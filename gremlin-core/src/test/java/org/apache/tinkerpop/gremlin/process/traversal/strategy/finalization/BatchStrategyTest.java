@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchStrategyTest {
+
+    private static final List<Integer> NUMBERS = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            NUMBERS.add(i % 17);
+        }
+    }
+
+    @Test
+    public void shouldProduceTheSameResultsInBatches() {
+        assertSameResults(() -> __.inject(NUMBERS).unfold().is(P.gt(5)));
+        assertSameResults(() -> __.inject(NUMBERS).unfold().is(P.gt(5)).math("_ * 2").is(P.lt(30)));
+        assertSameResults(() -> __.inject(NUMBERS).unfold().map(t -> Arrays.asList(t.get(), t.get())).unfold().is(P.neq(3)));
+        assertSameResults(() -> __.inject(NUMBERS).unfold().flatMap(t -> NUMBERS.subList(0, (Integer) t.get()).iterator()).filter(t -> (Integer) t.get() % 2 == 0));
+        assertSameResults(() -> __.inject(NUMBERS).unfold().as("a").is(P.gt(10)).map(t -> (Integer) t.get() + 1).path());
+        assertSameResults(() -> __.inject(NUMBERS).unfold().where(__.is(P.within(1, 2, 3))).local(__.constant(1).unfold()));
+        assertSameResults(() -> __.inject(NUMBERS).unfold().repeat(__.<Object, Object>map(t -> (Integer) t.get() + 1).is(P.lt(20))).emit().times(3));
+    }
+
+    @Test
+    public void shouldBatchFilterMapAndFlatMapSteps() {
+        assertEquals(Arrays.asList(0, 7, 7, 7), batchSizes(__.inject(NUMBERS).unfold().is(P.gt(5)).map(t -> (Integer) t.get() * 2)));
+    }
+
+    @Test
+    public void shouldNotBatchStepsBeforeALimit() {
+        assertEquals(Arrays.asList(0, 0, 0, 0, 7), batchSizes(__.inject(NUMBERS).unfold().is(P.gt(5)).limit(3).map(t -> (Integer) t.get() * 2)));
+    }
+
+    @Test
+    public void shouldNotBatchTraversalsWithSideEffects() {
+        assertEquals(Arrays.asList(0, 0, 0, 0, 0), batchSizes(__.inject(NUMBERS).unfold().where(P.without("x")).aggregate(Scope.local, "x").is(P.gt(5))));
+        assertEquals(Arrays.asList(0, 0, 0, 0), batchSizes(__.inject(NUMBERS).unfold().sideEffect(t -> {}).is(P.gt(5))));
+    }
+
+    private static List<Integer> batchSizes(final GraphTraversal<?, ?> traversal) {
+        final Traversal.Admin<?, ?> admin = withBatches(traversal);
+        admin.applyStrategies();
+        return admin.getSteps().stream().
+                map(step -> step instanceof Batching ? ((Batching) step).getBatchSize() : 0).
+                collect(Collectors.toList());
+    }
+
+    private static void assertSameResults(final Supplier<GraphTraversal<?, ?>> supplier) {
+        assertEquals(supplier.get().toList(), withBatches(supplier.get()).toList());
+    }
+
+    private static Traversal.Admin<?, ?> withBatches(final GraphTraversal<?, ?> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(BatchStrategy.build().batchSize(7).create());
+        traversal.asAdmin().setStrategies(strategies);
+        return traversal.asAdmin();
+    }
+}
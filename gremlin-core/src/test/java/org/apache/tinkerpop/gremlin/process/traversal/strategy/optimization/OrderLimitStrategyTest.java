@@ -60,6 +60,12 @@ public class OrderLimitStrategyTest {
     @Test
     public void doTest() {
         final String repr = translator.translate(traversal.getBytecode()).getScript();
+
+        // the limit is pushed into the order() whether or not the traversal is on a GraphComputer
+        final Traversal.Admin<?, ?> standard = traversal.clone();
+        applyOrderLimitStrategyStrategy(standard);
+        assertEquals(repr, limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, standard).get().getLimit());
+
         traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
         applyOrderLimitStrategyStrategy(traversal);
         assertEquals(repr, limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPath;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestPathStrategyTest {
+
+    @Test
+    public void shouldReplaceVertexProgramStepWithoutComputer() {
+        final Traversal.Admin<?, ?> traversal = __.<Vertex>start().shortestPath().
+                with(ShortestPath.target, __.hasId(6)).with(ShortestPath.maxDistance, 3).as("a").asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ShortestPathStrategy.instance());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+
+        assertEquals(1, traversal.getSteps().size());
+        assertTrue(traversal.getEndStep() instanceof ShortestPathStep);
+        assertTrue(traversal.getEndStep().getLabels().contains("a"));
+        assertEquals(__.hasId(6).asAdmin(), ((ShortestPathStep) traversal.getEndStep()).getLocalChildren().get(0));
+    }
+
+    @Test
+    public void shouldNotReplaceVertexProgramStepWithComputer() {
+        final Traversal.Admin<?, ?> traversal = __.<Vertex>start().shortestPath().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ShortestPathStrategy.instance(), VertexProgramStrategy.instance());
+        traversal.setStrategies(strategies);
+        ShortestPathStrategy.instance().apply(traversal);
+
+        assertEquals(1, TraversalHelper.getStepsOfClass(ShortestPathVertexProgramStep.class, traversal).size());
+    }
+}
@@ -25,8 +25,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -191,6 +194,71 @@ public class TraverserSetImplementationTest {
         assertEquals(3, ts.bulkSize());
     }
 
+    @Test
+    public void shouldRemoveTraverserByValueAndKeepOrder() {
+        final TraverserSet<String> ts = makeStringTraversers();
+        assertThat(ts.remove(makeTraverser("b1", 1)), is(true));
+        assertThat(ts.remove(makeTraverser("b1", 1)), is(false));
+        assertThat(ts.contains(makeTraverser("b1", 1)), is(false));
+        assertThat(ts.add(makeTraverser("b1", 1)), is(true));
+
+        assertEquals("[a, b2, c, b1]", values(ts).toString());
+    }
+
+    @Test
+    public void shouldRemoveTraverserWithIterator() {
+        final TraverserSet<String> ts = makeStringTraversers();
+        final Iterator<Traverser.Admin<String>> itty = ts.iterator();
+        while (itty.hasNext()) {
+            if (itty.next().get().startsWith("b")) itty.remove();
+        }
+
+        assertEquals(2, ts.size());
+        assertEquals("[a, c]", values(ts).toString());
+        assertThat(ts.contains(makeTraverser("b2", 1)), is(false));
+    }
+
+    @Test
+    public void shouldKeepOrderAsTraversersAreAddedAndRemoved() {
+        final TraverserSet<String> ts = traverserSetMaker.get();
+        final LinkedList<String> expected = new LinkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            ts.add(makeTraverser("x" + i, 1));
+            expected.add("x" + i);
+            // merges into the one already present rather than being added to the end, unless it was removed
+            final String again = "x" + (i / 2);
+            if (!expected.contains(again)) expected.add(again);
+            ts.add(makeTraverser(again, 1));
+            if (i % 3 == 0) {
+                assertEquals(expected.remove(), ts.remove().get());
+            }
+            if (i % 7 == 0 && !expected.isEmpty()) {
+                final String removed = expected.remove(expected.size() / 2);
+                assertThat(ts.remove(makeTraverser(removed, 1)), is(true));
+            }
+        }
+
+        assertEquals(expected.size(), ts.size());
+        assertEquals(expected, values(ts));
+        for (final String value : expected) {
+            assertThat(ts.contains(makeTraverser(value, 1)), is(true));
+        }
+        while (!expected.isEmpty()) {
+            assertEquals(expected.remove(), ts.poll().get());
+        }
+        assertNull(ts.poll());
+        assertThat(ts.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldSortTraversers() {
+        final TraverserSet<String> ts = makeStringTraversers();
+        ts.sort((a, b) -> b.get().compareTo(a.get()));
+
+        assertEquals("[c, b2, b1, a]", values(ts).toString());
+        assertEquals(2, ts.get(makeTraverser("a", 1)).bulk());
+    }
+
     private TraverserSet<String> makeStringTraversers() {
         final TraverserSet<String> ts = traverserSetMaker.get();
         ts.add(makeTraverser("a", 1));
@@ -201,6 +269,12 @@ public class TraverserSetImplementationTest {
         return ts;
     }
 
+    private static List<String> values(final TraverserSet<String> ts) {
+        final List<String> values = new ArrayList<>();
+        ts.forEach(t -> values.add(t.get()));
+        return values;
+    }
+
     private <T> Traverser.Admin<T> makeTraverser(final T val, final long bulk) {
         return new B_O_Traverser<>(val, bulk).asAdmin();
     }
@@ -0,0 +1,54 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Decoration
+{
+    /// <summary>
+    ///     A strategy that limits the number of bytes that the barriers and side-effects of a traversal are estimated
+    ///     to hold, failing the traversal as soon as it holds more. A lower limit given to the request by the server
+    ///     is kept.
+    /// </summary>
+    public class MemoryLimitStrategy : AbstractTraversalStrategy
+    {
+        private const string JavaFqcn = DecorationNamespace + nameof(MemoryLimitStrategy);
+        
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="MemoryLimitStrategy" /> class.
+        /// </summary>
+        public MemoryLimitStrategy() : base(JavaFqcn)
+        {
+        }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="MemoryLimitStrategy" /> class.
+        /// </summary>
+        /// <param name="memoryLimit">
+        ///     Specifies the number of bytes the traversal may be estimated to hold before it fails.
+        /// </param>
+        public MemoryLimitStrategy(long memoryLimit)
+            : this()
+        {
+            Configuration["memoryLimit"] = memoryLimit;
+        }
+    }
+}
\ No newline at end of file
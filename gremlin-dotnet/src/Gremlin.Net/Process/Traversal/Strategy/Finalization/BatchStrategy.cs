@@ -0,0 +1,53 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Finalization
+{
+    /// <summary>
+    ///     A strategy that has filter, map and flatMap steps like has(), out() and values() take traversers from
+    ///     their previous step in batches and process each batch in a single loop.
+    /// </summary>
+    public class BatchStrategy : AbstractTraversalStrategy
+    {
+        private const string JavaFqcn = FinalizationNamespace + nameof(BatchStrategy);
+        
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="BatchStrategy" /> class.
+        /// </summary>
+        public BatchStrategy() : base(JavaFqcn)
+        {
+        }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="BatchStrategy" /> class.
+        /// </summary>
+        /// <param name="batchSize">
+        ///     Specifies the number of traversers a step takes from its previous step at once.
+        /// </param>
+        public BatchStrategy(int batchSize)
+            : this()
+        {
+            Configuration["batchSize"] = batchSize;
+        }
+    }
+}
\ No newline at end of file
@@ -38,6 +38,7 @@ public final class RequestOptions {
     private final Map<String, Object> parameters;
     private final Integer batchSize;
     private final Long timeout;
+    private final Long memoryLimit;
     private final UUID overrideRequestId;
     private final String userAgent;
     private final String language;
@@ -47,6 +48,7 @@ public final class RequestOptions {
         this.parameters = builder.parameters;
         this.batchSize = builder.batchSize;
         this.timeout = builder.timeout;
+        this.memoryLimit = builder.memoryLimit;
         this.overrideRequestId = builder.overrideRequestId;
         this.userAgent = builder.userAgent;
         this.language = builder.language;
@@ -72,6 +74,10 @@ public final class RequestOptions {
         return Optional.ofNullable(timeout);
     }
 
+    public Optional<Long> getMemoryLimit() {
+        return Optional.ofNullable(memoryLimit);
+    }
+
     public Optional<String> getUserAgent() {
         return Optional.ofNullable(userAgent);
     }
@@ -89,6 +95,7 @@ public final class RequestOptions {
         private Map<String, Object> parameters = null;
         private Integer batchSize = null;
         private Long timeout = null;
+        private Long memoryLimit = null;
         private UUID overrideRequestId = null;
         private String userAgent = null;
         private String language = null;
@@ -143,6 +150,16 @@ public final class RequestOptions {
             return this;
         }
 
+        /**
+         * The per client request override in bytes for the server configured {@code memoryLimit}, which is the most
+         * that a traversal is allowed to be estimated to hold in its barriers and side-effects. If this value is not
+         * set, then the configuration for the server is used.
+         */
+        public Builder memoryLimit(final long memoryLimit) {
+            this.memoryLimit = memoryLimit;
+            return this;
+        }
+
         /**
          * Sets the userAgent identifier to be sent on the request.
          */
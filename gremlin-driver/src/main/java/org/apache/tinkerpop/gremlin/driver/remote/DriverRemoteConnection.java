@@ -40,6 +40,7 @@ import java.util.concurrent.CompletableFuture;
 
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_BATCH_SIZE;
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_EVAL_TIMEOUT;
+import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_MEMORY_LIMIT;
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_USER_AGENT;
 import static org.apache.tinkerpop.gremlin.util.Tokens.REQUEST_ID;
 
@@ -252,6 +253,8 @@ public class DriverRemoteConnection implements RemoteConnection {
             final Map<String,Object> options = optionsStrategy.getOptions();
             if (options.containsKey(ARGS_EVAL_TIMEOUT))
                 builder.timeout((long) options.get(ARGS_EVAL_TIMEOUT));
+            if (options.containsKey(ARGS_MEMORY_LIMIT))
+                builder.memoryLimit(((Number) options.get(ARGS_MEMORY_LIMIT)).longValue());
             if (options.containsKey(REQUEST_ID))
                 builder.overrideRequestId((UUID) options.get(REQUEST_ID));
             if (options.containsKey(ARGS_BATCH_SIZE))
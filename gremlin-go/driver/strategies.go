@@ -67,6 +67,22 @@ type HaltedTraverserStrategyConfig struct {
 	HaltedTraverserFactoryName string
 }
 
+// MemoryLimitStrategy limits the number of bytes that the barriers and side-effects of a Traversal are estimated to
+// hold, failing the Traversal as soon as it holds more than MemoryLimit. A lower limit given to the request by the
+// server is kept.
+func MemoryLimitStrategy(config MemoryLimitStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if config.MemoryLimit > 0 {
+		configMap["memoryLimit"] = config.MemoryLimit
+	}
+	return &traversalStrategy{name: decorationNamespace + "MemoryLimitStrategy", configuration: configMap}
+}
+
+// MemoryLimitStrategyConfig provides configuration options for MemoryLimitStrategy. Zeroed (unset) values are ignored.
+type MemoryLimitStrategyConfig struct {
+	MemoryLimit int64
+}
+
 // OptionsStrategy will not alter the Traversal. It is only a holder for configuration options associated with the
 // Traversal meant to be accessed by steps or other classes that might have some interaction with it. It is
 // essentially a way for users to provide Traversal level configuration options that can be used in various ways
@@ -118,6 +134,22 @@ type SeedStrategyConfig struct {
 	Seed int64
 }
 
+// SpillStrategy limits the memory that barrier steps such as Order(), Aggregate(), Group() and Dedup() hold their
+// state in. Once what a step holds is estimated to take more than MaxMemory bytes, the step writes it to temporary
+// files on the server and reads it back as the barrier is emptied.
+func SpillStrategy(config SpillStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if config.MaxMemory > 0 {
+		configMap["maxMemory"] = config.MaxMemory
+	}
+	return &traversalStrategy{name: decorationNamespace + "SpillStrategy", configuration: configMap}
+}
+
+// SpillStrategyConfig provides configuration options for SpillStrategy. Zeroed (unset) values are ignored.
+type SpillStrategyConfig struct {
+	MaxMemory int64
+}
+
 // SubgraphStrategy provides a way to limit the view of a Traversal. By providing Traversal representations that
 // represent a form of filtering criterion for Vertices and/or Edges, this strategy will inject that criterion into
 // the appropriate places of a Traversal thus restricting what it Traverses and returns.
@@ -186,6 +218,22 @@ type VertexProgramStrategyConfig struct {
 
 // Finalization strategies
 
+// BatchStrategy has filter, map and flatMap steps such as Has(), Out() and Values() take up to BatchSize traversers
+// from their previous step at once and process them in a single loop, which lets the graph fetch what a whole batch
+// needs in one request.
+func BatchStrategy(config BatchStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if config.BatchSize > 0 {
+		configMap["batchSize"] = config.BatchSize
+	}
+	return &traversalStrategy{name: finalizationNamespace + "BatchStrategy", configuration: configMap}
+}
+
+// BatchStrategyConfig provides configuration options for BatchStrategy. Zeroed (unset) values are ignored.
+type BatchStrategyConfig struct {
+	BatchSize int32
+}
+
 func MatchAlgorithmStrategy(config MatchAlgorithmStrategyConfig) TraversalStrategy {
 	configMap := make(map[string]interface{})
 	if config.MatchAlgorithm != "" {
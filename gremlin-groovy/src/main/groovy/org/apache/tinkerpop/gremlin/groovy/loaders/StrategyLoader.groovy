@@ -22,10 +22,13 @@ import org.apache.commons.configuration2.MapConfiguration
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ElementIdStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.MemoryLimitStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy
@@ -49,16 +52,19 @@ class StrategyLoader {
         ElementIdStrategy.metaClass.constructor << { Map conf -> ElementIdStrategy.create(new MapConfiguration(conf)) }
         //EventStrategy.metaClass.constructor << { Map conf -> EventStrategy.create(new MapConfiguration(conf)) }
         HaltedTraverserStrategy.metaClass.constructor << { Map conf -> HaltedTraverserStrategy.create(new MapConfiguration(conf)) }
+        MemoryLimitStrategy.metaClass.constructor << { Map conf -> MemoryLimitStrategy.create(new MapConfiguration(conf)) }
         OptionsStrategy.metaClass.constructor << { Map conf -> OptionsStrategy.create(new MapConfiguration(conf)) }
         PartitionStrategy.metaClass.constructor << { Map conf -> PartitionStrategy.create(new MapConfiguration(conf)) }
         // # RequirementsStrategy is internal
         // SackStrategy.metaClass.constructor << { Map conf -> SackStrategy.create(new MapConfiguration(conf)) }
         SeedStrategy.metaClass.constructor << { Map conf -> SeedStrategy.create(new MapConfiguration(conf)) }
         // # SideEffectStrategy is internal
+        SpillStrategy.metaClass.constructor << { Map conf -> SpillStrategy.create(new MapConfiguration(conf)) }
         SubgraphStrategy.metaClass.constructor << { Map conf -> SubgraphStrategy.create(new MapConfiguration(conf)) }
         VertexProgramStrategy.metaClass.constructor << { Map conf -> VertexProgramStrategy.create(new MapConfiguration(conf)) }
 
         // finalization
+        BatchStrategy.metaClass.constructor << { Map conf -> BatchStrategy.create(new MapConfiguration(conf)) }
         MatchAlgorithmStrategy.metaClass.constructor << { Map conf -> MatchAlgorithmStrategy.create(new MapConfiguration(conf)) }
         // # ProfileStrategy is singleton/internal
         // # ReferenceElementStrategy is singleton/internal
@@ -110,6 +110,17 @@ class HaltedTraverserStrategy extends TraversalStrategy {
   }
 }
 
+class MemoryLimitStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {number} [options.memoryLimit] the number of bytes that the barriers and side-effects of the traversal
+   * may be estimated to hold before it fails
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.MemoryLimitStrategy', options);
+  }
+}
+
 class OptionsStrategy extends TraversalStrategy {
   constructor(options) {
     super('org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy', options);
@@ -167,6 +178,16 @@ class VertexProgramStrategy extends TraversalStrategy {
   }
 }
 
+class BatchStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {number} [options.batchSize] the number of traversers that a step takes from its previous step at once
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy', options);
+  }
+}
+
 class MatchAlgorithmStrategy extends TraversalStrategy {
   /**
    * @param matchAlgorithm
@@ -315,6 +336,17 @@ class SeedStrategy extends TraversalStrategy {
   }
 }
 
+class SpillStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {number} [options.maxMemory] the estimated number of bytes that a barrier such as order(), aggregate(),
+   * group() or dedup() may hold before it writes what it holds to disk
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy', options);
+  }
+}
+
 module.exports = {
   TraversalStrategies: TraversalStrategies,
   TraversalStrategy: TraversalStrategy,
@@ -322,12 +354,15 @@ module.exports = {
   ConnectiveStrategy: ConnectiveStrategy,
   ElementIdStrategy: ElementIdStrategy,
   HaltedTraverserStrategy: HaltedTraverserStrategy,
+  MemoryLimitStrategy: MemoryLimitStrategy,
   OptionsStrategy: OptionsStrategy,
   PartitionStrategy: PartitionStrategy,
   SeedStrategy: SeedStrategy,
+  SpillStrategy: SpillStrategy,
   SubgraphStrategy: SubgraphStrategy,
   VertexProgramStrategy: VertexProgramStrategy,
   // finalization
+  BatchStrategy: BatchStrategy,
   MatchAlgorithmStrategy: MatchAlgorithmStrategy,
   // optimization
   AdjacentToIncidentStrategy: AdjacentToIncidentStrategy,
@@ -829,6 +829,9 @@ const gremlins = {
     g_V_hasXsong_name_MIGHT_AS_WELLX_shortestPath_targetXhasXsong_name_MAYBE_YOU_KNOW_HOW_I_FEELXX_edgesXoutEXfollowedByXX_distanceXweightX: [function({g}) { return g.V().has("song","name","MIGHT AS WELL").shortestPath().with_("~tinkerpop.shortestPath.target",__.has("song","name","MAYBE YOU KNOW HOW I FEEL")).with_("~tinkerpop.shortestPath.edges",__.outE("followedBy")).with_("~tinkerpop.shortestPath.distance","weight") }], 
     g_V_hasXname_markoX_shortestPath_maxDistanceX1X: [function({g}) { return g.V().has("name","marko").shortestPath().with_("~tinkerpop.shortestPath.maxDistance",1) }], 
     g_V_hasXname_vadasX_shortestPath_distanceXweightX_maxDistanceX1_3X: [function({g}) { return g.V().has("name","vadas").shortestPath().with_("~tinkerpop.shortestPath.distance","weight").with_("~tinkerpop.shortestPath.maxDistance",1.3) }], 
+    g_VX1X_shortestPath_targetXhasIdXv5Id_v6IdXX: [function({g, vid6, vid5, vid1}) { return g.V(vid1).identity().shortestPath().with_("~tinkerpop.shortestPath.target",__.hasId(vid5,vid6)) }], 
+    g_VX5X_shortestPath_edgesIncluded_edgesXINX_targetXhasIdXv1IdXX: [function({g, vid5, vid1}) { return g.V(vid5).identity().shortestPath().with_("~tinkerpop.shortestPath.includeEdges").with_("~tinkerpop.shortestPath.edges",Direction.IN).with_("~tinkerpop.shortestPath.target",__.hasId(vid1)) }], 
+    g_VX2X_shortestPath_targetXhasIdXv6IdXX_maxDistanceX2X: [function({g, vid6, vid2}) { return g.V(vid2).identity().shortestPath().with_("~tinkerpop.shortestPath.target",__.hasId(vid6)).with_("~tinkerpop.shortestPath.maxDistance",2) }], 
     g_V_age_sum: [function({g}) { return g.V().values("age").sum() }], 
     g_V_foo_sum: [function({g}) { return g.V().values("foo").sum() }], 
     g_V_age_fold_sumXlocalX: [function({g}) { return g.V().values("age").fold().sum(Scope.local) }], 
@@ -819,16 +819,19 @@ traversalStrategy
 //  | 'ElementIdStrategy' - not supported as the configuration takes a lambda
 //  | 'EventStrategy' - not supported as there is no way to send events back to the client
 //  | 'HaltedTraverserStrategy' - not supported as it is not typically relevant to OLTP
+    : NEW 'MemoryLimitStrategy' LPAREN traversalStrategyArgs_MemoryLimitStrategy? RPAREN
 //  | 'OptionsStrategy' - not supported as it's internal to with()
-    : NEW 'PartitionStrategy' LPAREN traversalStrategyArgs_PartitionStrategy? (COMMA traversalStrategyArgs_PartitionStrategy)* RPAREN
+    | NEW 'PartitionStrategy' LPAREN traversalStrategyArgs_PartitionStrategy? (COMMA traversalStrategyArgs_PartitionStrategy)* RPAREN
 //  | 'RequirementStrategy' - not supported as it's internally relevant only
 //  | 'SackStrategy' - not supported directly as it's internal to withSack()
     | NEW 'SeedStrategy' LPAREN 'seed' COLON integerLiteral RPAREN
 //  | 'SideEffectStrategy' - not supported directly as it's internal to withSideEffect()
+    | NEW 'SpillStrategy' LPAREN traversalStrategyArgs_SpillStrategy? RPAREN
     | NEW 'SubgraphStrategy' LPAREN traversalStrategyArgs_SubgraphStrategy? (COMMA traversalStrategyArgs_SubgraphStrategy)* RPAREN
 //  | 'MatchAlgorithmStrategy' - not supported directly as it's internal to match()
 //  | 'ProfileStrategy' - not supported directly as it's internal to profile()
 //  | 'ReferenceElementStrategy' - not supported directly as users really can't/shouldn't change this in our context of a remote Gremlin provider
+    | NEW 'BatchStrategy' LPAREN traversalStrategyArgs_BatchStrategy? RPAREN
 //  | 'AdjacentToIncidentStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'ByModulatorOptimizationStrategy' - not supported as it is a default strategy and we don't allow removal at this time
     | NEW? 'ProductiveByStrategy' (LPAREN traversalStrategyArgs_ProductiveByStrategy? RPAREN)?
@@ -856,6 +859,10 @@ traversalStrategyArgs_ProductiveByStrategy
     : 'productiveKeys' COLON stringLiteralList
     ;
 
+traversalStrategyArgs_MemoryLimitStrategy
+    : 'memoryLimit' COLON integerLiteral
+    ;
+
 traversalStrategyArgs_PartitionStrategy
     : 'includeMetaProperties' COLON booleanLiteral
     | 'writePartition' COLON stringBasedLiteral
@@ -863,6 +870,15 @@ traversalStrategyArgs_PartitionStrategy
     | 'readPartitions' COLON stringLiteralList
     ;
 
+// 'directory' is not supported as the directory the server spills to is not for a remote client to choose
+traversalStrategyArgs_SpillStrategy
+    : 'maxMemory' COLON integerLiteral
+    ;
+
+traversalStrategyArgs_BatchStrategy
+    : 'batchSize' COLON integerLiteral
+    ;
+
 traversalStrategyArgs_SubgraphStrategy
     : 'vertices' COLON nestedTraversal
     | 'edges' COLON nestedTraversal
@@ -52,6 +52,13 @@ class HaltedTraverserStrategy(TraversalStrategy):
             self.configuration["haltedTraverserFactory"] = halted_traverser_factory
 
 
+class MemoryLimitStrategy(TraversalStrategy):
+    def __init__(self, memory_limit=None):
+        TraversalStrategy.__init__(self, fqcn=decoration_namespace + 'MemoryLimitStrategy')
+        if memory_limit is not None:
+            self.configuration["memoryLimit"] = memory_limit
+
+
 class OptionsStrategy(TraversalStrategy):
     def __init__(self, options=None):
         TraversalStrategy.__init__(self, configuration=options, fqcn=decoration_namespace + 'OptionsStrategy')
@@ -76,6 +83,13 @@ class SeedStrategy(TraversalStrategy):
         self.configuration["seed"] = seed
 
 
+class SpillStrategy(TraversalStrategy):
+    def __init__(self, max_memory=None):
+        TraversalStrategy.__init__(self, fqcn=decoration_namespace + 'SpillStrategy')
+        if max_memory is not None:
+            self.configuration["maxMemory"] = max_memory
+
+
 class SubgraphStrategy(TraversalStrategy):
 
     def __init__(self, vertices=None, edges=None, vertex_properties=None, check_adjacent_vertices=None):
@@ -114,6 +128,13 @@ class VertexProgramStrategy(TraversalStrategy):
 # FINALIZATION STRATEGIES #
 ###########################
 
+class BatchStrategy(TraversalStrategy):
+    def __init__(self, batch_size=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'BatchStrategy')
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
 class MatchAlgorithmStrategy(TraversalStrategy):
     def __init__(self, match_algorithm=None):
         TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'MatchAlgorithmStrategy')
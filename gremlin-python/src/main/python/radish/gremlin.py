@@ -811,6 +811,9 @@ world.gremlins = {
     'g_V_hasXsong_name_MIGHT_AS_WELLX_shortestPath_targetXhasXsong_name_MAYBE_YOU_KNOW_HOW_I_FEELXX_edgesXoutEXfollowedByXX_distanceXweightX': [(lambda g:g.V().has('song','name','MIGHT AS WELL').shortestPath().with_('~tinkerpop.shortestPath.target',__.has('song','name','MAYBE YOU KNOW HOW I FEEL')).with_('~tinkerpop.shortestPath.edges',__.outE('followedBy')).with_('~tinkerpop.shortestPath.distance','weight'))], 
     'g_V_hasXname_markoX_shortestPath_maxDistanceX1X': [(lambda g:g.V().has('name','marko').shortestPath().with_('~tinkerpop.shortestPath.maxDistance',1))], 
     'g_V_hasXname_vadasX_shortestPath_distanceXweightX_maxDistanceX1_3X': [(lambda g:g.V().has('name','vadas').shortestPath().with_('~tinkerpop.shortestPath.distance','weight').with_('~tinkerpop.shortestPath.maxDistance',float(1.3)))], 
+    'g_VX1X_shortestPath_targetXhasIdXv5Id_v6IdXX': [(lambda g, vid6=None,vid5=None,vid1=None:g.V(vid1).identity().shortestPath().with_('~tinkerpop.shortestPath.target',__.hasId(vid5,vid6)))], 
+    'g_VX5X_shortestPath_edgesIncluded_edgesXINX_targetXhasIdXv1IdXX': [(lambda g, vid5=None,vid1=None:g.V(vid5).identity().shortestPath().with_('~tinkerpop.shortestPath.includeEdges').with_('~tinkerpop.shortestPath.edges',Direction.IN).with_('~tinkerpop.shortestPath.target',__.hasId(vid1)))], 
+    'g_VX2X_shortestPath_targetXhasIdXv6IdXX_maxDistanceX2X': [(lambda g, vid6=None,vid2=None:g.V(vid2).identity().shortestPath().with_('~tinkerpop.shortestPath.target',__.hasId(vid6)).with_('~tinkerpop.shortestPath.maxDistance',2))], 
     'g_V_age_sum': [(lambda g:g.V().age.sum_())], 
     'g_V_foo_sum': [(lambda g:g.V().foo.sum_())], 
     'g_V_age_fold_sumXlocalX': [(lambda g:g.V().age.fold().sum_(Scope.local))], 
@@ -26,6 +26,8 @@ import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptChecker;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MemoryTracker;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.WsUserAgentHandler;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -52,6 +54,7 @@ public class Context {
     private final ScheduledExecutorService scheduledExecutorService;
     private final AtomicBoolean finalResponseWritten = new AtomicBoolean();
     private final long requestTimeout;
+    private final long requestMemoryLimit;
     private final RequestContentType requestContentType;
     private final Object gremlinArgument;
     private final AtomicBoolean startedResponse = new AtomicBoolean(false);
@@ -90,6 +93,7 @@ public class Context {
         this.gremlinArgument = requestMessage.getArgs().get(Tokens.ARGS_GREMLIN);
         this.requestContentType = determineRequestContents();
         this.requestTimeout = determineTimeout();
+        this.requestMemoryLimit = determineMemoryLimit();
     }
 
     /**
@@ -102,6 +106,27 @@ public class Context {
         return requestTimeout;
     }
 
+    /**
+     * The number of bytes that a traversal of the request may be estimated to hold. It is provided by
+     * {@link Tokens#ARGS_MEMORY_LIMIT} on the request and otherwise by {@link Settings#memoryLimit}, where {@code 0}
+     * means that there is no limit.
+     */
+    public long getRequestMemoryLimit() {
+        return requestMemoryLimit;
+    }
+
+    /**
+     * Limits the memory that the traversal may be estimated to hold to {@link #getRequestMemoryLimit()}, unless the
+     * traversal was given a lower limit already. It is to be called before the traversal is iterated and, for
+     * bytecode, after the traversal is cached so that the limit of one request is not kept for the next.
+     */
+    public void applyMemoryLimit(final Traversal.Admin<?, ?> traversal) {
+        if (requestMemoryLimit <= 0) return;
+        final MemoryTracker tracker = traversal.getSideEffects().getMemoryTracker();
+        if (null == tracker || tracker.getLimit() > requestMemoryLimit)
+            traversal.getSideEffects().setMemoryTracker(new MemoryTracker(requestMemoryLimit));
+    }
+
     public boolean isFinalResponseWritten() {
         return this.finalResponseWritten.get();
     }
@@ -270,4 +295,10 @@ public class Context {
 
         return timeoutDefinedInScript.orElse(seto);
     }
+
+    private long determineMemoryLimit() {
+        final Map<String, Object> args = requestMessage.getArgs();
+        return args.containsKey(Tokens.ARGS_MEMORY_LIMIT) ?
+                ((Number) args.get(Tokens.ARGS_MEMORY_LIMIT)).longValue() : settings.getMemoryLimit();
+    }
 }
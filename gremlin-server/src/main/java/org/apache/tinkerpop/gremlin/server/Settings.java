@@ -112,6 +112,12 @@ public class Settings {
      */
     public long evaluationTimeout = 30000L;
 
+    /**
+     * Number of bytes that a traversal of a request (script or bytecode) may be estimated to hold in its barriers and
+     * side-effects before it fails. Defaults to 0 which means no limit.
+     */
+    public long memoryLimit = 0L;
+
     /**
      * Number of items in a particular resultset to iterate and serialize prior to pushing the data down the wire
      * to the client.
@@ -318,6 +324,10 @@ public class Settings {
         return evaluationTimeout;
     }
 
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
+
     /**
      * Read configuration from a file into a new {@link Settings} object.
      *
@@ -425,8 +425,11 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         final RequestMessage msg = sessionTask.getRequestMessage();
         final Map<String, Object> args = msg.getArgs();
         final String language = args.containsKey(Tokens.ARGS_LANGUAGE) ? (String) args.get(Tokens.ARGS_LANGUAGE) : "gremlin-groovy";
-        return IteratorUtils.asIterator(getScriptEngine(sessionTask, language).eval(
-                script, mergeBindingsFromRequest(sessionTask, getWorkerBindings())));
+        final Object result = getScriptEngine(sessionTask, language).eval(
+                script, mergeBindingsFromRequest(sessionTask, getWorkerBindings()));
+        if (result instanceof Traversal)
+            sessionTask.applyMemoryLimit(((Traversal<?, ?>) result).asAdmin());
+        return IteratorUtils.asIterator(result);
     }
 
     /**
@@ -463,6 +466,7 @@ public abstract class AbstractSession implements Session, AutoCloseable {
 
             // compile the traversal - without it getEndStep() has nothing in it
             traversal.applyStrategies();
+            sessionTask.applyMemoryLimit(traversal);
 
             return Optional.of(new TraverserIterator(traversal));
         }
@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
@@ -250,6 +251,8 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                     }
                 })
                 .withResult(o -> {
+                    if (o instanceof Traversal)
+                        ctx.applyMemoryLimit(((Traversal<?, ?>) o).asAdmin());
                     final Iterator itty = IteratorUtils.asIterator(o);
 
                     logger.debug("Preparing to iterate results from - {} - in thread [{}]", msg, Thread.currentThread().getName());
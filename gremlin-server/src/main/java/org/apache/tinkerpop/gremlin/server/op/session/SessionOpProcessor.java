@@ -415,6 +415,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                 try {
                     // compile the traversal - without it getEndStep() has nothing in it
                     traversal.applyStrategies();
+                    context.applyMemoryLimit(traversal);
                     handleIterator(context, new TraverserIterator(traversal), graph);
                 } catch (Exception ex) {
                     Throwable t = ex;
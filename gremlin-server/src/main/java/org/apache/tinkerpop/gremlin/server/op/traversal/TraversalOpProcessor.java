@@ -18,7 +18,10 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
@@ -27,11 +30,14 @@ import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Failure;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
@@ -56,6 +62,7 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +71,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -80,6 +88,29 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
+    /**
+     * Configuration setting for the number of traversals, with strategies already applied, to keep so that requests
+     * with the same bytecode for the same traversal source can skip translation and strategy application. Setting it
+     * to zero disables the cache.
+     */
+    public static final String CONFIG_TRAVERSAL_CACHE_MAX_SIZE = "traversalCacheMaxSize";
+
+    /**
+     * Default number of traversals to cache.
+     */
+    public static final long DEFAULT_TRAVERSAL_CACHE_MAX_SIZE = 1000;
+
+    static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
+
+    static {
+        DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
+        DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
+            put(CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE);
+        }};
+    }
+
+    private volatile Cache<TraversalCacheKey, Traversal.Admin<?, ?>> traversalCache = null;
+
     public TraversalOpProcessor() {
         super(false);
     }
@@ -89,9 +120,33 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         return OP_PROCESSOR_NAME;
     }
 
+    @Override
+    public void init(final Settings settings) {
+        final long maxSize = ((Number) settings.optionalProcessor(TraversalOpProcessor.class).orElse(DEFAULT_SETTINGS).config.
+                getOrDefault(CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE)).longValue();
+        // the processor is loaded once for the jvm, so a server that is started again with other settings gets a
+        // new cache or none at all rather than the one of the server before it
+        this.traversalCache = maxSize <= 0 ? null : Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+
+        // only register if metrics aren't already registered. typically only happens in testing where two gremlin
+        // server instances are running in the same jvm. the gauges read whatever cache is current for that reason
+        final String prefix = name(GremlinServer.class, "op", "traversal", "cache");
+        if (MetricManager.INSTANCE.getRegistry().getNames().stream().noneMatch(n -> n.startsWith(prefix))) {
+            MetricManager.INSTANCE.getGuage((Gauge<Long>) () -> cacheStat(Cache::estimatedSize), prefix, "estimated-size");
+            MetricManager.INSTANCE.getGuage((Gauge<Long>) () -> cacheStat(c -> c.stats().hitCount()), prefix, "hit-count");
+            MetricManager.INSTANCE.getGuage((Gauge<Long>) () -> cacheStat(c -> c.stats().missCount()), prefix, "miss-count");
+            MetricManager.INSTANCE.getGuage((Gauge<Long>) () -> cacheStat(c -> c.stats().evictionCount()), prefix, "eviction-count");
+        }
+    }
+
+    private long cacheStat(final Function<Cache<TraversalCacheKey, Traversal.Admin<?, ?>>, Long> stat) {
+        final Cache<TraversalCacheKey, Traversal.Admin<?, ?>> cache = this.traversalCache;
+        return null == cache ? 0L : stat.apply(cache);
+    }
+
     @Override
     public void close() throws Exception {
-        // do nothing = no resources to release
+        if (traversalCache != null) traversalCache.invalidateAll();
     }
 
     @Override
@@ -178,10 +233,19 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final String traversalSourceName = aliases.entrySet().iterator().next().getValue();
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
+        // a cached traversal has its strategies applied already, so a hit skips translation and strategy application
+        // and only has to be cloned. strategies fold the values of the bytecode into the steps they produce, so those
+        // values are part of the key rather than being bound again to a traversal cached for the shape of the bytecode
+        final Cache<TraversalCacheKey, Traversal.Admin<?, ?>> cache = this.traversalCache;
+        final TraversalCacheKey cacheKey = null != cache && isCacheable(bytecode) ? new TraversalCacheKey(g, bytecode) : null;
+        final Traversal.Admin<?, ?> cached = null == cacheKey ? null : cache.getIfPresent(cacheKey);
+
         final Traversal.Admin<?, ?> traversal;
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
+            if (cached != null)
+                traversal = copyOf(cached);
+            else if (!lambdaLanguage.isPresent())
                 traversal = JavaTranslator.of(g).translate(bytecode);
             else
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
@@ -217,8 +281,13 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 beforeProcessing(graph, context);
 
                 try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
+                    // compile the traversal - without it getEndStep() has nothing in it. a copy is cached before
+                    // iteration changes the state of the steps
+                    if (!traversal.isLocked()) {
+                        traversal.applyStrategies();
+                        if (cacheKey != null) cache.put(cacheKey, traversal.clone());
+                    }
+                    context.applyMemoryLimit(traversal);
                     handleIterator(context, new TraverserIterator(traversal), graph);
                 } catch (Exception ex) {
                     Throwable t = ex;
@@ -304,6 +373,40 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
     }
 
+    /**
+     * Determines if the traversal for the bytecode can be served from a cached copy. Lambdas are excluded as they are
+     * evaluated by a script engine, and side-effects given to the traversal source are excluded as their initial
+     * values would be shared by every copy of the traversal. OLAP traversals are excluded as well, whether they come
+     * as {@code withComputer()} or as the {@link VertexProgramStrategy} that a remote {@code withComputer()} sends.
+     */
+    private static boolean isCacheable(final Bytecode bytecode) {
+        if (BytecodeHelper.getLambdaLanguage(bytecode).isPresent())
+            return false;
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            if (instruction.getOperator().equals(TraversalSource.Symbols.withSideEffect) ||
+                    instruction.getOperator().equals(TraversalSource.Symbols.withComputer))
+                return false;
+            if (instruction.getOperator().equals(TraversalSource.Symbols.withStrategies)) {
+                for (final Object argument : instruction.getArguments()) {
+                    if (argument instanceof VertexProgramStrategy || (argument instanceof TraversalStrategyProxy &&
+                            VertexProgramStrategy.class.equals(((TraversalStrategyProxy<?>) argument).getStrategyClass())))
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clones a cached traversal. Children clone their own side-effects so they are pointed back at those of the
+     * clone as strategy application would have done.
+     */
+    private static Traversal.Admin<?, ?> copyOf(final Traversal.Admin<?, ?> cached) {
+        final Traversal.Admin<?, ?> traversal = cached.clone();
+        TraversalHelper.applyTraversalRecursively(t -> t.setSideEffects(traversal.getSideEffects()), traversal);
+        return traversal;
+    }
+
     protected void beforeProcessing(final Graph graph, final Context ctx) {
       final GraphManager graphManager = ctx.getGraphManager();
       final RequestMessage msg = ctx.getRequestMessage();
@@ -463,4 +566,33 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             }
         }
     }
+
+    /**
+     * Identifies a traversal by the bytecode it was translated from and the {@link TraversalSource} it was spawned
+     * from, which is compared by identity so that replacing a traversal source does not serve traversals of the old one.
+     */
+    private static final class TraversalCacheKey {
+        private final TraversalSource source;
+        private final Bytecode bytecode;
+        private final int hashCode;
+
+        private TraversalCacheKey(final TraversalSource source, final Bytecode bytecode) {
+            this.source = source;
+            this.bytecode = bytecode;
+            this.hashCode = 31 * System.identityHashCode(source) + bytecode.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TraversalCacheKey)) return false;
+            final TraversalCacheKey that = (TraversalCacheKey) o;
+            return source == that.source && hashCode == that.hashCode && bytecode.equals(that.bytecode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -35,6 +35,7 @@ import com.codahale.metrics.graphite.GraphiteReporter;
 import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.slf4j.Logger;
@@ -442,8 +443,9 @@ public enum MetricManager {
 
     /**
      * Registers metrics from a {@link GremlinScriptEngine}. At this point, this only works for the
-     * {@link GremlinGroovyScriptEngine} as it is the only one that collects metrics at this point. As the
-     * {@link GremlinScriptEngine} implementations achieve greater parity these metrics will get expanded.
+     * {@link GremlinGroovyScriptEngine}, which reports on its class cache, and the {@link GremlinLangScriptEngine},
+     * which reports on its cache of parsed scripts. As the {@link GremlinScriptEngine} implementations achieve greater
+     * parity these metrics will get expanded.
      */
     public void registerGremlinScriptEngineMetrics(final GremlinScriptEngine engine, final String... prefix) {
         // only register if metrics aren't already registered. typically only happens in testing where two gremlin
@@ -496,6 +498,20 @@ public enum MetricManager {
             getRegistry().register(
                     MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "total-load-time")),
                     (Gauge<Long>) gremlinGroovyScriptEngine::getClassCacheTotalLoadTime);
+        } else if (engine instanceof GremlinLangScriptEngine && getRegistry().getNames().stream().noneMatch(n -> n.startsWith(MetricRegistry.name(GremlinServer.class, prefix)))) {
+            final GremlinLangScriptEngine gremlinLangScriptEngine = (GremlinLangScriptEngine) engine;
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "estimated-size")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getQueryCacheEstimatedSize);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "eviction-count")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getQueryCacheEvictionCount);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-count")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getQueryCacheHitCount);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "miss-count")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getQueryCacheMissCount);
         }
     }
 }
@@ -52,8 +52,11 @@ import org.apache.tinkerpop.gremlin.structure.RemoteGraph;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.MemoryLimitStrategy;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.channel.TestChannelizer;
 import org.apache.tinkerpop.gremlin.server.channel.UnifiedChannelizer;
 import org.apache.tinkerpop.gremlin.server.channel.UnifiedTestChannelizer;
@@ -76,6 +79,7 @@ import org.junit.Test;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -93,7 +97,9 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_EVAL_TIMEOUT;
+import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_MEMORY_LIMIT;
 import static org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC;
 import static org.apache.tinkerpop.gremlin.process.remote.RemoteConnection.GREMLIN_REMOTE;
 import static org.apache.tinkerpop.gremlin.process.remote.RemoteConnection.GREMLIN_REMOTE_CONNECTION_CLASS;
@@ -243,6 +249,14 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldTimeOutRemoteTraversal":
                 settings.evaluationTimeout = 500;
                 break;
+            case "shouldNotCacheTraversalsWhenTraversalCacheIsDisabled":
+                final Settings.ProcessorSettings processorSettingsNoCache = new Settings.ProcessorSettings();
+                processorSettingsNoCache.className = TraversalOpProcessor.class.getName();
+                processorSettingsNoCache.config = new HashMap<String,Object>() {{
+                    put(TraversalOpProcessor.CONFIG_TRAVERSAL_CACHE_MAX_SIZE, 0);
+                }};
+                settings.processors.add(processorSettingsNoCache);
+                break;
             case "shouldPingChannelIfClientDies":
                 settings.keepAliveInterval = 1000;
                 break;
@@ -522,6 +536,138 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         g.close();
     }
 
+    @Test
+    public void shouldFailRemoteTraversalThatExceedsPerRequestMemoryLimit() throws Exception {
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        final Integer[] numbers = IntStream.range(0, 1000).boxed().toArray(Integer[]::new);
+
+        try {
+            g.with(ARGS_MEMORY_LIMIT, 1024L).inject(numbers).fold().iterate();
+            fail("This traversal should have exceeded its memory limit");
+        } catch (Exception ex) {
+            final Throwable t = ex.getCause();
+            assertThat(t, instanceOf(ResponseException.class));
+            assertEquals(ResponseStatusCode.SERVER_ERROR, ((ResponseException) t).getResponseStatusCode());
+            assertThat(t.getMessage(), containsString("exceeds its limit of 1024 bytes"));
+        }
+
+        try {
+            g.withStrategies(MemoryLimitStrategy.build().memoryLimit(1024L).create()).inject(numbers).fold().iterate();
+            fail("This traversal should have exceeded its memory limit");
+        } catch (Exception ex) {
+            final Throwable t = ex.getCause();
+            assertThat(t, instanceOf(ResponseException.class));
+            assertEquals(ResponseStatusCode.SERVER_ERROR, ((ResponseException) t).getResponseStatusCode());
+            assertThat(t.getMessage(), containsString("exceeds its limit of 1024 bytes"));
+        }
+
+        // without a limit on the request the same traversal completes
+        assertEquals(1000, g.inject(numbers).fold().next().size());
+
+        g.close();
+    }
+
+    @Test
+    public void shouldReturnSameResultsFromCachedTraversal() throws Exception {
+        // the traversal cache belongs to the TraversalOpProcessor which the UnifiedChannelizer doesn't use
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final Cluster cluster = TestClientFactory.open();
+        final GraphTraversalSource g = traversal().withRemote(DriverRemoteConnection.using(cluster, "gmodern"));
+
+        final List<Object> miss = g.V().has("person", "name", "josh").out("created").values("name").order().toList();
+        assertEquals(1L, getTraversalCacheStat("miss-count"));
+        assertEquals(0L, getTraversalCacheStat("hit-count"));
+
+        // iterating the first traversal must not have changed the copy in the cache
+        assertEquals(miss, g.V().has("person", "name", "josh").out("created").values("name").order().toList());
+        assertEquals(miss, g.V().has("person", "name", "josh").out("created").values("name").order().toList());
+        assertEquals(1L, getTraversalCacheStat("miss-count"));
+        assertEquals(2L, getTraversalCacheStat("hit-count"));
+        assertEquals(1L, getTraversalCacheStat("estimated-size"));
+
+        // the values of the bytecode are part of the key so other arguments are not served the cached traversal
+        assertEquals(1L, g.V().has("person", "name", "marko").out("created").values("name").order().toList().size());
+        assertEquals(2L, getTraversalCacheStat("miss-count"));
+        assertEquals(2L, getTraversalCacheStat("hit-count"));
+
+        g.close();
+        cluster.close();
+    }
+
+    @Test
+    public void shouldNotCacheTraversalsWithSideEffectsComputerOrLambdas() throws Exception {
+        // the traversal cache belongs to the TraversalOpProcessor which the UnifiedChannelizer doesn't use
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final Cluster cluster = TestClientFactory.open();
+        final GraphTraversalSource g = traversal().withRemote(DriverRemoteConnection.using(cluster, "gmodern"));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(6L, g.withSideEffect("x", 1).V().count().next().longValue());
+            assertEquals(6L, g.withComputer().V().count().next().longValue());
+            assertEquals(5, g.V().has("person", "name", "marko").map(Lambda.function("it.get().value('name').length()")).next());
+        }
+
+        assertEquals(0L, getTraversalCacheStat("miss-count"));
+        assertEquals(0L, getTraversalCacheStat("hit-count"));
+        assertEquals(0L, getTraversalCacheStat("estimated-size"));
+
+        g.close();
+        cluster.close();
+    }
+
+    @Test
+    public void shouldNotShareCachedTraversalsAcrossTraversalSources() throws Exception {
+        // the traversal cache belongs to the TraversalOpProcessor which the UnifiedChannelizer doesn't use
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final Cluster cluster = TestClientFactory.open();
+        final GraphTraversalSource gmodern = traversal().withRemote(DriverRemoteConnection.using(cluster, "gmodern"));
+        final GraphTraversalSource gcrew = traversal().withRemote(DriverRemoteConnection.using(cluster, "gcrew"));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Arrays.asList("josh", "marko", "peter", "vadas"),
+                    gmodern.V().hasLabel("person").values("name").order().toList());
+            assertEquals(Arrays.asList("daniel", "marko", "matthias", "stephen"),
+                    gcrew.V().hasLabel("person").values("name").order().toList());
+        }
+
+        assertEquals(2L, getTraversalCacheStat("miss-count"));
+        assertEquals(2L, getTraversalCacheStat("hit-count"));
+        assertEquals(2L, getTraversalCacheStat("estimated-size"));
+
+        gmodern.close();
+        gcrew.close();
+        cluster.close();
+    }
+
+    @Test
+    public void shouldNotCacheTraversalsWhenTraversalCacheIsDisabled() throws Exception {
+        // the traversal cache belongs to the TraversalOpProcessor which the UnifiedChannelizer doesn't use
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final Cluster cluster = TestClientFactory.open();
+        final GraphTraversalSource g = traversal().withRemote(DriverRemoteConnection.using(cluster, "gmodern"));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Arrays.asList("lop", "ripple"),
+                    g.V().has("person", "name", "josh").out("created").values("name").order().toList());
+        }
+
+        assertEquals(0L, getTraversalCacheStat("miss-count"));
+        assertEquals(0L, getTraversalCacheStat("hit-count"));
+        assertEquals(0L, getTraversalCacheStat("estimated-size"));
+
+        g.close();
+        cluster.close();
+    }
+
+    private static long getTraversalCacheStat(final String stat) {
+        return (Long) MetricManager.INSTANCE.getRegistry().getGauges().
+                get(name(GremlinServer.class, "op", "traversal", "cache", stat)).getValue();
+    }
+
     @Test
     public void shouldProduceProperExceptionOnTimeout() throws Exception {
         // this test will not work quite right on UnifiedChannelizer
@@ -917,6 +1063,23 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReceiveFailureOnEvalThatExceedsMemoryLimitOverride() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final RequestMessage msg = RequestMessage.build("eval")
+                    .addArg(Tokens.ARGS_MEMORY_LIMIT, 1024L)
+                    .addArg(Tokens.ARGS_GREMLIN, "g.inject((0..<1000).toArray()).fold()")
+                    .create();
+            final List<ResponseMessage> responses = client.submit(msg);
+            assertEquals(ResponseStatusCode.SERVER_ERROR_EVALUATION, responses.get(0).getStatus().getCode());
+            assertThat(responses.get(0).getStatus().getMessage(), containsString("exceeds its limit of 1024 bytes"));
+
+            // validate that the same script succeeds without the limit
+            assertEquals(1000, ((List<List<Integer>>) client.submit("g.inject((0..<1000).toArray()).fold()").get(0).getResult().getData()).get(0).size());
+        }
+    }
+
     @Test
     public void shouldReceiveFailureTimeOutOnScriptEvalOfOutOfControlLoop() throws Exception {
         try (SimpleClient client = TestClientFactory.createWebSocketClient()){
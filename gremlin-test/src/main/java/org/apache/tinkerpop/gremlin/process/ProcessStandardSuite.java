@@ -71,6 +71,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProjectTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.ReadTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.UnfoldTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.ValueMapTest;
@@ -169,6 +170,7 @@ public class ProcessStandardSuite extends AbstractGremlinSuite {
             PropertiesTest.Traversals.class,
             ReadTest.Traversals.class,
             SelectTest.Traversals.class,
+            ShortestPathTest.Traversals.class,
             VertexTest.Traversals.class,
             UnfoldTest.Traversals.class,
             ValueMapTest.Traversals.class,
@@ -264,6 +266,7 @@ public class ProcessStandardSuite extends AbstractGremlinSuite {
             ProfileTest.class,
             ProjectTest.class,
             SelectTest.class,
+            ShortestPathTest.class,
             VertexTest.class,
             UnfoldTest.class,
             ValueMapTest.class,
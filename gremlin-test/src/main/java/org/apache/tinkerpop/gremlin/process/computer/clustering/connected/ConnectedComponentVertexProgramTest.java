@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.connected;
+
+import org.apache.tinkerpop.gremlin.FeatureRequirement;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+
+public class ConnectedComponentVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = Graph.Features.VertexFeatures.FEATURE_ADD_VERTICES)
+    @FeatureRequirement(featureClass = Graph.Features.EdgeFeatures.class, feature = Graph.Features.EdgeFeatures.FEATURE_ADD_EDGES)
+    public void shouldExecuteConnectedComponentWithWarmStart() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.ORIGINAL, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final Vertex stephen = graph.addVertex("name", "stephen");
+            final Vertex daniel = graph.addVertex("name", "daniel");
+            stephen.addEdge("knows", daniel);
+            graphProvider.getGraphComputer(graph).program(ConnectedComponentVertexProgram.build().create(graph)).
+                    result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            assertEquals(2, g.V().values(ConnectedComponentVertexProgram.COMPONENT).dedup().count().next().intValue());
+
+            // join the two components and add a vertex that is a component of its own
+            daniel.addEdge("knows", g.V().has("name", "vadas").next());
+            graph.addVertex("name", "kuppitz");
+
+            final ComputerResult cold = graphProvider.getGraphComputer(graph).
+                    program(ConnectedComponentVertexProgram.build().property("coldComponent").create(graph)).
+                    result(GraphComputer.ResultGraph.NEW).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            final Map<String, String> coldComponents = new HashMap<>();
+            cold.graph().traversal().V().forEachRemaining(v -> coldComponents.put(v.value("name"), v.value("coldComponent")));
+            assertEquals(2, new HashSet<>(coldComponents.values()).size());
+
+            final ComputerResult warm = graphProvider.getGraphComputer(graph).
+                    program(ConnectedComponentVertexProgram.build().warmStart(true).create(graph)).
+                    result(GraphComputer.ResultGraph.NEW).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            assertEquals(9, IteratorUtils.count(warm.graph().vertices()));
+            warm.graph().traversal().V().forEachRemaining(v -> {
+                assertEquals(1, IteratorUtils.count(v.values(ConnectedComponentVertexProgram.COMPONENT)));
+                assertEquals(coldComponents.get(v.<String>value("name")), v.value(ConnectedComponentVertexProgram.COMPONENT));
+            });
+        }
+    }
+}
@@ -18,13 +18,19 @@
  */
 package org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank;
 
+import org.apache.tinkerpop.gremlin.FeatureRequirement;
 import org.apache.tinkerpop.gremlin.LoadGraphWith;
 import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -104,6 +110,69 @@ public class PageRankVertexProgramTest extends AbstractGremlinProcessTest {
         }
     }
 
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecutePageRankInDeltaMode() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().delta(0.00001d).epsilon(0.00001d).iterations(30).create(graph)).submit().get();
+            result.graph().traversal().V().forEachRemaining(v -> {
+                assertEquals(3, v.keys().size()); // name, age/lang, pageRank
+                assertEquals(1, IteratorUtils.count(v.values(PageRankVertexProgram.PAGE_RANK)));
+                final String name = v.value("name");
+                final Double pageRank = v.value(PageRankVertexProgram.PAGE_RANK);
+                if (name.equals("marko"))
+                    assertTrue(pageRank > 0.10 && pageRank < 0.12);
+                else if (name.equals("vadas"))
+                    assertTrue(pageRank > 0.13 && pageRank < 0.15);
+                else if (name.equals("lop"))
+                    assertTrue(pageRank > 0.29 && pageRank < 0.31);
+                else if (name.equals("josh"))
+                    assertTrue(pageRank > 0.13 && pageRank < 0.15);
+                else if (name.equals("ripple"))
+                    assertTrue(pageRank > 0.16 && pageRank < 0.18);
+                else if (name.equals("peter"))
+                    assertTrue(pageRank > 0.10 && pageRank < 0.12);
+                else
+                    throw new IllegalStateException("The following vertex should not exist in the graph: " + name);
+            });
+            final double sum = result.graph().traversal().V().values(PageRankVertexProgram.PAGE_RANK).sum().next().doubleValue();
+            assertEquals(1.0d, sum, 0.01d);
+            assertEquals(result.memory().asMap().size(), 0);
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = Graph.Features.VertexFeatures.FEATURE_ADD_VERTICES)
+    @FeatureRequirement(featureClass = Graph.Features.EdgeFeatures.class, feature = Graph.Features.EdgeFeatures.FEATURE_ADD_EDGES)
+    public void shouldExecutePageRankWithWarmStart() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.ORIGINAL, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            graphProvider.getGraphComputer(graph).program(PageRankVertexProgram.build().create(graph)).
+                    result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+
+            // a new vertex and a new edge between vertices that had a rank
+            final Vertex stephen = graph.addVertex("name", "stephen");
+            stephen.addEdge("knows", g.V().has("name", "marko").next());
+            g.V().has("name", "peter").next().addEdge("created", g.V().has("name", "ripple").next());
+
+            final ComputerResult cold = graphProvider.getGraphComputer(graph).
+                    program(PageRankVertexProgram.build().property("coldRank").epsilon(0.0000001d).iterations(100).create(graph)).
+                    result(GraphComputer.ResultGraph.NEW).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            final Map<String, Double> coldRanks = new HashMap<>();
+            cold.graph().traversal().V().forEachRemaining(v -> coldRanks.put(v.value("name"), v.value("coldRank")));
+
+            final ComputerResult warm = graphProvider.getGraphComputer(graph).
+                    program(PageRankVertexProgram.build().warmStart(true).epsilon(0.0000001d).iterations(100).create(graph)).
+                    result(GraphComputer.ResultGraph.NEW).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            assertEquals(7, IteratorUtils.count(warm.graph().vertices()));
+            warm.graph().traversal().V().forEachRemaining(v -> {
+                assertEquals(1, IteratorUtils.count(v.values(PageRankVertexProgram.PAGE_RANK)));
+                assertEquals(coldRanks.get(v.<String>value("name")), v.value(PageRankVertexProgram.PAGE_RANK), 0.00001d);
+            });
+        }
+    }
+
     @Test
     @LoadGraphWith(MODERN)
     public void shouldExecutePageRankWithEnergyConservation() throws Exception {
@@ -32,6 +32,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -88,6 +89,12 @@ public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
 
     public abstract Traversal<Vertex, Path> get_g_V_hasXname_vadasX_shortestPath_distanceXweightX_maxDistanceX1_3X();
 
+    public abstract Traversal<Vertex, Path> get_g_VX1X_shortestPath_targetXhasIdXv5Id_v6IdXX(final Object v1Id, final Object v5Id, final Object v6Id);
+
+    public abstract Traversal<Vertex, Path> get_g_VX5X_shortestPath_edgesIncluded_edgesXINX_targetXhasIdXv1IdXX(final Object v5Id, final Object v1Id);
+
+    public abstract Traversal<Vertex, Path> get_g_VX2X_shortestPath_targetXhasIdXv6IdXX_maxDistanceX2X(final Object v2Id, final Object v6Id);
+
     @Test
     @LoadGraphWith(MODERN)
     public void g_V_shortestPath() {
@@ -262,6 +269,36 @@ public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
         checkResults(expected, traversal);
     }
 
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_shortestPath_targetXhasIdXv5Id_v6IdXX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX1X_shortestPath_targetXhasIdXv5Id_v6IdXX(
+                convertToVertexId("marko"), convertToVertexId("ripple"), convertToVertexId("peter"));
+        printTraversalForm(traversal);
+        final List<Path> expected = Arrays.stream(ALL_SHORTEST_PATHS)
+                .filter(p -> p[0].equals("marko") && Arrays.asList("ripple", "peter").contains(p[p.length - 1]))
+                .map(helper::makePath).collect(Collectors.toList());
+        checkResults(expected, traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX5X_shortestPath_edgesIncluded_edgesXINX_targetXhasIdXv1IdXX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX5X_shortestPath_edgesIncluded_edgesXINX_targetXhasIdXv1IdXX(
+                convertToVertexId("ripple"), convertToVertexId("marko"));
+        printTraversalForm(traversal);
+        checkResults(Collections.singletonList(helper.makePath(true, "ripple", "josh", "marko")), traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX2X_shortestPath_targetXhasIdXv6IdXX_maxDistanceX2X() {
+        final Traversal<Vertex, Path> traversal = get_g_VX2X_shortestPath_targetXhasIdXv6IdXX_maxDistanceX2X(
+                convertToVertexId("vadas"), convertToVertexId("peter"));
+        printTraversalForm(traversal);
+        assertFalse(traversal.hasNext());
+    }
+
     public static class Traversals extends ShortestPathTest {
 
         @Override
@@ -349,5 +386,20 @@ public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
                     .with(distance, "weight")
                     .with(maxDistance, 1.3);
         }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX1X_shortestPath_targetXhasIdXv5Id_v6IdXX(final Object v1Id, final Object v5Id, final Object v6Id) {
+            return g.V(v1Id).shortestPath().with(target, __.hasId(v5Id, v6Id));
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX5X_shortestPath_edgesIncluded_edgesXINX_targetXhasIdXv1IdXX(final Object v5Id, final Object v1Id) {
+            return g.V(v5Id).shortestPath().with(includeEdges).with(edges, Direction.IN).with(target, __.hasId(v1Id));
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX2X_shortestPath_targetXhasIdXv6IdXX_maxDistanceX2X(final Object v2Id, final Object v6Id) {
+            return g.V(v2Id).shortestPath().with(target, __.hasId(v6Id)).with(maxDistance, 2);
+        }
     }
 }
\ No newline at end of file
@@ -15,7 +15,7 @@
 # specific language governing permissions and limitations
 # under the License.
 
-@GraphComputerOnly @StepClassMap @StepShortestPath
+@StepClassMap @StepShortestPath
 Feature: Step - shortestPath()
 
   Scenario: g_V_shortestPath
@@ -361,3 +361,47 @@ Feature: Step - shortestPath()
       | p[v[vadas],v[marko],v[lop]]          |
       | p[v[vadas],v[marko]]                 |
       | p[v[vadas]]                          |
+
+  Scenario: g_VX1X_shortestPath_targetXhasIdXv5Id_v6IdXX
+    Given the modern graph
+    And using the parameter vid1 defined as "v[marko].id"
+    And using the parameter vid5 defined as "v[ripple].id"
+    And using the parameter vid6 defined as "v[peter].id"
+    And the traversal of
+      """
+      g.V(vid1).shortestPath().with("~tinkerpop.shortestPath.target", __.hasId(vid5, vid6))
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result                        |
+      | p[v[marko],v[josh],v[ripple]] |
+      | p[v[marko],v[lop],v[peter]]   |
+
+  Scenario: g_VX5X_shortestPath_edgesIncluded_edgesXINX_targetXhasIdXv1IdXX
+    Given the modern graph
+    And using the parameter vid5 defined as "v[ripple].id"
+    And using the parameter vid1 defined as "v[marko].id"
+    And the traversal of
+      """
+      g.V(vid5).shortestPath().
+          with("~tinkerpop.shortestPath.includeEdges").
+          with("~tinkerpop.shortestPath.edges", Direction.IN).
+          with("~tinkerpop.shortestPath.target", __.hasId(vid1))
+      """
+    When iterated to list
+    Then the result should be unordered
+      | result                                                                      |
+      | p[v[ripple],e[josh-created->ripple],v[josh],e[marko-knows->josh],v[marko]] |
+
+  Scenario: g_VX2X_shortestPath_targetXhasIdXv6IdXX_maxDistanceX2X
+    Given the modern graph
+    And using the parameter vid2 defined as "v[vadas].id"
+    And using the parameter vid6 defined as "v[peter].id"
+    And the traversal of
+      """
+      g.V(vid2).shortestPath().
+          with("~tinkerpop.shortestPath.target", __.hasId(vid6)).
+          with("~tinkerpop.shortestPath.maxDistance", 2)
+      """
+    When iterated to list
+    Then the result should be empty
@@ -20,13 +20,17 @@ package org.apache.tinkerpop.gremlin.process;
 
 import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
 import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
 
 import java.util.List;
 import java.util.Map;
@@ -41,16 +45,43 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
 @LoadGraphWith(LoadGraphWith.GraphData.GRATEFUL)
 public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
 
+    private GraphTraversalSource batched;
+
+    @Setup
+    public void prepareBatched() {
+        batched = g.withStrategies(BatchStrategy.build().create());
+    }
+
     @Benchmark
     public List<Vertex> g_V_outE_inV_outE_inV_outE_inV() throws Exception {
         return g.V().outE().inV().outE().inV().outE().inV().toList();
     }
 
+    @Benchmark
+    public List<Vertex> g_V_outE_inV_outE_inV_outE_inV_batched() throws Exception {
+        return batched.V().outE().inV().outE().inV().outE().inV().toList();
+    }
+
     @Benchmark
     public List<Vertex> g_V_out_out_out() throws Exception {
         return g.V().out().out().out().toList();
     }
 
+    @Benchmark
+    public List<Vertex> g_V_out_out_out_batched() throws Exception {
+        return batched.V().out().out().out().toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_hasXsongType_originalX_hasXperformances_gtX10XX_out_out_valuesXnameX() throws Exception {
+        return g.V().has("songType", "original").has("performances", P.gt(10)).out().out().values("name").toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_hasXsongType_originalX_hasXperformances_gtX10XX_out_out_valuesXnameX_batched() throws Exception {
+        return batched.V().has("songType", "original").has("performances", P.gt(10)).out().out().values("name").toList();
+    }
+
     @Benchmark
     public List<Path> g_V_out_out_out_path() throws Exception {
         return g.V().out().out().out().path().toList();
@@ -66,6 +97,16 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().repeat(out()).times(3).toList();
     }
 
+    @Benchmark
+    public Long g_V_repeatXoutX_timesX5X_count() throws Exception {
+        return g.V().repeat(out()).times(5).count().next();
+    }
+
+    @Benchmark
+    public Long g_V_repeatXoutX_timesX5X_count_batched() throws Exception {
+        return batched.V().repeat(out()).times(5).count().next();
+    }
+
     @Benchmark
     public List<List<Object>> g_V_localXout_out_valuesXnameX_foldX() throws Exception {
         return g.V().local(out().out().values("name").fold()).toList();
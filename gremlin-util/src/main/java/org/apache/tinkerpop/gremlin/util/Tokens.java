@@ -76,6 +76,12 @@ public final class Tokens {
      * request to execute on the server.
      */
     public static final String ARGS_EVAL_TIMEOUT = "evaluationTimeout";
+
+    /**
+     * Argument name that allows the override of the server setting that determines the maximum number of bytes that a
+     * traversal of the request may be estimated to hold in its barriers and side-effects.
+     */
+    public static final String ARGS_MEMORY_LIMIT = "memoryLimit";
     public static final String ARGS_HOST = "host";
     public static final String ARGS_SESSION = "session";
     public static final String ARGS_MANAGE_TRANSACTION = "manageTransaction";
@@ -77,6 +77,11 @@ public final class Constants {
     public static final String SPARK_KRYO_REGISTRATOR = "spark.kryo.registrator";
     public static final String SPARK_KRYO_REGISTRATION_REQUIRED = "spark.kryo.registrationRequired";
 
+    // disk based constants
+    public static final String GREMLIN_DISK_WORKING_DIRECTORY = "gremlin.disk.workingDirectory";
+    public static final String GREMLIN_DISK_PARTITIONS = "gremlin.disk.partitions";
+    public static final String GREMLIN_DISK_MESSAGE_BUFFER_SIZE = "gremlin.disk.messageBufferSize"; // vertices with combined messages held per worker
+
     /**
      * @param location not null, not empty UNIX-formatted file system path
      * @return not empty UNIX-formatted file system path to the graph in the location, still compatible with Windows and {@code File}
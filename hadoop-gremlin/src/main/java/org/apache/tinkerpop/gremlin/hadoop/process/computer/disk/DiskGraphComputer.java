@@ -0,0 +1,489 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.disk;
+
+import org.apache.commons.configuration2.ConfigurationUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapreduce.InputFormat;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.OutputCommitter;
+import org.apache.hadoop.mapreduce.OutputFormat;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.AbstractHadoopGraphComputer;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.util.ComputerSubmissionHelper;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopConfiguration;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.FileSystemStorage;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.GraphFilterAware;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPoolShimService;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.InputOutputHelper;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
+import org.apache.tinkerpop.gremlin.process.computer.util.DefaultComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.io.Storage;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShimServiceLoader;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link GraphComputer} for a single machine whose graph does not fit on the heap. The loaded graph is hashed into
+ * partitions of {@link StarGraph} vertices that are kept in files of the working directory, and every iteration
+ * streams each partition through the vertex program while the workers of the machine take the partitions in turn.
+ * Messages are written to a file per sending and receiving partition and are read back by the receiving partition in
+ * the next iteration. Only the incoming messages of the partitions being executed are held on the heap, and so the
+ * number of partitions should be raised until those fit. The results of any {@link MapReduce} jobs are held on the
+ * heap as they are with other single machine computers.
+ */
+public final class DiskGraphComputer extends AbstractHadoopGraphComputer {
+
+    private final org.apache.commons.configuration2.Configuration diskConfiguration = new HadoopConfiguration();
+
+    public DiskGraphComputer(final HadoopGraph hadoopGraph) {
+        super(hadoopGraph);
+        this.workers = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public DiskGraphComputer configure(final String key, final Object value) {
+        this.diskConfiguration.setProperty(key, value);
+        return this;
+    }
+
+    /**
+     * Sets the number of partitions that the graph and its messages are split into. A worker holds the incoming
+     * messages of one partition at a time, so more partitions require less memory. By default, this value is four
+     * times the number of workers, and it is raised to the number of workers if it is lower so that every worker has
+     * a partition to execute.
+     */
+    public DiskGraphComputer partitions(final int partitions) {
+        return configure(Constants.GREMLIN_DISK_PARTITIONS, partitions);
+    }
+
+    /**
+     * Sets the directory under which the partitions are written. A new directory is created within it for each
+     * submission and deleted when the submission completes. By default, this value is {@code java.io.tmpdir}.
+     */
+    public DiskGraphComputer workingDirectory(final String workingDirectory) {
+        return configure(Constants.GREMLIN_DISK_WORKING_DIRECTORY, workingDirectory);
+    }
+
+    /**
+     * Sets the number of vertices with combined messages that a worker holds before writing them out. This value is
+     * only used when the {@link VertexProgram} has a {@link MessageCombiner}. By default, this value is 100000.
+     */
+    public DiskGraphComputer messageBufferSize(final int messageBufferSize) {
+        return configure(Constants.GREMLIN_DISK_MESSAGE_BUFFER_SIZE, messageBufferSize);
+    }
+
+    @Override
+    public Future<ComputerResult> submit() {
+        this.validateStatePriorToExecution();
+        // unlike a CompletableFuture, cancelling the task interrupts the submission thread which then stops the workers
+        return ComputerSubmissionHelper.runWithBackgroundThread(exec -> {
+            final FutureTask<ComputerResult> task = new FutureTask<>(this::execute);
+            exec.execute(task);
+            return task;
+        }, "DiskSubmitter");
+    }
+
+    private ComputerResult execute() {
+        final long startTime = System.currentTimeMillis();
+        // apache and hadoop configurations that are used throughout the graph computer computation
+        final org.apache.commons.configuration2.Configuration graphComputerConfiguration = new HadoopConfiguration(this.hadoopGraph.configuration());
+        ConfigurationUtils.copy(this.diskConfiguration, graphComputerConfiguration);
+        graphComputerConfiguration.setProperty(KryoShimServiceLoader.KRYO_SHIM_SERVICE, HadoopPoolShimService.class.getCanonicalName());
+        KryoShimServiceLoader.applyConfiguration(graphComputerConfiguration);
+        HadoopPools.initialize(graphComputerConfiguration);
+        graphComputerConfiguration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_WRITER_HAS_EDGES, this.persist.equals(GraphComputer.Persist.EDGES));
+        final Configuration hadoopConfiguration = ConfUtil.makeHadoopConfiguration(graphComputerConfiguration);
+        final Storage fileSystemStorage = FileSystemStorage.open(hadoopConfiguration);
+        // if the input class can filter on load, then set the filters
+        final boolean filtered;
+        if (GraphFilterAware.class.isAssignableFrom(hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_READER, Object.class))) {
+            GraphFilterAware.storeGraphFilter(graphComputerConfiguration, hadoopConfiguration, this.graphFilter);
+            filtered = false;
+        } else
+            filtered = this.graphFilter.hasFilter();
+        // delete output location
+        final String outputLocation = hadoopConfiguration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, null);
+        if (null != outputLocation && fileSystemStorage.exists(outputLocation))
+            fileSystemStorage.rm(outputLocation);
+        final boolean persisted = null != outputLocation && !this.persist.equals(GraphComputer.Persist.NOTHING);
+
+        final DiskPartitions partitions = new DiskPartitions(
+                new File(graphComputerConfiguration.getString(Constants.GREMLIN_DISK_WORKING_DIRECTORY, System.getProperty("java.io.tmpdir")), "gremlin-disk-" + UUID.randomUUID()),
+                Math.max(this.workers, graphComputerConfiguration.getInt(Constants.GREMLIN_DISK_PARTITIONS, 4 * this.workers)));
+        final ExecutorService workerService = Executors.newFixedThreadPool(this.workers,
+                new BasicThreadFactory.Builder().namingPattern(DiskGraphComputer.class.getSimpleName() + "-worker-%d").build());
+        logger.debug(Constants.GREMLIN_HADOOP_JOB_PREFIX + (null == this.vertexProgram ? "No VertexProgram" : this.vertexProgram) + "[" + this.mapReducers + "]");
+        try {
+            final DiskMemory memory = new DiskMemory(this.vertexProgram, this.mapReducers);
+            this.loadGraph(partitions, hadoopConfiguration, fileSystemStorage, filtered, workerService);
+            int generation = 0;
+            ////////////////////////////////
+            // process the vertex program //
+            ////////////////////////////////
+            if (null != this.vertexProgram) {
+                final int messageBufferSize = graphComputerConfiguration.getInt(Constants.GREMLIN_DISK_MESSAGE_BUFFER_SIZE, 100000);
+                this.vertexProgram.setup(memory);
+                while (true) {
+                    if (Thread.interrupted()) throw new TraversalInterruptedException();
+                    memory.completeSubRound();
+                    final int iteration = memory.getIteration();
+                    final int currentGeneration = generation;
+                    // each worker starts with its own partition and then takes those that are left until there are none
+                    final AtomicInteger nextPartition = new AtomicInteger(this.workers);
+                    DiskGraphComputer.executeAll(workerService, this.workers, worker -> {
+                        final VertexProgram<Object> workerVertexProgram = this.vertexProgram.clone();
+                        workerVertexProgram.workerIterationStart(memory.asImmutable());
+                        for (int partition = worker; partition < partitions.size(); partition = nextPartition.getAndIncrement()) {
+                            this.executePartition(workerVertexProgram, partitions, partition, iteration, currentGeneration, memory, messageBufferSize);
+                        }
+                        workerVertexProgram.workerIterationEnd(memory.asImmutable());
+                    });
+                    memory.completeSubRound();
+                    generation++;
+                    if (this.vertexProgram.terminate(memory)) {
+                        memory.incrIteration();
+                        break;
+                    } else {
+                        memory.incrIteration();
+                    }
+                }
+            }
+            ///////////////////////////////////////////////////////////
+            // write the graph and process the map reducers together //
+            ///////////////////////////////////////////////////////////
+            if (persisted || !this.mapReducers.isEmpty())
+                this.completeGraph(partitions, generation, hadoopConfiguration, outputLocation, persisted, memory, workerService);
+            // update runtime and return the newly computed graph
+            memory.setRuntime(System.currentTimeMillis() - startTime);
+            memory.complete(); // drop all transient memory keys and set iteration
+            // clear properties that should not be propagated in an OLAP chain
+            graphComputerConfiguration.clearProperty(Constants.GREMLIN_HADOOP_GRAPH_FILTER);
+            return new DefaultComputerResult(InputOutputHelper.getOutputGraph(graphComputerConfiguration, this.resultGraph, this.persist), memory.asImmutable());
+        } catch (final InterruptedException e) {
+            throw new TraversalInterruptedException();
+        } finally {
+            workerService.shutdownNow();
+            partitions.close();
+        }
+    }
+
+    /**
+     * Reads the splits of the input format with all of the workers and writes each vertex to the first generation of
+     * its partition.
+     */
+    private void loadGraph(final DiskPartitions partitions, final Configuration hadoopConfiguration, final Storage storage,
+                           final boolean filtered, final ExecutorService workerService) throws InterruptedException {
+        final DiskPartitions.Writer[] writers = new DiskPartitions.Writer[partitions.size()];
+        for (int partition = 0; partition < writers.length; partition++) {
+            writers[partition] = DiskPartitions.writer(partitions.graphFile(partition, 0));
+        }
+        try {
+            final InputFormat<NullWritable, VertexWritable> inputFormat = ConfUtil.getReaderAsInputFormat(hadoopConfiguration);
+            if (inputFormat instanceof FileInputFormat) {
+                final String inputLocation = hadoopConfiguration.get(Constants.GREMLIN_HADOOP_INPUT_LOCATION, null);
+                final Optional<String> searchLocation = null == inputLocation ? Optional.empty() : Constants.getSearchGraphLocation(inputLocation, storage);
+                if (!searchLocation.isPresent())
+                    return; // there is no data at the input location (empty graph)
+                hadoopConfiguration.set(Constants.MAPREDUCE_INPUT_FILEINPUTFORMAT_INPUTDIR, searchLocation.get());
+            }
+            final List<InputSplit> splits = inputFormat.getSplits(new JobContextImpl(hadoopConfiguration, new JobID(UUID.randomUUID().toString(), 1)));
+            DiskGraphComputer.executeAll(workerService, splits.size(), split -> {
+                final GraphFilter graphFilter = this.graphFilter.clone();
+                try (final RecordReader<NullWritable, VertexWritable> reader = inputFormat.createRecordReader(splits.get(split), new TaskAttemptContextImpl(hadoopConfiguration, new TaskAttemptID()))) {
+                    while (reader.nextKeyValue()) {
+                        final StarGraph.StarVertex vertex = reader.getCurrentValue().get();
+                        if (filtered && !vertex.applyGraphFilter(graphFilter).isPresent())
+                            continue;
+                        final DiskPartitions.Writer writer = writers[partitions.partition(vertex.id())];
+                        synchronized (writer) {
+                            writer.writeVertex(vertex);
+                        }
+                    }
+                } catch (final IOException | InterruptedException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            for (final DiskPartitions.Writer writer : writers) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Executes one iteration of the vertex program of a worker on the vertices of a partition, reading the next
+     * generation of the partition from the current one and the incoming messages from the files the previous
+     * iteration wrote.
+     * <p/>
+     * The incoming messages of the partition are held in a map by vertex for the whole of the iteration. With a
+     * {@link MessageCombiner} that is at most one message for each vertex of the partition and otherwise every
+     * message sent to those vertices, so the number of partitions should be at least the number of workers times the
+     * size of the messages of an iteration divided by the heap that is left for them.
+     */
+    private void executePartition(final VertexProgram<Object> workerVertexProgram, final DiskPartitions partitions, final int partition,
+                                  final int iteration, final int generation, final DiskMemory memory, final int messageBufferSize) {
+        final MessageCombiner<Object> messageCombiner = workerVertexProgram.getMessageCombiner().orElse(null);
+        final Map<Object, Object> incomingMessages = DiskGraphComputer.readMessages(partitions, iteration - 1, partition, messageCombiner);
+        final DiskMessenger<Object> messenger = new DiskMessenger<>(partitions, iteration, partition, messageCombiner, messageBufferSize);
+        try (final DiskPartitions.Reader reader = DiskPartitions.reader(partitions.graphFile(partition, generation));
+             final DiskPartitions.Writer writer = DiskPartitions.writer(partitions.graphFile(partition, generation + 1))) {
+            StarGraph.StarVertex vertex;
+            while (null != (vertex = reader.readVertex())) {
+                if (Thread.interrupted()) throw new TraversalInterruptedException();
+                final Object messages = incomingMessages.remove(vertex.id());
+                messenger.setVertexAndIncomingMessages(vertex, null == messages ?
+                        Collections.emptyIterator() :
+                        null == messageCombiner ? ((List<Object>) messages).iterator() : IteratorUtils.of(messages));
+                workerVertexProgram.execute(ComputerGraph.vertexProgram(vertex, workerVertexProgram), messenger, memory);
+                writer.writeVertex(vertex);
+            }
+        } finally {
+            messenger.close();
+        }
+    }
+
+    /**
+     * Drops the transient compute keys from the last generation of the graph and, in a single pass over it, writes
+     * the graph to the output format and maps the vertices of the {@link MapReduce} jobs.
+     */
+    private void completeGraph(final DiskPartitions partitions, final int generation, final Configuration hadoopConfiguration,
+                               final String outputLocation, final boolean persisted, final DiskMemory memory,
+                               final ExecutorService workerService) throws InterruptedException {
+        final String[] transientComputeKeys = null == this.vertexProgram ?
+                new String[0] :
+                VertexProgramHelper.vertexComputeKeysAsArray(this.vertexProgram.getVertexComputeKeys().stream().filter(VertexComputeKey::isTransient).collect(Collectors.toSet()));
+        final List<MapReduce> mapReducers = new ArrayList<>(this.mapReducers);
+        final List<DiskMapEmitter<?, ?>> mapEmitters = new ArrayList<>();
+        for (final MapReduce mapReduce : mapReducers) {
+            mapEmitters.add(new DiskMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE)));
+        }
+        final JobID jobId = new JobID(UUID.randomUUID().toString(), 1);
+        final JobContext jobContext = new JobContextImpl(hadoopConfiguration, jobId);
+        final OutputCommitter jobCommitter;
+        try {
+            if (persisted) {
+                hadoopConfiguration.set(FileOutputFormat.OUTDIR, Constants.getGraphLocation(outputLocation));
+                jobCommitter = DiskGraphComputer.createOutputFormat(hadoopConfiguration).getOutputCommitter(DiskGraphComputer.createTaskAttemptContext(hadoopConfiguration, jobId, 0));
+                jobCommitter.setupJob(jobContext);
+            } else
+                jobCommitter = null;
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        DiskGraphComputer.executeAll(workerService, partitions.size(), partition -> {
+            final List<MapReduce> workerMapReducers = new ArrayList<>();
+            for (final MapReduce mapReduce : mapReducers) {
+                final MapReduce workerMapReduce = mapReduce.clone();
+                workerMapReduce.workerStart(MapReduce.Stage.MAP);
+                workerMapReducers.add(workerMapReduce);
+            }
+            try (final DiskPartitions.Reader reader = DiskPartitions.reader(partitions.graphFile(partition, generation))) {
+                final TaskAttemptContext taskContext = DiskGraphComputer.createTaskAttemptContext(hadoopConfiguration, jobId, partition);
+                final OutputCommitter taskCommitter;
+                final RecordWriter<NullWritable, VertexWritable> recordWriter;
+                if (persisted) {
+                    final OutputFormat<NullWritable, VertexWritable> outputFormat = DiskGraphComputer.createOutputFormat(hadoopConfiguration);
+                    taskCommitter = outputFormat.getOutputCommitter(taskContext);
+                    taskCommitter.setupTask(taskContext);
+                    recordWriter = outputFormat.getRecordWriter(taskContext);
+                } else {
+                    taskCommitter = null;
+                    recordWriter = null;
+                }
+                StarGraph.StarVertex vertex;
+                while (null != (vertex = reader.readVertex())) {
+                    if (Thread.interrupted()) throw new TraversalInterruptedException();
+                    vertex.dropVertexProperties(transientComputeKeys);
+                    if (persisted)
+                        recordWriter.write(NullWritable.get(), new VertexWritable(vertex));
+                    for (int i = 0; i < workerMapReducers.size(); i++) {
+                        workerMapReducers.get(i).map(ComputerGraph.mapReduce(vertex), mapEmitters.get(i));
+                    }
+                }
+                if (persisted) {
+                    recordWriter.close(taskContext);
+                    taskCommitter.commitTask(taskContext);
+                }
+            } catch (final IOException | InterruptedException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            for (final MapReduce workerMapReduce : workerMapReducers) {
+                workerMapReduce.workerEnd(MapReduce.Stage.MAP);
+            }
+        });
+        try {
+            if (persisted)
+                jobCommitter.commitJob(jobContext);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        // no need to run combiners as the map output is already on the heap
+        for (int i = 0; i < mapReducers.size(); i++) {
+            final MapReduce mapReduce = mapReducers.get(i);
+            final DiskMapEmitter<?, ?> mapEmitter = mapEmitters.get(i);
+            // sort results if a map output sort is defined
+            mapEmitter.complete(mapReduce);
+            final Queue<? extends KeyValue<?, ?>> keyValues;
+            if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+                final DiskReduceEmitter<?, ?> reduceEmitter = new DiskReduceEmitter<>();
+                final MapReduce workerMapReduce = mapReduce.clone();
+                workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
+                for (final Map.Entry<?, ? extends Queue<?>> entry : mapEmitter.reduceMap.entrySet()) {
+                    if (Thread.interrupted()) throw new TraversalInterruptedException();
+                    workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
+                }
+                workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
+                reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
+                keyValues = reduceEmitter.reduceQueue;
+            } else
+                keyValues = mapEmitter.mapQueue;
+            // write the map reduce output back to disk and computer result memory
+            if (persisted)
+                DiskGraphComputer.writeMemory(hadoopConfiguration, outputLocation, mapReduce.getMemoryKey(), keyValues);
+            mapReduce.addResultToMemory(memory, keyValues.iterator());
+        }
+    }
+
+    /////////////////
+
+    @Override
+    protected void loadJar(final Configuration hadoopConfiguration, final File file, final Object... params) {
+        // the workers share the class loader of the submitting thread and thus, there are no jars to distribute
+    }
+
+    private static Map<Object, Object> readMessages(final DiskPartitions partitions, final int iteration, final int partition,
+                                                    final MessageCombiner<Object> messageCombiner) {
+        final Map<Object, Object> messages = new HashMap<>();
+        for (final File file : partitions.messageFiles(iteration, partition)) {
+            try (final DiskPartitions.Reader reader = DiskPartitions.reader(file)) {
+                Object[] message;
+                while (null != (message = reader.readMessage())) {
+                    if (null == messageCombiner)
+                        ((List<Object>) messages.computeIfAbsent(message[0], k -> new ArrayList<>())).add(message[1]);
+                    else
+                        messages.merge(message[0], message[1], messageCombiner::combine);
+                }
+            }
+            file.delete(); // the messages are only read once
+        }
+        return messages;
+    }
+
+    private static void writeMemory(final Configuration hadoopConfiguration, final String outputLocation, final String memoryKey,
+                                    final Iterable<? extends KeyValue<?, ?>> keyValues) {
+        final Path path = new Path(Constants.getMemoryLocation(outputLocation, memoryKey), "part-r-00000");
+        try (final SequenceFile.Writer writer = SequenceFile.createWriter(hadoopConfiguration, SequenceFile.Writer.file(path),
+                SequenceFile.Writer.keyClass(ObjectWritable.class), SequenceFile.Writer.valueClass(ObjectWritable.class))) {
+            for (final KeyValue<?, ?> keyValue : keyValues) {
+                writer.append(new ObjectWritable<>(keyValue.getKey()), new ObjectWritable<>(keyValue.getValue()));
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static OutputFormat<NullWritable, VertexWritable> createOutputFormat(final Configuration hadoopConfiguration) {
+        return ReflectionUtils.newInstance(hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_WRITER, OutputFormat.class, OutputFormat.class), hadoopConfiguration);
+    }
+
+    private static TaskAttemptContext createTaskAttemptContext(final Configuration hadoopConfiguration, final JobID jobId, final int partition) {
+        return new TaskAttemptContextImpl(hadoopConfiguration, new TaskAttemptID(new TaskID(jobId, TaskType.REDUCE, partition), 0));
+    }
+
+    /**
+     * Runs the task for each index on the workers and waits for all of them to complete. If one fails, the others are
+     * cancelled and its exception is rethrown.
+     */
+    private static void executeAll(final ExecutorService workerService, final int tasks, final IntConsumer task) throws InterruptedException {
+        final List<Future<?>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            final int index = i;
+            futures.add(workerService.submit(() -> task.accept(index)));
+        }
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (final InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+}
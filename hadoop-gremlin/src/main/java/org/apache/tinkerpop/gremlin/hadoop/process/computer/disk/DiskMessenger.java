@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.disk;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The {@link Messenger} of the worker that executes one partition of a {@link DiskGraphComputer} iteration. Outgoing
+ * messages are written to a file per receiving partition. When the vertex program has a {@link MessageCombiner} they
+ * are first combined per receiving vertex in memory and written once the number of vertices held reaches the buffer
+ * size.
+ */
+final class DiskMessenger<M> implements Messenger<M> {
+
+    private final DiskPartitions partitions;
+    private final int iteration;
+    private final int fromPartition;
+    private final MessageCombiner<M> messageCombiner;
+    private final int bufferSize;
+    private final DiskPartitions.Writer[] writers;
+    private final Map<Object, M>[] combinedMessages;
+    private int bufferedMessages = 0;
+
+    private Vertex vertex;
+    private Iterator<M> incomingMessages;
+
+    DiskMessenger(final DiskPartitions partitions, final int iteration, final int fromPartition,
+                  final MessageCombiner<M> messageCombiner, final int bufferSize) {
+        this.partitions = partitions;
+        this.iteration = iteration;
+        this.fromPartition = fromPartition;
+        this.messageCombiner = messageCombiner;
+        this.bufferSize = bufferSize;
+        this.writers = new DiskPartitions.Writer[partitions.size()];
+        this.combinedMessages = null == messageCombiner ? null : new Map[partitions.size()];
+    }
+
+    public void setVertexAndIncomingMessages(final Vertex vertex, final Iterator<M> incomingMessages) {
+        this.vertex = vertex;
+        this.incomingMessages = incomingMessages;
+    }
+
+    @Override
+    public Iterator<M> receiveMessages() {
+        return this.incomingMessages;
+    }
+
+    @Override
+    public void sendMessage(final MessageScope messageScope, final M message) {
+        if (messageScope instanceof MessageScope.Local) {
+            final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
+            final Traversal.Admin<Vertex, Edge> incidentTraversal = DiskMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
+            final Direction direction = DiskMessenger.getOppositeDirection(incidentTraversal);
+
+            // handle processing for BOTH given TINKERPOP-1862 where the target of the message is the one opposite
+            // the current vertex
+            incidentTraversal.forEachRemaining(edge -> {
+                if (direction.equals(Direction.IN) || direction.equals(Direction.OUT))
+                    this.send(edge.vertices(direction).next().id(), localMessageScope.getEdgeFunction().apply(message, edge));
+                else
+                    this.send(edge instanceof StarGraph.StarOutEdge ? edge.inVertex().id() : edge.outVertex().id(), localMessageScope.getEdgeFunction().apply(message, edge));
+            });
+        } else {
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.send(v.id(), message));
+        }
+    }
+
+    /**
+     * Writes out the messages that are still held and closes the files.
+     */
+    public void close() {
+        this.flush();
+        for (final DiskPartitions.Writer writer : this.writers) {
+            if (null != writer)
+                writer.close();
+        }
+    }
+
+    private void send(final Object vertexId, final M message) {
+        final int toPartition = this.partitions.partition(vertexId);
+        if (null == this.messageCombiner)
+            this.writer(toPartition).writeMessage(vertexId, message);
+        else {
+            if (null == this.combinedMessages[toPartition])
+                this.combinedMessages[toPartition] = new HashMap<>();
+            final Map<Object, M> messages = this.combinedMessages[toPartition];
+            final M combined = messages.get(vertexId);
+            if (null != combined)
+                messages.put(vertexId, this.messageCombiner.combine(combined, message));
+            else {
+                messages.put(vertexId, message);
+                if (++this.bufferedMessages >= this.bufferSize)
+                    this.flush();
+            }
+        }
+    }
+
+    private void flush() {
+        if (null == this.combinedMessages)
+            return;
+        for (int toPartition = 0; toPartition < this.combinedMessages.length; toPartition++) {
+            final Map<Object, M> messages = this.combinedMessages[toPartition];
+            if (null != messages && !messages.isEmpty()) {
+                final DiskPartitions.Writer writer = this.writer(toPartition);
+                messages.forEach(writer::writeMessage);
+                messages.clear();
+            }
+        }
+        this.bufferedMessages = 0;
+    }
+
+    private DiskPartitions.Writer writer(final int toPartition) {
+        if (null == this.writers[toPartition])
+            this.writers[toPartition] = DiskPartitions.writer(this.partitions.messageFile(this.iteration, this.fromPartition, toPartition));
+        return this.writers[toPartition];
+    }
+
+    ///////////
+
+    private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
+        incidentTraversal.asAdmin().addStart(incidentTraversal.getTraverserGenerator().generate(vertex, incidentTraversal.asAdmin().getStartStep(), 1l));
+        return (T) incidentTraversal;
+    }
+
+    private static Direction getOppositeDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
+        final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
+        return step.getDirection().opposite();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.disk;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The files that a {@link DiskGraphComputer} keeps the graph and its messages in. Vertices are hashed by id into
+ * partitions and each partition has a file of {@link StarGraph} vertices, with their compute keys, that every
+ * iteration reads and writes anew under the next generation. The messages that an iteration sends to a partition are
+ * kept in one file per sending partition until the next iteration of the receiving partition reads them. Records are
+ * written with Gryo to one stream per file so that nothing but the partition in hand needs to be on the heap.
+ */
+final class DiskPartitions {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final File directory;
+    private final int partitions;
+
+    DiskPartitions(final File directory, final int partitions) {
+        this.directory = directory;
+        this.partitions = partitions;
+        if (!this.directory.mkdirs() && !this.directory.isDirectory())
+            throw new IllegalStateException("The working directory could not be created: " + this.directory);
+    }
+
+    public int size() {
+        return this.partitions;
+    }
+
+    public int partition(final Object vertexId) {
+        return Math.floorMod(vertexId.hashCode(), this.partitions);
+    }
+
+    public File graphFile(final int partition, final int generation) {
+        return new File(this.directory, "graph-" + partition + "-" + (generation & 1));
+    }
+
+    public File messageFile(final int iteration, final int fromPartition, final int toPartition) {
+        return new File(this.directory, "messages-" + iteration + "-" + fromPartition + "-" + toPartition);
+    }
+
+    /**
+     * Gets the files holding the messages that were sent to the partition by the iteration.
+     */
+    public List<File> messageFiles(final int iteration, final int toPartition) {
+        final List<File> files = new ArrayList<>();
+        for (int fromPartition = 0; fromPartition < this.partitions; fromPartition++) {
+            final File file = this.messageFile(iteration, fromPartition, toPartition);
+            if (file.exists())
+                files.add(file);
+        }
+        return files;
+    }
+
+    public void close() {
+        try {
+            FileUtils.deleteDirectory(this.directory);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    public static Writer writer(final File file) {
+        try {
+            return new Writer(file);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    public static Reader reader(final File file) {
+        try {
+            return new Reader(file);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes records of one or two objects, each preceded by a marker so that the reader knows where the file ends.
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final Kryo kryo = HadoopPools.getGryoPool().takeKryo();
+        private final Output output;
+
+        private Writer(final File file) throws IOException {
+            this.output = new Output(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), BUFFER_SIZE);
+        }
+
+        public void writeVertex(final StarGraph.StarVertex vertex) {
+            this.output.writeBoolean(true);
+            this.kryo.writeClassAndObject(this.output, vertex.graph());
+        }
+
+        public void writeMessage(final Object vertexId, final Object message) {
+            this.output.writeBoolean(true);
+            this.kryo.writeClassAndObject(this.output, vertexId);
+            this.kryo.writeClassAndObject(this.output, message);
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.output.writeBoolean(false);
+                this.output.close();
+            } finally {
+                HadoopPools.getGryoPool().offerKryo(this.kryo);
+            }
+        }
+    }
+
+    public static final class Reader implements AutoCloseable {
+
+        private final Kryo kryo = HadoopPools.getGryoPool().takeKryo();
+        private final Input input;
+
+        private Reader(final File file) throws IOException {
+            this.input = new Input(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE), BUFFER_SIZE);
+        }
+
+        /**
+         * Gets the next vertex or {@code null} if there are no more.
+         */
+        public StarGraph.StarVertex readVertex() {
+            return this.input.readBoolean() ?
+                    ((StarGraph) this.kryo.readClassAndObject(this.input)).getStarVertex() :
+                    null;
+        }
+
+        /**
+         * Gets the vertex id and message of the next message or {@code null} if there are no more.
+         */
+        public Object[] readMessage() {
+            return this.input.readBoolean() ?
+                    new Object[]{this.kryo.readClassAndObject(this.input), this.kryo.readClassAndObject(this.input)} :
+                    null;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.input.close();
+            } finally {
+                HadoopPools.getGryoPool().offerKryo(this.kryo);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.disk;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.features.TestFiles;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class DiskGraphComputerTest {
+
+    @Test
+    public void shouldComputePageRankWithMorePartitionsThanWorkers() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(Graph.GRAPH, HadoopGraph.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, TestFiles.PATHS.get("grateful-dead-v3d0.kryo"));
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_READER, GryoInputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_WRITER, GryoOutputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, TestHelper.makeTestDataDirectory(DiskGraphComputerTest.class, "shouldComputePageRankWithMorePartitionsThanWorkers"));
+        configuration.setProperty(Constants.GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE, false);
+        configuration.setProperty(Constants.GREMLIN_DISK_WORKING_DIRECTORY, TestHelper.makeTestDataDirectory(DiskGraphComputerTest.class, "working"));
+        final Graph graph = GraphFactory.open(configuration);
+
+        // a small buffer makes the workers write combined messages out several times per partition
+        final ComputerResult result = graph.compute(DiskGraphComputer.class).partitions(13).messageBufferSize(16).workers(2)
+                .program(PageRankVertexProgram.build().create(graph))
+                .persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+
+        final TinkerGraph tinkerGraph = TinkerFactory.createGratefulDead();
+        final Map<Object, Double> expected = pageRanks(tinkerGraph.compute(TinkerGraphComputer.class)
+                .program(PageRankVertexProgram.build().create(tinkerGraph)).submit().get());
+        final Map<Object, Double> actual = pageRanks(result);
+        assertEquals(808, actual.size());
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((id, pageRank) -> assertEquals(pageRank, actual.get(id), 0.00001d));
+    }
+
+    private static Map<Object, Double> pageRanks(final ComputerResult result) {
+        final Map<Object, Double> pageRanks = new HashMap<>();
+        result.graph().vertices().forEachRemaining(vertex ->
+                pageRanks.put(vertex.id(), vertex.value(PageRankVertexProgram.PAGE_RANK)));
+        return pageRanks;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.process.computer.disk;
+
+import org.apache.tinkerpop.gremlin.GraphProvider;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Map;
+
+/**
+ * Runs the suites with {@link DiskGraphComputer} and with a random number of workers and partitions so that
+ * partitions are both shared by workers and left empty.
+ */
+@GraphProvider.Descriptor(computer = DiskGraphComputer.class)
+public class DiskHadoopGraphProvider extends HadoopGraphProvider {
+
+    private final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    @Override
+    public Map<String, Object> getBaseConfiguration(final String graphName, final Class<?> test, final String testMethodName, final LoadGraphWith.GraphData loadGraphWith) {
+        final Map<String, Object> config = super.getBaseConfiguration(graphName, test, testMethodName, loadGraphWith);
+        config.put(Constants.GREMLIN_HADOOP_DEFAULT_GRAPH_COMPUTER, DiskGraphComputer.class.getCanonicalName());
+        config.put(Constants.GREMLIN_DISK_PARTITIONS, RANDOM.nextInt(16) + 1);
+        config.put(Constants.GREMLIN_DISK_MESSAGE_BUFFER_SIZE, RANDOM.nextInt(8) + 1);
+        return config;
+    }
+
+    @Override
+    public GraphTraversalSource traversal(final Graph graph) {
+        return RANDOM.nextBoolean() ?
+                graph.traversal().withComputer(Computer.compute(DiskGraphComputer.class).workers(RANDOM.nextInt(AVAILABLE_PROCESSORS) + 1)) :
+                graph.traversal().withComputer();
+    }
+
+    @Override
+    public GraphComputer getGraphComputer(final Graph graph) {
+        return RANDOM.nextBoolean() ?
+                graph.compute().workers(RANDOM.nextInt(AVAILABLE_PROCESSORS) + 1) :
+                graph.compute(DiskGraphComputer.class);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+/**
+ * The values of one {@link org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey} in a
+ * {@link TinkerGraphComputerView}, held in arrays indexed by vertex ordinal. Each slot holds at most one property
+ * without meta-properties as an id and a value, where {@code double} and {@code long} values are kept unboxed. A
+ * vertex is only ever written by the worker that executes it, so slots need no locking, but the value arrays are
+ * created on first use and that is guarded.
+ */
+final class TinkerComputeColumn {
+
+    private static final byte EMPTY = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte LONG = 2;
+    private static final byte OBJECT = 3;
+
+    private final byte[] kinds;
+    private final long[] ids;
+    private volatile double[] doubles;
+    private volatile long[] longs;
+    private volatile Object[] objects;
+
+    TinkerComputeColumn(final int size) {
+        this.kinds = new byte[size];
+        this.ids = new long[size];
+    }
+
+    public boolean isEmpty(final int ordinal) {
+        return EMPTY == this.kinds[ordinal];
+    }
+
+    public long id(final int ordinal) {
+        return this.ids[ordinal];
+    }
+
+    /**
+     * Determines if the slot still holds the property with the given id rather than being empty or overwritten.
+     */
+    public boolean holds(final int ordinal, final long id) {
+        return EMPTY != this.kinds[ordinal] && id == this.ids[ordinal];
+    }
+
+    public Object get(final int ordinal) {
+        switch (this.kinds[ordinal]) {
+            case DOUBLE:
+                return this.doubles[ordinal];
+            case LONG:
+                return this.longs[ordinal];
+            case OBJECT:
+                return this.objects[ordinal];
+            default:
+                return null;
+        }
+    }
+
+    public void set(final int ordinal, final long id, final Object value) {
+        if (OBJECT == this.kinds[ordinal])
+            this.objects[ordinal] = null;
+        if (value instanceof Double) {
+            this.doubles()[ordinal] = (Double) value;
+            this.kinds[ordinal] = DOUBLE;
+        } else if (value instanceof Long) {
+            this.longs()[ordinal] = (Long) value;
+            this.kinds[ordinal] = LONG;
+        } else {
+            this.objects()[ordinal] = value;
+            this.kinds[ordinal] = OBJECT;
+        }
+        this.ids[ordinal] = id;
+    }
+
+    public void clear(final int ordinal) {
+        if (OBJECT == this.kinds[ordinal])
+            this.objects[ordinal] = null;
+        this.kinds[ordinal] = EMPTY;
+    }
+
+    public int size() {
+        return this.kinds.length;
+    }
+
+    private double[] doubles() {
+        double[] doubles = this.doubles;
+        if (null == doubles) {
+            synchronized (this) {
+                if (null == (doubles = this.doubles))
+                    this.doubles = doubles = new double[this.kinds.length];
+            }
+        }
+        return doubles;
+    }
+
+    private long[] longs() {
+        long[] longs = this.longs;
+        if (null == longs) {
+            synchronized (this) {
+                if (null == (longs = this.longs))
+                    this.longs = longs = new long[this.kinds.length];
+            }
+        }
+        return longs;
+    }
+
+    private Object[] objects() {
+        Object[] objects = this.objects;
+        if (null == objects) {
+            synchronized (this) {
+                if (null == (objects = this.objects))
+                    this.objects = objects = new Object[this.kinds.length];
+            }
+        }
+        return objects;
+    }
+}
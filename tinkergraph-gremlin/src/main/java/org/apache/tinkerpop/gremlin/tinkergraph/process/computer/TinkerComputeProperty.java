@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link VertexProperty} whose value is read from the slot of its vertex in a {@link TinkerComputeColumn}. It is
+ * what a {@link TinkerGraphComputerView} returns for the properties of its columns, so reading or writing a compute key
+ * costs no more than this view. Setting a meta-property moves the property out of the column to an object kept by
+ * the view, which this view then reads through.
+ */
+final class TinkerComputeProperty<V> implements VertexProperty<V> {
+
+    private final TinkerGraphComputerView view;
+    private final TinkerVertex vertex;
+    private final String key;
+    private final TinkerComputeColumn column;
+    private final int ordinal;
+    private final long id;
+
+    TinkerComputeProperty(final TinkerGraphComputerView view, final TinkerVertex vertex, final String key,
+                          final TinkerComputeColumn column, final int ordinal) {
+        this.view = view;
+        this.vertex = vertex;
+        this.key = key;
+        this.column = column;
+        this.ordinal = ordinal;
+        this.id = column.id(ordinal);
+    }
+
+    @Override
+    public Object id() {
+        return this.id;
+    }
+
+    @Override
+    public String key() {
+        return this.key;
+    }
+
+    @Override
+    public V value() throws NoSuchElementException {
+        if (this.column.holds(this.ordinal, this.id))
+            return (V) this.column.get(this.ordinal);
+        return this.kept().value();
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public Vertex element() {
+        return this.vertex;
+    }
+
+    @Override
+    public Graph graph() {
+        return this.vertex.graph();
+    }
+
+    @Override
+    public <U> Property<U> property(final String key, final U value) {
+        return this.view.promote(this.vertex, this.key, this).property(key, value);
+    }
+
+    @Override
+    public <U> Iterator<Property<U>> properties(final String... propertyKeys) {
+        return this.column.holds(this.ordinal, this.id) ? Collections.emptyIterator() : this.kept().properties(propertyKeys);
+    }
+
+    @Override
+    public void remove() {
+        this.view.removeProperty(this.vertex, this.key, this);
+    }
+
+    /**
+     * Gets the object the property was moved to when it no longer is in the column.
+     */
+    private VertexProperty<V> kept() {
+        final VertexProperty<V> kept = (VertexProperty<V>) this.view.kept(this.vertex, this.key, this);
+        if (null == kept)
+            throw new IllegalStateException(String.format("%s with id %s was removed.", VertexProperty.class.getSimpleName(), this.id));
+        return kept;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public int hashCode() {
+        return ElementHelper.hashCode((Element) this);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+}
@@ -23,11 +23,13 @@ import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization.GraphFilterStrategy;
 import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
 import org.apache.tinkerpop.gremlin.process.computer.util.DefaultComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
@@ -40,7 +42,6 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -56,6 +57,13 @@ import java.util.concurrent.ThreadFactory;
  */
 public final class TinkerGraphComputer implements GraphComputer {
 
+    /**
+     * The {@link #configure(String, Object)} key that, when {@code true}, has the time in milliseconds that each
+     * worker spent on the job put in the memory of the {@link ComputerResult} as a {@code List<Long>} under the same
+     * key, which shows how evenly the work was spread.
+     */
+    public static final String WORKER_RUNTIMES = "gremlin.tinkergraph.computer.workerRuntimes";
+
     static {
         // GraphFilters are expensive w/ TinkerGraphComputer as everything is already in memory
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraphComputer.class,
@@ -68,11 +76,11 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
     private final GraphFilter graphFilter = new GraphFilter();
+    private boolean workerRuntimes = false;
 
     private final ThreadFactory threadFactoryBoss = new BasicThreadFactory.Builder().namingPattern(TinkerGraphComputer.class.getSimpleName() + "-boss").build();
 
@@ -128,6 +136,13 @@ public final class TinkerGraphComputer implements GraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer configure(final String key, final Object value) {
+        if (WORKER_RUNTIMES.equals(key))
+            this.workerRuntimes = value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value.toString());
+        return this;
+    }
+
     @Override
     public Future<ComputerResult> submit() {
         // a graph computer can only be executed once
@@ -154,6 +169,8 @@ public final class TinkerGraphComputer implements GraphComputer {
 
         // initialize the memory
         this.memory = new TinkerMemory(this.vertexProgram, this.mapReducers);
+        if (this.workerRuntimes)
+            this.memory.memoryKeys.put(WORKER_RUNTIMES, MemoryComputeKey.of(WORKER_RUNTIMES, Operator.assign, false, false));
         final Future<ComputerResult> result = computerService.submit(() -> {
             final long time = System.currentTimeMillis();
             final TinkerGraphComputerView view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, null != this.vertexProgram ? this.vertexProgram.getVertexComputeKeys() : Collections.emptySet());
@@ -161,6 +178,7 @@ public final class TinkerGraphComputer implements GraphComputer {
             try {
                 if (null != this.vertexProgram) {
                     // execute the vertex program
+                    final TinkerMessageBoard messageBoard = new TinkerMessageBoard<>(view);
                     this.vertexProgram.setup(this.memory);
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
@@ -173,13 +191,13 @@ public final class TinkerGraphComputer implements GraphComputer {
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        new TinkerMessenger<>(vertex, messageBoard, vertexProgram.getMessageCombiner()),
                                         workerMemory);
                             }
                             vertexProgram.workerIterationEnd(workerMemory.asImmutable());
                             workerMemory.complete();
                         });
-                        this.messageBoard.completeIteration();
+                        messageBoard.completeIteration();
                         this.memory.completeSubRound();
                         if (this.vertexProgram.terminate(this.memory)) {
                             this.memory.incrIteration();
@@ -194,14 +212,12 @@ public final class TinkerGraphComputer implements GraphComputer {
                 // execute mapreduce jobs
                 for (final MapReduce mapReduce : mapReducers) {
                     final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
                     workers.setMapReduce(mapReduce);
-                    workers.executeMapReduce(workerMapReduce -> {
+                    workers.executeMapReduce((vertices, workerMapReduce) -> {
                         workerMapReduce.workerStart(MapReduce.Stage.MAP);
-                        while (true) {
-                            if (Thread.interrupted()) throw new TraversalInterruptedException();
+                        while (vertices.hasNext()) {
                             final Vertex vertex = vertices.next();
-                            if (null == vertex) break;
+                            if (Thread.interrupted()) throw new TraversalInterruptedException();
                             workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
                         }
                         workerMapReduce.workerEnd(MapReduce.Stage.MAP);
@@ -212,13 +228,11 @@ public final class TinkerGraphComputer implements GraphComputer {
                     // no need to run combiners as this is single machine
                     if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                         final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
-                        workers.executeMapReduce(workerMapReduce -> {
+                        workers.executeMapReduce((Set<Map.Entry<?, Queue<?>>>) (Set) mapEmitter.reduceMap.entrySet(), (keyValues, workerMapReduce) -> {
                             workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
-                            while (true) {
-                                if (Thread.interrupted()) throw new TraversalInterruptedException();
+                            while (keyValues.hasNext()) {
                                 final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                if (null == entry) break;
+                                if (Thread.interrupted()) throw new TraversalInterruptedException();
                                 workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
                             }
                             workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
@@ -231,6 +245,8 @@ public final class TinkerGraphComputer implements GraphComputer {
                 }
                 // update runtime and return the newly computed graph
                 this.memory.setRuntime(System.currentTimeMillis() - time);
+                if (this.workerRuntimes)
+                    this.memory.set(WORKER_RUNTIMES, workers.getWorkerRuntimes());
                 this.memory.complete(); // drop all transient properties and set iteration
                 // determine the resultant graph based on the result graph/persist state
                 final Graph resultGraph = view.processResultGraphPersist(this.resultGraph, this.persist);
@@ -255,19 +271,6 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
-        }
-
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
-        }
-    }
-
     @Override
     public Features features() {
         return new Features() {
@@ -45,13 +45,22 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The state of a {@link TinkerGraph} while a {@link TinkerGraphComputer} runs over it. Every vertex is given a dense
+ * ordinal and the compute keys of the vertex program are stored in a {@link TinkerComputeColumn} each, so that the
+ * usual single value per vertex costs no objects and is read and written through a {@link TinkerComputeProperty}.
+ * Properties that do not fit a column, because they have meta-properties or share their key with another property of
+ * the vertex, are kept as objects instead.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
+    private final Map<String, TinkerComputeColumn> computeColumns = new ConcurrentHashMap<>();
     private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    private final Map<Object, Integer> ordinals;
+    private final Vertex[] vertices;
     private final Set<Object> legalVertices = new HashSet<>();
     private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
     private final GraphFilter graphFilter;
@@ -61,6 +70,14 @@ public final class TinkerGraphComputerView {
         this.computeKeys = new HashMap<>();
         computeKeys.forEach(key -> this.computeKeys.put(key.getKey(), key));
         this.computeProperties = new ConcurrentHashMap<>();
+        final Map<Object, Vertex> vertices = TinkerHelper.getVertices(graph);
+        this.ordinals = new HashMap<>((int) (vertices.size() / 0.75f) + 1);
+        this.vertices = new Vertex[vertices.size()];
+        for (final Vertex vertex : vertices.values()) {
+            this.vertices[this.ordinals.size()] = vertex;
+            this.ordinals.put(vertex.id(), this.ordinals.size());
+        }
+        computeKeys.forEach(key -> this.computeColumns.put(key.getKey(), new TinkerComputeColumn(this.vertices.length)));
         this.graphFilter = graphFilter;
         if (this.graphFilter.hasFilter()) {
             graph.vertices().forEachRemaining(vertex -> {
@@ -81,12 +98,16 @@ public final class TinkerGraphComputerView {
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
+            final TinkerComputeColumn column = this.computeColumns.get(key);
+            final int ordinal = this.ordinal(vertex);
+            if (ordinal >= 0 && column.isEmpty(ordinal) && this.getValue(vertex, key).isEmpty()) {
+                column.set(ordinal, TinkerHelper.getNextId(this.graph), value);
+                return new TinkerComputeProperty<>(this, vertex, key, column, ordinal);
+            }
+            // a second property for the key moves the first out of the column
+            if (ordinal >= 0 && !column.isEmpty(ordinal))
+                this.promote(vertex, key, new TinkerComputeProperty<>(this, vertex, key, column, ordinal));
+            final VertexProperty<V> property = this.keep(vertex, key, TinkerHelper.getNextId(this.graph), value);
             this.addValue(vertex, key, property);
             return property;
         } else {
@@ -94,20 +115,56 @@ public final class TinkerGraphComputerView {
         }
     }
 
+    /**
+     * Replaces the properties of a compute key with a single one. When the vertex has no other property for the key
+     * the value is written over its slot of the column without removing the property the slot held first, which is
+     * how vertex programs usually write their compute keys.
+     */
+    public <V> VertexProperty<V> setProperty(final TinkerVertex vertex, final String key, final V value) {
+        ElementHelper.validateProperty(key, value);
+        if (!isComputeKey(key))
+            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        final TinkerComputeColumn column = this.computeColumns.get(key);
+        final int ordinal = this.ordinal(vertex);
+        if (ordinal >= 0 && this.getValue(vertex, key).isEmpty() &&
+                (!column.isEmpty(ordinal) || !TinkerHelper.getProperties(vertex).containsKey(key))) {
+            column.set(ordinal, TinkerHelper.getNextId(this.graph), value);
+            return new TinkerComputeProperty<>(this, vertex, key, column, ordinal);
+        }
+        for (final VertexProperty<?> property : new ArrayList<>(this.getProperty(vertex, key))) {
+            property.remove();
+        }
+        return (VertexProperty<V>) this.addProperty(vertex, key, value);
+    }
+
     public List<VertexProperty<?>> getProperty(final TinkerVertex vertex, final String key) {
         // if the vertex property is already on the vertex, use that.
         final List<VertexProperty<?>> vertexProperty = this.getValue(vertex, key);
-        return vertexProperty.isEmpty() ? (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList()) : vertexProperty;
-        //return isComputeKey(key) ? this.getValue(vertex, key) : (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
+        if (!vertexProperty.isEmpty())
+            return vertexProperty;
+        final TinkerComputeColumn column = this.computeColumns.get(key);
+        final int ordinal = null == column ? -1 : this.ordinal(vertex);
+        return ordinal >= 0 && !column.isEmpty(ordinal) ?
+                Collections.singletonList(new TinkerComputeProperty<>(this, vertex, key, column, ordinal)) :
+                (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
     }
 
-    public List<Property> getProperties(final TinkerVertex vertex) {
+    public List<Property> getProperties(final TinkerVertex vertex, final String... propertyKeys) {
         final List<Property> list = new ArrayList<>();
-        for (final List<VertexProperty> properties : TinkerHelper.getProperties(vertex).values()) {
-            list.addAll(properties);
+        for (final Map.Entry<String, List<VertexProperty>> entry : TinkerHelper.getProperties(vertex).entrySet()) {
+            if (ElementHelper.keyExists(entry.getKey(), propertyKeys))
+                list.addAll(entry.getValue());
         }
-        for (final List<VertexProperty<?>> properties : this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).values()) {
-            list.addAll(properties);
+        final int ordinal = this.ordinal(vertex);
+        if (ordinal >= 0) {
+            for (final Map.Entry<String, TinkerComputeColumn> entry : this.computeColumns.entrySet()) {
+                if (!entry.getValue().isEmpty(ordinal) && ElementHelper.keyExists(entry.getKey(), propertyKeys))
+                    list.add(new TinkerComputeProperty<>(this, vertex, entry.getKey(), entry.getValue(), ordinal));
+            }
+        }
+        for (final Map.Entry<String, List<VertexProperty<?>>> entry : this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).entrySet()) {
+            if (ElementHelper.keyExists(entry.getKey(), propertyKeys))
+                list.addAll(entry.getValue());
         }
         return list;
     }
@@ -132,6 +189,7 @@ public final class TinkerGraphComputerView {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
             if (computeKey.isTransient()) {
+                this.computeColumns.remove(computeKey.getKey());
                 for (final Map<String, List<VertexProperty<?>>> properties : this.computeProperties.values()) {
                     properties.remove(computeKey.getKey());
                 }
@@ -193,6 +251,14 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
+        // the ids of column properties are plain longs whatever ids the graph uses so the graph gives them new ones
+        this.computeColumns.forEach((key, column) -> {
+            for (int ordinal = 0; ordinal < column.size(); ordinal++) {
+                if (!column.isEmpty(ordinal))
+                    this.vertices[ordinal].property(VertexProperty.Cardinality.list, key, column.get(ordinal));
+            }
+        });
+        this.computeColumns.clear();
         this.computeProperties.forEach((element, properties) -> {
             properties.forEach((key, vertexProperties) -> {
                 vertexProperties.forEach(vertexProperty -> {
@@ -222,10 +288,67 @@ public final class TinkerGraphComputerView {
     }
 
     private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.<List<Map<String, VertexProperty<?>>>>getOrDefault(vertex, Collections.emptyMap()).get(key).remove(property);
+        final TinkerComputeColumn column = this.computeColumns.get(key);
+        final int ordinal = null == column ? -1 : this.ordinal(vertex);
+        if (ordinal >= 0 && !column.isEmpty(ordinal) && property.id().equals(column.id(ordinal)))
+            column.clear(ordinal);
+        else {
+            final List<VertexProperty<?>> properties = this.getValue(vertex, key);
+            if (!properties.isEmpty())
+                properties.remove(property);
+        }
     }
 
     private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
         return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the ordinal of the vertex or {@code -1} if it is not in the graph.
+     */
+    int ordinal(final Vertex vertex) {
+        final Integer ordinal = this.ordinals.get(vertex.id());
+        return null == ordinal ? -1 : ordinal;
+    }
+
+    int vertexCount() {
+        return this.vertices.length;
+    }
+
+    /**
+     * Moves the property out of the column to the properties kept as objects, returning the object that is kept for
+     * it, which is a different one if it was moved before.
+     */
+    VertexProperty<?> promote(final TinkerVertex vertex, final String key, final VertexProperty<?> property) {
+        final TinkerComputeColumn column = this.computeColumns.get(key);
+        final int ordinal = this.ordinal(vertex);
+        if (ordinal >= 0 && column.holds(ordinal, (Long) property.id())) {
+            final VertexProperty<?> kept = this.keep(vertex, key, column.id(ordinal), column.get(ordinal));
+            column.clear(ordinal);
+            this.addValue(vertex, key, kept);
+            return kept;
+        }
+        final VertexProperty<?> kept = this.kept(vertex, key, property);
+        return null == kept ? property : kept;
+    }
+
+    /**
+     * Gets the object kept for the property once it was moved out of the column or {@code null} if there is none.
+     */
+    VertexProperty<?> kept(final Vertex vertex, final String key, final VertexProperty<?> property) {
+        for (final VertexProperty<?> kept : this.getValue(vertex, key)) {
+            if (kept.equals(property))
+                return kept;
+        }
+        return null;
+    }
+
+    private <V> VertexProperty<V> keep(final TinkerVertex vertex, final String key, final long id, final V value) {
+        return new TinkerVertexProperty<V>(id, vertex, key, value) {
+            @Override
+            public void remove() {
+                removeProperty(vertex, key, this);
+            }
+        };
+    }
+}
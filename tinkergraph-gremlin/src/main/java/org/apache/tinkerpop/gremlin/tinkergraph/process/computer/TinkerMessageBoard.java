@@ -18,29 +18,199 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
-import java.util.HashSet;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * Holds the messages of a {@link TinkerGraphComputer} run. Each {@link MessageScope} gets a pair of arrays indexed by
+ * the vertex ordinals of the {@link TinkerGraphComputerView}, one that is written by the current iteration and one
+ * that is read from, which trade places at the end of each iteration. When the vertex program has a
+ * {@link MessageCombiner} a slot holds the single combined message and new messages are folded into it under the lock
+ * of the slot, as combiners may change their first argument in place. Otherwise a slot holds a growable array of
+ * messages. Either holder is kept and cleared for reuse by later iterations.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
-    public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    private final TinkerGraphComputerView view;
+    private final Map<MessageScope, Buffers> buffers = new ConcurrentHashMap<>();
+    private List<Map.Entry<MessageScope, Buffers>> receiveScopes = Collections.emptyList();
+
+    /**
+     * The last scope that messages were sent with, as vertex programs usually reuse the same instance and the
+     * hash code of a {@link MessageScope.Local} is expensive.
+     */
+    private volatile Map.Entry<MessageScope, Buffers> lastScope = null;
+
+    public TinkerMessageBoard(final TinkerGraphComputerView view) {
+        this.view = view;
+    }
+
+    /**
+     * Gets the ordinal of the vertex or {@code -1} if it is not in the graph.
+     */
+    public int ordinal(final Vertex vertex) {
+        return this.view.ordinal(vertex);
+    }
+
+    /**
+     * Gets the scopes that have messages to be received in the current iteration.
+     */
+    public List<Map.Entry<MessageScope, Buffers>> receiveScopes() {
+        return this.receiveScopes;
+    }
+
+    public void sendMessage(final MessageScope messageScope, final int ordinal, final M message, final MessageCombiner<M> combiner) {
+        if (ordinal < 0) return;
+        final Buffers buffers = this.getBuffers(messageScope);
+        if (!buffers.sent) buffers.sent = true;
+        final AtomicReferenceArray<Object> slots = buffers.send;
+        if (null != combiner) {
+            Object current = slots.get(ordinal);
+            if (null == current && !slots.compareAndSet(ordinal, null, current = new CombinedMessage()))
+                current = slots.get(ordinal);
+            ((CombinedMessage) current).combine(message, combiner);
+        } else {
+            Object current = slots.get(ordinal);
+            if (null == current && !slots.compareAndSet(ordinal, null, current = new Messages()))
+                current = slots.get(ordinal);
+            ((Messages) current).add(message);
+        }
+    }
+
+    public Iterator<M> receiveMessages(final Buffers buffers, final int ordinal) {
+        final Object current = ordinal < 0 ? null : buffers.receive.get(ordinal);
+        if (null == current)
+            return Collections.emptyIterator();
+        else if (current instanceof Messages)
+            return ((Messages) current).iterator();
+        else
+            return ((CombinedMessage) current).iterator();
+    }
 
     public void completeIteration() {
-        this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
-        this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        final List<Map.Entry<MessageScope, Buffers>> receiveScopes = new ArrayList<>();
+        for (final Map.Entry<MessageScope, Buffers> entry : this.buffers.entrySet()) {
+            if (entry.getValue().swap())
+                receiveScopes.add(entry);
+        }
+        this.receiveScopes = receiveScopes;
+    }
+
+    private Buffers getBuffers(final MessageScope messageScope) {
+        final Map.Entry<MessageScope, Buffers> last = this.lastScope;
+        if (null != last && last.getKey() == messageScope)
+            return last.getValue();
+        final Buffers buffers = this.buffers.computeIfAbsent(messageScope, ms -> new Buffers(this.view.vertexCount()));
+        this.lastScope = new AbstractMap.SimpleImmutableEntry<>(messageScope, buffers);
+        return buffers;
+    }
+
+    static final class Buffers {
+        private AtomicReferenceArray<Object> send;
+        private AtomicReferenceArray<Object> receive;
+        private volatile boolean sent = false;
+        private boolean received = false;
+
+        private Buffers(final int size) {
+            this.send = new AtomicReferenceArray<>(size);
+            this.receive = new AtomicReferenceArray<>(size);
+        }
+
+        /**
+         * Makes the messages sent in the iteration that just ended the ones to receive and clears the messages that
+         * were received in it so that the next iteration can send into them. Returns {@code true} if there are
+         * messages to receive.
+         */
+        private boolean swap() {
+            if (this.received) {
+                for (int i = 0; i < this.receive.length(); i++) {
+                    final Object current = this.receive.get(i);
+                    if (current instanceof Messages)
+                        ((Messages) current).clear();
+                    else if (null != current)
+                        ((CombinedMessage) current).clear();
+                }
+            }
+            final AtomicReferenceArray<Object> temp = this.receive;
+            this.receive = this.send;
+            this.send = temp;
+            this.received = this.sent;
+            this.sent = false;
+            return this.received;
+        }
+    }
+
+    /**
+     * The message sent to a single slot when there is a {@link MessageCombiner}. Combining is serialized on the holder
+     * because a combiner like {@code TraversalVertexProgramMessageCombiner} adds the second message to the first one
+     * and returns it, which leaves nothing for a compare-and-set of the slot to detect.
+     */
+    private static final class CombinedMessage {
+        private Object message = null;
+
+        private synchronized <M> void combine(final M message, final MessageCombiner<M> combiner) {
+            this.message = null == this.message ? message : combiner.combine((M) this.message, message);
+        }
+
+        private void clear() {
+            this.message = null;
+        }
+
+        private <M> Iterator<M> iterator() {
+            return null == this.message ? Collections.emptyIterator() : IteratorUtils.of((M) this.message);
+        }
+    }
+
+    /**
+     * The messages sent to a single slot when there is no {@link MessageCombiner}.
+     */
+    private static final class Messages {
+        private Object[] messages = new Object[2];
+        private int size = 0;
+
+        private synchronized void add(final Object message) {
+            if (this.size == this.messages.length)
+                this.messages = Arrays.copyOf(this.messages, this.size << 1);
+            this.messages[this.size++] = message;
+        }
+
+        private void clear() {
+            Arrays.fill(this.messages, 0, this.size, null);
+            this.size = 0;
+        }
+
+        private <M> Iterator<M> iterator() {
+            final Object[] messages = this.messages;
+            final int size = this.size;
+            return new Iterator<M>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < size;
+                }
+
+                @Override
+                public M next() {
+                    if (this.index >= size) throw new NoSuchElementException();
+                    return (M) messages[this.index++];
+                }
+            };
+        }
     }
 }
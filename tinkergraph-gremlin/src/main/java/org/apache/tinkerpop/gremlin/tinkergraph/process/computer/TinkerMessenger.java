@@ -29,17 +29,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -48,11 +44,13 @@ import java.util.stream.StreamSupport;
 public final class TinkerMessenger<M> implements Messenger<M> {
 
     private final Vertex vertex;
+    private final int ordinal;
     private final TinkerMessageBoard<M> messageBoard;
     private final MessageCombiner<M> combiner;
 
     public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
         this.vertex = vertex;
+        this.ordinal = messageBoard.ordinal(vertex);
         this.messageBoard = messageBoard;
         this.combiner = combiner.isPresent() ? combiner.get() : null;
     }
@@ -60,8 +58,8 @@ public final class TinkerMessenger<M> implements Messenger<M> {
     @Override
     public Iterator<M> receiveMessages() {
         final MultiIterator<M> multiIterator = new MultiIterator<>();
-        for (final MessageScope messageScope : this.messageBoard.receiveMessages.keySet()) {
-//        for (final MessageScope messageScope : this.messageBoard.previousMessageScopes) {
+        for (final Map.Entry<MessageScope, TinkerMessageBoard.Buffers> entry : this.messageBoard.receiveScopes()) {
+            final MessageScope messageScope = entry.getKey();
             if (messageScope instanceof MessageScope.Local) {
                 final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) messageScope;
                 final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
@@ -76,19 +74,14 @@ public final class TinkerMessenger<M> implements Messenger<M> {
                             } else {
                                 vv = e.outVertex() == this.vertex ? e.inVertex() : e.outVertex();
                             }
-                            return this.messageBoard.receiveMessages.get(messageScope).get(vv);
+                            return this.messageBoard.receiveMessages(entry.getValue(), this.messageBoard.ordinal(vv));
                         })
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
+                        .flatMap(messages -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(messages, Spliterator.IMMUTABLE), false))
                         .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0]))
                         .iterator());
 
             } else {
-                multiIterator.addIterator(Stream.of(this.vertex)
-                        .map(this.messageBoard.receiveMessages.get(messageScope)::get)
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .iterator());
+                multiIterator.addIterator(this.messageBoard.receiveMessages(entry.getValue(), this.ordinal));
             }
         }
         return multiIterator;
@@ -96,26 +89,15 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 
     @Override
     public void sendMessage(final MessageScope messageScope, final M message) {
-//        this.messageBoard.currentMessageScopes.add(messageScope);
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message, messageScope);
+            this.messageBoard.sendMessage(messageScope, this.ordinal, message, this.combiner);
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message, messageScope));
+            for (final Vertex v : ((MessageScope.Global) messageScope).vertices()) {
+                this.messageBoard.sendMessage(messageScope, this.messageBoard.ordinal(v), message, this.combiner);
+            }
         }
     }
 
-    private void addMessage(final Vertex vertex, final M message, MessageScope messageScope) {
-        this.messageBoard.sendMessages.compute(messageScope, (ms, messages) -> {
-            if(null==messages) messages = new ConcurrentHashMap<>();
-            return messages;
-        });
-        this.messageBoard.sendMessages.get(messageScope).compute(vertex, (v, queue) -> {
-            if (null == queue) queue = new ConcurrentLinkedQueue<>();
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
-            return queue;
-        });
-    }
-
     ///////////
 
     private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
@@ -26,20 +26,34 @@ import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.function.Consumer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
 
 /**
+ * Runs the workers of a {@link TinkerGraphComputer}. The vertices are cut into chunks of roughly equal cost, where
+ * the cost of a vertex is one plus its degree, and each worker is handed a contiguous run of chunks of about the same
+ * total cost. A worker takes chunks from the front of its own run and, once that is exhausted, steals chunks from the
+ * back of the runs of the other workers, so that a worker that drew the supernodes does not hold up the others.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -47,6 +61,12 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The number of chunks each worker gets before any stealing, which bounds how unevenly the work can end up
+     * divided when the costs are only estimates.
+     */
+    private static final int CHUNKS_PER_WORKER = 16;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
@@ -54,34 +74,20 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final Partition<Vertex> vertices;
+    private final AtomicLongArray workerRuntimes;
 
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
         this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
+        this.workerRuntimes = new AtomicLongArray(numberOfWorkers);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
-        }
-        int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
-            }
         }
+        this.vertices = new Partition<>(IteratorUtils.list(graph.vertices()),
+                vertex -> 1 + (vertex instanceof TinkerVertex ? TinkerHelper.getDegree((TinkerVertex) vertex) : 0),
+                numberOfWorkers);
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -92,37 +98,64 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.mapReducePool = new MapReducePool(mapReduce, this.numberOfWorkers);
     }
 
-    public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+    /**
+     * Gets the time in milliseconds that each worker spent on vertex programs and map-reduce jobs so far.
+     */
+    public List<Long> getWorkerRuntimes() {
+        final List<Long> runtimes = new ArrayList<>(this.numberOfWorkers);
         for (int i = 0; i < this.numberOfWorkers; i++) {
-            final int index = i;
-            this.completionService.submit(() -> {
-                final VertexProgram vp = this.vertexProgramPool.take();
-                final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
-                this.vertexProgramPool.offer(vp);
-                this.workerMemoryPool.offer(workerMemory);
-                return null;
-            });
-        }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
+            runtimes.add(TimeUnit.NANOSECONDS.toMillis(this.workerRuntimes.get(i)));
         }
+        return runtimes;
     }
 
-    public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
+    public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        this.vertices.reset();
+        this.execute(index -> () -> {
+            final VertexProgram vp = this.vertexProgramPool.take();
+            final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
+            worker.accept(this.vertices.iterator(index), vp, workerMemory);
+            this.vertexProgramPool.offer(vp);
+            this.workerMemoryPool.offer(workerMemory);
+            return null;
+        });
+    }
+
+    /**
+     * Runs the map stage of the current {@link MapReduce} over the vertices of the graph.
+     */
+    public void executeMapReduce(final BiConsumer<Iterator<Vertex>, MapReduce> worker) throws InterruptedException {
+        this.vertices.reset();
+        this.executeMapReduce(this.vertices, worker);
+    }
+
+    /**
+     * Runs the reduce stage of the current {@link MapReduce} over the given items, which all cost the same.
+     */
+    public <T> void executeMapReduce(final Collection<T> items, final BiConsumer<Iterator<T>, MapReduce> worker) throws InterruptedException {
+        this.executeMapReduce(new Partition<>(items, item -> 1, this.numberOfWorkers), worker);
+    }
+
+    private <T> void executeMapReduce(final Partition<T> partition, final BiConsumer<Iterator<T>, MapReduce> worker) throws InterruptedException {
+        this.execute(index -> () -> {
+            final MapReduce mr = this.mapReducePool.take();
+            worker.accept(partition.iterator(index), mr);
+            this.mapReducePool.offer(mr);
+            return null;
+        });
+    }
+
+    private void execute(final WorkerTask task) throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
+            final int index = i;
+            final Callable<Object> callable = task.create(index);
             this.completionService.submit(() -> {
-                final MapReduce mr = this.mapReducePool.take();
-                worker.accept(mr);
-                this.mapReducePool.offer(mr);
-                return null;
+                final long start = System.nanoTime();
+                try {
+                    return callable.call();
+                } finally {
+                    this.workerRuntimes.addAndGet(index, System.nanoTime() - start);
+                }
             });
         }
         for (int i = 0; i < this.numberOfWorkers; i++) {
@@ -144,4 +177,133 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface WorkerTask {
+        Callable<Object> create(final int index);
+    }
+
+    /**
+     * Items cut into chunks that are shared out among the workers. The chunks of each worker are a range whose front
+     * and back are packed into one {@code long} so that the worker and the thieves can both move them with a single
+     * compare-and-set.
+     */
+    private static final class Partition<T> {
+        private final Object[] items;
+        private final int[] chunkStarts;
+        private final int[] workerStarts;
+        private final AtomicLong[] ranges;
+
+        private Partition(final Collection<T> items, final ToLongFunction<T> cost, final int numberOfWorkers) {
+            this.items = items.toArray();
+            final long[] costs = new long[this.items.length];
+            long totalCost = 0;
+            for (int i = 0; i < this.items.length; i++) {
+                costs[i] = cost.applyAsLong((T) this.items[i]);
+                totalCost += costs[i];
+            }
+
+            // cut the items into chunks, a single item that costs more than a chunk makes a chunk of its own
+            final long chunkCost = Math.max(1, totalCost / ((long) numberOfWorkers * CHUNKS_PER_WORKER));
+            final List<Integer> chunkStarts = new ArrayList<>();
+            final List<Long> chunkCosts = new ArrayList<>();
+            long currentCost = chunkCost;
+            for (int i = 0; i < this.items.length; i++) {
+                if (currentCost >= chunkCost) {
+                    chunkStarts.add(i);
+                    chunkCosts.add(0L);
+                    currentCost = 0;
+                }
+                currentCost += costs[i];
+                chunkCosts.set(chunkCosts.size() - 1, currentCost);
+            }
+            this.chunkStarts = new int[chunkStarts.size() + 1];
+            for (int i = 0; i < chunkStarts.size(); i++) {
+                this.chunkStarts[i] = chunkStarts.get(i);
+            }
+            this.chunkStarts[chunkStarts.size()] = this.items.length;
+
+            // give each worker a run of chunks worth about an equal share of the total cost
+            this.workerStarts = new int[numberOfWorkers + 1];
+            int chunk = 0;
+            long assignedCost = 0;
+            for (int worker = 0; worker < numberOfWorkers; worker++) {
+                this.workerStarts[worker] = chunk;
+                final long share = totalCost * (worker + 1) / numberOfWorkers;
+                while (chunk < chunkCosts.size() && (assignedCost < share || worker == numberOfWorkers - 1)) {
+                    assignedCost += chunkCosts.get(chunk++);
+                }
+            }
+            this.workerStarts[numberOfWorkers] = chunkCosts.size();
+            this.ranges = new AtomicLong[numberOfWorkers];
+            for (int worker = 0; worker < numberOfWorkers; worker++) {
+                this.ranges[worker] = new AtomicLong();
+            }
+            this.reset();
+        }
+
+        private void reset() {
+            for (int worker = 0; worker < this.ranges.length; worker++) {
+                this.ranges[worker].set(range(this.workerStarts[worker], this.workerStarts[worker + 1]));
+            }
+        }
+
+        /**
+         * Takes a chunk from the front of the worker's own range or else from the back of the range of another
+         * worker, returning {@code -1} when no chunks are left.
+         */
+        private int take(final int worker) {
+            final AtomicLong own = this.ranges[worker];
+            while (true) {
+                final long range = own.get();
+                final int front = (int) (range >>> 32);
+                final int back = (int) range;
+                if (front >= back) break;
+                if (own.compareAndSet(range, range(front + 1, back)))
+                    return front;
+            }
+            for (int i = 1; i < this.ranges.length; i++) {
+                final AtomicLong victim = this.ranges[(worker + i) % this.ranges.length];
+                while (true) {
+                    final long range = victim.get();
+                    final int front = (int) (range >>> 32);
+                    final int back = (int) range;
+                    if (front >= back) break;
+                    if (victim.compareAndSet(range, range(front, back - 1)))
+                        return back - 1;
+                }
+            }
+            return -1;
+        }
+
+        private Iterator<T> iterator(final int worker) {
+            return new Iterator<T>() {
+                private int index = 0;
+                private int end = 0;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.index < this.end)
+                        return true;
+                    final int chunk = take(worker);
+                    if (chunk < 0)
+                        return false;
+                    this.index = chunkStarts[chunk];
+                    this.end = chunkStarts[chunk + 1];
+                    return true;
+                }
+
+                @Override
+                public T next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+                    return (T) items[this.index++];
+                }
+            };
+        }
+
+        private static long range(final int front, final int back) {
+            return ((long) front << 32) | (back & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Merge;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MergeEdgeStep;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -30,10 +31,12 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -51,7 +54,6 @@ public class TinkerMergeEdgeStep<S> extends MergeEdgeStep<S> {
     @Override
     protected Stream<Edge> createSearchStream(final Map<Object, Object> search) {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        Optional<String> firstIndex = Optional.empty();
 
         Stream<Edge> stream;
         // prioritize lookup by id but otherwise attempt an index lookup
@@ -60,15 +62,16 @@ public class TinkerMergeEdgeStep<S> extends MergeEdgeStep<S> {
         } else if (search.containsKey(T.id)) {
             stream = IteratorUtils.stream(graph.edges(search.get(T.id)));
         } else {
-            // look for the first index we can find - that's the lucky winner. may or may not be the most selective
-            final Set<String> indexedKeys = graph.getIndexedKeys(Edge.class);
-            firstIndex = search.keySet().stream().
-                    filter(k -> k instanceof String).
-                    map(k -> (String) k).
-                    filter(indexedKeys::contains).findFirst();
+            // let the index choose the most selective lookup among the search keys
+            final Map<String, List<P<?>>> predicates = new LinkedHashMap<>();
+            search.forEach((k, v) -> {
+                if (k instanceof String) predicates.put((String) k, Collections.singletonList(P.eq(v)));
+            });
+            final Object label = search.get(T.label);
+            final List<? extends Edge> indexed = TinkerHelper.queryEdgeIndex(graph, label instanceof String ? (String) label : null, predicates);
 
             // use the index if possible otherwise just in memory filter
-            stream = firstIndex.map(s -> TinkerHelper.queryEdgeIndex(graph, s, search.get(s)).stream().map(e -> (Edge) e)).
+            stream = Optional.ofNullable(indexed).map(l -> l.stream().map(e -> (Edge) e)).
                     orElseGet(() -> {
                         if (search.containsKey(Direction.BOTH)) {
                             // filter self-edges with distinct()
@@ -83,13 +86,10 @@ public class TinkerMergeEdgeStep<S> extends MergeEdgeStep<S> {
                     });
         }
 
-        final Optional<String> indexUsed = firstIndex;
         stream = stream.filter(e -> {
-            // try to match on all search criteria skipping T.id as it was handled above
-            return search.entrySet().stream().filter(kv -> {
-                final Object k = kv.getKey();
-                return k != T.id && !(indexUsed.isPresent() && indexUsed.get().equals(k));
-            }).allMatch(kv -> {
+            // try to match on all search criteria skipping T.id as it was handled above. the index only narrows the
+            // candidates so the indexed keys are checked as well
+            return search.entrySet().stream().filter(kv -> kv.getKey() != T.id).allMatch(kv -> {
                 if (kv.getKey() == T.label) {
                     return e.label().equals(kv.getValue());
                 } else if (kv.getKey() instanceof Direction) {
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Merge;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MergeVertexStep;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -29,9 +30,11 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -48,7 +51,6 @@ public class TinkerMergeVertexStep<S> extends MergeVertexStep<S> {
     @Override
     protected Stream<Vertex> createSearchStream(final Map<Object, Object> search) {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        Optional<String> firstIndex = Optional.empty();
 
         Stream<Vertex> stream;
         // prioritize lookup by id but otherwise attempt an index lookup
@@ -57,25 +59,23 @@ public class TinkerMergeVertexStep<S> extends MergeVertexStep<S> {
         } else if (search.containsKey(T.id)) {
             stream = IteratorUtils.stream(graph.vertices(search.get(T.id)));
         } else {
-            // look for the first index we can find - that's the lucky winner. may or may not be the most selective
-            final Set<String> indexedKeys = graph.getIndexedKeys(Vertex.class);
-            firstIndex = search.keySet().stream().
-                    filter(k -> k instanceof String).
-                    map(k -> (String) k).
-                    filter(indexedKeys::contains).findFirst();
+            // let the index choose the most selective lookup among the search keys
+            final Map<String, List<P<?>>> predicates = new LinkedHashMap<>();
+            search.forEach((k, v) -> {
+                if (k instanceof String) predicates.put((String) k, Collections.singletonList(P.eq(v)));
+            });
+            final Object label = search.get(T.label);
+            final List<? extends Vertex> indexed = TinkerHelper.queryVertexIndex(graph, label instanceof String ? (String) label : null, predicates);
 
             // use the index if possible otherwise just in memory filter
-            stream = firstIndex.map(s -> TinkerHelper.queryVertexIndex(graph, s, search.get(s)).stream().map(v -> (Vertex) v)).
+            stream = Optional.ofNullable(indexed).map(l -> l.stream().map(v -> (Vertex) v)).
                     orElseGet(() -> IteratorUtils.stream(graph.vertices()));
         }
 
-        final Optional<String> indexUsed = firstIndex;
         stream = stream.filter(v -> {
-            // try to match on all search criteria skipping T.id as it was handled above
-            return search.entrySet().stream().filter(kv -> {
-                final Object k = kv.getKey();
-                return k != T.id && !(indexUsed.isPresent() && indexUsed.get().equals(k));
-            }).allMatch(kv -> {
+            // try to match on all search criteria skipping T.id as it was handled above. the index only narrows the
+            // candidates so the indexed keys are checked as well
+            return search.entrySet().stream().filter(kv -> kv.getKey() != T.id).allMatch(kv -> {
                 if (kv.getKey() == T.label) {
                     return v.label().equals(kv.getValue());
                 } else {
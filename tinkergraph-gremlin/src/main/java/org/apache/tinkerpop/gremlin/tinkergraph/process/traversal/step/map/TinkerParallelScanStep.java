@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Replaces a {@link TinkerGraphStep} and the steps that follow it up to a barrier. The elements the graph step would
+ * test are split into contiguous partitions that are tested and pushed through a copy of the following steps on the
+ * common {@code ForkJoinPool}, with the calling thread working through any partition that no other thread has
+ * started. When the barrier is a {@link ReducingBarrierStep} it is run in each partition as well and the partial
+ * results are merged with its reducing operator, otherwise the output of the partitions is emitted one partition
+ * after another in the order of the elements they were cut from.
+ */
+public final class TinkerParallelScanStep<S, E> extends AbstractStep<S, E> implements TraversalParent, AutoCloseable {
+
+    private TinkerGraphStep<?, Element> source;
+    private Traversal.Admin<Element, E> partitionTraversal;
+    private final boolean reducing;
+    private final int parallelism;
+    private final int minPartitionSize;
+
+    private List<FutureTask<Object>> partitions = null;
+    private int nextPartition = 0;
+    private Iterator<Traverser.Admin<E>> results = Collections.emptyIterator();
+
+    /**
+     * @param source             the graph step whose elements are to be split among threads
+     * @param partitionTraversal the steps that each partition is pushed through
+     * @param reducing           whether the last step of the partition traversal is a {@link ReducingBarrierStep}
+     * @param parallelism        the largest number of partitions to split the elements into
+     * @param minPartitionSize   the smallest number of elements worth giving a partition of its own
+     */
+    public TinkerParallelScanStep(final Traversal.Admin traversal, final TinkerGraphStep<?, Element> source,
+                                  final Traversal.Admin<Element, E> partitionTraversal, final boolean reducing,
+                                  final int parallelism, final int minPartitionSize) {
+        super(traversal);
+        this.source = source;
+        this.partitionTraversal = this.integrateChild(partitionTraversal);
+        this.reducing = reducing;
+        this.parallelism = parallelism;
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (null == this.partitions)
+            this.partitions = submit();
+
+        if (this.reducing)
+            return reduce();
+
+        while (!this.results.hasNext()) {
+            if (this.nextPartition >= this.partitions.size())
+                throw FastNoSuchElementException.instance();
+            this.results = ((List<Traverser.Admin<E>>) await(this.partitions.get(this.nextPartition++))).iterator();
+        }
+        return this.results.next();
+    }
+
+    private Traverser.Admin<E> reduce() {
+        final ReducingBarrierStep<Object, E> barrier = (ReducingBarrierStep<Object, E>) this.partitionTraversal.getEndStep();
+        Object seed = ReducingBarrierStep.NON_EMITTING_SEED;
+        while (this.nextPartition < this.partitions.size()) {
+            final Object partial = await(this.partitions.get(this.nextPartition++));
+            if (ReducingBarrierStep.NON_EMITTING_SEED != partial)
+                seed = ReducingBarrierStep.NON_EMITTING_SEED == seed ? partial : barrier.getBiOperator().apply((E) seed, (E) partial);
+        }
+        if (ReducingBarrierStep.NON_EMITTING_SEED == seed)
+            throw FastNoSuchElementException.instance();
+        return this.getTraversal().getTraverserGenerator().generate(barrier.generateFinalResult((E) seed), (Step) this, 1L);
+    }
+
+    private List<FutureTask<Object>> submit() {
+        final List<Element> candidates = this.source.getCandidates();
+        final int count = Math.max(1, Math.min(this.parallelism, candidates.size() / Math.max(1, this.minPartitionSize)));
+        final int size = (candidates.size() + count - 1) / count;
+
+        final List<FutureTask<Object>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final List<Element> partition = candidates.subList(Math.min(candidates.size(), i * size),
+                    Math.min(candidates.size(), (i + 1) * size));
+            // cloned here rather than by the thread processing the partition so that nothing reads the partition
+            // traversal concurrently
+            final Traversal.Admin<Element, E> traversal = this.partitionTraversal.clone();
+            tasks.add(new FutureTask<>(() -> process(traversal, partition)));
+        }
+
+        // the first partition is always left to the calling thread
+        for (int i = 1; i < count; i++) {
+            ForkJoinPool.commonPool().execute(tasks.get(i));
+        }
+        return tasks;
+    }
+
+    private Object process(final Traversal.Admin<Element, E> traversal, final List<Element> partition) {
+        final List<HasContainer> hasContainers = this.source.getHasContainers();
+        final TraverserGenerator generator = this.getTraversal().getTraverserGenerator();
+        final Iterator<Traverser.Admin> starts = partition.stream()
+                .filter(e -> HasContainer.testAll(e, hasContainers))
+                .map(e -> (Traverser.Admin) generator.generate(e, (Step) this.source, 1L))
+                .iterator();
+
+        if (traversal.getSteps().isEmpty()) {
+            final List<Object> results = new ArrayList<>();
+            starts.forEachRemaining(results::add);
+            return results;
+        }
+
+        traversal.getStartStep().addStarts((Iterator) starts);
+        final Step<?, E> end = traversal.getEndStep();
+        if (this.reducing) {
+            final ReducingBarrierStep<?, E> barrier = (ReducingBarrierStep<?, E>) end;
+            return barrier.hasNextBarrier() ? barrier.nextBarrier() : ReducingBarrierStep.NON_EMITTING_SEED;
+        } else {
+            final List<Traverser.Admin<E>> results = new ArrayList<>();
+            while (end.hasNext()) {
+                results.add(end.next());
+            }
+            return results;
+        }
+    }
+
+    private static Object await(final FutureTask<Object> task) {
+        // does nothing if a thread of the pool already started the partition
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ee.getCause();
+            else if (ee.getCause() instanceof Error)
+                throw (Error) ee.getCause();
+            throw new IllegalStateException(ee.getCause());
+        }
+    }
+
+    public TinkerGraphStep<?, Element> getSource() {
+        return this.source;
+    }
+
+    public boolean isReducing() {
+        return this.reducing;
+    }
+
+    @Override
+    public List<Traversal.Admin<Element, E>> getGlobalChildren() {
+        return Collections.singletonList(this.partitionTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.source.setTraversal(parentTraversal);
+        this.integrateChild(this.partitionTraversal);
+    }
+
+    @Override
+    public TinkerParallelScanStep<S, E> clone() {
+        final TinkerParallelScanStep<S, E> clone = (TinkerParallelScanStep<S, E>) super.clone();
+        clone.source = (TinkerGraphStep<?, Element>) this.source.clone();
+        clone.partitionTraversal = this.partitionTraversal.clone();
+        clone.partitions = null;
+        clone.nextPartition = 0;
+        clone.results = Collections.emptyIterator();
+        return clone;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        cancel();
+        this.partitions = null;
+        this.nextPartition = 0;
+        this.results = Collections.emptyIterator();
+    }
+
+    @Override
+    public void close() throws Exception {
+        cancel();
+        this.source.close();
+        TraversalParent.super.close();
+    }
+
+    private void cancel() {
+        if (null != this.partitions)
+            this.partitions.forEach(task -> task.cancel(false));
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.source, this.partitionTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.source.hashCode() ^ this.partitionTraversal.hashCode() ^ Boolean.hashCode(this.reducing);
+    }
+}
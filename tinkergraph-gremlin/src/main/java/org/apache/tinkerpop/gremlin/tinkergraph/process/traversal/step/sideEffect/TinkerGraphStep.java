@@ -26,21 +26,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -67,19 +70,19 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         Iterator<Edge> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.edges(this.ids));
-        else
-            iterator = null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                                .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                                .collect(Collectors.<Edge>toList()).iterator();
+        else {
+            final List<TinkerEdge> indexed = TinkerHelper.queryEdgeIndex(graph, getIndexLabel(), getIndexPredicates());
+            iterator = null == indexed ?
+                    this.filteredIterator(TinkerHelper.scanEdges(graph)) :
+                    IteratorUtils.filter(IteratorUtils.<TinkerEdge, Edge>cast(indexed.iterator()),
+                                         edge -> HasContainer.testAll(edge, this.hasContainers));
+        }
 
 
         iterators.add(iterator);
@@ -89,31 +92,78 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         Iterator<? extends Vertex> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.vertices(this.ids));
-        else
-            iterator = (null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
+        else {
+            final List<TinkerVertex> indexed = TinkerHelper.queryVertexIndex(graph, getIndexLabel(), getIndexPredicates());
+            iterator = (null == indexed ?
+                    this.filteredIterator(TinkerHelper.scanVertices(graph)) :
+                    IteratorUtils.filter(indexed.iterator(),
                                          vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        }
 
         iterators.add(iterator);
 
         return iterator;
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+    /**
+     * Gets the elements that this step would test against its {@link HasContainer}s, whether they come from the ids,
+     * an index or a scan of the graph, without testing them so that the tests can be split among several threads.
+     */
+    public List<E> getCandidates() {
+        if (null == this.ids)
+            return Collections.emptyList();
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+        final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
+        final boolean vertices = Vertex.class.isAssignableFrom(this.returnClass);
+        final Iterator<? extends Element> iterator;
+        if (this.ids.length > 0)
+            iterator = vertices ? graph.vertices(this.ids) : graph.edges(this.ids);
+        else {
+            final List<? extends Element> indexed = vertices ?
+                    TinkerHelper.queryVertexIndex(graph, getIndexLabel(), getIndexPredicates()) :
+                    TinkerHelper.queryEdgeIndex(graph, getIndexLabel(), getIndexPredicates());
+            if (null != indexed)
+                return (List<E>) indexed;
+            iterator = vertices ? TinkerHelper.scanVertices(graph) : TinkerHelper.scanEdges(graph);
+        }
 
+        final List<E> candidates = new ArrayList<>();
+        try {
+            iterator.forEachRemaining(e -> candidates.add((E) e));
+        } finally {
+            CloseableIterator.closeIterator(iterator);
+        }
+        return candidates;
+    }
+
+    /**
+     * Gets the label that all elements must have for use with composite indices or {@code null} if there isn't one.
+     */
+    private String getIndexLabel() {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (T.label.getAccessor().equals(hasContainer.getKey()) &&
+                    hasContainer.getBiPredicate() == Compare.eq && hasContainer.getValue() instanceof String)
+                return (String) hasContainer.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Groups the predicates by key so that the index can choose the most selective lookup among them.
+     */
+    private Map<String, List<P<?>>> getIndexPredicates() {
+        final Map<String, List<P<?>>> predicates = new LinkedHashMap<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (null != hasContainer.getKey())
+                predicates.computeIfAbsent(hasContainer.getKey(), k -> new ArrayList<>()).add(hasContainer.getPredicate());
+        }
+        return predicates;
     }
 
     @Override
@@ -126,6 +176,16 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
                     StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
     }
 
+    /**
+     * Lazily filters the elements of a scan with the {@link HasContainer}s so that the first result is available as soon
+     * as it is found rather than after the whole graph has been scanned.
+     */
+    private <E extends Element> Iterator<E> filteredIterator(final Iterator<E> iterator) {
+        return this.hasContainers.isEmpty() ?
+                iterator :
+                IteratorUtils.filter(iterator, e -> HasContainer.testAll(e, this.hasContainers));
+    }
+
     private <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
         final List<E> list = new ArrayList<>();
 
@@ -62,6 +62,9 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
     public void apply(final Traversal.Admin<?, ?> traversal) {
         if (!(traversal.isRoot()) || TraversalHelper.onGraphComputer(traversal))
             return;
+        // the size of the element maps of a transactional graph is not what a transaction sees
+        if (traversal.getGraph().map(graph -> graph.features().graph().supportsTransactions()).orElse(false))
+            return;
         final List<Step> steps = traversal.getSteps();
         if (steps.size() < 2 ||
                 !(steps.get(0) instanceof GraphStep) ||
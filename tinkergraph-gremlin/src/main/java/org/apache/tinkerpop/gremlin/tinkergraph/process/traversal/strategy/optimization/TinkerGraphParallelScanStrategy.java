@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CallStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FoldStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerParallelScanStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.util.function.ArrayListSupplier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This strategy splits the elements of a {@link TinkerGraphStep} that starts a traversal among several threads when
+ * everything up to the first barrier can be processed for each element independently, replacing those steps with a
+ * {@link TinkerParallelScanStep}. A {@link ReducingBarrierStep} such as {@code count()}, {@code sum()},
+ * {@code groupCount()} or {@code group()} is run in every partition with the partial results merged by its reducing
+ * operator, which leaves out a {@code fold()} given a seed as every partition would add the seed again, while a
+ * {@link CollectingBarrierStep} such as {@code order()} receives the output of the partitions one partition after
+ * another. The strategy is not applied when the traversal runs on a
+ * {@code GraphComputer} or in a transaction, or when any of the steps to run in parallel mutate the graph, use
+ * side-effects or lambdas. It is not registered by default and must be added with {@code withStrategies()}.
+ *
+ * @example <pre>
+ * g.V().has('age',gt(30)).out().groupCount()   // is replaced by TinkerParallelScanStep
+ * g.V().out().values('name').order()           // TinkerParallelScanStep is followed by order()
+ * g.V().out().limit(1)                         // is not replaced as limit() would not see the whole scan
+ * </pre>
+ */
+public final class TinkerGraphParallelScanStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    public static final String PARALLELISM = "parallelism";
+    public static final String MIN_PARTITION_SIZE = "minPartitionSize";
+
+    private static final TinkerGraphParallelScanStrategy INSTANCE = build().create();
+
+    private final int parallelism;
+    private final int minPartitionSize;
+
+    private TinkerGraphParallelScanStrategy(final Builder builder) {
+        this.parallelism = builder.parallelism;
+        this.minPartitionSize = builder.minPartitionSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.isRoot()) || TraversalHelper.onGraphComputer(traversal))
+            return;
+        // the elements a transaction sees depend on the thread reading them
+        if (traversal.getGraph().map(graph -> graph.features().graph().supportsTransactions()).orElse(false))
+            return;
+        // the metrics of the steps run in parallel would be lost
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal))
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        if (steps.isEmpty() || !(steps.get(0) instanceof TinkerGraphStep) || !((TinkerGraphStep) steps.get(0)).isStartStep())
+            return;
+
+        int end = 1;
+        while (end < steps.size() && isPartitionable(steps.get(end), true))
+            end++;
+
+        // only a barrier that consumes everything makes it worth finishing the scan before emitting anything
+        if (end == steps.size())
+            return;
+        final Step<?, ?> barrier = steps.get(end);
+        final boolean reducing = barrier instanceof ReducingBarrierStep && hasIdentitySeed((ReducingBarrierStep<?, ?>) barrier) &&
+                isPartitionable(barrier, false);
+        if (!reducing && !(barrier instanceof CollectingBarrierStep))
+            return;
+
+        final TinkerGraphStep<?, Element> source = (TinkerGraphStep<?, Element>) steps.get(0);
+        if (!reducing && 1 == end && source.getHasContainers().isEmpty())
+            return;
+
+        final List<Step> moved = new ArrayList<>(steps.subList(1, reducing ? end + 1 : end));
+        final Traversal.Admin<Element, Object> partitionTraversal = new DefaultTraversal<>();
+        traversal.removeStep(source);
+        for (final Step step : moved) {
+            traversal.removeStep(step);
+            partitionTraversal.addStep(step);
+        }
+
+        final TinkerParallelScanStep<?, Object> scanStep = new TinkerParallelScanStep<>(traversal, source,
+                partitionTraversal, reducing, this.parallelism, this.minPartitionSize);
+        if (reducing) {
+            // the reduced result is emitted by the scan step so it takes on the labels of the barrier
+            for (final String label : new ArrayList<>(barrier.getLabels())) {
+                barrier.removeLabel(label);
+                scanStep.addLabel(label);
+            }
+        }
+        traversal.addStep(0, scanStep);
+    }
+
+    /**
+     * Determines if the seed of the barrier can be taken by every partition without changing the merged result. Only
+     * {@code fold()} lets the seed be chosen, so {@code fold(10, sum)} would count its seed once per partition and it
+     * is only the seedless {@code fold()} that is run in the partitions.
+     */
+    private static boolean hasIdentitySeed(final ReducingBarrierStep<?, ?> barrier) {
+        return !(barrier instanceof FoldStep) || barrier.getSeedSupplier() instanceof ArrayListSupplier;
+    }
+
+    /**
+     * Determines if the step can process its share of the elements independently of the other partitions.
+     *
+     * @param global {@code true} if the step sees every traverser of the scan rather than those of a single traverser
+     *               in a local child, in which case any barrier but a {@link NoOpBarrierStep} needs the whole scan
+     */
+    private static boolean isPartitionable(final Step<?, ?> step, final boolean global) {
+        if (global && step instanceof Barrier && !(step instanceof NoOpBarrierStep))
+            return false;
+        if (step instanceof Mutating || step instanceof SideEffectCapable || step instanceof LambdaHolder ||
+                step instanceof CallStep || step.getRequirements().contains(TraverserRequirement.SIDE_EFFECTS))
+            return false;
+
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> local : ((TraversalParent) step).getLocalChildren()) {
+                for (final Step<?, ?> child : local.getSteps()) {
+                    if (!isPartitionable(child, false)) return false;
+                }
+            }
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                for (final Step<?, ?> childStep : child.getSteps()) {
+                    if (!isPartitionable(childStep, global)) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return Collections.singleton(TinkerGraphStepStrategy.class);
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public int getMinPartitionSize() {
+        return this.minPartitionSize;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, TinkerGraphParallelScanStrategy.class.getCanonicalName());
+        map.put(PARALLELISM, this.parallelism);
+        map.put(MIN_PARTITION_SIZE, this.minPartitionSize);
+        return new MapConfiguration(map);
+    }
+
+    public static TinkerGraphParallelScanStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(PARALLELISM))
+            builder.parallelism(configuration.getInt(PARALLELISM));
+        if (configuration.containsKey(MIN_PARTITION_SIZE))
+            builder.minPartitionSize(configuration.getInt(MIN_PARTITION_SIZE));
+        return builder.create();
+    }
+
+    public static TinkerGraphParallelScanStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+        private int parallelism = ForkJoinPool.getCommonPoolParallelism() + 1;
+        private int minPartitionSize = 1000;
+
+        private Builder() {
+        }
+
+        /**
+         * The largest number of partitions to split the elements among, which defaults to one more than the
+         * parallelism of the common {@code ForkJoinPool} as the calling thread also processes partitions.
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1)
+                throw new IllegalArgumentException("The parallelism must be at least 1");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * The smallest number of elements worth giving a partition of its own, which defaults to 1000, so that
+         * small scans are not split into partitions that cost more to coordinate than to process.
+         */
+        public Builder minPartitionSize(final int minPartitionSize) {
+            if (minPartitionSize < 1)
+                throw new IllegalArgumentException("The minPartitionSize must be at least 1");
+            this.minPartitionSize = minPartitionSize;
+            return this;
+        }
+
+        public TinkerGraphParallelScanStrategy create() {
+            return new TinkerGraphParallelScanStrategy(this);
+        }
+    }
+}
@@ -36,7 +36,9 @@ import java.util.Set;
 import static org.apache.tinkerpop.gremlin.util.tools.CollectionFactory.asMap;
 
 /**
- * Inefficient text search implementation (scan+filter), searches for {@link Property}s by token/regex.
+ * Text search for {@link Property}s. The {@code term}, {@code prefix} and {@code phrase} parameters are answered from
+ * the {@link TinkerGraph.IndexType#TEXT} indices and stream their results from the postings of the index while the
+ * {@code search} and {@code regex} parameters fall back to an inefficient scan+filter of every property in the graph.
  * Demonstrates a {@link Service.Type#Start} service.
  */
 public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerServiceFactory<I, R> implements Service<I, R> {
@@ -52,6 +54,22 @@ public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerS
          * Directly Specify the regex
          */
         String REGEX = "regex";
+        /**
+         * Specify a word to look up in the text indices
+         */
+        String TERM = "term";
+        /**
+         * Specify the start of a word to look up in the text indices
+         */
+        String PREFIX = "prefix";
+        /**
+         * Specify words to look up in the text indices that must appear next to each other and in order
+         */
+        String PHRASE = "phrase";
+        /**
+         * Specify the property key to look up in the text indices (optional)
+         */
+        String KEY = "key";
         /**
          * Specify the type of Element to search for (optional)
          */
@@ -60,6 +78,10 @@ public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerS
         Map DESCRIBE = asMap(
                 SEARCH, "Specify a search term - will be converted to regex via .*(search).*",
                 REGEX, "Directly specify the regex",
+                TERM, "Specify a word to look up in the text indices",
+                PREFIX, "Specify the start of a word to look up in the text indices",
+                PHRASE, "Specify words to look up in the text indices that must appear next to each other and in order",
+                KEY, "Specify the property key to look up in the text indices, all text indexed keys when not specified (optional)",
                 TYPE, "Specify the type of Element to search for, one of Vertex/Edge/VertexProperty (optional)"
         );
 
@@ -108,15 +130,27 @@ public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerS
 
     @Override
     public CloseableIterator<R> execute(final ServiceCallContext ctx, final Map params) {
+        final Class type = Params.type((String) params.get(Params.TYPE));
+        final String key = (String) params.get(Params.KEY);
+        if (params.containsKey(Params.TERM)) {
+            return CloseableIterator.of((Iterator<R>) TinkerHelper.searchTerm(graph,
+                    (String) params.get(Params.TERM), key, Optional.ofNullable(type)));
+        } else if (params.containsKey(Params.PREFIX)) {
+            return CloseableIterator.of((Iterator<R>) TinkerHelper.searchPrefix(graph,
+                    (String) params.get(Params.PREFIX), key, Optional.ofNullable(type)));
+        } else if (params.containsKey(Params.PHRASE)) {
+            return CloseableIterator.of((Iterator<R>) TinkerHelper.searchPhrase(graph,
+                    (String) params.get(Params.PHRASE), key, Optional.ofNullable(type)));
+        }
+
         final String regex;
         if (params.containsKey(Params.REGEX)) {
             regex = (String) params.get(Params.REGEX);
         } else if (params.containsKey(Params.SEARCH)) {
             regex = ".*(" + params.get(Params.SEARCH) + ").*";
         } else {
-            throw new IllegalStateException("Missing search/regex parameter");
+            throw new IllegalStateException("Missing search/regex/term/prefix/phrase parameter");
         }
-        final Class type = Params.type((String) params.get(Params.TYPE));
 
         return CloseableIterator.of((Iterator<R>) TinkerHelper.search(graph, regex, Optional.ofNullable(type)));
     }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The edges of one direction of a {@link TinkerVertex} when the graph uses compact storage. Edges are grouped by
+ * label into plain arrays rather than a map of hash sets, which costs a few dozen bytes per label instead of a hash
+ * map node per edge and keeps the edges of a label next to each other in memory. Labels are expected to be interned
+ * by the graph so that they can mostly be matched by reference. Each edge notes its position in the array of the
+ * vertex at either end so that removing it takes constant time. The copies of a vertex that transactions change share
+ * their edges, so a position may be stale for all but one copy, in which case the edge is searched for instead.
+ */
+final class TinkerAdjacency {
+
+    private static final String[] NO_LABELS = new String[0];
+    private static final TinkerEdge[][] NO_EDGES = new TinkerEdge[0][];
+    private static final int[] NO_SIZES = new int[0];
+
+    private final Direction direction;
+    private String[] labels = NO_LABELS;
+    private TinkerEdge[][] edges = NO_EDGES;
+    private int[] sizes = NO_SIZES;
+
+    /**
+     * @param direction the direction of the edges, which selects the slot on {@link TinkerEdge} that their position
+     *                  is kept in
+     */
+    TinkerAdjacency(final Direction direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Copies the adjacency for the copy of a vertex that a transaction changes.
+     */
+    TinkerAdjacency(final TinkerAdjacency adjacency) {
+        this.direction = adjacency.direction;
+        this.labels = adjacency.labels.clone();
+        this.sizes = adjacency.sizes.clone();
+        this.edges = new TinkerEdge[adjacency.edges.length][];
+        for (int i = 0; i < this.edges.length; i++) {
+            this.edges[i] = adjacency.edges[i].clone();
+        }
+    }
+
+    public void add(final String label, final TinkerEdge edge) {
+        int i = indexOf(label);
+        if (i < 0) {
+            i = this.labels.length;
+            this.labels = Arrays.copyOf(this.labels, i + 1);
+            this.edges = Arrays.copyOf(this.edges, i + 1);
+            this.sizes = Arrays.copyOf(this.sizes, i + 1);
+            this.labels[i] = label;
+            this.edges[i] = new TinkerEdge[2];
+        } else if (this.sizes[i] == this.edges[i].length) {
+            this.edges[i] = Arrays.copyOf(this.edges[i], this.sizes[i] + (this.sizes[i] >> 1) + 1);
+        }
+        setSlot(edge, this.sizes[i]);
+        this.edges[i][this.sizes[i]++] = edge;
+    }
+
+    public boolean remove(final String label, final TinkerEdge edge) {
+        final int i = indexOf(label);
+        if (i < 0)
+            return false;
+
+        final TinkerEdge[] labelEdges = this.edges[i];
+        final int size = this.sizes[i];
+        int j = slot(edge);
+        if (j >= size || !labelEdges[j].equals(edge)) {
+            j = find(labelEdges, size, edge);
+            if (j < 0)
+                return false;
+        }
+
+        // order of edges is not significant so fill the gap with the last edge
+        final TinkerEdge last = labelEdges[size - 1];
+        labelEdges[j] = last;
+        setSlot(last, j);
+        labelEdges[size - 1] = null;
+        this.sizes[i] = size - 1;
+        return true;
+    }
+
+    private static int find(final TinkerEdge[] labelEdges, final int size, final TinkerEdge edge) {
+        for (int j = 0; j < size; j++) {
+            if (labelEdges[j].equals(edge))
+                return j;
+        }
+        return -1;
+    }
+
+    private int slot(final TinkerEdge edge) {
+        return this.direction == Direction.OUT ? edge.outSlot : edge.inSlot;
+    }
+
+    private void setSlot(final TinkerEdge edge, final int slot) {
+        if (this.direction == Direction.OUT)
+            edge.outSlot = slot;
+        else
+            edge.inSlot = slot;
+    }
+
+    /**
+     * Gets the number of edges across all labels.
+     */
+    public int size() {
+        int size = 0;
+        for (final int labelSize : this.sizes) {
+            size += labelSize;
+        }
+        return size;
+    }
+
+    /**
+     * Passes the edges with any of the given labels, or all edges if no labels are given, to the consumer.
+     */
+    public void forEach(final String[] edgeLabels, final Consumer<Edge> consumer) {
+        if (edgeLabels.length == 0) {
+            for (int i = 0; i < this.labels.length; i++) {
+                forEach(i, consumer);
+            }
+        } else {
+            for (final String label : edgeLabels) {
+                final int i = indexOf(label);
+                if (i >= 0)
+                    forEach(i, consumer);
+            }
+        }
+    }
+
+    private void forEach(final int i, final Consumer<Edge> consumer) {
+        final TinkerEdge[] labelEdges = this.edges[i];
+        final int size = this.sizes[i];
+        for (int j = 0; j < size; j++) {
+            consumer.accept(labelEdges[j]);
+        }
+    }
+
+    private int indexOf(final String label) {
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i] == label)
+                return i;
+        }
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i].equals(label))
+                return i;
+        }
+        return -1;
+    }
+}
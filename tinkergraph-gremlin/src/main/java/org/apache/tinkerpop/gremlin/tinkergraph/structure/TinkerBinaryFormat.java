@@ -0,0 +1,388 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the {@code binary} {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT}, a compact format laid out
+ * for loading TinkerGraph quickly rather than for interchange with other graphs. Labels and property keys are stored
+ * once in a string dictionary and referred to by index. Vertex labels, edge labels and the out and in vertices of
+ * edges are stored as columns of integers, the latter being the position of the vertex in the file, so edges are
+ * connected without looking vertices up by identifier. Identifiers and property values follow in streams where common
+ * types are written directly and any other type with Gryo.
+ * <p/>
+ * Loading reads the whole file and constructs every element on the heap, so it still takes time in proportion to the
+ * size of the graph. What the format saves is the per-element cost, as elements are constructed directly rather than
+ * going through the per-vertex deserialization and attachment of the general purpose formats. Unlike those formats it
+ * restores multi-properties and meta-properties exactly regardless of the configured default cardinality.
+ */
+final class TinkerBinaryFormat {
+
+    private static final int MAGIC = 0x54474246;
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte OBJECT = 7;
+
+    /**
+     * The most of the file mapped at once as it is read through, which keeps the reader within the limits of a single
+     * {@code MappedByteBuffer} whatever the size of the file.
+     */
+    private static final int WINDOW = 1 << 28;
+
+    private TinkerBinaryFormat() {}
+
+    static void write(final TinkerGraph graph, final String location) throws IOException {
+        // the element lists fix the positions of the vertices that edges refer to, and any edge whose vertices were
+        // added after they were taken is left out along with those vertices
+        final List<TinkerVertex> vertices = new ArrayList<>(graph.vertices.size());
+        final Map<Vertex, Integer> positions = new IdentityHashMap<>();
+        for (final Vertex vertex : graph.vertices.values()) {
+            positions.put(vertex, vertices.size());
+            vertices.add((TinkerVertex) vertex);
+        }
+        final List<TinkerEdge> edges = new ArrayList<>(graph.edges.size());
+        for (final Edge edge : graph.edges.values()) {
+            final TinkerEdge tinkerEdge = (TinkerEdge) edge;
+            if (positions.containsKey(tinkerEdge.outVertex) && positions.containsKey(tinkerEdge.inVertex))
+                edges.add(tinkerEdge);
+        }
+
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        for (final TinkerVertex vertex : vertices) {
+            strings.putIfAbsent(vertex.label, strings.size());
+            if (null != vertex.properties) {
+                for (final List<VertexProperty> list : vertex.properties.values()) {
+                    for (final VertexProperty vertexProperty : list) {
+                        strings.putIfAbsent(vertexProperty.key(), strings.size());
+                        vertexProperty.keys().forEach(key -> strings.putIfAbsent(key, strings.size()));
+                    }
+                }
+            }
+        }
+        for (final TinkerEdge edge : edges) {
+            strings.putIfAbsent(edge.label, strings.size());
+            if (null != edge.properties)
+                edge.properties.keySet().forEach(key -> strings.putIfAbsent(key, strings.size()));
+        }
+
+        final Writer out = new Writer(location);
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(strings.size());
+            for (final String string : strings.keySet()) {
+                out.writeString(string);
+            }
+
+            out.writeInt(vertices.size());
+            out.writeInt(edges.size());
+            for (final TinkerVertex vertex : vertices) {
+                out.writeInt(strings.get(vertex.label));
+            }
+            for (final TinkerEdge edge : edges) {
+                out.writeInt(strings.get(edge.label));
+            }
+            for (final TinkerEdge edge : edges) {
+                out.writeInt(positions.get(edge.outVertex));
+            }
+            for (final TinkerEdge edge : edges) {
+                out.writeInt(positions.get(edge.inVertex));
+            }
+
+            for (final TinkerVertex vertex : vertices) {
+                out.writeValue(vertex.id);
+            }
+            for (final TinkerEdge edge : edges) {
+                out.writeValue(edge.id);
+            }
+
+            for (final TinkerVertex vertex : vertices) {
+                final List<VertexProperty> vertexProperties = new ArrayList<>();
+                if (null != vertex.properties)
+                    vertex.properties.values().forEach(vertexProperties::addAll);
+                out.writeInt(vertexProperties.size());
+                for (final VertexProperty vertexProperty : vertexProperties) {
+                    out.writeValue(vertexProperty.id());
+                    out.writeInt(strings.get(vertexProperty.key()));
+                    out.writeValue(vertexProperty.value());
+                    writeProperties(out, strings, ((TinkerVertexProperty<?>) vertexProperty).properties);
+                }
+            }
+            for (final TinkerEdge edge : edges) {
+                writeProperties(out, strings, edge.properties);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    static void read(final TinkerGraph graph, final String location) throws IOException {
+        try (final Reader in = new Reader(location)) {
+            if (in.readInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph binary file", location));
+            final int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException(String.format("Unsupported TinkerGraph binary file version %s", version));
+
+            final String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = graph.intern(in.readString());
+            }
+
+            final int[] vertexLabels = new int[in.readInt()];
+            final int edgeCount = in.readInt();
+            final int[] edgeLabels = new int[edgeCount];
+            final int[] outVertices = new int[edgeCount];
+            final int[] inVertices = new int[edgeCount];
+            in.readInts(vertexLabels);
+            in.readInts(edgeLabels);
+            in.readInts(outVertices);
+            in.readInts(inVertices);
+
+            final TinkerVertex[] vertices = new TinkerVertex[vertexLabels.length];
+            for (int i = 0; i < vertices.length; i++) {
+                final Object id = graph.vertexIdManager.convert(in.readValue());
+                vertices[i] = new TinkerVertex(id, strings[vertexLabels[i]], graph);
+                graph.vertices.put(id, vertices[i]);
+            }
+            final TinkerEdge[] edges = new TinkerEdge[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                final Object id = graph.edgeIdManager.convert(in.readValue());
+                final String label = strings[edgeLabels[i]];
+                edges[i] = new TinkerEdge(id, vertices[outVertices[i]], label, vertices[inVertices[i]]);
+                graph.edges.put(id, edges[i]);
+                TinkerHelper.addOutEdge(vertices[outVertices[i]], label, edges[i]);
+                TinkerHelper.addInEdge(vertices[inVertices[i]], label, edges[i]);
+            }
+
+            for (final TinkerVertex vertex : vertices) {
+                final int count = in.readInt();
+                if (count > 0)
+                    vertex.properties = TinkerHelper.createPropertyMap(graph);
+                for (int i = 0; i < count; i++) {
+                    final Object id = graph.vertexPropertyIdManager.convert(in.readValue());
+                    final String key = strings[in.readInt()];
+                    final TinkerVertexProperty<Object> vertexProperty = new TinkerVertexProperty<>(id, vertex, key, in.readValue());
+                    vertexProperty.properties = readProperties(in, strings, graph, vertexProperty);
+                    vertex.properties.computeIfAbsent(key, k -> new ArrayList<>(1)).add(vertexProperty);
+                }
+            }
+            for (final TinkerEdge edge : edges) {
+                edge.properties = readProperties(in, strings, graph, edge);
+            }
+        }
+    }
+
+    private static void writeProperties(final Writer out, final Map<String, Integer> strings,
+                                        final Map<String, Property> properties) throws IOException {
+        out.writeInt(null == properties ? 0 : properties.size());
+        if (null != properties) {
+            for (final Property property : properties.values()) {
+                out.writeInt(strings.get(property.key()));
+                out.writeValue(property.value());
+            }
+        }
+    }
+
+    private static Map<String, Property> readProperties(final Reader in, final String[] strings, final TinkerGraph graph,
+                                                        final TinkerElement element) throws IOException {
+        final int count = in.readInt();
+        if (0 == count)
+            return null;
+        final Map<String, Property> properties = TinkerHelper.createPropertyMap(graph);
+        for (int i = 0; i < count; i++) {
+            final String key = strings[in.readInt()];
+            properties.put(key, new TinkerProperty<>(element, key, in.readValue()));
+        }
+        return properties;
+    }
+
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Kryo kryo = TinkerHelper.createKryo();
+        private final Output output = new Output(256, -1);
+
+        private Writer(final String location) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(location), 1 << 16));
+        }
+
+        private void writeInt(final int value) throws IOException {
+            this.out.writeInt(value);
+        }
+
+        private void writeString(final String value) throws IOException {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.out.writeInt(bytes.length);
+            this.out.write(bytes);
+        }
+
+        private void writeValue(final Object value) throws IOException {
+            if (null == value) {
+                this.out.writeByte(NULL);
+            } else if (value instanceof String) {
+                this.out.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                this.out.writeByte(INTEGER);
+                this.out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                this.out.writeByte(LONG);
+                this.out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                this.out.writeByte(DOUBLE);
+                this.out.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                this.out.writeByte(FLOAT);
+                this.out.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                this.out.writeByte(BOOLEAN);
+                this.out.writeBoolean((Boolean) value);
+            } else {
+                this.out.writeByte(OBJECT);
+                this.output.clear();
+                this.kryo.writeClassAndObject(this.output, value);
+                this.out.writeInt(this.output.position());
+                this.out.write(this.output.getBuffer(), 0, this.output.position());
+            }
+        }
+
+        private void close() throws IOException {
+            this.out.close();
+        }
+    }
+
+    /**
+     * Reads the file sequentially, mapping the next window of it whenever the current one does not hold the next
+     * value in full.
+     */
+    private static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final long size;
+        private final Kryo kryo = TinkerHelper.createKryo();
+        private long position = 0;
+        private ByteBuffer buffer;
+
+        private Reader(final String location) throws IOException {
+            this.channel = FileChannel.open(Paths.get(location), StandardOpenOption.READ);
+            this.size = this.channel.size();
+            this.buffer = ByteBuffer.allocate(0);
+        }
+
+        private void ensure(final int bytes) throws IOException {
+            if (this.buffer.remaining() >= bytes)
+                return;
+            this.position += this.buffer.position();
+            final long length = Math.min(Math.max(WINDOW, bytes), this.size - this.position);
+            if (length < bytes)
+                throw new IOException("Unexpected end of TinkerGraph binary file");
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, length);
+        }
+
+        private int readInt() throws IOException {
+            ensure(Integer.BYTES);
+            return this.buffer.getInt();
+        }
+
+        private void readInts(final int[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                ensure(Integer.BYTES);
+                final int length = Math.min(values.length - offset, this.buffer.remaining() / Integer.BYTES);
+                this.buffer.asIntBuffer().get(values, offset, length);
+                this.buffer.position(this.buffer.position() + length * Integer.BYTES);
+                offset += length;
+            }
+        }
+
+        private byte[] readBytes(final int length) throws IOException {
+            ensure(length);
+            final byte[] bytes = new byte[length];
+            this.buffer.get(bytes);
+            return bytes;
+        }
+
+        private String readString() throws IOException {
+            return new String(readBytes(readInt()), StandardCharsets.UTF_8);
+        }
+
+        private Object readValue() throws IOException {
+            ensure(1);
+            final byte type = this.buffer.get();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readString();
+                case INTEGER:
+                    return readInt();
+                case LONG:
+                    ensure(Long.BYTES);
+                    return this.buffer.getLong();
+                case DOUBLE:
+                    ensure(Double.BYTES);
+                    return this.buffer.getDouble();
+                case FLOAT:
+                    ensure(Float.BYTES);
+                    return this.buffer.getFloat();
+                case BOOLEAN:
+                    ensure(1);
+                    return this.buffer.get() != 0;
+                case OBJECT:
+                    return this.kryo.readClassAndObject(new Input(readBytes(readInt())));
+                default:
+                    throw new IOException(String.format("Unknown value type %s in TinkerGraph binary file", type));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index over the values of several property keys of elements with an optional label. An element is indexed
+ * under every combination of the values it has for the keys (more than one in the case of multi-properties) and is
+ * not indexed at all if it is missing any of the keys.
+ */
+final class TinkerCompositeIndex<T extends Element> {
+
+    private final String label;
+    private final List<String> keys;
+    private final Map<List<Object>, Set<T>> index = new ConcurrentHashMap<>();
+
+    /**
+     * The value combinations each element is currently indexed under so that an element can be removed without
+     * knowing what its property values used to be.
+     */
+    private final Map<T, List<List<Object>>> entries = new ConcurrentHashMap<>();
+
+    TinkerCompositeIndex(final String label, final List<String> keys) {
+        this.label = label;
+        this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    /**
+     * Gets the label the index is restricted to or {@code null} if it covers all labels.
+     */
+    public String getLabel() {
+        return this.label;
+    }
+
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    public boolean containsKey(final String key) {
+        return this.keys.contains(key);
+    }
+
+    /**
+     * Re-indexes the element from its current property values.
+     */
+    public void update(final T element) {
+        remove(element);
+        if (null != this.label && !this.label.equals(element.label()))
+            return;
+
+        final List<List<Object>> tuples = tuples(element);
+        if (tuples.isEmpty())
+            return;
+
+        for (final List<Object> tuple : tuples) {
+            this.index.computeIfAbsent(tuple, t -> ConcurrentHashMap.newKeySet()).add(element);
+        }
+        this.entries.put(element, tuples);
+    }
+
+    public void remove(final T element) {
+        final List<List<Object>> tuples = this.entries.remove(element);
+        if (null == tuples)
+            return;
+
+        for (final List<Object> tuple : tuples) {
+            final Set<T> set = this.index.get(tuple);
+            if (null != set) {
+                set.remove(element);
+                if (set.isEmpty())
+                    this.index.remove(tuple, set);
+            }
+        }
+    }
+
+    /**
+     * Gets the index values to look up given the label and the predicates of a query or {@code null} if this index
+     * cannot be used because the label does not match or there is not an equality predicate for every key.
+     */
+    public List<Object> values(final String label, final Map<String, List<P<?>>> predicates) {
+        if (null != this.label && !this.label.equals(label))
+            return null;
+
+        final List<Object> values = new ArrayList<>(this.keys.size());
+        for (final String key : this.keys) {
+            final P<?> eq = findEquality(predicates.get(key));
+            if (null == eq)
+                return null;
+            values.add(TinkerIndex.indexable(eq.getValue()));
+        }
+        return values;
+    }
+
+    public List<T> get(final List<Object> values) {
+        final Set<T> set = this.index.get(values);
+        return null == set ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    public long count(final List<Object> values) {
+        final Set<T> set = this.index.get(values);
+        return null == set ? 0 : set.size();
+    }
+
+    public void clear() {
+        this.index.clear();
+        this.entries.clear();
+    }
+
+    private static P<?> findEquality(final List<P<?>> predicates) {
+        if (null != predicates) {
+            for (final P<?> predicate : predicates) {
+                if (predicate.getBiPredicate() == Compare.eq)
+                    return predicate;
+            }
+        }
+        return null;
+    }
+
+    private List<List<Object>> tuples(final T element) {
+        List<List<Object>> tuples = Collections.singletonList(Collections.emptyList());
+        for (final String key : this.keys) {
+            final List<Object> values = new ArrayList<>();
+            final Iterator<? extends Property<Object>> properties = element.properties(key);
+            while (properties.hasNext()) {
+                final Property<Object> property = properties.next();
+                if (property.isPresent())
+                    values.add(TinkerIndex.indexable(property.value()));
+            }
+            if (values.isEmpty())
+                return Collections.emptyList();
+
+            final List<List<Object>> expanded = new ArrayList<>(tuples.size() * values.size());
+            for (final List<Object> tuple : tuples) {
+                for (final Object value : values) {
+                    final List<Object> next = new ArrayList<>(tuple);
+                    next.add(value);
+                    expanded.add(next);
+                }
+            }
+            tuples = expanded;
+        }
+        return tuples;
+    }
+}
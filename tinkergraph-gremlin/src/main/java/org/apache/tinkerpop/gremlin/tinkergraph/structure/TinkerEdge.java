@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -45,16 +44,46 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     protected final Vertex outVertex;
     private final boolean allowNullPropertyValues;
 
+    /**
+     * The positions of the edge in the {@link TinkerAdjacency} of its out and in vertex when the graph uses compact
+     * storage.
+     */
+    int outSlot;
+    int inSlot;
+
     protected TinkerEdge(final Object id, final Vertex outVertex, final String label, final Vertex inVertex) {
         super(id, label);
         this.outVertex = outVertex;
         this.inVertex = inVertex;
+        this.sequence = ((TinkerGraph) outVertex.graph()).elementSequence.incrementAndGet();
         this.allowNullPropertyValues = outVertex.graph().features().edge().supportsNullPropertyValues();
         TinkerHelper.autoUpdateIndex(this, T.label.getAccessor(), this.label, null);
     }
 
+    /**
+     * Copies the edge for a transaction to change, which leaves the copied version untouched for other transactions
+     * to read.
+     */
+    TinkerEdge(final TinkerEdge edge) {
+        super(edge.id, edge.label);
+        this.outVertex = edge.outVertex;
+        this.inVertex = edge.inVertex;
+        this.sequence = edge.sequence;
+        this.allowNullPropertyValues = edge.allowNullPropertyValues;
+        this.outSlot = edge.outSlot;
+        this.inSlot = edge.inSlot;
+        this.previousVersion = edge;
+        if (null != edge.properties) {
+            this.properties = TinkerHelper.createPropertyMap((TinkerGraph) edge.graph());
+            edge.properties.forEach((key, property) -> this.properties.put(key, new TinkerProperty<>(this, key, property.value())));
+        }
+    }
+
     @Override
     public <V> Property<V> property(final String key, final V value) {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        final TinkerEdge edge = null == transaction ? this : transaction.write(this);
+        if (edge != this) return edge.property(key, value);
         if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
         ElementHelper.validateProperty(key, value);
 
@@ -64,9 +93,17 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         }
 
         final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        final String propertyKey = graph.intern(key);
+        final Property<V> newProperty = new TinkerProperty<>(this, propertyKey, value);
+        graph.lockMutations();
+        try {
+            if (null == this.properties) this.properties = TinkerHelper.createPropertyMap(graph);
+            this.properties.put(propertyKey, newProperty);
+            if (null != graph.writeAheadLog && isAttached()) graph.writeAheadLog.setEdgeProperty(this, propertyKey, value);
+        } finally {
+            graph.unlockMutations();
+        }
         TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
         return newProperty;
 
@@ -74,34 +111,68 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Property<V> property(final String key) {
+        final TinkerEdge edge = visible();
+        if (edge != this) return null == edge ? Property.<V>empty() : edge.property(key);
         return null == this.properties ? Property.<V>empty() : this.properties.getOrDefault(key, Property.<V>empty());
     }
 
     @Override
     public Set<String> keys() {
+        final TinkerEdge edge = visible();
+        if (edge != this) return null == edge ? Collections.emptySet() : edge.keys();
         return null == this.properties ? Collections.emptySet() : this.properties.keySet();
     }
 
     @Override
     public void remove() {
-        final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
-        final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
-
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        final TinkerTransaction transaction = graph.transaction;
+        if (null != transaction) {
+            if (null == visible()) return;
+            final TinkerEdge edge = transaction.write(this);
+            if (edge != this) {
+                edge.remove();
+                return;
+            }
         }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
+
+        graph.lockMutations();
+        try {
+            // a transaction removes the edge from copies of its vertices
+            final TinkerVertex outVertex = null == transaction ? (TinkerVertex) this.outVertex : transaction.write((TinkerVertex) this.outVertex);
+            final TinkerVertex inVertex = null == transaction ? (TinkerVertex) this.inVertex : transaction.write((TinkerVertex) this.inVertex);
+
+            if (null != outVertex && null != outVertex.outAdjacency) {
+                outVertex.outAdjacency.remove(this.label(), this);
+            } else if (null != outVertex && null != outVertex.outEdges) {
+                final Set<Edge> edges = outVertex.outEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+            if (null != inVertex && null != inVertex.inAdjacency) {
+                inVertex.inAdjacency.remove(this.label(), this);
+            } else if (null != inVertex && null != inVertex.inEdges) {
+                final Set<Edge> edges = inVertex.inEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+
+            TinkerHelper.removeElementIndex(this);
+            if (null == transaction) graph.edges.remove(this.id());
+            this.properties = null;
+            this.removed = true;
+            if (null != graph.writeAheadLog) graph.writeAheadLog.removeEdge(this);
+        } finally {
+            graph.unlockMutations();
         }
+    }
 
-        TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
-        this.properties = null;
-        this.removed = true;
+    /**
+     * Determines if the edge has been added to the graph, which is not yet the case while the properties it is
+     * created with are being set.
+     */
+    boolean isAttached() {
+        return ((TinkerGraph) this.graph()).edges.get(this.id) == this;
     }
 
     @Override
@@ -122,6 +193,8 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public Iterator<Vertex> vertices(final Direction direction) {
+        final TinkerEdge edge = visible();
+        if (edge != this) return null == edge ? Collections.emptyIterator() : edge.vertices(direction);
         if (removed) return Collections.emptyIterator();
         switch (direction) {
             case OUT:
@@ -140,6 +213,8 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Iterator<Property<V>> properties(final String... propertyKeys) {
+        final TinkerEdge edge = visible();
+        if (edge != this) return null == edge ? Collections.emptyIterator() : edge.properties(propertyKeys);
         if (null == this.properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
             final Property<V> property = this.properties.get(propertyKeys[0]);
@@ -147,4 +222,13 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         } else
             return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
     }
+
+    /**
+     * Gets the version of this edge that the current transaction sees, which is this edge unless the graph is
+     * transactional, or {@code null} if the transaction does not see it.
+     */
+    private TinkerEdge visible() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        return null == transaction ? this : transaction.read(this);
+    }
 }
@@ -30,6 +30,19 @@ public abstract class TinkerElement implements Element {
     protected final String label;
     protected boolean removed = false;
 
+    /**
+     * The order in which the element was added to the graph which allows a scan of the graph to skip elements that
+     * were added after the scan started.
+     */
+    protected long sequence;
+
+    /**
+     * The version of a transactional graph that committed this element and the version of the element that it
+     * replaced, which is kept for as long as an open transaction may still read it.
+     */
+    protected long version;
+    protected TinkerElement previousVersion;
+
     protected TinkerElement(final Object id, final String label) {
         this.id = id;
         this.label = label;
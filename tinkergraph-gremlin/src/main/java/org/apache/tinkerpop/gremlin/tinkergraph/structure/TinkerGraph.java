@@ -44,7 +44,13 @@ import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -93,10 +99,16 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
     public static final String GREMLIN_TINKERGRAPH_SERVICE = "gremlin.tinkergraph.service";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_STORAGE = "gremlin.tinkergraph.compactStorage";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC = "gremlin.tinkergraph.writeAheadLogSync";
+    public static final String GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD = "gremlin.tinkergraph.snapshotThreshold";
+    public static final String GREMLIN_TINKERGRAPH_TRANSACTIONS = "gremlin.tinkergraph.transactions";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected AtomicLong currentId = new AtomicLong(-1L);
+    protected final AtomicLong elementSequence = new AtomicLong(0L);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
 
@@ -111,6 +123,26 @@ public final class TinkerGraph implements Graph {
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
     protected final boolean allowNullPropertyValues;
 
+    /**
+     * When {@code true} vertices keep their edges in array-backed {@link TinkerAdjacency} lists, property maps are
+     * allocated at a small initial size and labels and property keys are interned. Identifiers stay boxed as the
+     * object that is the identifier of an element is also its key in {@link #vertices} or {@link #edges}.
+     */
+    protected final boolean compactStorage;
+    private final Map<String, String> internedStrings = new ConcurrentHashMap<>();
+
+    /**
+     * The log that mutations are appended to when {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is enabled or
+     * {@code null} otherwise.
+     */
+    protected TinkerGraphLog writeAheadLog = null;
+
+    /**
+     * The transactions of the graph when {@link #GREMLIN_TINKERGRAPH_TRANSACTIONS} is enabled or {@code null}
+     * otherwise.
+     */
+    protected TinkerTransaction transaction = null;
+
     protected final TinkerServiceRegistry serviceRegistry;
 
     private final Configuration configuration;
@@ -128,6 +160,7 @@ public final class TinkerGraph implements Graph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        compactStorage = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_STORAGE, false);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -136,7 +169,30 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
+        final boolean logged = configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false);
+        if (logged && null == graphLocation)
+            throw new IllegalStateException(String.format("The %s must be specified if %s is enabled",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+        // graphml keeps neither vertex property identifiers nor meta-properties which the log relies on in replay
+        if (logged && "graphml".equals(graphFormat))
+            throw new IllegalStateException(String.format("The %s cannot be graphml if %s is enabled",
+                    GREMLIN_TINKERGRAPH_GRAPH_FORMAT, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+
+        final boolean transactional = configuration.getBoolean(GREMLIN_TINKERGRAPH_TRANSACTIONS, false);
+        if (transactional && logged)
+            throw new IllegalStateException(String.format("The %s cannot be enabled together with %s",
+                    GREMLIN_TINKERGRAPH_TRANSACTIONS, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+
         if (graphLocation != null) loadGraph();
+        if (transactional) transaction = new TinkerTransaction(this);
+        if (logged) {
+            final boolean replayed = TinkerGraphLog.replay(this, graphLocation);
+            writeAheadLog = new TinkerGraphLog(this, graphLocation,
+                    configuration.getLong(GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 100000L),
+                    configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC, false));
+            // fold what was replayed into a new snapshot or the generations would pile up across restarts
+            if (replayed) snapshot();
+        }
 
         serviceRegistry = new TinkerServiceRegistry(this);
         configuration.getList(String.class, GREMLIN_TINKERGRAPH_SERVICE, Collections.emptyList()).forEach(serviceClass ->
@@ -178,17 +234,26 @@ public final class TinkerGraph implements Graph {
     public Vertex addVertex(final Object... keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
-        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        final String label = intern(ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL));
 
         if (null != idValue) {
-            if (this.vertices.containsKey(idValue))
+            if (null == this.transaction ? this.vertices.containsKey(idValue) : null != this.transaction.get(this.vertices, idValue))
                 throw Exceptions.vertexWithIdAlreadyExists(idValue);
         } else {
             idValue = vertexIdManager.getNextId(this);
         }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+        final TinkerVertex vertex = new TinkerVertex(idValue, label, this);
+        lockMutations();
+        try {
+            if (null == this.transaction)
+                this.vertices.put(vertex.id(), vertex);
+            else
+                this.transaction.add(vertex);
+            if (null != this.writeAheadLog) this.writeAheadLog.addVertex(vertex);
+        } finally {
+            unlockMutations();
+        }
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -229,30 +294,44 @@ public final class TinkerGraph implements Graph {
     }
 
     public void clear() {
-        this.vertices.clear();
-        this.edges.clear();
-        this.variables = null;
-        this.currentId.set(-1L);
-        this.vertexIndex = null;
-        this.edgeIndex = null;
-        this.graphComputerView = null;
+        lockMutations();
+        try {
+            this.vertices.clear();
+            this.edges.clear();
+            this.variables = null;
+            this.currentId.set(-1L);
+            this.vertexIndex = null;
+            this.edgeIndex = null;
+            this.graphComputerView = null;
+            if (null != this.writeAheadLog) this.writeAheadLog.clear();
+        } finally {
+            unlockMutations();
+        }
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
-     * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * data in the graph is persisted to that location. When {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is enabled
+     * the data is already persisted, so the log is only forced to disk rather than the whole graph being rewritten.
+     * This method may be called multiple times and does not release resources.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (transaction != null)
+            transaction.close();
+        if (writeAheadLog != null)
+            writeAheadLog.close();
+        else if (graphLocation != null)
+            saveGraph();
         // shutdown services
         serviceRegistry.close();
     }
 
     @Override
     public Transaction tx() {
-        throw Exceptions.transactionsNotSupported();
+        if (null == transaction)
+            throw Exceptions.transactionsNotSupported();
+        return transaction;
     }
 
     @Override
@@ -285,6 +364,8 @@ public final class TinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals("binary")) {
+                    TinkerBinaryFormat.read(this, graphLocation);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -307,18 +388,71 @@ public final class TinkerGraph implements Graph {
             }
         }
 
+        writeGraph(graphLocation);
+    }
+
+    /**
+     * Writes the whole graph to a temporary file that then atomically replaces the graph file, after which the log
+     * generations the new file covers are deleted. The log is switched to a new generation before the graph is
+     * written so mutations made in the meantime are kept in the log and replayed over the snapshot on open.
+     * <p/>
+     * This is called on open once the log has been replayed and otherwise by the thread whose mutation pushed the
+     * current generation past the {@link #GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD}, so that mutation does not return
+     * until the whole graph has been written. Other threads keep mutating the graph in the meantime.
+     */
+    void snapshot() {
+        final long generation = writeAheadLog.rotate();
+
+        final File f = new File(graphLocation).getAbsoluteFile();
+        final File parent = f.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        final File temp = new File(f.getPath() + ".tmp");
+        writeGraph(temp.getPath());
+        try {
+            try (final FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not save snapshot of graph at %s", graphLocation), ioe);
+        }
+
+        writeAheadLog.delete(generation);
+    }
+
+    /**
+     * Holds off mutations from other threads while a mutation is applied and appended to the write-ahead log, so that
+     * the log has them in the order they were applied. Does nothing if the graph has no log.
+     */
+    void lockMutations() {
+        if (null != writeAheadLog) writeAheadLog.lock();
+    }
+
+    /**
+     * Releases the lock taken with {@link #lockMutations()}.
+     */
+    void unlockMutations() {
+        if (null != writeAheadLog) writeAheadLog.unlock();
+    }
+
+    private void writeGraph(final String location) {
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(location);
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(location);
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(location);
+            } else if (graphFormat.equals("binary")) {
+                TinkerBinaryFormat.write(this, location);
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(location);
             }
         } catch (Exception ex) {
-            throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
+            throw new RuntimeException(String.format("Could not save graph at %s with %s", location, graphFormat), ex);
         }
     }
 
@@ -327,7 +461,7 @@ public final class TinkerGraph implements Graph {
                                                                   final Object... ids) {
         final Iterator<T> iterator;
         if (0 == ids.length) {
-            iterator = new TinkerGraphIterator<>(elements.values().iterator());
+            iterator = new TinkerGraphIterator<>(scanElements(elements));
         } else {
             final List<Object> idList = Arrays.asList(ids);
 
@@ -339,9 +473,26 @@ public final class TinkerGraph implements Graph {
                 // ids cant be null so all of those filter out
                 if (null == id) return null;
                 final Object iid = clazz.isAssignableFrom(id.getClass()) ? clazz.cast(id).id() : idManager.convert(id);
-                return elements.get(idManager.convert(iid));
+                final Object convertedId = idManager.convert(iid);
+                return null == this.transaction ? elements.get(convertedId) : this.transaction.get(elements, convertedId);
             }).iterator(), Objects::nonNull));
         }
+        return filterComputerView(clazz, iterator);
+    }
+
+    /**
+     * Lazily iterates the elements that were in the graph when the method was called. The iteration over the map is
+     * weakly consistent, so rather than copying the elements up front, the ones that are added after the scan starts
+     * are skipped, which prevents a traversal like {@code g.V().addV()} from seeing its own additions. When the graph
+     * is transactional, the elements are the versions that the current transaction sees.
+     */
+    <T extends Element> Iterator<T> scanElements(final Map<Object, T> elements) {
+        final long snapshot = this.elementSequence.get();
+        final Iterator<T> iterator = null == this.transaction ? elements.values().iterator() : this.transaction.scan(elements);
+        return IteratorUtils.filter(iterator, e -> ((TinkerElement) e).sequence <= snapshot);
+    }
+
+    <T extends Element> Iterator<T> filterComputerView(final Class<T> clazz, final Iterator<T> iterator) {
         return TinkerHelper.inComputerMode(this) ?
                 (Iterator<T>) (clazz.equals(Vertex.class) ?
                         IteratorUtils.filter((Iterator<Vertex>) iterator, t -> this.graphComputerView.legalVertex(t)) :
@@ -457,7 +608,7 @@ public final class TinkerGraph implements Graph {
 
         @Override
         public boolean supportsTransactions() {
-            return false;
+            return null != transaction;
         }
 
         @Override
@@ -496,8 +647,20 @@ public final class TinkerGraph implements Graph {
     ///////////// GRAPH SPECIFIC INDEXING METHODS ///////////////
 
     /**
-     * Create an index for said element class ({@link Vertex} or {@link Edge}) and said property key.
-     * Whenever an element has the specified key mutated, the index is updated.
+     * Keeps transactions from committing while an index is created or dropped, as commits publish the elements that
+     * they changed to the indices.
+     */
+    private void lockIndices() {
+        if (null != this.transaction) this.transaction.lockCommits();
+    }
+
+    private void unlockIndices() {
+        if (null != this.transaction) this.transaction.unlockCommits();
+    }
+
+    /**
+     * Create a {@link IndexType#HASH} index for said element class ({@link Vertex} or {@link Edge}) and said
+     * property key. Whenever an element has the specified key mutated, the index is updated.
      * When the index is created, all existing elements are indexed to ensure that they are captured by the index.
      *
      * @param key          the property key to index
@@ -505,14 +668,34 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
-        if (Vertex.class.isAssignableFrom(elementClass)) {
-            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
-        } else if (Edge.class.isAssignableFrom(elementClass)) {
-            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
-        } else {
-            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. Whenever an element has the specified key mutated, the index is updated. When the index is
+     * created, all existing elements are indexed to ensure that they are captured by the index. If the key is already
+     * indexed with a different {@link IndexType} then that index is rebuilt as the requested type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
+        lockIndices();
+        try {
+            if (Vertex.class.isAssignableFrom(elementClass)) {
+                if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+                this.vertexIndex.createKeyIndex(key, indexType);
+            } else if (Edge.class.isAssignableFrom(elementClass)) {
+                if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+                this.edgeIndex.createKeyIndex(key, indexType);
+            } else {
+                throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+            }
+        } finally {
+            unlockIndices();
         }
     }
 
@@ -524,12 +707,17 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void dropIndex(final String key, final Class<E> elementClass) {
-        if (Vertex.class.isAssignableFrom(elementClass)) {
-            if (null != this.vertexIndex) this.vertexIndex.dropKeyIndex(key);
-        } else if (Edge.class.isAssignableFrom(elementClass)) {
-            if (null != this.edgeIndex) this.edgeIndex.dropKeyIndex(key);
-        } else {
-            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        lockIndices();
+        try {
+            if (Vertex.class.isAssignableFrom(elementClass)) {
+                if (null != this.vertexIndex) this.vertexIndex.dropKeyIndex(key);
+            } else if (Edge.class.isAssignableFrom(elementClass)) {
+                if (null != this.edgeIndex) this.edgeIndex.dropKeyIndex(key);
+            } else {
+                throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+            }
+        } finally {
+            unlockIndices();
         }
     }
 
@@ -550,6 +738,128 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the values of several
+     * property keys, optionally restricted to elements with a particular label. Such an index is used by lookups that
+     * have an equality predicate for each of its keys (and its label, if one was given) and is a better choice than
+     * any single key index when the keys are only selective in combination. As with {@link #createIndex(String, Class)},
+     * the index is kept up to date on mutation and all existing elements are indexed when it is created.
+     *
+     * @param elementClass the element class to index
+     * @param label        the label of the elements to index or {@code null} to index elements of any label
+     * @param keys         the property keys to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String label, final String... keys) {
+        lockIndices();
+        try {
+            if (Vertex.class.isAssignableFrom(elementClass)) {
+                if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+                this.vertexIndex.createCompositeIndex(label, null == keys ? null : Arrays.asList(keys));
+            } else if (Edge.class.isAssignableFrom(elementClass)) {
+                if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+                this.edgeIndex.createCompositeIndex(label, null == keys ? null : Arrays.asList(keys));
+            } else {
+                throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+            }
+        } finally {
+            unlockIndices();
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}), label and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param label        the label of the index or {@code null} if it was not restricted to a label
+     * @param keys         the property keys of the index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String label, final String... keys) {
+        lockIndices();
+        try {
+            if (Vertex.class.isAssignableFrom(elementClass)) {
+                if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(label, Arrays.asList(keys));
+            } else if (Edge.class.isAssignableFrom(elementClass)) {
+                if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(label, Arrays.asList(keys));
+            } else {
+                throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+            }
+        } finally {
+            unlockIndices();
+        }
+    }
+
+    /**
+     * Return the composite indices for said element class ({@link Vertex} or {@link Edge}). Each index is described
+     * by a list with the label it is restricted to (or {@code null}) followed by its keys.
+     *
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the set of composite indices
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexes(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexes();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexes();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the {@link IndexType} of the index on the key for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param key          the property key of the index
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the type of the index or {@code null} if the key is not indexed
+     */
+    public <E extends Element> IndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? null : this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? null : this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The kinds of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash index that can only be used for equality lookups, e.g. {@code has('name','marko')}.
+         */
+        HASH,
+
+        /**
+         * A sorted index that can be used for equality lookups as well as for {@code gt}, {@code gte}, {@code lt},
+         * {@code lte}, {@code between}, {@code inside}, {@code within} and {@code startingWith} lookups. Values are
+         * ordered using Gremlin orderability semantics so numbers of different types share the same key space.
+         */
+        ORDERED,
+
+        /**
+         * A hash index that also splits {@code String} values into words so that the {@code tinker.search} service
+         * can look up elements by term, prefix or phrase without scanning the graph.
+         */
+        TEXT
+    }
+
+    /**
+     * Returns a canonical instance of a label or property key when the graph uses compact storage so that the many
+     * elements sharing it do not each hold their own copy, as happens when elements are deserialized.
+     */
+    String intern(final String string) {
+        if (!this.compactStorage || null == string)
+            return string;
+        final String existing = this.internedStrings.putIfAbsent(string, string);
+        return null == existing ? string : existing;
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
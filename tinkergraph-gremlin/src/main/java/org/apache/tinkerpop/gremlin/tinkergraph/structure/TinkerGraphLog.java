@@ -0,0 +1,532 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the mutations made to a {@link TinkerGraph} that is persisted to a
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}. The log is split into generations, each in a file named after
+ * the graph location with a {@code .log.<generation>} suffix. Taking a snapshot starts a new generation and, once the
+ * snapshot has replaced the graph file, deletes the generations it covers. On open, the snapshot is loaded, the
+ * remaining generations are replayed in order and a new snapshot is taken that covers them.
+ * <p/>
+ * A mutation is applied and logged while holding {@link #lock()}, so records are appended in the order their
+ * mutations were applied even with several threads writing. As a mutation is logged after it is applied, a snapshot
+ * may already contain mutations that are also in a generation newer than it. For that reason every record is replayed
+ * idempotently: additions are skipped when the element or vertex property identifier already exists and removals are
+ * skipped when it does not.
+ * <p/>
+ * Each record is framed by its length and a CRC32 checksum. Replay stops at the first record that is incomplete or
+ * corrupt, which is what a crash in the middle of an append leaves at the end of the log. A bad record that is
+ * followed by anything else cannot have come from a crash, so rather than replaying later records over a state that
+ * is missing the bad one, replay fails.
+ */
+final class TinkerGraphLog {
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte ADD_VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX_PROPERTY = 6;
+    private static final byte SET_META_PROPERTY = 7;
+    private static final byte REMOVE_META_PROPERTY = 8;
+    private static final byte SET_EDGE_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private static final String SUFFIX = ".log.";
+    private static final int HEADER_LENGTH = 8;
+
+    /**
+     * Returned by {@link #readRecord(DataInputStream, CRC32, long)} for a record that is incomplete or corrupt.
+     */
+    private static final byte[] BAD_RECORD = new byte[0];
+
+    private final TinkerGraph graph;
+    private final String graphLocation;
+    private final long snapshotThreshold;
+    private final boolean sync;
+    private final Kryo kryo;
+    private final Output output = new Output(256, -1);
+    private final CRC32 crc = new CRC32();
+    private final ReentrantLock mutationLock = new ReentrantLock();
+
+    private long generation;
+    private long records = 0;
+    private FileOutputStream stream = null;
+    private boolean snapshotting = false;
+    private boolean snapshotDue = false;
+
+    TinkerGraphLog(final TinkerGraph graph, final String graphLocation, final long snapshotThreshold, final boolean sync) {
+        this.graph = graph;
+        this.graphLocation = graphLocation;
+        this.snapshotThreshold = snapshotThreshold;
+        this.sync = sync;
+        this.kryo = TinkerHelper.createKryo();
+
+        final List<Long> generations = generations(graphLocation);
+        this.generation = generations.isEmpty() ? 1 : generations.get(generations.size() - 1) + 1;
+    }
+
+    /**
+     * Applies all the generations of the log found for the graph location to the graph, oldest first. The graph must
+     * not have a log attached while this happens or the replayed mutations would be logged again.
+     *
+     * @return {@code true} if there was at least one generation to replay
+     */
+    static boolean replay(final TinkerGraph graph, final String graphLocation) {
+        final Kryo kryo = TinkerHelper.createKryo();
+        final List<Long> generations = generations(graphLocation);
+        for (int i = 0; i < generations.size(); i++) {
+            final File file = file(graphLocation, generations.get(i));
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                final CRC32 crc = new CRC32();
+                byte[] record;
+                while (null != (record = readRecord(in, crc, file.length()))) {
+                    if (record == BAD_RECORD) {
+                        // a crash can only tear the last record of the log so anything after a bad record is corruption
+                        if (i < generations.size() - 1 || in.read() >= 0)
+                            throw new IllegalStateException(String.format(
+                                    "Could not replay log at %s as it has a corrupt record that is followed by others", file));
+                        return true;
+                    }
+                    apply(graph, kryo, new Input(record));
+                }
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(String.format("Could not replay log at %s", file), ioe);
+            }
+        }
+        return !generations.isEmpty();
+    }
+
+    /**
+     * Holds off mutations from other threads. A mutation takes the lock before it is applied and releases it with
+     * {@link #unlock()} once it has been logged. The lock is reentrant so that a mutation can make others, like a
+     * vertex removing its edges.
+     */
+    void lock() {
+        this.mutationLock.lock();
+    }
+
+    /**
+     * Releases the lock taken by {@link #lock()} and, if the outermost mutation of this thread pushed the current
+     * generation past the threshold, takes a snapshot. The snapshot is taken outside of the lock so that other threads
+     * can keep mutating the graph and logging into the new generation in the meantime, but the mutating thread is
+     * blocked for as long as writing the graph takes.
+     */
+    void unlock() {
+        final boolean snapshot = 1 == this.mutationLock.getHoldCount() && this.snapshotDue;
+        if (snapshot) this.snapshotDue = false;
+        this.mutationLock.unlock();
+
+        if (snapshot) {
+            try {
+                this.graph.snapshot();
+            } finally {
+                synchronized (this) {
+                    this.snapshotting = false;
+                }
+            }
+        }
+    }
+
+    void addVertex(final TinkerVertex vertex) {
+        append(ADD_VERTEX, out -> {
+            this.kryo.writeClassAndObject(out, vertex.id());
+            out.writeString(vertex.label());
+        });
+    }
+
+    void removeVertex(final TinkerVertex vertex) {
+        append(REMOVE_VERTEX, out -> this.kryo.writeClassAndObject(out, vertex.id()));
+    }
+
+    /**
+     * Logs an edge along with the properties it was created with, as those are set before the edge is added to the
+     * graph and so are not logged on their own.
+     */
+    void addEdge(final TinkerEdge edge) {
+        append(ADD_EDGE, out -> {
+            this.kryo.writeClassAndObject(out, edge.id());
+            out.writeString(edge.label());
+            this.kryo.writeClassAndObject(out, edge.outVertex().id());
+            this.kryo.writeClassAndObject(out, edge.inVertex().id());
+            writeProperties(out, edge.properties);
+        });
+    }
+
+    void removeEdge(final TinkerEdge edge) {
+        append(REMOVE_EDGE, out -> this.kryo.writeClassAndObject(out, edge.id()));
+    }
+
+    /**
+     * Logs a vertex property without its meta-properties, which are attached once it has been added to the vertex and
+     * so are logged one by one with {@link #setMetaProperty(TinkerVertexProperty, String, Object)}.
+     */
+    void addVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        append(ADD_VERTEX_PROPERTY, out -> {
+            writeVertexPropertyId(out, vertexProperty);
+            out.writeString(vertexProperty.key());
+            this.kryo.writeClassAndObject(out, vertexProperty.value());
+        });
+    }
+
+    void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        append(REMOVE_VERTEX_PROPERTY, out -> writeVertexPropertyId(out, vertexProperty));
+    }
+
+    void setMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key, final Object value) {
+        append(SET_META_PROPERTY, out -> {
+            writeVertexPropertyId(out, vertexProperty);
+            out.writeString(key);
+            this.kryo.writeClassAndObject(out, value);
+        });
+    }
+
+    void removeMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key) {
+        append(REMOVE_META_PROPERTY, out -> {
+            writeVertexPropertyId(out, vertexProperty);
+            out.writeString(key);
+        });
+    }
+
+    void setEdgeProperty(final TinkerEdge edge, final String key, final Object value) {
+        append(SET_EDGE_PROPERTY, out -> {
+            this.kryo.writeClassAndObject(out, edge.id());
+            out.writeString(key);
+            this.kryo.writeClassAndObject(out, value);
+        });
+    }
+
+    void removeEdgeProperty(final TinkerEdge edge, final String key) {
+        append(REMOVE_EDGE_PROPERTY, out -> {
+            this.kryo.writeClassAndObject(out, edge.id());
+            out.writeString(key);
+        });
+    }
+
+    void clear() {
+        append(CLEAR, out -> {});
+    }
+
+    /**
+     * Starts a new generation so that a snapshot can be taken while mutations continue to be logged. Every mutation
+     * in the returned generation or an older one was applied to the graph before this method returned.
+     */
+    long rotate() {
+        this.mutationLock.lock();
+        try {
+            synchronized (this) {
+                closeStream();
+                this.records = 0;
+                return this.generation++;
+            }
+        } finally {
+            this.mutationLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the generations up to and including the given one once a snapshot that covers them has been written.
+     */
+    void delete(final long upToGeneration) {
+        for (final long generation : generations(this.graphLocation)) {
+            if (generation <= upToGeneration)
+                file(this.graphLocation, generation).delete();
+        }
+    }
+
+    /**
+     * Forces the current generation to disk and releases its file. A later mutation reopens the file and appends to
+     * it.
+     */
+    synchronized void close() {
+        closeStream();
+    }
+
+    /**
+     * Serializes and appends a record and, if the current generation has grown past the threshold, marks a snapshot
+     * as due for {@link #unlock()} to take.
+     */
+    private synchronized void append(final byte type, final Consumer<Output> writer) {
+        this.output.clear();
+        this.output.writeByte(type);
+        writer.accept(this.output);
+        write(this.output.getBuffer(), this.output.position());
+        if (++this.records >= this.snapshotThreshold && !this.snapshotting) {
+            this.snapshotting = true;
+            this.snapshotDue = true;
+        }
+    }
+
+    private void writeProperties(final Output out, final Map<String, Property> properties) {
+        out.writeInt(null == properties ? 0 : properties.size(), true);
+        if (null != properties) {
+            for (final Property property : properties.values()) {
+                out.writeString(property.key());
+                this.kryo.writeClassAndObject(out, property.value());
+            }
+        }
+    }
+
+    private void writeVertexPropertyId(final Output out, final TinkerVertexProperty<?> vertexProperty) {
+        this.kryo.writeClassAndObject(out, vertexProperty.element().id());
+        this.kryo.writeClassAndObject(out, vertexProperty.id());
+    }
+
+    private void write(final byte[] record, final int length) {
+        try {
+            if (null == this.stream) {
+                final File file = file(this.graphLocation, this.generation);
+                final File parent = file.getAbsoluteFile().getParentFile();
+                if (parent != null && !parent.exists())
+                    parent.mkdirs();
+                this.stream = new FileOutputStream(file, true);
+            }
+
+            this.crc.reset();
+            this.crc.update(record, 0, length);
+
+            // the header and the record are written together so that a record is never split across writes
+            final byte[] frame = new byte[length + HEADER_LENGTH];
+            writeInt(frame, 0, length);
+            writeInt(frame, 4, (int) this.crc.getValue());
+            System.arraycopy(record, 0, frame, HEADER_LENGTH, length);
+            this.stream.write(frame);
+            if (this.sync)
+                this.stream.getChannel().force(false);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not append to log for %s", this.graphLocation), ioe);
+        }
+    }
+
+    private void closeStream() {
+        if (null == this.stream)
+            return;
+        try {
+            this.stream.getChannel().force(true);
+            this.stream.close();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not close log for %s", this.graphLocation), ioe);
+        } finally {
+            this.stream = null;
+        }
+    }
+
+    private static void writeInt(final byte[] bytes, final int offset, final int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Reads the next record, returning {@code null} at the end of the generation and {@link #BAD_RECORD} for a record
+     * that was only partially written or does not match its checksum.
+     *
+     * @param maxLength the length of the generation, which no record can be longer than
+     */
+    private static byte[] readRecord(final DataInputStream in, final CRC32 crc, final long maxLength) throws IOException {
+        final int first = in.read();
+        if (first < 0)
+            return null;
+
+        try {
+            final int length = (first << 24) | (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+            final long checksum = in.readInt() & 0xFFFFFFFFL;
+            // every record has at least its type
+            if (length <= 0 || length > maxLength)
+                return BAD_RECORD;
+            final byte[] record = new byte[length];
+            in.readFully(record);
+            crc.reset();
+            crc.update(record, 0, length);
+            return crc.getValue() == checksum ? record : BAD_RECORD;
+        } catch (EOFException eof) {
+            return BAD_RECORD;
+        }
+    }
+
+    private static void apply(final TinkerGraph graph, final Kryo kryo, final Input in) {
+        final byte type = in.readByte();
+        switch (type) {
+            case ADD_VERTEX: {
+                final Object id = kryo.readClassAndObject(in);
+                final String label = in.readString();
+                if (!graph.vertices.containsKey(id))
+                    graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(in));
+                if (null != vertex)
+                    vertex.remove();
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = kryo.readClassAndObject(in);
+                final String label = in.readString();
+                final Vertex outVertex = graph.vertices.get(kryo.readClassAndObject(in));
+                final Vertex inVertex = graph.vertices.get(kryo.readClassAndObject(in));
+                final Object[] keyValues = readProperties(kryo, in, id);
+                // the vertices are missing if a later record removes them
+                if (!graph.edges.containsKey(id) && null != outVertex && null != inVertex)
+                    outVertex.addEdge(label, inVertex, keyValues);
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(in));
+                if (null != edge)
+                    edge.remove();
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(in));
+                final Object id = kryo.readClassAndObject(in);
+                final String key = in.readString();
+                final Object value = kryo.readClassAndObject(in);
+                if (null != vertex && null == findVertexProperty(vertex, id))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final VertexProperty<?> vertexProperty = findVertexProperty(
+                        graph.vertices.get(kryo.readClassAndObject(in)), kryo.readClassAndObject(in));
+                if (null != vertexProperty)
+                    vertexProperty.remove();
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = findVertexProperty(
+                        graph.vertices.get(kryo.readClassAndObject(in)), kryo.readClassAndObject(in));
+                final String key = in.readString();
+                final Object value = kryo.readClassAndObject(in);
+                if (null != vertexProperty)
+                    vertexProperty.property(key, value);
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = findVertexProperty(
+                        graph.vertices.get(kryo.readClassAndObject(in)), kryo.readClassAndObject(in));
+                final String key = in.readString();
+                if (null != vertexProperty)
+                    vertexProperty.property(key).remove();
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(in));
+                final String key = in.readString();
+                final Object value = kryo.readClassAndObject(in);
+                if (null != edge)
+                    edge.property(key, value);
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(in));
+                final String key = in.readString();
+                if (null != edge)
+                    edge.property(key).remove();
+                break;
+            }
+            case CLEAR:
+                graph.clear();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown log record type %s", type));
+        }
+    }
+
+    /**
+     * Reads properties written by {@link #writeProperties(Output, Map)} into a key/value array that starts with the
+     * given identifier.
+     */
+    private static Object[] readProperties(final Kryo kryo, final Input in, final Object id) {
+        final int size = in.readInt(true);
+        final Object[] keyValues = new Object[size * 2 + 2];
+        keyValues[0] = T.id;
+        keyValues[1] = id;
+        for (int i = 0; i < size; i++) {
+            keyValues[i * 2 + 2] = in.readString();
+            keyValues[i * 2 + 3] = kryo.readClassAndObject(in);
+        }
+        return keyValues;
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final Object id) {
+        if (null == vertex)
+            return null;
+        final Iterator<VertexProperty<Object>> properties = vertex.properties();
+        while (properties.hasNext()) {
+            final VertexProperty<?> vertexProperty = properties.next();
+            if (vertexProperty.id().equals(id))
+                return vertexProperty;
+        }
+        return null;
+    }
+
+    private static File file(final String graphLocation, final long generation) {
+        return new File(graphLocation + SUFFIX + generation);
+    }
+
+    private static List<Long> generations(final String graphLocation) {
+        final File location = new File(graphLocation).getAbsoluteFile();
+        final String prefix = location.getName() + SUFFIX;
+        final List<Long> generations = new ArrayList<>();
+        final File[] files = null == location.getParentFile() ? null : location.getParentFile().listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                final String name = file.getName();
+                if (name.startsWith(prefix)) {
+                    try {
+                        generations.add(Long.parseLong(name.substring(prefix.length())));
+                    } catch (NumberFormatException ignored) {
+                        // not a log generation
+                    }
+                }
+            }
+        }
+        generations.sort(Long::compare);
+        return generations;
+    }
+}
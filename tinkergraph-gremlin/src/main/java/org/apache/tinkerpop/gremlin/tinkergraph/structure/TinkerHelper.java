@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -27,9 +28,11 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -41,6 +44,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -60,23 +65,56 @@ public final class TinkerHelper {
         Object idValue = graph.edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
 
         final Edge edge;
+        final TinkerTransaction transaction = graph.transaction;
         if (null != idValue) {
-            if (graph.edges.containsKey(idValue))
+            if (null == transaction ? graph.edges.containsKey(idValue) : null != transaction.get(graph.edges, idValue))
                 throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
         } else {
             idValue = graph.edgeIdManager.getNextId(graph);
         }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+        final String edgeLabel = graph.intern(label);
+        if (null != transaction) {
+            // the edge is added to the copies of its vertices that the transaction publishes on commit
+            final TinkerVertex out = transaction.write(outVertex);
+            final TinkerVertex in = transaction.write(inVertex);
+            edge = new TinkerEdge(idValue, out, edgeLabel, in);
+            transaction.add((TinkerEdge) edge);
+            ElementHelper.attachProperties(edge, keyValues);
+            TinkerHelper.addOutEdge(out, edgeLabel, edge);
+            TinkerHelper.addInEdge(in, edgeLabel, edge);
+            return edge;
+        }
+
+        edge = new TinkerEdge(idValue, outVertex, edgeLabel, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
+        graph.lockMutations();
+        try {
+            graph.edges.put(edge.id(), edge);
+            TinkerHelper.addOutEdge(outVertex, edgeLabel, edge);
+            TinkerHelper.addInEdge(inVertex, edgeLabel, edge);
+            if (null != graph.writeAheadLog) graph.writeAheadLog.addEdge((TinkerEdge) edge);
+        } finally {
+            graph.unlockMutations();
+        }
         return edge;
 
     }
 
+    /**
+     * Creates the map that holds the properties of an element, starting it small when the graph uses compact storage
+     * as most elements only have a handful of properties.
+     */
+    protected static <V> Map<String, V> createPropertyMap(final TinkerGraph graph) {
+        return graph.compactStorage ? new HashMap<>(4) : new HashMap<>();
+    }
+
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (((TinkerGraph) vertex.graph()).compactStorage) {
+            if (null == vertex.outAdjacency) vertex.outAdjacency = new TinkerAdjacency(Direction.OUT);
+            vertex.outAdjacency.add(label, (TinkerEdge) edge);
+            return;
+        }
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
@@ -87,6 +125,11 @@ public final class TinkerHelper {
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (((TinkerGraph) vertex.graph()).compactStorage) {
+            if (null == vertex.inAdjacency) vertex.inAdjacency = new TinkerAdjacency(Direction.IN);
+            vertex.inAdjacency.add(label, (TinkerEdge) edge);
+            return;
+        }
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
@@ -97,11 +140,65 @@ public final class TinkerHelper {
     }
 
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
-        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
+        if (null == graph.vertexIndex)
+            return Collections.emptyList();
+        final List<TinkerVertex> indexed = graph.vertexIndex.get(key, value);
+        return null == graph.transaction ? indexed :
+                withValue(graph.vertexIndex, graph.transaction.candidates(graph.vertices, indexed), key, value);
     }
 
     public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final Object value) {
-        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
+        if (null == graph.edgeIndex)
+            return Collections.emptyList();
+        final List<TinkerEdge> indexed = graph.edgeIndex.get(key, value);
+        return null == graph.transaction ? indexed :
+                withValue(graph.edgeIndex, graph.transaction.candidates(graph.edges, indexed), key, value);
+    }
+
+    private static <T extends Element> List<T> withValue(final TinkerIndex<T> index, final List<T> elements,
+                                                         final String key, final Object value) {
+        elements.removeIf(e -> !IteratorUtils.anyMatch(e.properties(key), p -> index.isSameValue(key, p.value(), value)));
+        return elements;
+    }
+
+    /**
+     * Gets the vertices from the most selective index that can be used for the label and predicates or {@code null}
+     * if no index can be used. The result must still be filtered by the predicates as it may contain vertices that do
+     * not match. When the graph is transactional, the vertices are the versions that the current transaction sees.
+     */
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String label,
+                                                      final Map<String, List<P<?>>> predicates) {
+        if (null == graph.vertexIndex)
+            return null;
+        final List<TinkerVertex> indexed = graph.vertexIndex.get(label, predicates);
+        return null == indexed || null == graph.transaction ? indexed : graph.transaction.candidates(graph.vertices, indexed);
+    }
+
+    /**
+     * Gets the edges from the most selective index that can be used for the label and predicates or {@code null}
+     * if no index can be used. The result must still be filtered by the predicates as it may contain edges that do
+     * not match. When the graph is transactional, the edges are the versions that the current transaction sees.
+     */
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String label,
+                                                  final Map<String, List<P<?>>> predicates) {
+        if (null == graph.edgeIndex)
+            return null;
+        final List<TinkerEdge> indexed = graph.edgeIndex.get(label, predicates);
+        return null == indexed || null == graph.transaction ? indexed : graph.transaction.candidates(graph.edges, indexed);
+    }
+
+    /**
+     * Creates a Gryo {@code Kryo} instance for the values that TinkerGraph writes to its own persistence formats.
+     */
+    static Kryo createKryo() {
+        return GryoMapper.build().addRegistry(TinkerIoRegistryV3d0.instance()).create().createMapper();
+    }
+
+    /**
+     * Draws the next value of the counter that the graph generates its numeric ids from.
+     */
+    public static long getNextId(final TinkerGraph graph) {
+        return graph.currentId.incrementAndGet();
     }
 
     public static boolean inComputerMode(final TinkerGraph graph) {
@@ -124,46 +221,63 @@ public final class TinkerHelper {
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
 
+    /**
+     * Updates the index for a change to the value of a key. The copies of elements that a transaction changes are
+     * left out of the index until the transaction commits as no other transaction may see them before.
+     */
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
-        if (graph.edgeIndex != null)
+        if (graph.edgeIndex != null && null == graph.transaction)
             graph.edgeIndex.autoUpdate(key, newValue, oldValue, edge);
     }
 
     public static void autoUpdateIndex(final TinkerVertex vertex, final String key, final Object newValue, final Object oldValue) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
-        if (graph.vertexIndex != null)
+        if (graph.vertexIndex != null && null == graph.transaction)
             graph.vertexIndex.autoUpdate(key, newValue, oldValue, vertex);
     }
 
     public static void removeElementIndex(final TinkerVertex vertex) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
-        if (graph.vertexIndex != null)
+        if (graph.vertexIndex != null && null == graph.transaction)
             graph.vertexIndex.removeElement(vertex);
     }
 
     public static void removeElementIndex(final TinkerEdge edge) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
-        if (graph.edgeIndex != null)
+        if (graph.edgeIndex != null && null == graph.transaction)
             graph.edgeIndex.removeElement(edge);
     }
 
+    /**
+     * Determines if the two values of the vertex property key are one value to the vertex index, which for an
+     * {@link TinkerGraph.IndexType#ORDERED} index holds for numbers of different types that compare as equal.
+     */
+    public static boolean isSameIndexedValue(final TinkerVertex vertex, final String key, final Object value1,
+                                             final Object value2) {
+        final TinkerGraph graph = (TinkerGraph) vertex.graph();
+        return graph.vertexIndex != null ?
+                graph.vertexIndex.isSameValue(key, value1, value2) : Objects.equals(value1, value2);
+    }
+
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
-        if (graph.vertexIndex != null)
+        if (graph.vertexIndex != null && null == graph.transaction)
             graph.vertexIndex.remove(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
-        if (graph.edgeIndex != null)
+        if (graph.edgeIndex != null && null == graph.transaction)
             graph.edgeIndex.remove(key, value, edge);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Edge> edges = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
+            if (vertex.outAdjacency != null)
+                vertex.outAdjacency.forEach(edgeLabels, edges::add);
+            else if (vertex.outEdges != null) {
                 if (edgeLabels.length == 0)
                     vertex.outEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
@@ -173,7 +287,9 @@ public final class TinkerHelper {
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
+            if (vertex.inAdjacency != null)
+                vertex.inAdjacency.forEach(edgeLabels, edges::add);
+            else if (vertex.inEdges != null) {
                 if (edgeLabels.length == 0)
                     vertex.inEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
@@ -185,10 +301,28 @@ public final class TinkerHelper {
         return (Iterator) edges.iterator();
     }
 
+    /**
+     * Gets the number of edges incident to the vertex without iterating them.
+     */
+    public static int getDegree(final TinkerVertex vertex) {
+        int degree = 0;
+        if (vertex.outAdjacency != null)
+            degree += vertex.outAdjacency.size();
+        else if (vertex.outEdges != null)
+            degree += vertex.outEdges.values().stream().mapToInt(Set::size).sum();
+        if (vertex.inAdjacency != null)
+            degree += vertex.inAdjacency.size();
+        else if (vertex.inEdges != null)
+            degree += vertex.inEdges.values().stream().mapToInt(Set::size).sum();
+        return degree;
+    }
+
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Vertex> vertices = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
+            if (vertex.outAdjacency != null)
+                vertex.outAdjacency.forEach(edgeLabels, edge -> vertices.add(((TinkerEdge) edge).inVertex));
+            else if (vertex.outEdges != null) {
                 if (edgeLabels.length == 0)
                     vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
                 else if (edgeLabels.length == 1)
@@ -198,7 +332,9 @@ public final class TinkerHelper {
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
+            if (vertex.inAdjacency != null)
+                vertex.inAdjacency.forEach(edgeLabels, edge -> vertices.add(((TinkerEdge) edge).outVertex));
+            else if (vertex.inEdges != null) {
                 if (edgeLabels.length == 0)
                     vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
                 else if (edgeLabels.length == 1)
@@ -210,6 +346,24 @@ public final class TinkerHelper {
         return (Iterator) vertices.iterator();
     }
 
+    /**
+     * Lazily iterates the vertices that were in the graph when the method was called. Unlike
+     * {@link TinkerGraph#vertices(Object...)}, the iterator is not counted as an open store iterator as it holds no
+     * resources beyond a weakly consistent view of the vertex map and may be abandoned before it is exhausted.
+     */
+    public static Iterator<Vertex> scanVertices(final TinkerGraph graph) {
+        return graph.filterComputerView(Vertex.class, graph.scanElements(graph.vertices));
+    }
+
+    /**
+     * Lazily iterates the edges that were in the graph when the method was called. Unlike
+     * {@link TinkerGraph#edges(Object...)}, the iterator is not counted as an open store iterator as it holds no
+     * resources beyond a weakly consistent view of the edge map and may be abandoned before it is exhausted.
+     */
+    public static Iterator<Edge> scanEdges(final TinkerGraph graph) {
+        return graph.filterComputerView(Edge.class, graph.scanElements(graph.edges));
+    }
+
     public static Map<Object, Vertex> getVertices(final TinkerGraph graph) {
         return graph.vertices;
     }
@@ -265,4 +419,93 @@ public final class TinkerHelper {
         return search(graph, regex, Optional.empty());
     }
 
+    /**
+     * Search the {@link TinkerGraph.IndexType#TEXT} indices for {@link Property}s with a value containing the term.
+     *
+     * @param key the key to search or {@code null} to search all keys with a text index
+     * @param type the type of {@link Element} to search, which may only be {@link Vertex} or {@link Edge}
+     */
+    public static <E extends Element> Iterator<Property> searchTerm(final TinkerGraph graph, final String term,
+                                                                    final String key, final Optional<Class<E>> type) {
+        final String normalized = TinkerTextIndex.normalize(term);
+        return searchIndex(graph, key, type, index -> index.term(normalized),
+                value -> TinkerTextIndex.containsTerm(value, normalized));
+    }
+
+    /**
+     * Search the {@link TinkerGraph.IndexType#TEXT} indices for {@link Property}s with a value containing a term
+     * that starts with the prefix.
+     *
+     * @param key the key to search or {@code null} to search all keys with a text index
+     * @param type the type of {@link Element} to search, which may only be {@link Vertex} or {@link Edge}
+     */
+    public static <E extends Element> Iterator<Property> searchPrefix(final TinkerGraph graph, final String prefix,
+                                                                      final String key, final Optional<Class<E>> type) {
+        final String normalized = TinkerTextIndex.normalize(prefix);
+        return searchIndex(graph, key, type, index -> index.prefix(normalized),
+                value -> TinkerTextIndex.containsPrefix(value, normalized));
+    }
+
+    /**
+     * Search the {@link TinkerGraph.IndexType#TEXT} indices for {@link Property}s with a value containing the terms
+     * of the phrase next to each other and in order.
+     *
+     * @param key the key to search or {@code null} to search all keys with a text index
+     * @param type the type of {@link Element} to search, which may only be {@link Vertex} or {@link Edge}
+     */
+    public static <E extends Element> Iterator<Property> searchPhrase(final TinkerGraph graph, final String phrase,
+                                                                      final String key, final Optional<Class<E>> type) {
+        final List<String> terms = TinkerTextIndex.tokenize(phrase);
+        return searchIndex(graph, key, type, index -> index.phrase(phrase),
+                value -> TinkerTextIndex.containsPhrase(value, terms));
+    }
+
+    /**
+     * Lazily looks up the elements in each text index to search and returns the properties of the indexed key that
+     * match, so that nothing but the postings involved is visited.
+     */
+    private static <E extends Element> Iterator<Property> searchIndex(final TinkerGraph graph, final String key,
+                                                                      final Optional<Class<E>> type,
+                                                                      final Function<TinkerTextIndex<?>, Iterator<? extends Element>> lookup,
+                                                                      final Predicate<Object> matches) {
+        final List<TinkerTextIndex<?>> indices = new ArrayList<>();
+        final boolean vertices = !type.isPresent() || Vertex.class.equals(type.get());
+        final boolean edges = !type.isPresent() || Edge.class.equals(type.get());
+        if (!vertices && !edges)
+            throw new IllegalArgumentException("Text indices may only be searched for Vertex or Edge properties: " + type.get().getSimpleName());
+
+        if (vertices && null != graph.vertexIndex)
+            indices.addAll(null == key ? graph.vertexIndex.getTextIndexes() : textIndex(graph.vertexIndex, key));
+        if (edges && null != graph.edgeIndex)
+            indices.addAll(null == key ? graph.edgeIndex.getTextIndexes() : textIndex(graph.edgeIndex, key));
+        if (null != key && indices.isEmpty())
+            throw new IllegalArgumentException("There is no text index for the key: " + key);
+
+        return IteratorUtils.flatMap(indices.iterator(), index -> IteratorUtils.filter(
+                IteratorUtils.<Element, Property>flatMap(IteratorUtils.cast(lookupVisible(graph, index, lookup)),
+                        e -> IteratorUtils.cast(e.properties(index.getKey()))),
+                p -> matches.test(p.value())));
+    }
+
+    /**
+     * Looks up the elements in the text index, which for a transactional graph are the versions that the current
+     * transaction sees of them and of the elements that the index may not hold under the values that it sees.
+     */
+    private static Iterator<? extends Element> lookupVisible(final TinkerGraph graph, final TinkerTextIndex<?> index,
+                                                             final Function<TinkerTextIndex<?>, Iterator<? extends Element>> lookup) {
+        if (null == graph.transaction)
+            return lookup.apply(index);
+
+        final List<? extends Element> indexed = IteratorUtils.list(lookup.apply(index));
+        final boolean vertices = null != graph.vertexIndex && graph.vertexIndex.getTextIndex(index.getKey()) == index;
+        return vertices ?
+                graph.transaction.candidates(graph.vertices, indexed).iterator() :
+                graph.transaction.candidates(graph.edges, indexed).iterator();
+    }
+
+    private static List<TinkerTextIndex<?>> textIndex(final TinkerIndex<?> index, final String key) {
+        final TinkerTextIndex<?> textIndex = index.getTextIndex(key);
+        return null == textIndex ? Collections.emptyList() : Collections.singletonList(textIndex);
+    }
+
 }
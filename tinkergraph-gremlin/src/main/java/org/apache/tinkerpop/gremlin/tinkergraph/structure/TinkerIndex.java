@@ -18,27 +18,63 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Text;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.GremlinValueComparator;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Sorts the values of an {@link TinkerGraph.IndexType#ORDERED} index with Gremlin orderability semantics so that
+     * values of any type can live in the same index.
+     */
+    private static final Comparator<Object> ORDERABILITY = (a, b) -> GremlinValueComparator.ORDERABILITY.compare(
+            a instanceof IndexedNull ? null : a, b instanceof IndexedNull ? null : b);
+
+    /**
+     * A {@code within} lookup with more values than this is estimated from statistics rather than counted.
+     */
+    private static final int WITHIN_COUNT_THRESHOLD = 32;
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
+
+    /**
+     * The indexed values of each element keyed by property key, holding either the value itself or
+     * {@link IndexedValues} when a multi-property puts the element in more than one bucket for the key.
+     */
+    private final Map<T, Map<String, Object>> entries = new ConcurrentHashMap<>();
     private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> orderedKeys = new HashSet<>();
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final Map<String, TinkerTextIndex<T>> textIndexes = new ConcurrentHashMap<>();
+    private final Map<List<String>, TinkerCompositeIndex<T>> compositeIndexes = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -47,17 +83,173 @@ final class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
+        final Object indexedValue = indexable(value);
+        if (add(keyMap(key), indexedValue, element, statistics(key))) {
+            record(element, key, indexedValue);
+            addTerms(key, indexedValue, element);
+        }
+    }
+
+    private Map<Object, Set<T>> keyMap(final String key) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
+            this.index.putIfAbsent(key, this.orderedKeys.contains(key) ?
+                    new ConcurrentSkipListMap<>(ORDERABILITY) : new ConcurrentHashMap<>());
             keyMap = this.index.get(key);
         }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            keyMap.putIfAbsent(value, ConcurrentHashMap.newKeySet());
-            objects = keyMap.get(value);
+        return keyMap;
+    }
+
+    private Statistics statistics(final String key) {
+        final Statistics stats = this.statistics.get(key);
+        return null == stats ? this.statistics.computeIfAbsent(key, k -> new Statistics()) : stats;
+    }
+
+    /**
+     * Adds the element to the bucket for the value without taking a lock. A bucket is only allocated when a value is
+     * first seen and, as {@link #removeFromBucket} unmaps buckets that become empty, the add is retried if the bucket
+     * it went into was unmapped before the add could be confirmed.
+     *
+     * @return {@code true} if the element was not already in the bucket
+     */
+    private boolean add(final Map<Object, Set<T>> keyMap, final Object value, final T element, final Statistics stats) {
+        while (true) {
+            Set<T> bucket = keyMap.get(value);
+            if (null == bucket) {
+                final Set<T> created = ConcurrentHashMap.newKeySet();
+                created.add(element);
+                bucket = keyMap.putIfAbsent(value, created);
+                if (null == bucket) {
+                    stats.distinctValues.increment();
+                    stats.elements.increment();
+                    return true;
+                }
+            }
+
+            final boolean added = bucket.add(element);
+            if (keyMap.get(value) == bucket) {
+                if (added) stats.elements.increment();
+                return added;
+            }
+        }
+    }
+
+    private void removeFromBucket(final Map<Object, Set<T>> keyMap, final Object value, final T element,
+                                  final Statistics stats) {
+        final Set<T> bucket = keyMap.get(value);
+        if (null == bucket) return;
+
+        if (bucket.remove(element) && null != stats)
+            stats.elements.decrement();
+        if (bucket.isEmpty() && keyMap.remove(value, bucket)) {
+            if (null != stats) stats.distinctValues.decrement();
+
+            // an add may have slipped in between the emptiness check and the bucket being unmapped so move anything
+            // that did back into the index
+            for (final T other : bucket) {
+                if (bucket.remove(other)) {
+                    if (null != stats) stats.elements.decrement();
+                    add(keyMap, value, other, null == stats ? new Statistics() : stats);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notes that the element is in the bucket for the value of the key so that it can be found again without a scan
+     * of the index when the element or its value is removed. Values are told apart as the buckets of the key are, so
+     * that {@code 1} and {@code 1L} are one value for an {@link TinkerGraph.IndexType#ORDERED} index.
+     */
+    private void record(final T element, final String key, final Object indexedValue) {
+        final Map<String, Object> keys = this.entries.computeIfAbsent(element, e -> new HashMap<>(4));
+        synchronized (keys) {
+            final Object current = keys.get(key);
+            if (null == current) {
+                keys.put(key, indexedValue);
+            } else if (current instanceof IndexedValues) {
+                final IndexedValues values = (IndexedValues) current;
+                if (indexOf(key, values, indexedValue) < 0)
+                    values.add(indexedValue);
+            } else if (!sameValue(key, current, indexedValue)) {
+                final IndexedValues values = new IndexedValues();
+                values.add(current);
+                values.add(indexedValue);
+                keys.put(key, values);
+            }
+        }
+    }
+
+    private void unrecord(final T element, final String key, final Object indexedValue) {
+        final Map<String, Object> keys = this.entries.get(element);
+        if (null == keys) return;
+
+        synchronized (keys) {
+            final Object current = keys.get(key);
+            if (current instanceof IndexedValues) {
+                final IndexedValues values = (IndexedValues) current;
+                final int i = indexOf(key, values, indexedValue);
+                if (i >= 0) values.remove(i);
+                if (values.size() == 1)
+                    keys.put(key, values.get(0));
+            } else if (null != current && sameValue(key, current, indexedValue)) {
+                keys.remove(key);
+            }
+            if (keys.isEmpty())
+                this.entries.remove(element, keys);
+        }
+    }
+
+    /**
+     * Determines if two values of the key share a bucket, which for an {@link TinkerGraph.IndexType#ORDERED} index is
+     * decided by its comparator rather than by {@code equals()}.
+     */
+    private boolean sameValue(final String key, final Object a, final Object b) {
+        return this.orderedKeys.contains(key) ? ORDERABILITY.compare(a, b) == 0 : a.equals(b);
+    }
+
+    /**
+     * Determines if the two values of the key would be indexed in the same bucket.
+     */
+    public boolean isSameValue(final String key, final Object value1, final Object value2) {
+        return sameValue(key, indexable(value1), indexable(value2));
+    }
+
+    private int indexOf(final String key, final IndexedValues values, final Object indexedValue) {
+        for (int i = 0; i < values.size(); i++) {
+            if (sameValue(key, values.get(i), indexedValue))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the values the element is currently recorded as being indexed under for the key.
+     */
+    private Collection<Object> recorded(final T element, final String key) {
+        final Map<String, Object> keys = this.entries.get(element);
+        if (null == keys) return Collections.emptyList();
+
+        synchronized (keys) {
+            final Object current = keys.get(key);
+            if (null == current)
+                return Collections.emptyList();
+            else if (current instanceof IndexedValues)
+                return new ArrayList<>((IndexedValues) current);
+            else
+                return Collections.singletonList(current);
         }
-        objects.add(element);
+    }
+
+    private void addTerms(final String key, final Object indexedValue, final T element) {
+        final TinkerTextIndex<T> textIndex = this.textIndexes.get(key);
+        if (null != textIndex)
+            textIndex.add(indexedValue, element);
+    }
+
+    private void removeTerms(final String key, final Object indexedValue, final T element) {
+        final TinkerTextIndex<T> textIndex = this.textIndexes.get(key);
+        if (null != textIndex)
+            textIndex.remove(indexedValue, element, recorded(element, key));
     }
 
     public List<T> get(final String key, final Object value) {
@@ -73,6 +265,178 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Gets the elements for the specified key that may satisfy all of the supplied predicates. The result is a
+     * superset of the matching elements, so callers must still filter with the predicates themselves, but it will
+     * never omit an element that matches. Only predicates for which {@link #supports(String, P)} returns
+     * {@code true} narrow the result.
+     */
+    public List<T> get(final String key, final List<P<?>> predicates) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap) return Collections.emptyList();
+
+        Bound lower = null;
+        Bound upper = null;
+        for (final P<?> predicate : predicates) {
+            if (!supports(key, predicate)) continue;
+
+            final Object value = predicate.getValue();
+            if (predicate.getBiPredicate() == Compare.eq) {
+                return get(key, value);
+            } else if (predicate.getBiPredicate() == Contains.within) {
+                final Set<T> elements = new LinkedHashSet<>();
+                for (final Object v : (Collection<?>) value) {
+                    final Set<T> set = keyMap.get(indexable(v));
+                    if (null != set) elements.addAll(set);
+                }
+                return new ArrayList<>(elements);
+            } else if (predicate.getBiPredicate() == Compare.gt) {
+                lower = Bound.max(lower, new Bound(value, false));
+            } else if (predicate.getBiPredicate() == Compare.gte) {
+                lower = Bound.max(lower, new Bound(value, true));
+            } else if (predicate.getBiPredicate() == Compare.lt) {
+                upper = Bound.min(upper, new Bound(value, false));
+            } else if (predicate.getBiPredicate() == Compare.lte) {
+                upper = Bound.min(upper, new Bound(value, true));
+            } else if (predicate.getBiPredicate() == Text.startingWith) {
+                final String prefix = (String) value;
+                lower = Bound.max(lower, new Bound(prefix, true));
+                final String next = nextPrefix(prefix);
+                if (null != next) upper = Bound.min(upper, new Bound(next, false));
+            }
+        }
+
+        if (null != lower && null != upper) {
+            final int c = ORDERABILITY.compare(lower.value, upper.value);
+            if (c > 0 || (c == 0 && (!lower.inclusive || !upper.inclusive)))
+                return Collections.emptyList();
+        }
+
+        final List<T> elements = new ArrayList<>();
+        if (!(keyMap instanceof NavigableMap)) {
+            // nothing could narrow the lookup so everything in the index is a candidate
+            keyMap.values().forEach(elements::addAll);
+            return elements;
+        }
+
+        NavigableMap<Object, Set<T>> range = (NavigableMap<Object, Set<T>>) keyMap;
+        if (null != lower)
+            range = range.tailMap(indexable(lower.value), lower.inclusive);
+        if (null != upper)
+            range = range.headMap(indexable(upper.value), upper.inclusive);
+
+        range.values().forEach(elements::addAll);
+        return elements;
+    }
+
+    /**
+     * Determines if the index on the specified key can narrow a lookup with the supplied predicate. All indices
+     * support equality while {@link TinkerGraph.IndexType#ORDERED} indices also support {@code gt}, {@code gte},
+     * {@code lt}, {@code lte}, {@code within} and {@code startingWith}.
+     */
+    public boolean supports(final String key, final P<?> predicate) {
+        if (!this.indexedKeys.contains(key))
+            return false;
+
+        final Object biPredicate = predicate.getBiPredicate();
+        if (biPredicate == Compare.eq)
+            return true;
+        if (!this.orderedKeys.contains(key))
+            return false;
+
+        if (biPredicate == Contains.within)
+            return predicate.getValue() instanceof Collection;
+        else if (biPredicate == Text.startingWith)
+            return predicate.getValue() instanceof String;
+        else
+            return biPredicate == Compare.gt || biPredicate == Compare.gte ||
+                    biPredicate == Compare.lt || biPredicate == Compare.lte;
+    }
+
+    /**
+     * Gets the elements from the most selective index that can be used to look up elements with the specified label
+     * and property predicates or {@code null} if no index can be used. Each single key index is rated by the number
+     * of elements it would return (exact for equality and {@code within}, estimated from the key's statistics for
+     * ranges) as is each composite index whose label matches and whose keys all have an equality predicate. As with
+     * {@link #get(String, List)} the result must still be filtered by all of the predicates.
+     *
+     * @param label the label the elements must have or {@code null} if it is not known
+     * @param predicates the predicates that elements must match keyed by property key
+     */
+    public List<T> get(final String label, final Map<String, List<P<?>>> predicates) {
+        long best = Long.MAX_VALUE;
+        String bestKey = null;
+        TinkerCompositeIndex<T> bestComposite = null;
+        List<Object> bestValues = null;
+
+        for (final TinkerCompositeIndex<T> composite : this.compositeIndexes.values()) {
+            final List<Object> values = composite.values(label, predicates);
+            if (null == values) continue;
+
+            final long estimate = composite.count(values);
+            if (estimate < best) {
+                best = estimate;
+                bestComposite = composite;
+                bestValues = values;
+            }
+        }
+
+        for (final Map.Entry<String, List<P<?>>> entry : predicates.entrySet()) {
+            final String key = entry.getKey();
+            if (entry.getValue().stream().noneMatch(p -> supports(key, p))) continue;
+
+            final long estimate = estimate(key, entry.getValue());
+            if (estimate < best) {
+                best = estimate;
+                bestKey = key;
+                bestComposite = null;
+            }
+        }
+
+        if (0 == best)
+            return Collections.emptyList();
+        else if (null != bestKey)
+            return get(bestKey, predicates.get(bestKey));
+        else if (null != bestComposite)
+            return bestComposite.get(bestValues);
+        else
+            return null;
+    }
+
+    /**
+     * Estimates the number of elements that {@link #get(String, List)} would return. Equality and {@code within}
+     * lookups are counted exactly when cheap to do so while range and prefix lookups assume that a third of the
+     * elements in the index match as there is no value distribution to go by.
+     */
+    public long estimate(final String key, final List<P<?>> predicates) {
+        final Statistics stats = this.statistics.get(key);
+        if (null == stats) return 0;
+
+        final long elements = stats.elements.sum();
+        boolean ranged = false;
+        for (final P<?> predicate : predicates) {
+            if (!supports(key, predicate)) continue;
+
+            if (predicate.getBiPredicate() == Compare.eq) {
+                return count(key, predicate.getValue());
+            } else if (predicate.getBiPredicate() == Contains.within) {
+                final Collection<?> values = (Collection<?>) predicate.getValue();
+                if (values.size() > WITHIN_COUNT_THRESHOLD) {
+                    final long distinct = Math.max(1, stats.distinctValues.sum());
+                    return Math.min(elements, values.size() * (long) Math.ceil((double) elements / distinct));
+                }
+                long count = 0;
+                for (final Object value : values) {
+                    count += count(key, value);
+                }
+                return Math.min(elements, count);
+            } else {
+                ranged = true;
+            }
+        }
+        return ranged ? Math.max(1, elements / 3) : elements;
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -89,47 +453,152 @@ final class TinkerIndex<T extends Element> {
     public void remove(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
-            final Set<T> objects = keyMap.get(indexable(value));
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
-                }
-            }
+            final Object indexedValue = indexable(value);
+            removeFromBucket(keyMap, indexedValue, element, this.statistics.get(key));
+            unrecord(element, key, indexedValue);
+            removeTerms(key, indexedValue, element);
         }
+        updateCompositeIndexes(key, element);
     }
 
+    /**
+     * Removes the element from the index, visiting only the buckets it was recorded in so that the cost depends on
+     * the number of indexed keys the element has rather than the size of the index.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+            final Map<String, Object> keys = this.entries.remove(element);
+            if (null != keys) {
+                synchronized (keys) {
+                    for (final Map.Entry<String, Object> entry : keys.entrySet()) {
+                        final Map<Object, Set<T>> keyMap = this.index.get(entry.getKey());
+                        if (null == keyMap) continue;
+
+                        final Statistics stats = this.statistics.get(entry.getKey());
+                        final TinkerTextIndex<T> textIndex = this.textIndexes.get(entry.getKey());
+                        final Collection<?> values = entry.getValue() instanceof IndexedValues ?
+                                (IndexedValues) entry.getValue() : Collections.singletonList(entry.getValue());
+                        for (final Object value : values) {
+                            removeFromBucket(keyMap, value, element, stats);
+                            if (null != textIndex) textIndex.remove(value, element, Collections.emptyList());
+                        }
+                    }
                 }
             }
+            if (!this.compositeIndexes.isEmpty())
+                this.compositeIndexes.values().forEach(composite -> composite.remove(element));
         }
     }
 
+    /**
+     * Indexes the element under the values of each indexed key that it has, which is how the elements that a
+     * transaction publishes on commit are indexed.
+     */
+    public void addElement(final T element) {
+        for (final String key : this.indexedKeys) {
+            if (element instanceof Edge && org.apache.tinkerpop.gremlin.structure.T.label.getAccessor().equals(key))
+                put(key, element.label(), element);
+            else
+                element.properties(key).forEachRemaining(property -> put(key, property.value(), element));
+        }
+        if (!this.compositeIndexes.isEmpty())
+            this.compositeIndexes.values().forEach(composite -> composite.update(element));
+    }
+
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
-            this.remove(key, oldValue, element);
-            this.put(key, newValue, element);
+            final Map<Object, Set<T>> keyMap = keyMap(key);
+            final Statistics stats = statistics(key);
+            final Object oldIndexedValue = indexable(oldValue);
+            final Object newIndexedValue = indexable(newValue);
+            if (!sameValue(key, oldIndexedValue, newIndexedValue)) {
+                removeFromBucket(keyMap, oldIndexedValue, element, stats);
+                unrecord(element, key, oldIndexedValue);
+                removeTerms(key, oldIndexedValue, element);
+            }
+            if (add(keyMap, newIndexedValue, element, stats)) {
+                record(element, key, newIndexedValue);
+                addTerms(key, newIndexedValue, element);
+            }
+        }
+        updateCompositeIndexes(key, element);
+    }
+
+    private void updateCompositeIndexes(final String key, final T element) {
+        for (final TinkerCompositeIndex<T> composite : this.compositeIndexes.values()) {
+            if (composite.containsKey(key))
+                composite.update(element);
         }
     }
 
+    public void createCompositeIndex(final String label, final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.isEmpty())
+            throw new IllegalArgumentException("A composite index requires at least one key");
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+
+        final List<String> id = compositeIndexId(label, keys);
+        if (this.compositeIndexes.containsKey(id))
+            return;
+
+        final TinkerCompositeIndex<T> composite = new TinkerCompositeIndex<>(label, keys);
+        elements().forEach(composite::update);
+        this.compositeIndexes.put(id, composite);
+    }
+
+    public void dropCompositeIndex(final String label, final List<String> keys) {
+        final TinkerCompositeIndex<T> composite = this.compositeIndexes.remove(compositeIndexId(label, keys));
+        if (null != composite)
+            composite.clear();
+    }
+
+    /**
+     * Gets the keys of each composite index, with the label it is restricted to (or {@code null}) as the first item.
+     */
+    public Set<List<String>> getCompositeIndexes() {
+        return Collections.unmodifiableSet(this.compositeIndexes.keySet());
+    }
+
+    private static List<String> compositeIndexId(final String label, final List<String> keys) {
+        final List<String> id = new ArrayList<>(keys.size() + 1);
+        id.add(label);
+        id.addAll(keys);
+        return Collections.unmodifiableList(id);
+    }
+
     public void createKeyIndex(final String key) {
+        createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        // an existing index of a different type is rebuilt as the requested type
+        if (this.indexedKeys.contains(key)) {
+            if (getIndexType(key) == indexType)
+                return;
+            dropKeyIndex(key);
+        }
+
+        if (indexType == TinkerGraph.IndexType.ORDERED)
+            this.orderedKeys.add(key);
+        else if (indexType == TinkerGraph.IndexType.TEXT)
+            this.textIndexes.put(key, new TinkerTextIndex<>(key));
         this.indexedKeys.add(key);
 
-        (Vertex.class.isAssignableFrom(this.indexClass) ?
-                this.graph.vertices.values().parallelStream() :
-                this.graph.edges.values().parallelStream())
-                .map(e -> new Object[]{((T) e).property(key), e})
+        elements()
+                .map(e -> new Object[]{e.property(key), e})
                 .filter(a -> ((Property) a[0]).isPresent())
                 .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
     }
@@ -137,8 +606,54 @@ final class TinkerIndex<T extends Element> {
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
+        this.statistics.remove(key);
+        this.entries.values().removeIf(keys -> {
+            synchronized (keys) {
+                keys.remove(key);
+                return keys.isEmpty();
+            }
+        });
 
         this.indexedKeys.remove(key);
+        this.orderedKeys.remove(key);
+        final TinkerTextIndex<T> textIndex = this.textIndexes.remove(key);
+        if (null != textIndex)
+            textIndex.clear();
+    }
+
+    /**
+     * Streams the elements of the graph to build a new index from. A transactional graph is indexed as last committed
+     * by the thread that keeps transactions from committing meanwhile, so its elements are not streamed in parallel.
+     */
+    private Stream<T> elements() {
+        final Collection<? extends Element> elements = Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values() : this.graph.edges.values();
+        return (Stream<T>) (null == this.graph.transaction ? elements.parallelStream() : elements.stream());
+    }
+
+    /**
+     * Gets the type of the index for the key or {@code null} if the key is not indexed.
+     */
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        if (!this.indexedKeys.contains(key))
+            return null;
+        if (this.textIndexes.containsKey(key))
+            return TinkerGraph.IndexType.TEXT;
+        return this.orderedKeys.contains(key) ? TinkerGraph.IndexType.ORDERED : TinkerGraph.IndexType.HASH;
+    }
+
+    /**
+     * Gets the {@link TinkerGraph.IndexType#TEXT} index for the key or {@code null} if the key does not have one.
+     */
+    public TinkerTextIndex<T> getTextIndex(final String key) {
+        return this.textIndexes.get(key);
+    }
+
+    /**
+     * Gets the {@link TinkerGraph.IndexType#TEXT} indices.
+     */
+    public Collection<TinkerTextIndex<T>> getTextIndexes() {
+        return this.textIndexes.values();
     }
 
     /**
@@ -153,6 +668,64 @@ final class TinkerIndex<T extends Element> {
         return this.indexedKeys;
     }
 
+    /**
+     * Gets the smallest string that is greater than every string starting with the prefix or {@code null} if there
+     * is no such string (i.e. the prefix is empty or made up entirely of {@code Character.MAX_VALUE}).
+     */
+    private static String nextPrefix(final String prefix) {
+        final StringBuilder sb = new StringBuilder(prefix);
+        for (int i = sb.length() - 1; i >= 0; i--) {
+            final char c = sb.charAt(i);
+            if (c != Character.MAX_VALUE) {
+                sb.setCharAt(i, (char) (c + 1));
+                sb.setLength(i + 1);
+                return sb.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Running counts for a key that are used to estimate the selectivity of its index.
+     */
+    private static final class Statistics {
+        private final LongAdder elements = new LongAdder();
+        private final LongAdder distinctValues = new LongAdder();
+    }
+
+    /**
+     * The values of a key that an element is indexed under when there is more than one. A dedicated type is used so
+     * that it cannot be confused with a property value that happens to be a collection. It is a list because the
+     * values are compared as the buckets of the key compare them, which {@code HashSet} cannot do.
+     */
+    private static final class IndexedValues extends ArrayList<Object> {
+    }
+
+    /**
+     * One end of a range lookup against an ordered index.
+     */
+    private static final class Bound {
+        private final Object value;
+        private final boolean inclusive;
+
+        private Bound(final Object value, final boolean inclusive) {
+            this.value = value;
+            this.inclusive = inclusive;
+        }
+
+        private static Bound max(final Bound current, final Bound other) {
+            if (null == current) return other;
+            final int c = ORDERABILITY.compare(current.value, other.value);
+            return c < 0 || (c == 0 && !other.inclusive) ? other : current;
+        }
+
+        private static Bound min(final Bound current, final Bound other) {
+            if (null == current) return other;
+            final int c = ORDERABILITY.compare(current.value, other.value);
+            return c > 0 || (c == 0 && !other.inclusive) ? other : current;
+        }
+    }
+
     public static final class IndexedNull {
         private static final IndexedNull inst = new IndexedNull();
 
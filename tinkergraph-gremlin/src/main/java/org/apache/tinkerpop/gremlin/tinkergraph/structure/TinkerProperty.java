@@ -79,11 +79,22 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
-        } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+        final TinkerGraph graph = (TinkerGraph) this.element.graph();
+        graph.lockMutations();
+        try {
+            if (this.element instanceof Edge) {
+                final TinkerEdge edge = null == graph.transaction ? (TinkerEdge) this.element : graph.transaction.write((TinkerEdge) this.element);
+                if (null != edge.properties) edge.properties.remove(this.key);
+                TinkerHelper.removeIndex(edge, this.key, this.value);
+                if (null != graph.writeAheadLog && edge.isAttached()) graph.writeAheadLog.removeEdgeProperty(edge, this.key);
+            } else {
+                final TinkerVertexProperty<?> vertexProperty = null == graph.transaction ?
+                        (TinkerVertexProperty<?>) this.element : graph.transaction.write((TinkerVertexProperty<?>) this.element);
+                if (null != vertexProperty.properties) vertexProperty.properties.remove(this.key);
+                if (null != graph.writeAheadLog && vertexProperty.isAttached()) graph.writeAheadLog.removeMetaProperty(vertexProperty, this.key);
+            }
+        } finally {
+            graph.unlockMutations();
         }
     }
 }
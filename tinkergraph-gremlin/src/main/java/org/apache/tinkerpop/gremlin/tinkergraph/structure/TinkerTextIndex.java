@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An inverted index over the words of the {@code String} values of a property key. Values are split into terms on
+ * anything that is not a letter or digit and terms are lower cased, with each term mapping to the elements that have
+ * a value containing it. Terms are kept sorted so that a prefix lookup is a range of the index.
+ */
+final class TinkerTextIndex<T extends Element> {
+
+    private final String key;
+    private final NavigableMap<String, Set<T>> postings = new ConcurrentSkipListMap<>();
+
+    TinkerTextIndex(final String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public void add(final Object value, final T element) {
+        for (final String term : new HashSet<>(tokenize(value))) {
+            add(term, element);
+        }
+    }
+
+    /**
+     * Removes the element from the postings of the terms of the value that do not also appear in one of the values
+     * the element still has for the key.
+     */
+    public void remove(final Object value, final T element, final Collection<Object> remainingValues) {
+        final Set<String> terms = new HashSet<>(tokenize(value));
+        for (final Object remaining : remainingValues) {
+            terms.removeAll(tokenize(remaining));
+        }
+
+        for (final String term : terms) {
+            final Set<T> posting = this.postings.get(term);
+            if (null == posting) continue;
+
+            posting.remove(element);
+            if (posting.isEmpty() && this.postings.remove(term, posting)) {
+                // move back anything added between the emptiness check and the posting being unmapped
+                for (final T other : posting) {
+                    if (posting.remove(other)) add(term, other);
+                }
+            }
+        }
+    }
+
+    private void add(final String term, final T element) {
+        while (true) {
+            final Set<T> posting = this.postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet());
+            posting.add(element);
+            // the posting may have been unmapped by a concurrent removal that emptied it
+            if (this.postings.get(term) == posting) return;
+        }
+    }
+
+    public void clear() {
+        this.postings.clear();
+    }
+
+    /**
+     * Gets the elements with a value containing the term.
+     */
+    public Iterator<T> term(final String term) {
+        final Set<T> posting = this.postings.get(normalize(term));
+        return null == posting ? Collections.emptyIterator() : posting.iterator();
+    }
+
+    /**
+     * Gets the elements with a value containing a term that starts with the prefix, visiting the postings of the
+     * matching terms one at a time and skipping elements that were already returned for an earlier term.
+     */
+    public Iterator<T> prefix(final String prefix) {
+        final String normalized = normalize(prefix);
+        final Iterator<Set<T>> postings = new Iterator<Set<T>>() {
+            private final Iterator<Map.Entry<String, Set<T>>> entries =
+                    TinkerTextIndex.this.postings.tailMap(normalized, true).entrySet().iterator();
+            private Set<T> next = advance();
+
+            private Set<T> advance() {
+                if (!entries.hasNext()) return null;
+                final Map.Entry<String, Set<T>> entry = entries.next();
+                return entry.getKey().startsWith(normalized) ? entry.getValue() : null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return null != next;
+            }
+
+            @Override
+            public Set<T> next() {
+                final Set<T> current = next;
+                next = advance();
+                return current;
+            }
+        };
+        final Set<T> seen = new HashSet<>();
+        return IteratorUtils.filter(IteratorUtils.flatMap(postings, Set::iterator), seen::add);
+    }
+
+    /**
+     * Gets the elements with a value containing the terms of the phrase next to each other and in order. Candidates
+     * come from the smallest posting of the phrase's terms, must be in the postings of all of the others and are then
+     * checked against their values for the order of the terms.
+     */
+    public Iterator<T> phrase(final String phrase) {
+        final List<String> terms = tokenize(phrase);
+        if (terms.isEmpty()) return Collections.emptyIterator();
+
+        final List<Set<T>> sets = new ArrayList<>(terms.size());
+        for (final String term : new LinkedHashSet<>(terms)) {
+            final Set<T> posting = this.postings.get(term);
+            if (null == posting) return Collections.emptyIterator();
+            sets.add(posting);
+        }
+        sets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        final Set<T> smallest = sets.get(0);
+        final List<Set<T>> others = sets.subList(1, sets.size());
+        return IteratorUtils.filter(smallest.iterator(), element -> {
+            for (final Set<T> other : others) {
+                if (!other.contains(element)) return false;
+            }
+            final Iterator<? extends Property<Object>> properties = element.properties(this.key);
+            while (properties.hasNext()) {
+                if (containsPhrase(properties.next().value(), terms)) return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Determines if the value contains the term.
+     */
+    static boolean containsTerm(final Object value, final String term) {
+        return tokenize(value).contains(normalize(term));
+    }
+
+    /**
+     * Determines if the value contains a term that starts with the prefix.
+     */
+    static boolean containsPrefix(final Object value, final String prefix) {
+        final String normalized = normalize(prefix);
+        for (final String term : tokenize(value)) {
+            if (term.startsWith(normalized)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines if the value contains the terms next to each other and in order.
+     */
+    static boolean containsPhrase(final Object value, final List<String> terms) {
+        return Collections.indexOfSubList(tokenize(value), terms) >= 0;
+    }
+
+    /**
+     * Splits a {@code String} value into lower cased terms on anything that is not a letter or digit. Values of
+     * other types have no terms.
+     */
+    static List<String> tokenize(final Object value) {
+        if (!(value instanceof String)) return Collections.emptyList();
+
+        final String string = (String) value;
+        final List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < string.length(); i++) {
+            if (Character.isLetterOrDigit(string.charAt(i))) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                terms.add(string.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        if (start >= 0)
+            terms.add(string.substring(start).toLowerCase(Locale.ROOT));
+        return terms;
+    }
+
+    /**
+     * Converts a term or prefix given in a query to the form it is indexed in, failing if it is not a single term.
+     */
+    static String normalize(final String term) {
+        final List<String> terms = tokenize(term);
+        if (terms.size() != 1)
+            throw new IllegalArgumentException(String.format("A single term was expected but found: %s", term));
+        return terms.get(0);
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The transactions of a {@link TinkerGraph} that has {@link TinkerGraph#GREMLIN_TINKERGRAPH_TRANSACTIONS} enabled.
+ * A transaction reads the graph as of the last commit before it was opened and makes its changes to private copies
+ * of the elements it touches. On commit, each copy is checked against the version it was copied from so that the
+ * first of two transactions to change an element wins and the other fails, after which all copies are published
+ * under a new version at once. Committed elements keep the versions they replaced for as long as an open transaction
+ * may read them, so readers never wait for writers and writers only wait for each other while publishing. Indices
+ * only ever hold the latest committed version of an element and are brought up to date as the copies are published.
+ */
+final class TinkerTransaction extends AbstractThreadLocalTransaction {
+
+    private final TinkerGraph graph;
+    private final ThreadLocal<TransactionState> transactionState = new ThreadLocal<>();
+    private final Set<TransactionState> openTransactions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The committed elements that still refer to a previous version or that mark the removal of an element.
+     */
+    private final Queue<TinkerElement> versionedElements = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private volatile long committedVersion = 0L;
+    private long prunedVersion = 0L;
+
+    TinkerTransaction(final TinkerGraph graph) {
+        super(graph);
+        this.graph = graph;
+    }
+
+    @Override
+    protected void doOpen() {
+        final TransactionState state = new TransactionState(this.committedVersion);
+        this.openTransactions.add(state);
+        // read the version again now that pruning takes the transaction into account
+        state.startVersion = this.committedVersion;
+        this.transactionState.set(state);
+    }
+
+    @Override
+    protected void doCommit() throws TransactionException {
+        final TransactionState state = this.transactionState.get();
+        this.transactionState.remove();
+        this.openTransactions.remove(state);
+        if (state.vertices.isEmpty() && state.edges.isEmpty())
+            return;
+
+        this.commitLock.lock();
+        try {
+            validate(this.graph.vertices, state.vertices, Vertex.class);
+            validate(this.graph.edges, state.edges, Edge.class);
+            final long version = this.committedVersion + 1;
+            publish(this.graph.vertices, state.vertices, version, this.graph.vertexIndex);
+            publish(this.graph.edges, state.edges, version, this.graph.edgeIndex);
+            this.committedVersion = version;
+            prune();
+        } finally {
+            this.commitLock.unlock();
+        }
+    }
+
+    @Override
+    protected void doRollback() throws TransactionException {
+        final TransactionState state = this.transactionState.get();
+        this.transactionState.remove();
+        this.openTransactions.remove(state);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return null != this.transactionState.get();
+    }
+
+    /**
+     * Keeps transactions from committing, which lets the indices be changed without a commit publishing elements to
+     * them in the meantime.
+     */
+    void lockCommits() {
+        this.commitLock.lock();
+    }
+
+    void unlockCommits() {
+        this.commitLock.unlock();
+    }
+
+    /**
+     * Gets the version of the vertex that the current transaction sees or {@code null} if it does not see the vertex.
+     * The thread that holds the commit lock sees the vertex as it is, so that it may index the latest committed
+     * version without opening a transaction.
+     */
+    TinkerVertex read(final TinkerVertex vertex) {
+        if (this.commitLock.isHeldByCurrentThread())
+            return vertex;
+        final TransactionState state = state();
+        return (TinkerVertex) read(this.graph.vertices, state.vertices, state.startVersion, vertex.id);
+    }
+
+    /**
+     * Gets the version of the edge that the current transaction sees or {@code null} if it does not see the edge.
+     * As with vertices, the thread that holds the commit lock sees the edge as it is.
+     */
+    TinkerEdge read(final TinkerEdge edge) {
+        if (this.commitLock.isHeldByCurrentThread())
+            return edge;
+        final TransactionState state = state();
+        return (TinkerEdge) read(this.graph.edges, state.edges, state.startVersion, edge.id);
+    }
+
+    /**
+     * Gets the version of the vertex property that the current transaction sees or {@code null} if it does not see
+     * the vertex property.
+     */
+    TinkerVertexProperty<?> read(final TinkerVertexProperty<?> vertexProperty) {
+        final TinkerVertex vertex = read((TinkerVertex) vertexProperty.element());
+        return null == vertex ? null : find(vertex, vertexProperty);
+    }
+
+    /**
+     * Gets the copy of the vertex that the current transaction changes, copying the version it sees on first use.
+     */
+    TinkerVertex write(final TinkerVertex vertex) {
+        final TransactionState state = state();
+        TinkerVertex change = (TinkerVertex) state.vertices.get(vertex.id);
+        if (null == change) {
+            final TinkerVertex visible = (TinkerVertex) visible((TinkerElement) this.graph.vertices.get(vertex.id), state.startVersion);
+            if (null == visible)
+                throw TinkerElement.elementAlreadyRemoved(Vertex.class, vertex.id);
+            change = new TinkerVertex(visible);
+            state.vertices.put(vertex.id, change);
+        } else if (change.removed) {
+            throw TinkerElement.elementAlreadyRemoved(Vertex.class, vertex.id);
+        }
+        return change;
+    }
+
+    /**
+     * Gets the copy of the edge that the current transaction changes, copying the version it sees on first use.
+     */
+    TinkerEdge write(final TinkerEdge edge) {
+        final TransactionState state = state();
+        TinkerEdge change = (TinkerEdge) state.edges.get(edge.id);
+        if (null == change) {
+            final TinkerEdge visible = (TinkerEdge) visible((TinkerElement) this.graph.edges.get(edge.id), state.startVersion);
+            if (null == visible)
+                throw TinkerElement.elementAlreadyRemoved(Edge.class, edge.id);
+            change = new TinkerEdge(visible);
+            state.edges.put(edge.id, change);
+        } else if (change.removed) {
+            throw TinkerElement.elementAlreadyRemoved(Edge.class, edge.id);
+        }
+        return change;
+    }
+
+    /**
+     * Gets the copy of the vertex property that the current transaction changes, which belongs to the copy of its
+     * vertex.
+     */
+    TinkerVertexProperty<?> write(final TinkerVertexProperty<?> vertexProperty) {
+        final TinkerVertex vertex = write((TinkerVertex) vertexProperty.element());
+        final TinkerVertexProperty<?> change = find(vertex, vertexProperty);
+        if (null != change)
+            return change;
+
+        // the vertex property is still being created on the copy or was removed from it
+        if (vertex == vertexProperty.element())
+            return vertexProperty;
+        throw TinkerElement.elementAlreadyRemoved(VertexProperty.class, vertexProperty.id);
+    }
+
+    /**
+     * Adds an element that was created by the current transaction.
+     */
+    void add(final TinkerElement element) {
+        final Map<Object, TinkerElement> changes = state().changes(element instanceof Vertex);
+        // an element that replaces one the transaction removed takes over the version that was removed
+        final TinkerElement removed = changes.put(element.id, element);
+        if (null != removed) element.previousVersion = removed.previousVersion;
+    }
+
+    /**
+     * Gets the element with the id that the current transaction sees from the map of vertices or edges of the graph.
+     */
+    <T extends Element> T get(final Map<Object, T> elements, final Object id) {
+        final TransactionState state = state();
+        return (T) read(elements, state.changes(elements == this.graph.vertices), state.startVersion, id);
+    }
+
+    /**
+     * Lazily iterates the elements that the current transaction sees in the map of vertices or edges of the graph.
+     */
+    <T extends Element> Iterator<T> scan(final Map<Object, T> elements) {
+        final TransactionState state = state();
+        final Map<Object, TinkerElement> changes = state.changes(elements == this.graph.vertices);
+
+        // elements created by the transaction are not in the graph yet
+        final List<TinkerElement> created = new ArrayList<>();
+        for (final TinkerElement change : changes.values()) {
+            if (null == change.previousVersion) created.add(change);
+        }
+
+        final Iterator<T> committed = IteratorUtils.filter(IteratorUtils.map(elements.values().iterator(), element -> {
+            final TinkerElement change = changes.get(element.id());
+            if (null != change && null != change.previousVersion)
+                return change.removed ? null : (T) change;
+            return (T) visible((TinkerElement) element, state.startVersion);
+        }), Objects::nonNull);
+        return IteratorUtils.concat(committed, IteratorUtils.filter((Iterator<T>) created.iterator(), e -> !((TinkerElement) e).removed));
+    }
+
+    /**
+     * Gets the versions that the current transaction sees of the elements that an index lookup returned from the map
+     * of vertices or edges of the graph. As the index only holds the latest committed version of each element, the
+     * elements that the transaction changed and those committed since it was opened are added, because the versions
+     * that the transaction sees may match the lookup where the indexed ones do not. The result must still be filtered
+     * by the predicates of the lookup.
+     */
+    <T extends Element> List<T> candidates(final Map<Object, ? extends Element> elements, final List<? extends Element> indexed) {
+        final TransactionState state = state();
+        final boolean vertices = elements == this.graph.vertices;
+        final Map<Object, TinkerElement> changes = state.changes(vertices);
+
+        final Set<Object> ids = new LinkedHashSet<>();
+        indexed.forEach(element -> ids.add(element.id()));
+        ids.addAll(changes.keySet());
+        for (final TinkerElement element : this.versionedElements) {
+            if (element.version > state.startVersion && element instanceof Vertex == vertices)
+                ids.add(element.id);
+        }
+
+        final List<T> candidates = new ArrayList<>(ids.size());
+        for (final Object id : ids) {
+            final TinkerElement element = read(elements, changes, state.startVersion, id);
+            if (null != element) candidates.add((T) element);
+        }
+        return candidates;
+    }
+
+    private TransactionState state() {
+        readWrite();
+        return this.transactionState.get();
+    }
+
+    private static TinkerElement read(final Map<Object, ? extends Element> elements, final Map<Object, TinkerElement> changes,
+                                      final long startVersion, final Object id) {
+        final TinkerElement change = changes.get(id);
+        if (null != change)
+            return change.removed ? null : change;
+        return visible((TinkerElement) elements.get(id), startVersion);
+    }
+
+    /**
+     * Follows the versions of an element back to the newest one that is not newer than the given version.
+     */
+    private static TinkerElement visible(final TinkerElement element, final long version) {
+        TinkerElement visible = element;
+        while (null != visible && visible.version > version) {
+            visible = visible.previousVersion;
+        }
+        return null == visible || visible.removed ? null : visible;
+    }
+
+    private static TinkerVertexProperty<?> find(final TinkerVertex vertex, final TinkerVertexProperty<?> vertexProperty) {
+        if (null == vertex.properties)
+            return null;
+        final List<VertexProperty> list = vertex.properties.get(vertexProperty.key());
+        if (null != list) {
+            for (final VertexProperty property : list) {
+                if (property.id().equals(vertexProperty.id))
+                    return (TinkerVertexProperty<?>) property;
+            }
+        }
+        return null;
+    }
+
+    private static void validate(final Map<Object, ? extends Element> elements, final Map<Object, TinkerElement> changes,
+                                 final Class<? extends Element> clazz) {
+        for (final TinkerElement change : changes.values()) {
+            final TinkerElement current = (TinkerElement) elements.get(change.id);
+            // an element the transaction created must not have been created by another one in the meantime and any
+            // other element must still be the version that the transaction copied
+            final boolean conflict = null == change.previousVersion ?
+                    null != current && !current.removed && !change.removed :
+                    current != change.previousVersion;
+            if (conflict)
+                throw new TransactionException(String.format("%s with id %s was changed by a concurrent transaction",
+                        clazz.getSimpleName(), change.id));
+        }
+    }
+
+    private <T extends Element, I extends Element> void publish(final Map<Object, T> elements,
+                                                                final Map<Object, TinkerElement> changes,
+                                                                final long version, final TinkerIndex<I> index) {
+        for (final TinkerElement change : changes.values()) {
+            // an element that was created and removed by the transaction is of no interest to anyone else
+            if (null == change.previousVersion && change.removed)
+                continue;
+
+            final TinkerElement current = (TinkerElement) elements.get(change.id);
+            change.version = version;
+            change.previousVersion = current;
+            elements.put(change.id, (T) change);
+            if (null != current || change.removed)
+                this.versionedElements.add(change);
+
+            // the copy is indexed afresh as the changes to it were kept out of the index
+            if (null != index) {
+                if (null != current) index.removeElement((I) current);
+                if (!change.removed) index.addElement((I) change);
+            }
+        }
+    }
+
+    /**
+     * Drops the versions that no open transaction can see anymore, which includes the elements that mark removals.
+     * Transactions of threads that have ended without closing them are discarded.
+     */
+    private void prune() {
+        long oldestVersion = this.committedVersion;
+        for (final Iterator<TransactionState> it = this.openTransactions.iterator(); it.hasNext(); ) {
+            final TransactionState state = it.next();
+            if (state.thread.isAlive())
+                oldestVersion = Math.min(oldestVersion, state.startVersion);
+            else
+                it.remove();
+        }
+        if (oldestVersion == this.prunedVersion)
+            return;
+
+        for (final Iterator<TinkerElement> it = this.versionedElements.iterator(); it.hasNext(); ) {
+            final TinkerElement element = it.next();
+
+            // the oldest transaction sees the newest version that is not newer than it so any older ones can go
+            TinkerElement visible = element;
+            while (null != visible && visible.version > oldestVersion) {
+                visible = visible.previousVersion;
+            }
+            if (null != visible)
+                visible.previousVersion = null;
+
+            if (element.removed) {
+                if (element.version <= oldestVersion) {
+                    (element instanceof Vertex ? this.graph.vertices : this.graph.edges).remove(element.id, element);
+                    it.remove();
+                }
+            } else if (null == element.previousVersion) {
+                it.remove();
+            }
+        }
+        this.prunedVersion = oldestVersion;
+    }
+
+    private static final class TransactionState {
+        private final Thread thread = Thread.currentThread();
+        private final Map<Object, TinkerElement> vertices = new LinkedHashMap<>();
+        private final Map<Object, TinkerElement> edges = new LinkedHashMap<>();
+        private volatile long startVersion;
+
+        private TransactionState(final long startVersion) {
+            this.startVersion = startVersion;
+        }
+
+        private Map<Object, TinkerElement> changes(final boolean vertices) {
+            return vertices ? this.vertices : this.edges;
+        }
+    }
+}
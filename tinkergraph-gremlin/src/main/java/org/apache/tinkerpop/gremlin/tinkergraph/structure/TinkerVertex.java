@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -45,15 +46,50 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     protected Map<String, List<VertexProperty>> properties;
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    protected TinkerAdjacency outAdjacency;
+    protected TinkerAdjacency inAdjacency;
     private final TinkerGraph graph;
     private boolean allowNullPropertyValues;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label);
         this.graph = graph;
+        this.sequence = graph.elementSequence.incrementAndGet();
         this.allowNullPropertyValues = graph.features().vertex().supportsNullPropertyValues();
     }
 
+    /**
+     * Copies the vertex for a transaction to change, which leaves the copied version untouched for other
+     * transactions to read.
+     */
+    TinkerVertex(final TinkerVertex vertex) {
+        super(vertex.id, vertex.label);
+        this.graph = vertex.graph;
+        this.sequence = vertex.sequence;
+        this.allowNullPropertyValues = vertex.allowNullPropertyValues;
+        this.previousVersion = vertex;
+        if (null != vertex.properties) {
+            this.properties = TinkerHelper.createPropertyMap(this.graph);
+            vertex.properties.forEach((key, list) -> {
+                final List<VertexProperty> copies = new ArrayList<>(list.size());
+                list.forEach(vertexProperty -> copies.add(new TinkerVertexProperty<>((TinkerVertexProperty<?>) vertexProperty, this)));
+                this.properties.put(key, copies);
+            });
+        }
+        if (null != vertex.outEdges) {
+            this.outEdges = new HashMap<>();
+            vertex.outEdges.forEach((label, edges) -> this.outEdges.put(label, new HashSet<>(edges)));
+        }
+        if (null != vertex.inEdges) {
+            this.inEdges = new HashMap<>();
+            vertex.inEdges.forEach((label, edges) -> this.inEdges.put(label, new HashSet<>(edges)));
+        }
+        if (null != vertex.outAdjacency)
+            this.outAdjacency = new TinkerAdjacency(vertex.outAdjacency);
+        if (null != vertex.inAdjacency)
+            this.inAdjacency = new TinkerAdjacency(vertex.inAdjacency);
+    }
+
     @Override
     public Graph graph() {
         return this.graph;
@@ -61,6 +97,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public <V> VertexProperty<V> property(final String key) {
+        final TinkerVertex vertex = visible();
+        if (vertex != this) return null == vertex ? VertexProperty.empty() : vertex.property(key);
         if (this.removed) return VertexProperty.empty();
         if (TinkerHelper.inComputerMode(this.graph)) {
             final List<VertexProperty> list = (List) this.graph.graphComputerView.getProperty(this, key);
@@ -84,6 +122,10 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public <V> VertexProperty<V> property(final VertexProperty.Cardinality cardinality, final String key, final V value, final Object... keyValues) {
+        // compute keys are written to the view of the graph computer rather than to the vertex
+        final TinkerVertex vertex = null == this.graph.transaction || TinkerHelper.inComputerMode(this.graph) ?
+                this : this.graph.transaction.write(this);
+        if (vertex != this) return vertex.property(cardinality, key, value, keyValues);
         if (this.removed) throw elementAlreadyRemoved(Vertex.class, id);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         ElementHelper.validateProperty(key, value);
@@ -97,6 +139,10 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             return VertexProperty.empty();
         }
 
+        // overwrite the column of the compute key rather than removing its property and adding a new one
+        if (VertexProperty.Cardinality.single == cardinality && 0 == keyValues.length && TinkerHelper.inComputerMode(this.graph))
+            return this.graph.graphComputerView.setProperty(this, key, value);
+
         final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
         final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
         if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
@@ -110,12 +156,23 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
                     graph.vertexPropertyIdManager.convert(optionalId.get()) :
                     graph.vertexPropertyIdManager.getNextId(graph);
 
-            final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
+            final String propertyKey = this.graph.intern(key);
+            final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, propertyKey, value);
 
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
+            this.graph.lockMutations();
+            try {
+                if (null == this.properties) this.properties = TinkerHelper.createPropertyMap(this.graph);
+                List<VertexProperty> list = this.properties.get(propertyKey);
+                if (null == list) {
+                    // most keys only ever hold a single property so avoid the default capacity in compact storage
+                    list = this.graph.compactStorage ? new ArrayList<>(1) : new ArrayList<>();
+                    this.properties.put(propertyKey, list);
+                }
+                list.add(vertexProperty);
+                if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.addVertexProperty((TinkerVertexProperty<?>) vertexProperty);
+            } finally {
+                this.graph.unlockMutations();
+            }
             TinkerHelper.autoUpdateIndex(this, key, value, null);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
@@ -124,6 +181,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public Set<String> keys() {
+        final TinkerVertex vertex = visible();
+        if (vertex != this) return null == vertex ? Collections.emptySet() : vertex.keys();
         if (null == this.properties) return Collections.emptySet();
         return TinkerHelper.inComputerMode((TinkerGraph) graph()) ?
                 Vertex.super.keys() :
@@ -139,13 +198,26 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public void remove() {
-        final List<Edge> edges = new ArrayList<>();
-        this.edges(Direction.BOTH).forEachRemaining(edges::add);
-        edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
-        TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
-        this.removed = true;
+        if (null != this.graph.transaction && null != visible()) {
+            final TinkerVertex vertex = this.graph.transaction.write(this);
+            if (vertex != this) {
+                vertex.remove();
+                return;
+            }
+        }
+        this.graph.lockMutations();
+        try {
+            final List<Edge> edges = new ArrayList<>();
+            this.edges(Direction.BOTH).forEachRemaining(edges::add);
+            edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
+            this.properties = null;
+            TinkerHelper.removeElementIndex(this);
+            if (null == this.graph.transaction) this.graph.vertices.remove(this.id);
+            this.removed = true;
+            if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.removeVertex(this);
+        } finally {
+            this.graph.unlockMutations();
+        }
     }
 
     @Override
@@ -155,6 +227,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public Iterator<Edge> edges(final Direction direction, final String... edgeLabels) {
+        final TinkerVertex vertex = visible();
+        if (vertex != this) return null == vertex ? Collections.emptyIterator() : vertex.edges(direction, edgeLabels);
         final Iterator<Edge> edgeIterator = (Iterator) TinkerHelper.getEdges(this, direction, edgeLabels);
         return TinkerHelper.inComputerMode(this.graph) ?
                 IteratorUtils.filter(edgeIterator, edge -> this.graph.graphComputerView.legalEdge(this, edge)) :
@@ -163,6 +237,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public Iterator<Vertex> vertices(final Direction direction, final String... edgeLabels) {
+        final TinkerVertex vertex = visible();
+        if (vertex != this) return null == vertex ? Collections.emptyIterator() : vertex.vertices(direction, edgeLabels);
         return TinkerHelper.inComputerMode(this.graph) ?
                 direction.equals(Direction.BOTH) ?
                         IteratorUtils.concat(
@@ -174,9 +250,11 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public <V> Iterator<VertexProperty<V>> properties(final String... propertyKeys) {
+        final TinkerVertex vertex = visible();
+        if (vertex != this) return null == vertex ? Collections.emptyIterator() : vertex.properties(propertyKeys);
         if (this.removed) return Collections.emptyIterator();
         if (TinkerHelper.inComputerMode((TinkerGraph) graph()))
-            return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
+            return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this, propertyKeys).iterator();
         else {
             if (null == this.properties) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
@@ -192,4 +270,12 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
                 return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
         }
     }
+
+    /**
+     * Gets the version of this vertex that the current transaction sees, which is this vertex unless the graph is
+     * transactional, or {@code null} if the transaction does not see it.
+     */
+    private TinkerVertex visible() {
+        return null == this.graph.transaction ? this : this.graph.transaction.read(this);
+    }
 }
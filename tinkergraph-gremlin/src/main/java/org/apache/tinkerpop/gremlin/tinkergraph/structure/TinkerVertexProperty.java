@@ -28,8 +28,8 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -72,6 +72,21 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
         ElementHelper.attachProperties(this, propertyKeyValues);
     }
 
+    /**
+     * Copies the vertex property to the copy of its vertex that a transaction changes.
+     */
+    TinkerVertexProperty(final TinkerVertexProperty<V> vertexProperty, final TinkerVertex vertex) {
+        super(vertexProperty.id, vertexProperty.label);
+        this.allowNullPropertyValues = vertexProperty.allowNullPropertyValues;
+        this.vertex = vertex;
+        this.key = vertexProperty.key;
+        this.value = vertexProperty.value;
+        if (null != vertexProperty.properties) {
+            this.properties = TinkerHelper.createPropertyMap((TinkerGraph) vertex.graph());
+            vertexProperty.properties.forEach((k, property) -> this.properties.put(k, new TinkerProperty<>(this, k, property.value())));
+        }
+    }
+
     @Override
     public String key() {
         return this.key;
@@ -105,16 +120,24 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public Set<String> keys() {
+        final TinkerVertexProperty<?> vertexProperty = visible();
+        if (vertexProperty != this) return null == vertexProperty ? Collections.emptySet() : vertexProperty.keys();
         return null == this.properties ? Collections.emptySet() : this.properties.keySet();
     }
 
     @Override
     public <U> Property<U> property(final String key) {
+        final TinkerVertexProperty<?> vertexProperty = visible();
+        if (vertexProperty != this) return null == vertexProperty ? Property.<U>empty() : vertexProperty.property(key);
         return null == this.properties ? Property.<U>empty() : this.properties.getOrDefault(key, Property.<U>empty());
     }
 
     @Override
     public <U> Property<U> property(final String key, final U value) {
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        final TinkerVertexProperty<?> vertexProperty = null == graph.transaction || TinkerHelper.inComputerMode(graph) ?
+                this : graph.transaction.write(this);
+        if (vertexProperty != this) return vertexProperty.property(key, value);
         if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
 
         if ((!allowNullPropertyValues && null == value)) {
@@ -123,8 +146,14 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
         }
 
         final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
+        graph.lockMutations();
+        try {
+            if (this.properties == null) this.properties = TinkerHelper.createPropertyMap(graph);
+            this.properties.put(key, property);
+            if (null != graph.writeAheadLog && isAttached()) graph.writeAheadLog.setMetaProperty(this, key, value);
+        } finally {
+            graph.unlockMutations();
+        }
         return property;
     }
 
@@ -135,26 +164,60 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
-                TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.transaction && !TinkerHelper.inComputerMode(graph)) {
+            if (null == visible()) return;
+            final TinkerVertexProperty<?> vertexProperty = graph.transaction.write(this);
+            if (vertexProperty != this) {
+                vertexProperty.remove();
+                return;
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.properties(this.key).forEachRemaining(property -> {
-                final Object currentPropertyValue = property.value();
-                if ((currentPropertyValue != null && currentPropertyValue.equals(this.value) || null == currentPropertyValue && null == this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
-            this.properties = null;
-            this.removed = true;
+        }
+        graph.lockMutations();
+        try {
+            if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
+                this.vertex.properties.get(this.key).remove(this);
+                if (this.vertex.properties.get(this.key).size() == 0) {
+                    this.vertex.properties.remove(this.key);
+                    TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.properties(this.key).forEachRemaining(property -> {
+                    if (TinkerHelper.isSameIndexedValue(this.vertex, this.key, property.value(), this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                this.properties = null;
+                this.removed = true;
+                if (null != graph.writeAheadLog) graph.writeAheadLog.removeVertexProperty(this);
+            }
+        } finally {
+            graph.unlockMutations();
         }
     }
 
+    /**
+     * Determines if the vertex property has been added to its vertex, which is not yet the case while the
+     * meta-properties it is created with are being set nor ever the case for properties of a
+     * {@link TinkerGraphComputerView}.
+     */
+    boolean isAttached() {
+        if (null == this.vertex.properties)
+            return false;
+        final List<VertexProperty> list = this.vertex.properties.get(this.key);
+        if (null != list) {
+            for (final VertexProperty vertexProperty : list) {
+                if (vertexProperty == this)
+                    return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public <U> Iterator<Property<U>> properties(final String... propertyKeys) {
+        final TinkerVertexProperty<?> vertexProperty = visible();
+        if (vertexProperty != this) return null == vertexProperty ? Collections.emptyIterator() : vertexProperty.properties(propertyKeys);
         if (null == this.properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
             final Property<U> property = this.properties.get(propertyKeys[0]);
@@ -162,4 +225,14 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
         } else
             return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
     }
+
+    /**
+     * Gets the version of this vertex property that the current transaction sees, which is this vertex property
+     * unless the graph is transactional, or {@code null} if the transaction does not see it. The properties of a
+     * graph computer are not part of any vertex and are taken as they are.
+     */
+    private TinkerVertexProperty<?> visible() {
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        return null == graph.transaction || TinkerHelper.inComputerMode(graph) ? this : graph.transaction.read(this);
+    }
 }
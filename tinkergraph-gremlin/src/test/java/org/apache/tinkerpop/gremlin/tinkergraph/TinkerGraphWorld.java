@@ -28,7 +28,9 @@ import org.apache.tinkerpop.gremlin.features.World;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphParallelScanStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerDegreeCentralityFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerTextSearchFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
@@ -106,6 +108,31 @@ public class TinkerGraphWorld implements World {
         }
     }
 
+    /**
+     * Splits scans among several threads with {@link TinkerGraphParallelScanStrategy} when testing, using partitions of
+     * a single element so that even the small test graphs are split.
+     */
+    public static class ParallelScanWorld extends TinkerGraphWorld {
+
+        @Override
+        public GraphTraversalSource getGraphTraversalSource(final LoadGraphWith.GraphData graphData) {
+            return super.getGraphTraversalSource(graphData).withStrategies(
+                    TinkerGraphParallelScanStrategy.build().parallelism(4).minPartitionSize(1).create());
+        }
+    }
+
+    /**
+     * Has steps process traversers in batches with {@link BatchStrategy} when testing, using batches of three so that
+     * the small test graphs still need several of them.
+     */
+    public static class BatchWorld extends TinkerGraphWorld {
+
+        @Override
+        public GraphTraversalSource getGraphTraversalSource(final LoadGraphWith.GraphData graphData) {
+            return super.getGraphTraversalSource(graphData).withStrategies(BatchStrategy.build().batchSize(3).create());
+        }
+    }
+
     /**
      * Turns on {@link GraphComputer} when testing.
      */
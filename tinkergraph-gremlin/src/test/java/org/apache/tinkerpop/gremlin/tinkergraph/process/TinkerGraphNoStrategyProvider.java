@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Connec
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SideEffectStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.TinkerGraphProvider;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
@@ -50,6 +51,7 @@ public class TinkerGraphNoStrategyProvider extends TinkerGraphProvider {
             ProfileStrategy.class,
             ProductiveByStrategy.class, // this strategy is required to maintain 3.5.x null behaviors defined in tests
             ConnectiveStrategy.class,
+            ShortestPathStrategy.class, // this strategy is required for shortestPath() without a GraphComputer
             SideEffectStrategy.class));
 
     @Override
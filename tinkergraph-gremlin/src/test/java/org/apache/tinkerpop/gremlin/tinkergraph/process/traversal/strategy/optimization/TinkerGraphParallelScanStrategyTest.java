@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerParallelScanStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.Function;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.Order.desc;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+
+public class TinkerGraphParallelScanStrategyTest {
+
+    private static final TinkerGraph graph = TinkerFactory.createGratefulDead();
+
+    private final GraphTraversalSource g = graph.traversal();
+    private final GraphTraversalSource parallel = graph.traversal().withStrategies(
+            TinkerGraphParallelScanStrategy.build().parallelism(8).minPartitionSize(10).create());
+
+    @Test
+    public void shouldMergePartialResultsOfReducingBarrier() {
+        assertParallel(true, t -> t.V().out().count());
+        assertParallel(true, t -> t.V().has("performances", gt(10)).out("followedBy").groupCount().by("name"));
+        assertParallel(true, t -> t.V().hasLabel("song").group().by("songType").by(outE().count()));
+        assertParallel(true, t -> t.E().values("weight").sum());
+        assertParallel(true, t -> t.V().out("sungBy").values("name").max());
+    }
+
+    @Test
+    public void shouldFeedCollectingBarrierWithEveryPartition() {
+        assertParallel(true, t -> t.V().out("followedBy").values("name").order());
+        assertParallel(true, t -> t.V().hasLabel("song").order().by("performances", desc).values("name"));
+        assertParallel(true, t -> t.V().hasLabel("artist").values("name").order().by(desc));
+    }
+
+    @Test
+    public void shouldNotApplyWithoutABarrierThatConsumesTheScan() {
+        assertParallel(false, t -> t.V().out().values("name"));
+        assertParallel(false, t -> t.V().out().limit(10));
+        assertParallel(false, t -> t.V().out().dedup().count());
+        assertParallel(false, t -> t.V().order().by("name"));
+    }
+
+    @Test
+    public void shouldNotApplyToFoldWithASeed() {
+        assertParallel(false, t -> t.V().hasLabel("song").values("performances").fold(10, Operator.sum));
+        assertParallel(false, t -> t.V().hasLabel("artist").values("name").fold(new ArrayList<>(Collections.singletonList("x")), Operator.addAll));
+    }
+
+    @Test
+    public void shouldNotApplyToStepsWithSideEffectsOrLambdas() {
+        assertParallel(false, t -> t.V().out().aggregate("x").count());
+        assertParallel(false, t -> t.V().map(v -> v.get().id()).count());
+        assertParallel(false, t -> t.V().as("a").out("writtenBy").select("a").count());
+    }
+
+    private void assertParallel(final boolean applied, final Function<GraphTraversalSource, GraphTraversal<?, ?>> traversal) {
+        final Traversal.Admin<?, ?> parallelTraversal = traversal.apply(this.parallel).asAdmin();
+        parallelTraversal.applyStrategies();
+        assertEquals(applied, TraversalHelper.hasStepOfClass(TinkerParallelScanStep.class, parallelTraversal));
+        assertEquals(traversal.apply(this.g).toList(), parallelTraversal.toList());
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerDegreeCentralityFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
@@ -164,6 +165,71 @@ public class TinkerGraphServiceTest {
 
     }
 
+    /**
+     * Demonstrate / test the full text search service against text indices.
+     */
+    @Test
+    public void g_call_search_text_index() {
+        graph.createIndex("name", Vertex.class, TinkerGraph.IndexType.TEXT);
+        graph.createIndex("lang", Edge.class, TinkerGraph.IndexType.TEXT);
+        graph.addVertex("name", "Marko Antonio R");
+        graph.addVertex("name", "Antonio Marko");
+        final Vertex v = graph.addVertex("name", "marko's blog");
+
+        /*
+         * Term search matches whole words regardless of case.
+         */
+        assertArrayEquals(new String[] {
+                "vp[name->Antonio Marko]",
+                "vp[name->Marko Antonio R]",
+                "vp[name->marko's blog]",
+                "vp[name->marko]"
+        }, sorted(toResultStrings(
+
+                g.call("tinker.search").with("term", "MARKO")
+
+        )));
+
+        /*
+         * Prefix search matches the start of words.
+         */
+        assertArrayEquals(new String[] {
+                "vp[name->Antonio Marko]",
+                "vp[name->Marko Antonio R]"
+        }, sorted(toResultStrings(
+
+                g.call("tinker.search").with("prefix", "ant").with("type", "Vertex")
+
+        )));
+
+        /*
+         * Phrase search requires the words next to each other and in order.
+         */
+        assertArrayEquals(new String[] {
+                "vp[name->Marko Antonio R]"
+        }, toResultStrings(
+
+                g.call("tinker.search").with("phrase", "marko antonio").with("key", "name")
+
+        ));
+
+        /*
+         * The index follows changes to properties.
+         */
+        v.property("name", "josh's blog");
+        assertArrayEquals(new String[] {
+                "vp[name->josh's blog]",
+                "vp[name->josh]"
+        }, sorted(toResultStrings(
+
+                g.call("tinker.search").with("term", "josh")
+
+        )));
+        assertEquals(0, toResultStrings(g.call("tinker.search").with("term", "blog").with("type", "Edge")).length);
+        v.remove();
+        assertEquals(0, toResultStrings(g.call("tinker.search").with("term", "blog")).length);
+    }
+
     @Test
     public void g_V_call_degree_centrality() {
         assertArrayEquals(new String[] {
@@ -449,6 +515,11 @@ public class TinkerGraphServiceTest {
         return (String) IteratorUtils.stream(traversal).map(Object::toString).collect(Collectors.joining(",", "[", "]"));
     }
 
+    private static String[] sorted(final String[] results) {
+        Arrays.sort(results);
+        return results;
+    }
+
     private String[] toResultStrings(final Traversal traversal) {
         return (String[]) ((List) IteratorUtils.stream(traversal).map(Object::toString).collect(Collectors.toList())).toArray(new String[0]);
     }
@@ -23,9 +23,20 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.AbstractLambdaTraversal;
@@ -38,6 +49,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.Veri
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -56,7 +68,9 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1d0;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -73,7 +87,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilenameFilter;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -84,16 +100,25 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -226,6 +251,56 @@ public class TinkerGraphTest {
         }, 35)).has("name", "stephen").count().next());
     }
 
+    @Test
+    public void shouldRemoveMultiPropertyVertexFromEveryIndexedValue() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+
+        final Vertex v = g.addVertex();
+        v.property(VertexProperty.Cardinality.list, "name", "marko");
+        v.property(VertexProperty.Cardinality.list, "name", "mark");
+        g.addVertex("name", "marko");
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "name", "mark").size());
+
+        v.properties("name").forEachRemaining(p -> {
+            if (p.value().equals("mark")) p.remove();
+        });
+        assertEquals(0, TinkerHelper.queryVertexIndex(g, "name", "mark").size());
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+
+        v.property(VertexProperty.Cardinality.list, "name", "mark");
+        v.remove();
+        assertEquals(0, TinkerHelper.queryVertexIndex(g, "name", "mark").size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+
+        g.traversal().V().drop().iterate();
+        assertEquals(0, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+    }
+
+    @Test
+    public void shouldIndexNullPropertyValues() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, true);
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.addVertex("name", null);
+        g.createIndex("name", Vertex.class);
+        g.createIndex("oid", Edge.class);
+
+        final Vertex v = g.addVertex("name", null);
+        v.addEdge("self", v, "oid", null);
+        assertEquals(2, TinkerHelper.queryVertexIndex(g, "name", (Object) null).size());
+        assertEquals(1, TinkerHelper.queryEdgeIndex(g, "oid", (Object) null).size());
+
+        v.property("name", "marko");
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "name", (Object) null).size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+
+        v.remove();
+        assertEquals(0, TinkerHelper.queryVertexIndex(g, "name", "marko").size());
+        assertEquals(0, TinkerHelper.queryEdgeIndex(g, "oid", (Object) null).size());
+    }
+
     @Test
     public void shouldUpdateVertexIndicesInExistingGraph() {
         final TinkerGraph g = TinkerGraph.open();
@@ -328,6 +403,398 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseOrderedVertexIndexForRangeLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32L);
+        g.addVertex("name", "peter", "age", 35);
+
+        // spy into the pipeline to make sure that only vertices within the range come out of the index
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.gt(29)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.between(28, 33)).count().next());
+        assertEquals(new Long(3), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(!t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.lte(32)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.within(27, 32, 100)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("josh", t);
+            return true;
+        }, "x")).has("age", 32).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.inside(29, 29)).count().next());
+    }
+
+    @Test
+    public void shouldUseOrderedVertexIndexForPrefixLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "mark", "age", 30);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "matthias", "age", 35);
+        g.addVertex("age", 99);
+        g.createIndex("name", Vertex.class, TinkerGraph.IndexType.ORDERED);
+
+        assertEquals(new Long(2), g.traversal().V().has("age", P.test((t, u) -> {
+            assertTrue(t.equals(29) || t.equals(30));
+            return true;
+        }, 0)).has("name", TextP.startingWith("mar")).count().next());
+        assertEquals(new Long(4), g.traversal().V().has("name", TextP.startingWith("")).count().next());
+    }
+
+    @Test
+    public void shouldUpdateOrderedVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        assertEquals(TinkerGraph.IndexType.ORDERED, g.getIndexType("age", Vertex.class));
+
+        final Vertex marko = g.addVertex("name", "marko", "age", 29);
+        final Vertex josh = g.addVertex("name", "josh", "age", 32);
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        marko.property("age", 31);
+        assertEquals(new Long(2), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        josh.remove();
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        marko.property("age").remove();
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.HASH);
+        assertEquals(TinkerGraph.IndexType.HASH, g.getIndexType("age", Vertex.class));
+    }
+
+    @Test
+    public void shouldUpdateOrderedIndexWhenValueChangesToEqualNumberOfAnotherType() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.ORDERED);
+
+        final Vertex marko = g.addVertex("name", "marko", "age", 1);
+        g.addVertex("name", "josh", "age", 1L);
+        marko.property("age", 1L);
+        marko.property(VertexProperty.Cardinality.list, "age", 2);
+        marko.property(VertexProperty.Cardinality.list, "age", 2L);
+        assertEquals(new Long(2), g.traversal().V().has("age", P.lt(2)).count().next());
+
+        final Edge e = marko.addEdge("knows", marko, "weight", 1);
+        e.property("weight", 1L);
+        e.property("weight", 1.0d);
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.gte(1)).count().next());
+
+        e.remove();
+        assertEquals(new Long(0), g.traversal().E().has("weight", P.gte(1)).count().next());
+        // 2 and 2L share a bucket so removing one must leave marko indexed under the other
+        marko.properties("age").forEachRemaining(p -> {
+            if (p.value().equals(2L)) p.remove();
+        });
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gte(2)).count().next());
+
+        marko.remove();
+        assertEquals(new Long(1), g.traversal().V().has("age", P.lt(2)).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gte(2)).count().next());
+    }
+
+    @Test
+    public void shouldUseOrderedEdgeIndexForRangeLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.ORDERED);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5d);
+        v.addEdge("friend", v, "oid", "2", "weight", 0.6d);
+        v.addEdge("friend", v, "oid", "3", "weight", 0.9d);
+
+        assertEquals(new Long(1), g.traversal().E().has("oid", P.test((t, u) -> {
+            assertEquals("2", t);
+            return true;
+        }, "x")).has("weight", P.between(0.55d, 0.8d)).count().next());
+    }
+
+    @Test
+    public void shouldMatchStrictlyInMergeVWithOrderedIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        g.addVertex("name", "marko", "age", 29);
+
+        final Map<Object,Object> search = new HashMap<>();
+        search.put("age", 29L);
+        g.traversal().mergeV(search).iterate();
+        assertEquals(new Long(2), g.traversal().V().count().next());
+        search.put("age", 29);
+        g.traversal().mergeV(search).iterate();
+        assertEquals(new Long(2), g.traversal().V().count().next());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+        g.createIndex("email", Vertex.class);
+
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("tenant", "acme", "email", "user" + i + "@acme.com");
+        }
+
+        // the tenant index is first in the traversal but every vertex has the same tenant so the email index should
+        // be used and only one vertex should be evaluated against the tenant predicate
+        assertEquals(new Long(1), g.traversal().V().has("tenant", P.test((t, u) -> {
+            assertEquals("acme", t);
+            return true;
+        }, "acme")).has("tenant", "acme").has("email", "user7@acme.com").count().next());
+        assertEquals(new Long(0), g.traversal().V().has("tenant", P.test((t, u) -> {
+            fail("Should not have evaluated any vertices");
+            return true;
+        }, "acme")).has("tenant", "acme").has("email", "nobody@acme.com").count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+        g.createIndex("email", Vertex.class);
+
+        for (int i = 0; i < 10; i++) {
+            g.addVertex(T.label, "user", "tenant", "t" + i, "email", "same@acme.com", "age", i);
+            g.addVertex(T.label, "user", "tenant", "t" + i, "email", "other@acme.com", "age", i);
+        }
+        g.addVertex(T.label, "admin", "tenant", "t5", "email", "same@acme.com", "age", 5);
+
+        g.createCompositeIndex(Vertex.class, "user", "tenant", "email");
+        assertEquals(Collections.singleton(Arrays.asList("user", "tenant", "email")), g.getCompositeIndexes(Vertex.class));
+
+        // neither key is selective alone but together they identify a single vertex
+        assertEquals(new Long(1), g.traversal().V().hasLabel("user").has("age", P.test((t, u) -> {
+            assertEquals(5, t);
+            return true;
+        }, 0)).has("tenant", "t5").has("email", "same@acme.com").count().next());
+
+        // keep up with mutations
+        final Vertex v = g.traversal().V().hasLabel("user").has("tenant", "t5").has("email", "same@acme.com").next();
+        v.property("email", "changed@acme.com");
+        assertEquals(new Long(0), g.traversal().V().hasLabel("user").has("tenant", "t5").has("email", "same@acme.com").count().next());
+        assertEquals(new Long(1), g.traversal().V().hasLabel("user").has("tenant", "t5").has("email", "changed@acme.com").count().next());
+        v.property("tenant").remove();
+        assertEquals(new Long(0), g.traversal().V().hasLabel("user").has("tenant", "t5").has("email", "changed@acme.com").count().next());
+        g.traversal().V().hasLabel("user").has("tenant", "t6").has("email", "same@acme.com").drop().iterate();
+        assertEquals(new Long(0), g.traversal().V().hasLabel("user").has("tenant", "t6").has("email", "same@acme.com").count().next());
+        assertEquals(new Long(1), g.traversal().V().hasLabel("user").has("tenant", "t6").has("email", "other@acme.com").count().next());
+
+        // the label is not part of the search so the composite index is not usable but the results are still right
+        assertEquals(new Long(1), g.traversal().V().has("tenant", "t5").has("email", "same@acme.com").count().next());
+
+        g.dropCompositeIndex(Vertex.class, "user", "tenant", "email");
+        assertEquals(0, g.getCompositeIndexes(Vertex.class).size());
+        assertEquals(new Long(1), g.traversal().V().hasLabel("user").has("tenant", "t7").has("email", "same@acme.com").count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndexWithMergeV() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, "user", "tenant", "email");
+
+        final Map<Object,Object> search = new HashMap<>();
+        search.put(T.label, "user");
+        search.put("tenant", "acme");
+        search.put("email", "marko@acme.com");
+        g.traversal().mergeV(search).iterate();
+        g.traversal().mergeV(search).iterate();
+        assertEquals(new Long(1), g.traversal().V().count().next());
+
+        search.put("email", "stephen@acme.com");
+        g.traversal().mergeV(search).iterate();
+        assertEquals(new Long(2), g.traversal().V().count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Edge.class, null, "oid", "weight");
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5f);
+        v.addEdge("knows", v, "oid", "1", "weight", 0.6f);
+        v.addEdge("friend", v, "oid", "2", "weight", 0.5f);
+
+        assertEquals(new Long(1), g.traversal().E().has("oid", "1").has("weight", 0.5f).count().next());
+        assertEquals(new Long(1), g.traversal().E().hasLabel("knows").has("oid", "1").has("weight", 0.6f).count().next());
+    }
+
+    @Test
+    public void shouldLazilyScanVertices() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i);
+        }
+
+        // only as many vertices as needed to produce the first result (plus any look-ahead) should be evaluated
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        assertEquals(1, g.traversal().V().has("age", P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return true;
+        }, 0)).limit(1).toList().size());
+        assertThat(evaluated.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void shouldNotScanElementsAddedDuringTraversal() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i).addEdge("self", g.addVertex());
+        }
+
+        assertEquals(200, g.traversal().V().addV().count().next().intValue());
+        assertEquals(400, IteratorUtils.count(g.vertices()));
+        assertEquals(100, g.traversal().E().sideEffect(t -> t.get().outVertex().addEdge("self", t.get().inVertex())).count().next().intValue());
+        assertEquals(200, IteratorUtils.count(g.edges()));
+    }
+
+    @Test
+    public void shouldTraverseCompactStorageLikeDefaultStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_STORAGE, true);
+        final TinkerGraph compact = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(compact);
+        final TinkerGraph standard = TinkerFactory.createTheCrew();
+
+        final List<Function<GraphTraversalSource, GraphTraversal<?, ?>>> traversals = Arrays.asList(
+                g -> g.V().out().values("name"),
+                g -> g.V().in("develops", "uses").id(),
+                g -> g.V().both().both("traverses").label(),
+                g -> g.V().bothE().otherV().id(),
+                g -> g.V().outE("uses").values("skill"),
+                g -> g.V().properties("location").values("startTime"),
+                g -> g.V().hasLabel("person").valueMap());
+        for (final Function<GraphTraversalSource, GraphTraversal<?, ?>> traversal : traversals) {
+            final List<?> expected = traversal.apply(standard.traversal()).toList();
+            final List<?> actual = traversal.apply(compact.traversal()).toList();
+            assertEquals(expected.size(), actual.size());
+            assertTrue(expected.containsAll(actual) && actual.containsAll(expected));
+        }
+
+        compact.traversal().V().has("name", "marko").outE("develops").drop().iterate();
+        assertEquals(0, compact.traversal().V().has("name", "marko").out("develops").count().next().intValue());
+        assertEquals(2, compact.traversal().V().has("name", "gremlin").in("develops").count().next().intValue());
+        compact.traversal().V().has("name", "gremlin").drop().iterate();
+        final long edgeCount = compact.traversal().E().count().next();
+        assertEquals(edgeCount, compact.traversal().V().outE().count().next().longValue());
+        assertEquals(edgeCount, compact.traversal().V().inE().count().next().longValue());
+    }
+
+    @Test
+    public void shouldRemoveEdgesOfHubInCompactStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_STORAGE, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex hub = graph.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Vertex other = graph.addVertex();
+            edges.add(hub.addEdge(i % 2 == 0 ? "knows" : "likes", other));
+            edges.add(other.addEdge("knows", hub));
+        }
+        edges.add(hub.addEdge("knows", hub));
+
+        // removing in random order moves edges around in the arrays so every edge must keep track of where it went
+        Collections.shuffle(edges, new Random(42));
+        final List<Edge> kept = new ArrayList<>(edges.subList(0, 100));
+        edges.subList(100, edges.size()).forEach(Edge::remove);
+
+        assertEquals(kept.size(), IteratorUtils.count(graph.edges()));
+        final Set<Edge> hubEdges = new HashSet<>();
+        hub.edges(Direction.BOTH).forEachRemaining(hubEdges::add);
+        assertEquals(new HashSet<>(kept), hubEdges);
+        kept.forEach(Edge::remove);
+        assertEquals(0, IteratorUtils.count(hub.edges(Direction.BOTH)));
+    }
+
+    @Test
+    public void shouldSpreadSupernodesAcrossWorkersOfTheComputer() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> hubs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            hubs.add(graph.addVertex(T.id, i));
+        }
+        for (int i = 3; i < 1000; i++) {
+            final Vertex vertex = graph.addVertex(T.id, i);
+            for (final Vertex hub : hubs) {
+                vertex.addEdge("link", hub);
+            }
+        }
+
+        final ComputerResult single = graph.compute(TinkerGraphComputer.class).workers(1).
+                program(PageRankVertexProgram.build().iterations(5).create(graph)).submit().get();
+        final int workers = graph.compute(TinkerGraphComputer.class).features().getMaxWorkers();
+        final ComputerResult result = graph.compute(TinkerGraphComputer.class).workers(workers).
+                configure(TinkerGraphComputer.WORKER_RUNTIMES, true).
+                program(PageRankVertexProgram.build().iterations(5).create(graph)).submit().get();
+
+        final List<Long> runtimes = result.memory().get(TinkerGraphComputer.WORKER_RUNTIMES);
+        assertEquals(workers, runtimes.size());
+        assertFalse(single.memory().keys().contains(TinkerGraphComputer.WORKER_RUNTIMES));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals((double) single.graph().traversal().V(i).values(PageRankVertexProgram.PAGE_RANK).next(),
+                    (double) result.graph().traversal().V(i).values(PageRankVertexProgram.PAGE_RANK).next(), 0.000001d);
+        }
+    }
+
+    @Test
+    public void shouldCombineTraversersSentToASupernodeByManyWorkers() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> hubs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            hubs.add(graph.addVertex(T.id, i, T.label, "hub"));
+        }
+        for (int i = 2; i < 5000; i++) {
+            final Vertex vertex = graph.addVertex(T.id, i, T.label, "leaf");
+            for (final Vertex hub : hubs) {
+                vertex.addEdge("link", hub);
+            }
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource gc = g.withComputer(Computer.compute(TinkerGraphComputer.class).
+                workers(graph.compute(TinkerGraphComputer.class).features().getMaxWorkers()));
+        for (int run = 0; run < 5; run++) {
+            // every leaf sends a distinct traverser to each hub at about the same time
+            assertEquals(g.V().hasLabel("leaf").out().path().count().next(), gc.V().hasLabel("leaf").out().path().count().next());
+            assertEquals(g.V().hasLabel("leaf").out().path().dedup().count().next(), gc.V().hasLabel("leaf").out().path().dedup().count().next());
+            // bulked traversers that come back out of the hubs
+            assertEquals(g.V().out().in().count().next(), gc.V().out().in().count().next());
+            assertEquals(g.V().out().groupCount().by(T.id).next(), gc.V().out().groupCount().by(T.id).next());
+        }
+    }
+
+    @Test
+    public void shouldReadAndWriteComputeKeysThroughTheColumnsOfTheComputer() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final ComputerResult result = graph.compute(TinkerGraphComputer.class).program(new ComputeKeyVertexProgram()).submit().get();
+        assertEquals(6, IteratorUtils.count(result.graph().vertices()));
+        result.graph().vertices().forEachRemaining(vertex -> {
+            assertEquals(1, IteratorUtils.count(vertex.properties("rank")));
+            assertEquals(2.0d, vertex.<Double>value("rank"), 0.0d);
+            assertEquals(new HashSet<>(Arrays.asList("a", "b")), IteratorUtils.set(vertex.values("tags")));
+            assertEquals(1, IteratorUtils.count(vertex.properties("count")));
+            assertEquals(2L, vertex.<Long>value("count").longValue());
+            assertFalse(vertex.property("count").properties().hasNext());
+            assertEquals(vertex.<String>value("name"), vertex.property("since").value());
+            assertEquals(2020, vertex.property("since").<Integer>value("year").intValue());
+        });
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -514,6 +981,442 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToBinary() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToBinary.bin");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "binary");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToBinaryAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToBinaryMulti.bin");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "binary");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        // unlike gryo the default cardinality does not need to be list for the multi-properties to be restored
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToBinaryWithAnyValueType() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToBinaryValues.bin");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "binary");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final UUID uuid = UUID.randomUUID();
+        final Vertex v = graph.addVertex(T.id, uuid, "i", 1, "l", 2L, "d", 3.0d, "f", 4.0f, "b", true, "n", null,
+                "list", Arrays.asList(1, "two"), "map", Collections.singletonMap("k", "v"));
+        v.addEdge("self", v, T.id, "e", "s", "x");
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertSameGraph(graph, reloadedGraph);
+        reloadedGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationIfWriteAheadLogIsEnabled() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldRecoverFromWriteAheadLogWithoutClose() {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldRecoverFromWriteAheadLogWithoutClose");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+
+        graph.edges(13).next().remove();
+        graph.vertices(9).next().remove();
+        graph.edges(14).next().property("since", 2020);
+        graph.edges(15).next().property("skill").remove();
+        graph.vertices(1).next().properties("location").forEachRemaining(p -> {
+            if (p.value().equals("santa fe")) p.remove();
+        });
+        graph.vertices(7).next().properties("location").forEachRemaining(p -> {
+            if (p.value().equals("dulles")) p.property("endTime", 2007);
+            if (p.value().equals("centreville")) p.property("startTime").remove();
+        });
+        graph.vertices(8).next().property(VertexProperty.Cardinality.single, "name", "mbroecheler");
+        graph.addVertex(T.id, 100, T.label, "person", "name", "pieter").addEdge("uses", graph.vertices(10).next(), T.id, 101, "skill", 1);
+
+        // the graph is never closed as if the process had died
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertSameGraph(graph, reloadedGraph);
+        reloadedGraph.close();
+
+        // the replayed log was folded into the snapshot taken on open
+        assertSameGraph(graph, TinkerGraph.open(conf));
+    }
+
+    @Test
+    public void shouldCompactWriteAheadLogOnOpen() {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldCompactWriteAheadLogOnOpen");
+        final File location = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        final FilenameFilter logs = (dir, name) -> name.startsWith(location.getName() + ".log.");
+
+        for (int i = 0; i < 5; i++) {
+            final TinkerGraph graph = TinkerGraph.open(conf);
+            assertEquals(0, location.getParentFile().listFiles(logs).length);
+            assertEquals(i, IteratorUtils.count(graph.vertices()));
+            graph.addVertex(T.id, i, "name", "v" + i).property("name").property("since", i);
+            graph.close();
+            assertEquals(1, location.getParentFile().listFiles(logs).length);
+        }
+
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(i), graph.vertices(i).next().property("name").value("since"));
+        }
+        graph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAllowGraphmlWithWriteAheadLog() {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldNotAllowGraphmlWithWriteAheadLog");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "graphml");
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldSnapshotWriteAheadLog() {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldSnapshotWriteAheadLog");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 5);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+
+        final File location = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        assertTrue(location.exists());
+        assertThat(location.getParentFile().listFiles((dir, name) -> name.startsWith(location.getName() + ".log.")).length,
+                lessThanOrEqualTo(1));
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        graph.close();
+    }
+
+    @Test
+    public void shouldIgnorePartiallyWrittenWriteAheadLogRecord() throws Exception {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldIgnorePartiallyWrittenWriteAheadLogRecord");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final File location = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        try (final FileOutputStream out = new FileOutputStream(location.getPath() + ".log.1", true)) {
+            out.write(new byte[]{0, 0, 0, 42, 1, 2, 3});
+        }
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldNotReplayWriteAheadLogPastCorruptRecordOfEarlierGeneration() throws Exception {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldNotReplayWriteAheadLogPastCorruptRecordOfEarlierGeneration");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // a later generation follows one with a corrupt record in the middle, which a crash cannot leave behind
+        final File location = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        final File log = new File(location.getPath() + ".log.1");
+        final byte[] bytes = Files.readAllBytes(log.toPath());
+        Files.write(new File(location.getPath() + ".log.2").toPath(), bytes);
+        bytes[bytes.length / 2] ^= 0xFF;
+        Files.write(log.toPath(), bytes);
+
+        try {
+            TinkerGraph.open(conf);
+            fail("Should not have replayed a log with a corrupt record followed by others");
+        } catch (IllegalStateException ise) {
+            assertThat(ise.getMessage(), containsString("corrupt record"));
+        }
+
+        // the log is left as it was for the records after the corrupt one to be recovered by hand
+        assertTrue(log.exists());
+        assertTrue(new File(location.getPath() + ".log.2").exists());
+    }
+
+    @Test
+    public void shouldLogConcurrentMutationsInOrderApplied() throws Exception {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldLogConcurrentMutationsInOrderApplied");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex shared = graph.addVertex(T.id, 0);
+
+        final int threads = 4;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    final Vertex vertex = graph.addVertex(T.id, thread * 1000 + i + 1);
+                    vertex.property("thread", thread);
+                    vertex.addEdge("knows", shared).property("i", i);
+                    if (i % 2 == 0) vertex.remove();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // the graph is never closed as if the process had died
+        assertSameGraph(graph, TinkerGraph.open(conf));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAllowTransactionsWithWriteAheadLog() {
+        final Configuration conf = createWriteAheadLogConfiguration("shouldNotAllowTransactionsWithWriteAheadLog");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONS, true);
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldUseIndicesInTransactions() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open(createTransactionalConfiguration());
+        final GraphTraversalSource g = graph.traversal();
+        g.addV("person").property(T.id, 1).property("name", "marko").iterate();
+        graph.tx().commit();
+        graph.createIndex("name", Vertex.class);
+
+        // uncommitted changes are found by the transaction that made them and by no other
+        g.addV("person").property(T.id, 2).property("name", "stephen").iterate();
+        assertEquals(2, g.V().has("name", "stephen").id().next());
+        runInOtherThread(() -> assertThat(g.V().has("name", "stephen").hasNext(), is(false)));
+        graph.tx().commit();
+        runInOtherThread(() -> assertEquals(2, g.V().has("name", "stephen").id().next()));
+
+        // this transaction reads the name as it was when it opened while the other one commits a new name
+        assertEquals(1, g.V().has("name", "marko").id().next());
+        runInOtherThread(() -> {
+            g.V(1).property("name", "okram").iterate();
+            g.V(2).drop().iterate();
+            assertThat(g.V().has("name", "marko").hasNext(), is(false));
+            assertEquals(1, g.V().has("name", "okram").id().next());
+            graph.tx().commit();
+        });
+        assertEquals(1, g.V().has("name", "marko").id().next());
+        assertThat(g.V().has("name", "okram").hasNext(), is(false));
+        assertEquals(2, g.V().has("name", "stephen").id().next());
+        graph.tx().rollback();
+
+        assertThat(g.V().has("name", "marko").hasNext(), is(false));
+        assertEquals(1, g.V().has("name", "okram").id().next());
+        assertThat(g.V().has("name", "stephen").hasNext(), is(false));
+        assertEquals(1, graph.vertexIndex.count("name", "okram"));
+        assertEquals(0, graph.vertexIndex.count("name", "marko"));
+        assertEquals(0, graph.vertexIndex.count("name", "stephen"));
+    }
+
+    @Test
+    public void shouldChangeEdgesInTransactionsWithCompactStorage() throws Exception {
+        final Configuration conf = createTransactionalConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_STORAGE, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        g.addV().property(T.id, 1).as("a").
+          addV().property(T.id, 2).as("b").
+          addE("knows").from("a").to("b").property(T.id, 10).
+          addE("knows").from("a").to("b").property(T.id, 11).
+          addE("knows").from("a").to("b").property(T.id, 12).iterate();
+        graph.tx().commit();
+
+        // the edge is removed from copies of the vertices while other transactions still see it on the originals
+        assertEquals(3, g.V(1).outE().count().next().intValue());
+        runInOtherThread(() -> {
+            g.E(10).drop().iterate();
+            g.V(2).addE("knows").to(__.V(1)).property(T.id, 13).iterate();
+            assertEquals(2, g.V(1).outE().count().next().intValue());
+            assertEquals(3, g.V(2).bothE().count().next().intValue());
+            graph.tx().commit();
+        });
+        assertEquals(3, g.V(1).outE().count().next().intValue());
+        assertEquals(3, g.V(2).inE().count().next().intValue());
+        assertEquals(0, g.V(2).outE().count().next().intValue());
+        graph.tx().rollback();
+
+        assertEquals(Arrays.asList(11, 12), g.V(1).outE().id().order().toList());
+        assertEquals(13, g.V(1).inE().id().next());
+        g.E(12).drop().iterate();
+        graph.tx().commit();
+        assertEquals(Arrays.asList(11), g.V(2).inE().id().toList());
+        assertEquals(Arrays.asList(11), g.V(1).outE().id().toList());
+    }
+
+    @Test
+    public void shouldReadSnapshotOfGraphInTransaction() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open(createTransactionalConfiguration());
+        final Vertex marko = graph.addVertex(T.id, 1, "name", "marko");
+        graph.tx().commit();
+
+        // reading opens a transaction before the other thread commits its changes
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals("marko", marko.value("name"));
+        runInOtherThread(() -> {
+            graph.vertices(1).next().property("name", "okram");
+            graph.addVertex(T.id, 2, "name", "stephen").addEdge("knows", graph.vertices(1).next());
+            graph.tx().commit();
+        });
+
+        assertEquals("marko", marko.value("name"));
+        assertEquals(1, g.V().count().next().intValue());
+        assertEquals(0, g.E().count().next().intValue());
+        assertEquals(0, IteratorUtils.count(marko.vertices(Direction.IN)));
+        graph.tx().rollback();
+
+        assertEquals("okram", marko.value("name"));
+        assertEquals(2, g.V().count().next().intValue());
+        assertEquals(1, g.E().count().next().intValue());
+        assertEquals("stephen", g.V(1).in("knows").values("name").next());
+    }
+
+    @Test
+    public void shouldNotSeeChangesOfOtherTransactionsUntilCommitted() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open(createTransactionalConfiguration());
+        final GraphTraversalSource g = graph.traversal();
+        g.addV("person").property(T.id, 1).property("name", "marko").iterate();
+        assertEquals(1, g.V().count().next().intValue());
+
+        runInOtherThread(() -> assertEquals(0, g.V().count().next().intValue()));
+        graph.tx().commit();
+        runInOtherThread(() -> {
+            assertEquals(1, g.V().count().next().intValue());
+            g.V(1).drop().iterate();
+            assertEquals(0, g.V().count().next().intValue());
+        });
+
+        // the other transaction was rolled back when its thread ended without committing
+        assertEquals(1, g.V().count().next().intValue());
+    }
+
+    @Test
+    public void shouldFailCommitOfConflictingTransaction() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open(createTransactionalConfiguration());
+        final GraphTraversalSource g = graph.traversal();
+        g.addV("person").property(T.id, 1).property("age", 29).iterate();
+        graph.tx().commit();
+
+        g.V(1).property("age", 30).iterate();
+        runInOtherThread(() -> {
+            g.V(1).property("age", 31).iterate();
+            graph.tx().commit();
+        });
+
+        try {
+            graph.tx().commit();
+            fail("The transaction should not commit as the vertex was changed by another transaction");
+        } catch (TransactionException te) {
+            assertThat(te.getMessage(), containsString("Vertex with id 1"));
+        }
+        assertThat(graph.tx().isOpen(), is(false));
+        assertEquals(31, g.V(1).values("age").next());
+    }
+
+    @Test
+    public void shouldKeepVersionsForOpenTransactionsOnly() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open(createTransactionalConfiguration());
+        final GraphTraversalSource g = graph.traversal();
+        g.addV("person").property(T.id, 1).property("age", 29).
+          addV("person").property(T.id, 2).iterate();
+        graph.tx().commit();
+
+        assertEquals(29, g.V(1).values("age").next());
+        runInOtherThread(() -> {
+            g.V(1).property("age", 30).iterate();
+            g.V(2).drop().iterate();
+            graph.tx().commit();
+        });
+
+        // the removed vertex is kept as a marker until this transaction no longer needs the versions before it
+        assertEquals(2, TinkerHelper.getVertices(graph).size());
+        assertEquals(2, g.V().count().next().intValue());
+        graph.tx().commit();
+
+        runInOtherThread(() -> {
+            g.V(1).property("age", 31).iterate();
+            graph.tx().commit();
+        });
+        assertEquals(1, TinkerHelper.getVertices(graph).size());
+        assertEquals(31, g.V(1).values("age").next());
+        assertThat(((TinkerElement) TinkerHelper.getVertices(graph).get(1)).previousVersion == null, is(true));
+    }
+
+    private static Configuration createTransactionalConfiguration() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONS, true);
+        return conf;
+    }
+
+    private static void runInOtherThread(final Runnable runnable) throws InterruptedException {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (null != error.get())
+            throw new AssertionError(error.get());
+    }
+
+    private static Configuration createWriteAheadLogConfiguration(final String testName) {
+        final File directory = TestHelper.makeTestDataPath(TinkerGraphTest.class, testName);
+        for (final File file : directory.listFiles()) {
+            file.delete();
+        }
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, new File(directory, "graph.kryo").getPath());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        return conf;
+    }
+
+    private static void assertSameGraph(final TinkerGraph expected, final TinkerGraph actual) {
+        assertEquals(IteratorUtils.count(expected.vertices()), IteratorUtils.count(actual.vertices()));
+        assertEquals(IteratorUtils.count(expected.edges()), IteratorUtils.count(actual.edges()));
+        expected.vertices().forEachRemaining(v -> TestHelper.validateVertexEquality(v, actual.vertices(v.id()).next(), true));
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -984,6 +1887,81 @@ public class TinkerGraphTest {
         }
     }
 
+    public static class ComputeKeyVertexProgram extends StaticVertexProgram<Object> {
+
+        @Override
+        public void setup(final Memory memory) {
+
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Object> messenger, final Memory memory) {
+            // the vertex of a vertex program hides the properties of compute keys so they are counted on the graph
+            final Vertex base = ((ComputerGraph.ComputerVertex) vertex).getBaseVertex();
+            if (memory.isInitialIteration()) {
+                // single cardinality overwrites the column slot and is not a TinkerVertexProperty
+                final VertexProperty<Double> first = vertex.property(VertexProperty.Cardinality.single, "rank", 1.0d);
+                final VertexProperty<Double> second = vertex.property(VertexProperty.Cardinality.single, "rank", 2.0d);
+                assertFalse(((ComputerGraph.ComputerVertexProperty) second).getBaseVertexProperty() instanceof TinkerVertexProperty);
+                assertEquals(2.0d, second.value(), 0.0d);
+                assertFalse(first.id().equals(second.id()));
+                assertEquals(1, IteratorUtils.count(base.properties("rank")));
+
+                // a second value of a list moves the key out of its column
+                vertex.property(VertexProperty.Cardinality.list, "tags", "a");
+                vertex.property(VertexProperty.Cardinality.list, "tags", "b");
+                assertEquals(2, IteratorUtils.count(base.properties("tags")));
+
+                // a meta-property moves the property out of its column and a single write replaces it
+                vertex.property(VertexProperty.Cardinality.single, "count", 1L).property("year", 2019);
+                assertEquals(2019, vertex.property("count").<Integer>value("year").intValue());
+                vertex.property(VertexProperty.Cardinality.single, "count", 2L);
+                assertEquals(1, IteratorUtils.count(base.properties("count")));
+                assertFalse(base.property("count").properties().hasNext());
+
+                // a meta-property set through the property that was returned while it was in the column
+                final VertexProperty<String> since = vertex.property(VertexProperty.Cardinality.single, "since", vertex.<String>value("name"));
+                since.property("year", 2020);
+                assertEquals(2020, since.<Integer>value("year").intValue());
+                assertEquals(vertex.<String>value("name"), since.value());
+            } else {
+                assertEquals(2.0d, vertex.<Double>value("rank"), 0.0d);
+                assertEquals(2, IteratorUtils.count(base.properties("tags")));
+                assertEquals(2L, vertex.<Long>value("count").longValue());
+                assertEquals(2020, vertex.property("since").<Integer>value("year").intValue());
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() == 1;
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return new HashSet<>(Arrays.asList(
+                    VertexComputeKey.of("rank", false),
+                    VertexComputeKey.of("tags", false),
+                    VertexComputeKey.of("count", false),
+                    VertexComputeKey.of("since", false)));
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.NEW;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.VERTEX_PROPERTIES;
+        }
+    }
+
     public static class CustomClassResolverSupplier implements Supplier<ClassResolver> {
         @Override
         public ClassResolver get() {